@@ -0,0 +1,39 @@
+package com.jael.minhasfinacas.api.resource;
+
+import com.jael.minhasfinacas.api.dto.LancamentoDTO;
+import com.jael.minhasfinacas.benchmarks.Amostras;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão DTO → entidade feita pelo {@link LancamentoResource} em POST e PUT; o usuário vem do token de acesso e
+ * não é mais buscado no banco.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ConversaoLancamentoBenchmark {
+	
+	private LancamentoResource resource;
+	
+	private LancamentoDTO dto;
+	
+	@Setup
+	public void preparar() {
+		
+		resource = new LancamentoResource( null, null, null, null );
+		dto = Amostras.dto( 1L );
+	}
+	
+	@Benchmark
+	public Lancamento converter() {
+		
+		return resource.converter( dto, 1L );
+	}
+	
+}
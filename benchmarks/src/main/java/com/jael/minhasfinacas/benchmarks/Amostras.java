@@ -0,0 +1,72 @@
+package com.jael.minhasfinacas.benchmarks;
+
+import com.jael.minhasfinacas.api.dto.LancamentoDTO;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dados sintéticos, gerados de forma determinística, usados pelos benchmarks.
+ */
+public final class Amostras {
+	
+	private Amostras() {
+	}
+	
+	public static Usuario usuario( long id ) {
+		
+		return Usuario.builder().id( id ).nome( "usuário " + id ).email( "usuario" + id + "@email.com" ).build();
+	}
+	
+	public static Lancamento lancamento( long id, Usuario usuario ) {
+		
+		return Lancamento.builder()
+		                 .id( id )
+		                 .ano( 2022 )
+		                 .mes( ( int ) ( id % 12 ) + 1 )
+		                 .descricao( "lançamento " + id )
+		                 .valor( BigDecimal.valueOf( id % 1000 + 1, 2 ) )
+		                 .tipo( id % 3 == 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA )
+		                 .status( id % 4 == 0 ? StatusLancamento.PENDENTE : StatusLancamento.EFETIVADO )
+		                 .usuario( usuario )
+		                 .dataCadastro( LocalDate.of( 2022, 1, 1 ) )
+		                 .build();
+	}
+	
+	public static List< Lancamento > lancamentos( int quantidade, int usuarios ) {
+		
+		List< Lancamento > lancamentos = new ArrayList<>( quantidade );
+		for ( long id = 1; id <= quantidade; id++ ) {
+			lancamentos.add( lancamento( id, usuario( id % usuarios + 1 ) ) );
+		}
+		return lancamentos;
+	}
+	
+	public static List< MovimentoLancamento > movimentos( int quantidade, int usuarios ) {
+		
+		List< MovimentoLancamento > movimentos = new ArrayList<>( quantidade );
+		lancamentos( quantidade, usuarios ).forEach( lancamento -> movimentos.add( MovimentoLancamento.de( lancamento ) ) );
+		return movimentos;
+	}
+	
+	public static LancamentoDTO dto( long idUsuario ) {
+		
+		return LancamentoDTO.builder()
+		                    .descricao( "lançamento" )
+		                    .mes( 7 )
+		                    .ano( 2022 )
+		                    .valor( BigDecimal.TEN )
+		                    .usuario( idUsuario )
+		                    .tipo( TipoLancamento.RECEITA.name() )
+		                    .status( StatusLancamento.PENDENTE.name() )
+		                    .build();
+	}
+	
+}
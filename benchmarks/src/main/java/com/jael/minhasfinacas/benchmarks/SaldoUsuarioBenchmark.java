@@ -0,0 +1,67 @@
+package com.jael.minhasfinacas.benchmarks;
+
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+import com.jael.minhasfinacas.model.repository.SaldoUsuarioRepository;
+import com.jael.minhasfinacas.service.impl.SaldoUsuarioServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregação por usuário feita na importação em lote antes de atualizar a projeção de saldos. O repositório é
+ * substituído por um proxy que apenas conta as atualizações, isolando o custo da agregação.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class SaldoUsuarioBenchmark {
+	
+	@Param( { "10", "1000", "100000" } )
+	private int quantidade;
+	
+	@Param( { "1", "100" } )
+	private int usuarios;
+	
+	private SaldoUsuarioServiceImpl service;
+	
+	private List< MovimentoLancamento > movimentos;
+	
+	private long atualizacoes;
+	
+	@Setup
+	public void preparar() {
+		
+		SaldoUsuarioRepository repository = ( SaldoUsuarioRepository ) Proxy.newProxyInstance(
+				SaldoUsuarioRepository.class.getClassLoader(), new Class< ? >[] { SaldoUsuarioRepository.class },
+				( proxy, metodo, argumentos ) -> {
+					atualizacoes++;
+					return 1;
+				} );
+		
+		service = new SaldoUsuarioServiceImpl( repository, null );
+		movimentos = Amostras.movimentos( quantidade, usuarios );
+	}
+	
+	@Benchmark
+	public void registrarInclusoes( Blackhole blackhole ) {
+		
+		service.registrarInclusoes( movimentos );
+		blackhole.consume( atualizacoes );
+	}
+	
+	@Benchmark
+	public void somarContribuicoes( Blackhole blackhole ) {
+		
+		blackhole.consume( movimentos.stream()
+		                             .map( MovimentoLancamento::getContribuicao )
+		                             .reduce( BigDecimal.ZERO, BigDecimal::add ) );
+	}
+	
+}
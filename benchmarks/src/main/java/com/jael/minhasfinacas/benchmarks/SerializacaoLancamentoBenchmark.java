@@ -0,0 +1,101 @@
+package com.jael.minhasfinacas.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialização das respostas, com os {@link ObjectMapper} configurados como os do Spring. Além das entidades, mede a
+ * listagem de lançamentos ({@link ItemLancamento}) em cada formato negociável pelo {@code Accept} e em JSON com gzip,
+ * como o Tomcat a comprime; o tamanho de cada formato é impresso na preparação.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class SerializacaoLancamentoBenchmark {
+	
+	@Param( { "10", "1000", "100000" } )
+	private int quantidade;
+	
+	private ObjectMapper objectMapper;
+	
+	private ObjectMapper smileMapper;
+	
+	private ObjectMapper cborMapper;
+	
+	private Lancamento lancamento;
+	
+	private List< Lancamento > lancamentos;
+	
+	private List< ItemLancamento > itens;
+	
+	@Setup
+	public void preparar() throws IOException {
+		
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+		cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+		lancamentos = Amostras.lancamentos( quantidade, 10 );
+		lancamento = lancamentos.get( 0 );
+		itens = lancamentos.stream().map( ItemLancamento::de ).collect( Collectors.toList() );
+		
+		System.out.printf( "%nBytes de %d lançamentos: entidades em JSON %d, JSON %d, Smile %d, CBOR %d, JSON gzip %d%n",
+		                   quantidade, serializarLista().length, serializarItensJson().length,
+		                   serializarItensSmile().length, serializarItensCbor().length,
+		                   serializarItensJsonGzip().length );
+	}
+	
+	@Benchmark
+	public byte[] serializarLancamento() throws JsonProcessingException {
+		
+		return objectMapper.writeValueAsBytes( lancamento );
+	}
+	
+	@Benchmark
+	public byte[] serializarLista() throws JsonProcessingException {
+		
+		return objectMapper.writeValueAsBytes( lancamentos );
+	}
+	
+	@Benchmark
+	public byte[] serializarItensJson() throws JsonProcessingException {
+		
+		return objectMapper.writeValueAsBytes( itens );
+	}
+	
+	@Benchmark
+	public byte[] serializarItensSmile() throws JsonProcessingException {
+		
+		return smileMapper.writeValueAsBytes( itens );
+	}
+	
+	@Benchmark
+	public byte[] serializarItensCbor() throws JsonProcessingException {
+		
+		return cborMapper.writeValueAsBytes( itens );
+	}
+	
+	@Benchmark
+	public byte[] serializarItensJsonGzip() throws IOException {
+		
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		try ( GZIPOutputStream gzip = new GZIPOutputStream( saida ) ) {
+			objectMapper.writeValue( gzip, itens );
+		}
+		return saida.toByteArray();
+	}
+	
+}
@@ -0,0 +1,37 @@
+package com.jael.minhasfinacas.benchmarks;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.service.impl.LancamentoServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ValidacaoLancamentoBenchmark {
+	
+	private LancamentoServiceImpl service;
+	
+	private Lancamento lancamento;
+	
+	@Setup
+	public void preparar() {
+		
+		// A validação não usa as dependências do serviço.
+		service = new LancamentoServiceImpl( null, null, null, null, null, null, null, null );
+		lancamento = Amostras.lancamento( 1L, Amostras.usuario( 1L ) );
+	}
+	
+	@Benchmark
+	public void validar( Blackhole blackhole ) {
+		
+		service.validar( lancamento );
+		blackhole.consume( lancamento );
+	}
+	
+}
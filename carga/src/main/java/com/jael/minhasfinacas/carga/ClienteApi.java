@@ -0,0 +1,156 @@
+package com.jael.minhasfinacas.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Executa as operações da carga contra a API. Metade dos lançamentos populados recebe atualizações de status e a
+ * outra metade, junto com os criados durante o teste, abastece as exclusões, para que uma operação não invalide os
+ * dados da outra. As buscas, criações e consultas de saldo levam o token de um dos usuários populados; atualizações
+ * e exclusões levam o token do dono do lançamento, já que a API responde 404 para lançamentos de outro usuário.
+ */
+class ClienteApi {
+	
+	private final HttpClient http = HttpClient.newBuilder()
+	                                          .version( HttpClient.Version.HTTP_1_1 )
+	                                          .connectTimeout( Duration.ofSeconds( 5 ) )
+	                                          .build();
+	
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	
+	private final String baseUrl;
+	
+	private final List< Long > usuarios;
+	
+	private final Map< Long, String > tokens;
+	
+	private final Map< Long, Long > donos;
+	
+	private final List< Long > lancamentosParaStatus;
+	
+	private final Queue< Long > lancamentosParaExclusao;
+	
+	ClienteApi( String baseUrl, Map< Long, String > tokens, Map< Long, Long > donos, List< Long > lancamentosParaStatus,
+	            List< Long > lancamentosParaExclusao ) {
+		
+		this.baseUrl = baseUrl;
+		this.usuarios = List.copyOf( tokens.keySet() );
+		this.tokens = tokens;
+		this.donos = new ConcurrentHashMap<>( donos );
+		this.lancamentosParaStatus = lancamentosParaStatus;
+		this.lancamentosParaExclusao = new ConcurrentLinkedQueue<>( lancamentosParaExclusao );
+	}
+	
+	/**
+	 * Executa a operação e devolve se a resposta foi 2xx. Sem lançamentos disponíveis para excluir, a exclusão é
+	 * trocada por uma criação.
+	 */
+	Operacao executar( Operacao operacao, Map< Operacao, MedicoesOperacao > medicoes, long previstoNanos ) {
+		
+		Operacao executada = operacao;
+		boolean sucesso;
+		
+		try {
+			switch ( operacao ) {
+				case BUSCA:
+					int mes = ThreadLocalRandom.current().nextInt( 1, 13 );
+					sucesso = enviar( autenticada( "/api/lancamentos?ano=2022&mes=" + mes, usuario() ).GET().build() )
+							.statusCode() == 200;
+					break;
+				case SALDO:
+					long usuario = usuario();
+					sucesso = enviar( autenticada( "/api/usuarios/" + usuario + "/saldo", usuario ).GET().build() )
+							.statusCode() == 200;
+					break;
+				case ATUALIZACAO_STATUS:
+					sucesso = atualizarStatus();
+					break;
+				case EXCLUSAO:
+					Long id = lancamentosParaExclusao.poll();
+					if ( id != null ) {
+						sucesso = enviar( autenticada( "/api/lancamentos/" + id, donos.remove( id ) ).DELETE().build() )
+								.statusCode() == 204;
+						break;
+					}
+					executada = Operacao.CRIACAO;
+					sucesso = criar();
+					break;
+				default:
+					sucesso = criar();
+			}
+		} catch ( IOException e ) {
+			sucesso = false;
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			sucesso = false;
+		}
+		
+		medicoes.get( executada ).registrar( System.nanoTime() - previstoNanos, sucesso );
+		return executada;
+	}
+	
+	private boolean criar() throws IOException, InterruptedException {
+		
+		String corpo = "{\"descricao\":\"carga\",\"mes\":" + ThreadLocalRandom.current().nextInt( 1, 13 )
+		               + ",\"ano\":2022,\"valor\":10.5,\"tipo\":\"DESPESA\",\"status\":\"PENDENTE\"}";
+		long usuario = usuario();
+		HttpResponse< String > resposta = enviar( json( "/api/lancamentos", usuario, "POST", corpo ) );
+		
+		if ( resposta.statusCode() != 200 ) {
+			return false;
+		}
+		JsonNode lancamento = objectMapper.readTree( resposta.body() );
+		donos.put( lancamento.get( "id" ).asLong(), usuario );
+		lancamentosParaExclusao.offer( lancamento.get( "id" ).asLong() );
+		return true;
+	}
+	
+	private boolean atualizarStatus() throws IOException, InterruptedException {
+		
+		long id = lancamentosParaStatus.get( ThreadLocalRandom.current().nextInt( lancamentosParaStatus.size() ) );
+		String status = ThreadLocalRandom.current().nextBoolean() ? "EFETIVADO" : "CANCELADO";
+		return enviar( json( "/api/lancamentos/" + id + "/atualizar-status", donos.get( id ), "PUT",
+		                     "{\"status\":\"" + status + "\"}" ) ).statusCode() == 200;
+	}
+	
+	private long usuario() {
+		
+		return usuarios.get( ThreadLocalRandom.current().nextInt( usuarios.size() ) );
+	}
+	
+	private HttpRequest.Builder autenticada( String caminho, long usuario ) {
+		
+		return requisicao( caminho ).header( "Authorization", "Bearer " + tokens.get( usuario ) );
+	}
+	
+	private HttpRequest json( String caminho, long usuario, String metodo, String corpo ) {
+		
+		return autenticada( caminho, usuario ).header( "Content-Type", "application/json" )
+		                                      .method( metodo, HttpRequest.BodyPublishers.ofString( corpo ) )
+		                                      .build();
+	}
+	
+	private HttpRequest.Builder requisicao( String caminho ) {
+		
+		return HttpRequest.newBuilder( URI.create( baseUrl + caminho ) ).timeout( Duration.ofSeconds( 30 ) );
+	}
+	
+	private HttpResponse< String > enviar( HttpRequest requisicao ) throws IOException, InterruptedException {
+		
+		return http.send( requisicao, HttpResponse.BodyHandlers.ofString() );
+	}
+	
+}
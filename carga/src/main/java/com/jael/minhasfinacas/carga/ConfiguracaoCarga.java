@@ -0,0 +1,58 @@
+package com.jael.minhasfinacas.carga;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste, lidos de propriedades de sistema {@code carga.*}.
+ */
+@Value
+public class ConfiguracaoCarga {
+	
+	int usuarios;
+	
+	int lancamentosPorUsuario;
+	
+	/**
+	 * Requisições por segundo disparadas durante a medição, independentemente do tempo de resposta.
+	 */
+	int taxa;
+	
+	int clientes;
+	
+	Duration aquecimento;
+	
+	Duration duracao;
+	
+	Map< Operacao, Integer > pesos;
+	
+	/**
+	 * Sobe a aplicação com {@code minhasfinancas.threads-virtuais.habilitado}, modo experimental que exige Java 21.
+	 */
+	boolean threadsVirtuais;
+	
+	Path resultado;
+	
+	public static ConfiguracaoCarga deSistema() {
+		
+		Map< Operacao, Integer > pesos = new EnumMap<>( Operacao.class );
+		for ( Operacao operacao : Operacao.values() ) {
+			pesos.put( operacao, Integer.getInteger( "carga.peso." + operacao.getChave(), operacao.getPesoPadrao() ) );
+		}
+		
+		return new ConfiguracaoCarga( Integer.getInteger( "carga.usuarios", 50 ),
+		                              Integer.getInteger( "carga.lancamentos-por-usuario", 200 ),
+		                              Integer.getInteger( "carga.taxa", 200 ),
+		                              Integer.getInteger( "carga.clientes", 64 ),
+		                              Duration.ofSeconds( Integer.getInteger( "carga.aquecimento", 10 ) ),
+		                              Duration.ofSeconds( Integer.getInteger( "carga.duracao", 30 ) ),
+		                              pesos,
+		                              Boolean.getBoolean( "carga.threads-virtuais" ),
+		                              Path.of( System.getProperty( "carga.resultado", "target/carga/resultado.json" ) ) );
+	}
+	
+}
@@ -0,0 +1,78 @@
+package com.jael.minhasfinacas.carga;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Dispara requisições em malha aberta: cada uma tem um instante previsto de início, calculado a partir da taxa, e a
+ * latência é medida desde esse instante. Assim o tempo que uma requisição passa esperando por um cliente livre entra
+ * na medição, em vez de a lentidão do servidor reduzir a carga e esconder a própria latência.
+ */
+@Slf4j
+class GeradorCarga {
+	
+	private final ConfiguracaoCarga configuracao;
+	
+	private final ClienteApi cliente;
+	
+	private final Operacao[] sorteio;
+	
+	GeradorCarga( ConfiguracaoCarga configuracao, ClienteApi cliente ) {
+		
+		this.configuracao = configuracao;
+		this.cliente = cliente;
+		
+		// Cada operação ocupa tantas posições quanto o seu peso, de modo que um sorteio uniforme respeita a proporção.
+		this.sorteio = configuracao.getPesos()
+		                           .entrySet()
+		                           .stream()
+		                           .flatMap( peso -> Stream.generate( peso::getKey )
+		                                                                    .limit( peso.getValue() ) )
+		                           .toArray( Operacao[]::new );
+	}
+	
+	Map< Operacao, MedicoesOperacao > executar( Duration duracao ) throws InterruptedException {
+		
+		Map< Operacao, MedicoesOperacao > medicoes = new EnumMap<>( Operacao.class );
+		for ( Operacao operacao : Operacao.values() ) {
+			medicoes.put( operacao, new MedicoesOperacao() );
+		}
+		
+		ExecutorService clientes = Executors.newFixedThreadPool( configuracao.getClientes() );
+		long intervalo = TimeUnit.SECONDS.toNanos( 1 ) / configuracao.getTaxa();
+		long inicio = System.nanoTime();
+		long fim = inicio + duracao.toNanos();
+		
+		for ( long i = 0; ; i++ ) {
+			long previsto = inicio + i * intervalo;
+			if ( previsto >= fim ) {
+				break;
+			}
+			
+			long espera;
+			while ( ( espera = previsto - System.nanoTime() ) > 0 ) {
+				LockSupport.parkNanos( espera );
+			}
+			
+			Operacao operacao = sorteio[ ThreadLocalRandom.current().nextInt( sorteio.length ) ];
+			clientes.execute( () -> cliente.executar( operacao, medicoes, previsto ) );
+		}
+		
+		clientes.shutdown();
+		if ( !clientes.awaitTermination( 5, TimeUnit.MINUTES ) ) {
+			log.warn( "Requisições ainda pendentes após 5 minutos; encerrando." );
+			clientes.shutdownNow();
+		}
+		return medicoes;
+	}
+	
+}
@@ -0,0 +1,37 @@
+package com.jael.minhasfinacas.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latências de uma operação em microssegundos, de 1 µs a 1 min com 3 dígitos significativos.
+ */
+class MedicoesOperacao {
+	
+	private final Histogram latencias = new ConcurrentHistogram( TimeUnit.MINUTES.toMicros( 1 ), 3 );
+	
+	private final AtomicLong erros = new AtomicLong();
+	
+	void registrar( long latenciaNanos, boolean sucesso ) {
+		
+		latencias.recordValue( Math.min( TimeUnit.NANOSECONDS.toMicros( latenciaNanos ),
+		                                 latencias.getHighestTrackableValue() ) );
+		if ( !sucesso ) {
+			erros.incrementAndGet();
+		}
+	}
+	
+	Histogram getLatencias() {
+		
+		return latencias;
+	}
+	
+	long getErros() {
+		
+		return erros.get();
+	}
+	
+}
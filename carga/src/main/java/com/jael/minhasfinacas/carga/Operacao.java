@@ -0,0 +1,25 @@
+package com.jael.minhasfinacas.carga;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Operações da carga mista, cada uma medida em um histograma próprio.
+ */
+@Getter
+@AllArgsConstructor
+public enum Operacao {
+	
+	BUSCA( "busca", "GET /api/lancamentos", 50 ),
+	SALDO( "saldo", "GET /api/usuarios/{id}/saldo", 25 ),
+	CRIACAO( "criacao", "POST /api/lancamentos", 15 ),
+	ATUALIZACAO_STATUS( "status", "PUT /api/lancamentos/{id}/atualizar-status", 5 ),
+	EXCLUSAO( "exclusao", "DELETE /api/lancamentos/{id}", 5 );
+	
+	private final String chave;
+	
+	private final String endpoint;
+	
+	private final int pesoPadrao;
+	
+}
@@ -0,0 +1,110 @@
+package com.jael.minhasfinacas.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resume as medições em uma tabela no console e em um arquivo JSON. O arquivo inclui cada histograma comprimido em
+ * base64, permitindo recalcular outros percentis ou combinar execuções com as ferramentas do HdrHistogram.
+ */
+class ResultadoCarga {
+	
+	private final ConfiguracaoCarga configuracao;
+	
+	private final Duration duracao;
+	
+	private final Map< Operacao, MedicoesOperacao > medicoes;
+	
+	ResultadoCarga( ConfiguracaoCarga configuracao, Duration duracao, Map< Operacao, MedicoesOperacao > medicoes ) {
+		
+		this.configuracao = configuracao;
+		this.duracao = duracao;
+		this.medicoes = medicoes;
+	}
+	
+	void imprimir( PrintStream saida ) {
+		
+		saida.printf( "%-45s %10s %8s %10s %10s %10s %10s %10s%n", "endpoint", "requisicoes", "erros", "req/s",
+		              "p50 ms", "p99 ms", "p99.9 ms", "max ms" );
+		
+		medicoes.forEach( ( operacao, medicao ) -> {
+			Histogram latencias = medicao.getLatencias();
+			saida.printf( "%-45s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", operacao.getEndpoint(),
+			              latencias.getTotalCount(), medicao.getErros(), vazao( latencias.getTotalCount() ),
+			              milissegundos( latencias, 50 ), milissegundos( latencias, 99 ),
+			              milissegundos( latencias, 99.9 ), latencias.getMaxValue() / 1000.0 );
+		} );
+	}
+	
+	void gravar() throws IOException {
+		
+		Map< String, Object > parametros = new LinkedHashMap<>();
+		parametros.put( "usuarios", configuracao.getUsuarios() );
+		parametros.put( "lancamentosPorUsuario", configuracao.getLancamentosPorUsuario() );
+		parametros.put( "taxa", configuracao.getTaxa() );
+		parametros.put( "clientes", configuracao.getClientes() );
+		parametros.put( "threadsVirtuais", configuracao.isThreadsVirtuais() );
+		parametros.put( "duracaoSegundos", duracao.getSeconds() );
+		
+		Map< String, Object > operacoes = new LinkedHashMap<>();
+		long total = 0;
+		
+		for ( Map.Entry< Operacao, MedicoesOperacao > medicao : medicoes.entrySet() ) {
+			Histogram latencias = medicao.getValue().getLatencias();
+			total += latencias.getTotalCount();
+			
+			Map< String, Object > operacao = new LinkedHashMap<>();
+			operacao.put( "endpoint", medicao.getKey().getEndpoint() );
+			operacao.put( "requisicoes", latencias.getTotalCount() );
+			operacao.put( "erros", medicao.getValue().getErros() );
+			operacao.put( "vazao", vazao( latencias.getTotalCount() ) );
+			operacao.put( "mediaMs", latencias.getMean() / 1000.0 );
+			operacao.put( "p50Ms", milissegundos( latencias, 50 ) );
+			operacao.put( "p99Ms", milissegundos( latencias, 99 ) );
+			operacao.put( "p999Ms", milissegundos( latencias, 99.9 ) );
+			operacao.put( "maxMs", latencias.getMaxValue() / 1000.0 );
+			operacao.put( "histograma", comprimir( latencias ) );
+			operacoes.put( medicao.getKey().getChave(), operacao );
+		}
+		
+		Map< String, Object > resultado = new LinkedHashMap<>();
+		resultado.put( "executadoEm", Instant.now().toString() );
+		resultado.put( "parametros", parametros );
+		resultado.put( "vazaoTotal", vazao( total ) );
+		resultado.put( "operacoes", operacoes );
+		
+		Files.createDirectories( configuracao.getResultado().toAbsolutePath().getParent() );
+		new ObjectMapper().enable( SerializationFeature.INDENT_OUTPUT )
+		                  .writeValue( configuracao.getResultado().toFile(), resultado );
+	}
+	
+	private double vazao( long requisicoes ) {
+		
+		return requisicoes / ( duracao.toMillis() / 1000.0 );
+	}
+	
+	private static double milissegundos( Histogram latencias, double percentil ) {
+		
+		return latencias.getValueAtPercentile( percentil ) / 1000.0;
+	}
+	
+	private static String comprimir( Histogram latencias ) {
+		
+		ByteBuffer buffer = ByteBuffer.allocate( latencias.getNeededByteBufferCapacity() );
+		int tamanho = latencias.encodeIntoCompressedByteBuffer( buffer );
+		return Base64.getEncoder().encodeToString( Arrays.copyOf( buffer.array(), tamanho ) );
+	}
+	
+}
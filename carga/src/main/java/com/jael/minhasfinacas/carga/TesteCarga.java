@@ -0,0 +1,135 @@
+package com.jael.minhasfinacas.carga;
+
+import com.jael.minhasfinacas.MinhasfinacasApplication;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.service.LancamentoService;
+import com.jael.minhasfinacas.service.TokenService;
+import com.jael.minhasfinacas.service.UsuarioService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ponto de entrada do teste de carga. Os parâmetros são propriedades de sistema:
+ * <ul>
+ *     <li>{@code carga.usuarios} e {@code carga.lancamentos-por-usuario}: volume de dados populados;</li>
+ *     <li>{@code carga.taxa}: requisições por segundo; {@code carga.clientes}: requisições simultâneas;</li>
+ *     <li>{@code carga.aquecimento} e {@code carga.duracao}: segundos de aquecimento, descartados, e de medição;</li>
+ *     <li>{@code carga.peso.<operacao>}: peso de cada operação na carga mista;</li>
+ *     <li>{@code carga.threads-virtuais}: atende as requisições em threads virtuais em vez do pool do Tomcat;</li>
+ *     <li>{@code carga.resultado}: arquivo JSON com o resultado.</li>
+ * </ul>
+ * Os argumentos são repassados à aplicação; para comparar os modos com o PostgreSQL em vez do H2, cujos bloqueios
+ * {@code synchronized} prendem as threads virtuais, informe {@code --spring.datasource.url=jdbc:postgresql://...}.
+ */
+@Slf4j
+public class TesteCarga {
+	
+	private static final int TAMANHO_LOTE = 1000;
+	
+	public static void main( String[] args ) throws Exception {
+		
+		ConfiguracaoCarga configuracao = ConfiguracaoCarga.deSistema();
+		
+		try ( ConfigurableApplicationContext contexto = iniciarAplicacao( configuracao, args ) ) {
+			int porta = ( ( WebServerApplicationContext ) contexto ).getWebServer().getPort();
+			ClienteApi cliente = popular( contexto, configuracao, "http://localhost:" + porta );
+			GeradorCarga gerador = new GeradorCarga( configuracao, cliente );
+			
+			log.info( "Aquecendo por {}s a {} req/s.", configuracao.getAquecimento().getSeconds(),
+			          configuracao.getTaxa() );
+			gerador.executar( configuracao.getAquecimento() );
+			
+			log.info( "Medindo por {}s a {} req/s com {} clientes.", configuracao.getDuracao().getSeconds(),
+			          configuracao.getTaxa(), configuracao.getClientes() );
+			Map< Operacao, MedicoesOperacao > medicoes = gerador.executar( configuracao.getDuracao() );
+			
+			ResultadoCarga resultado = new ResultadoCarga( configuracao, configuracao.getDuracao(), medicoes );
+			resultado.imprimir( System.out );
+			resultado.gravar();
+			log.info( "Resultado gravado em {}.", configuracao.getResultado().toAbsolutePath() );
+		}
+	}
+	
+	private static ConfigurableApplicationContext iniciarAplicacao( ConfiguracaoCarga configuracao, String[] args ) {
+		
+		return new SpringApplicationBuilder( MinhasfinacasApplication.class )
+				.profiles( "test" )
+				.properties( "server.port=0",
+				             "spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+				             + "INIT=CREATE SCHEMA IF NOT EXISTS financas",
+				             "spring.jpa.hibernate.ddl-auto=create-drop",
+				             "logging.level.root=WARN",
+				             "logging.level.com.jael.minhasfinacas.carga=INFO",
+				             "minhasfinancas.threads-virtuais.habilitado=" + configuracao.isThreadsVirtuais() )
+				.run( args );
+	}
+	
+	private static ClienteApi popular( ConfigurableApplicationContext contexto, ConfiguracaoCarga configuracao,
+	                                   String baseUrl ) {
+		
+		UsuarioService usuarioService = contexto.getBean( UsuarioService.class );
+		LancamentoService lancamentoService = contexto.getBean( LancamentoService.class );
+		TokenService tokenService = contexto.getBean( TokenService.class );
+		
+		Map< Long, String > tokens = new LinkedHashMap<>();
+		List< Long > paraStatus = new ArrayList<>();
+		List< Long > paraExclusao = new ArrayList<>();
+		Map< Long, Long > donos = new HashMap<>();
+		List< Lancamento > lote = new ArrayList<>( TAMANHO_LOTE );
+		
+		for ( int u = 0; u < configuracao.getUsuarios(); u++ ) {
+			Usuario usuario = usuarioService.salvarUsuario( Usuario.builder()
+			                                                       .nome( "carga " + u )
+			                                                       .email( "carga" + u + "@email.com" )
+			                                                       .senha( "senha" )
+			                                                       .build() );
+			tokens.put( usuario.getId(), tokenService.gerar( usuario.getId() ) );
+			
+			for ( int l = 0; l < configuracao.getLancamentosPorUsuario(); l++ ) {
+				lote.add( Lancamento.builder()
+				                    .descricao( "lançamento " + l )
+				                    .ano( 2022 )
+				                    .mes( l % 12 + 1 )
+				                    .valor( BigDecimal.valueOf( l % 500 + 1 ) )
+				                    .tipo( l % 3 == 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA )
+				                    .status( l % 2 == 0 ? StatusLancamento.EFETIVADO : StatusLancamento.PENDENTE )
+				                    .dataCadastro( LocalDate.now() )
+				                    .usuario( usuario )
+				                    .build() );
+				if ( lote.size() == TAMANHO_LOTE ) {
+					gravar( lancamentoService, lote, paraStatus, paraExclusao, donos );
+				}
+			}
+		}
+		gravar( lancamentoService, lote, paraStatus, paraExclusao, donos );
+		
+		log.info( "Populados {} usuários e {} lançamentos.", tokens.size(), paraStatus.size() + paraExclusao.size() );
+		return new ClienteApi( baseUrl, tokens, donos, paraStatus, paraExclusao );
+	}
+	
+	private static void gravar( LancamentoService lancamentoService, List< Lancamento > lote, List< Long > paraStatus,
+	                            List< Long > paraExclusao, Map< Long, Long > donos ) {
+		
+		if ( lote.isEmpty() ) {
+			return;
+		}
+		lancamentoService.salvarLote( lote );
+		lote.forEach( lancamento -> ( lancamento.getId() % 2 == 0 ? paraStatus : paraExclusao ).add( lancamento.getId() ) );
+		lote.forEach( lancamento -> donos.put( lancamento.getId(), lancamento.getUsuario().getId() ) );
+		lote.clear();
+	}
+	
+}
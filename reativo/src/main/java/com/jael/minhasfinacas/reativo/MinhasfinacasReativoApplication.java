@@ -0,0 +1,19 @@
+package com.jael.minhasfinacas.reativo;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Aplicação de leitura não bloqueante, executada ao lado da aplicação principal e sobre o mesmo banco. Não grava
+ * nada: lançamentos e saldos continuam sendo mantidos pela aplicação principal.
+ */
+@SpringBootApplication
+public class MinhasfinacasReativoApplication {
+	
+	public static void main( String[] args ) {
+		
+		SpringApplication.run( MinhasfinacasReativoApplication.class, args );
+		
+	}
+	
+}
@@ -0,0 +1,72 @@
+package com.jael.minhasfinacas.reativo.autenticacao;
+
+import com.jael.minhasfinacas.exception.ErroAutenticacao;
+import com.jael.minhasfinacas.service.TokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A mesma regra do filtro da aplicação principal: os endpoints de {@code /api} exigem um token de
+ * {@code /api/usuarios/autenticar} no cabeçalho {@code Authorization: Bearer} e expõem o id do usuário no atributo
+ * {@value #USUARIO} da troca, lido pelos endpoints com {@code @RequestAttribute}. Um token ausente, inválido ou
+ * expirado é respondido com 401 sem chegar ao endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class FiltroAutenticacaoReativo implements WebFilter {
+	
+	public static final String USUARIO = "idUsuarioAutenticado";
+	
+	private static final String BEARER = "Bearer ";
+	
+	private final TokenService tokenService;
+	
+	@Override
+	public Mono< Void > filter( ServerWebExchange exchange, WebFilterChain chain ) {
+		
+		ServerHttpRequest request = exchange.getRequest();
+		
+		// A requisição de verificação do CORS não leva credenciais.
+		if ( HttpMethod.OPTIONS.equals( request.getMethod() )
+		     || !request.getPath().pathWithinApplication().value().startsWith( "/api/" ) ) {
+			return chain.filter( exchange );
+		}
+		
+		String autorizacao = request.getHeaders().getFirst( HttpHeaders.AUTHORIZATION );
+		
+		if ( autorizacao == null || !autorizacao.regionMatches( true, 0, BEARER, 0, BEARER.length() ) ) {
+			return naoAutorizado( exchange, "Informe o token de acesso no cabeçalho Authorization." );
+		}
+		
+		try {
+			String token = autorizacao.substring( BEARER.length() ).trim();
+			exchange.getAttributes().put( USUARIO, tokenService.validar( token ) );
+		} catch ( ErroAutenticacao e ) {
+			return naoAutorizado( exchange, e.getMessage() );
+		}
+		return chain.filter( exchange );
+	}
+	
+	private Mono< Void > naoAutorizado( ServerWebExchange exchange, String mensagem ) {
+		
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode( HttpStatus.UNAUTHORIZED );
+		response.getHeaders().set( HttpHeaders.WWW_AUTHENTICATE, "Bearer" );
+		response.getHeaders().setContentType( new MediaType( MediaType.TEXT_PLAIN, StandardCharsets.UTF_8 ) );
+		return response.writeWith( Mono.just( response.bufferFactory()
+		                                              .wrap( mensagem.getBytes( StandardCharsets.UTF_8 ) ) ) );
+	}
+	
+}
@@ -0,0 +1,25 @@
+package com.jael.minhasfinacas.reativo.config;
+
+import com.jael.minhasfinacas.service.TokenService;
+import com.jael.minhasfinacas.service.impl.TokenServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Valida os tokens emitidos pela aplicação principal; as duas aplicações precisam do mesmo
+ * {@code minhasfinancas.token.segredo}.
+ */
+@Configuration
+public class AutenticacaoConfig {
+	
+	@Bean
+	public TokenService tokenService( @Value( "${minhasfinancas.token.segredo:}" ) String segredo,
+	                                  @Value( "${minhasfinancas.token.validade:PT8H}" ) Duration validade ) {
+		
+		return new TokenServiceImpl( segredo, validade );
+	}
+	
+}
@@ -0,0 +1,88 @@
+package com.jael.minhasfinacas.reativo.repository;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class LancamentoLeituraRepository {
+	
+	private final DatabaseClient databaseClient;
+	
+	@Value( "${minhasfinancas.reativo.tamanho-lote:256}" )
+	private int tamanhoLote;
+	
+	/**
+	 * Mesmos critérios e ordem da listagem da aplicação principal. As linhas são pedidas ao banco em lotes de
+	 * {@code minhasfinancas.reativo.tamanho-lote} e o próximo lote só é buscado quando o assinante pede mais
+	 * elementos, de modo que um cliente lento não acumula o resultado inteiro em memória.
+	 */
+	public Flux< ItemLancamento > listarItens( Lancamento filtro ) {
+		
+		StringBuilder sql = new StringBuilder( " SELECT l.id, l.descricao, l.mes, l.ano, l.valor, l.id_usuario, l.tipo,"
+		                                       + " l.status FROM financas.lancamento l WHERE l.id_usuario = :idUsuario" );
+		Map< String, Object > parametros = new LinkedHashMap<>();
+		parametros.put( "idUsuario", filtro.getUsuario().getId() );
+		
+		if ( filtro.getDescricao() != null ) {
+			sql.append( " AND LOWER( l.descricao ) LIKE :descricao ESCAPE '\\'" );
+			parametros.put( "descricao", contendo( filtro.getDescricao().toLowerCase() ) );
+		}
+		if ( filtro.getMes() != null ) {
+			sql.append( " AND l.mes = :mes" );
+			parametros.put( "mes", filtro.getMes() );
+		}
+		if ( filtro.getAno() != null ) {
+			sql.append( " AND l.ano = :ano" );
+			parametros.put( "ano", filtro.getAno() );
+		}
+		if ( filtro.getTipo() != null ) {
+			sql.append( " AND l.tipo = :tipo" );
+			parametros.put( "tipo", filtro.getTipo().name() );
+		}
+		if ( filtro.getStatus() != null ) {
+			sql.append( " AND l.status = :status" );
+			parametros.put( "status", filtro.getStatus().name() );
+		}
+		sql.append( " ORDER BY l.id" );
+		
+		DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql( sql.toString() )
+		                                                           .filter( ( instrucao, proxima ) -> proxima.execute(
+				                                                           instrucao.fetchSize( tamanhoLote ) ) );
+		for ( Map.Entry< String, Object > parametro : parametros.entrySet() ) {
+			consulta = consulta.bind( parametro.getKey(), parametro.getValue() );
+		}
+		return consulta.map( ( linha, metadados ) -> item( linha ) ).all();
+	}
+	
+	/**
+	 * Padrão LIKE que encontra o trecho em qualquer posição, com {@code %} e {@code _} tratados como texto e não como
+	 * curingas, como na listagem da aplicação principal.
+	 */
+	private static String contendo( String trecho ) {
+		
+		return "%" + trecho.replace( "\\", "\\\\" ).replace( "%", "\\%" ).replace( "_", "\\_" ) + "%";
+	}
+	
+	private static ItemLancamento item( Row linha ) {
+		
+		return new ItemLancamento( linha.get( "id", Long.class ), linha.get( "descricao", String.class ),
+		                           linha.get( "mes", Integer.class ), linha.get( "ano", Integer.class ),
+		                           linha.get( "valor", BigDecimal.class ), linha.get( "id_usuario", Long.class ),
+		                           TipoLancamento.valueOf( linha.get( "tipo", String.class ) ),
+		                           StatusLancamento.valueOf( linha.get( "status", String.class ) ) );
+	}
+	
+}
@@ -0,0 +1,48 @@
+package com.jael.minhasfinacas.reativo.repository;
+
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Lê a projeção {@code saldo_usuario} mantida pela aplicação principal.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SaldoLeituraRepository {
+	
+	private final DatabaseClient databaseClient;
+	
+	/**
+	 * Sem linha na projeção o saldo é calculado a partir dos lançamentos efetivados e devolvido sem versão, como na
+	 * aplicação principal.
+	 */
+	public Mono< SaldoUsuario > obterSaldoComVersao( Long idUsuario ) {
+		
+		return databaseClient.sql( " SELECT s.saldo, s.versao FROM financas.saldo_usuario s"
+		                           + " WHERE s.id_usuario = :idUsuario " )
+		                     .bind( "idUsuario", idUsuario )
+		                     .map( ( linha, metadados ) -> new SaldoUsuario( idUsuario,
+		                                                                     linha.get( "saldo", BigDecimal.class ),
+		                                                                     linha.get( "versao", Long.class ) ) )
+		                     .first()
+		                     .switchIfEmpty( Mono.defer( () -> calcular( idUsuario ) ) );
+	}
+	
+	private Mono< SaldoUsuario > calcular( Long idUsuario ) {
+		
+		return databaseClient.sql( " SELECT COALESCE( SUM( CASE WHEN l.tipo = 'RECEITA' THEN l.valor"
+		                           + " ELSE -l.valor END ), 0 ) AS saldo FROM financas.lancamento l"
+		                           + " WHERE l.id_usuario = :idUsuario AND l.status = 'EFETIVADO' " )
+		                     .bind( "idUsuario", idUsuario )
+		                     .map( ( linha, metadados ) -> new SaldoUsuario( idUsuario,
+		                                                                     linha.get( "saldo", BigDecimal.class ),
+		                                                                     null ) )
+		                     .one();
+	}
+	
+}
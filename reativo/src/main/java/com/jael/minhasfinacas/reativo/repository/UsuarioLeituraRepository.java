@@ -0,0 +1,23 @@
+package com.jael.minhasfinacas.reativo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class UsuarioLeituraRepository {
+	
+	private final DatabaseClient databaseClient;
+	
+	public Mono< Boolean > existePorId( Long id ) {
+		
+		return databaseClient.sql( " SELECT 1 FROM financas.usuario WHERE id = :id " )
+		                     .bind( "id", id )
+		                     .fetch()
+		                     .first()
+		                     .hasElement();
+	}
+	
+}
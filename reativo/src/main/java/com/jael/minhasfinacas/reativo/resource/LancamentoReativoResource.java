@@ -0,0 +1,71 @@
+package com.jael.minhasfinacas.reativo.resource;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.reativo.autenticacao.FiltroAutenticacaoReativo;
+import com.jael.minhasfinacas.reativo.repository.LancamentoLeituraRepository;
+import com.jael.minhasfinacas.reativo.repository.UsuarioLeituraRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping( "/api/lancamentos" )
+@RequiredArgsConstructor
+public class LancamentoReativoResource {
+	
+	private final LancamentoLeituraRepository lancamentoRepository;
+	private final UsuarioLeituraRepository usuarioRepository;
+	
+	/**
+	 * Com {@code Accept: application/x-ndjson} cada lançamento é escrito assim que lido e o próximo lote só é pedido
+	 * ao banco quando o cliente consome o anterior; um cliente lento segura o seu cursor, não uma thread. Com
+	 * {@code application/json} a resposta é o mesmo array da aplicação principal, montado antes de ser escrito.
+	 * <p>
+	 * Sem {@code usuario} são listados os lançamentos do usuário do token; um {@code usuario} diferente é recusado.
+	 */
+	@GetMapping( produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE } )
+	public Mono< ResponseEntity > buscar( @RequestParam( value = "descricao", required = false ) String descricao,
+	                                      @RequestParam( value = "mes", required = false ) Integer mes,
+	                                      @RequestParam( value = "ano", required = false ) Integer ano,
+	                                      @RequestParam( value = "tipo", required = false ) String tipo,
+	                                      @RequestParam( value = "status", required = false ) String status,
+	                                      @RequestParam( value = "usuario", required = false ) Long usuario,
+	                                      @RequestAttribute( FiltroAutenticacaoReativo.USUARIO ) Long idUsuario ) {
+		
+		if ( usuario != null && !usuario.equals( idUsuario ) ) {
+			return Mono.just( new ResponseEntity( "Os lançamentos de outro usuário não podem ser consultados.",
+			                                      HttpStatus.FORBIDDEN ) );
+		}
+		
+		Lancamento lancamentoFiltro = new Lancamento();
+		
+		lancamentoFiltro.setDescricao( descricao );
+		lancamentoFiltro.setMes( mes );
+		lancamentoFiltro.setAno( ano );
+		lancamentoFiltro.setUsuario( Usuario.builder().id( idUsuario ).build() );
+		
+		if ( tipo != null ) {
+			lancamentoFiltro.setTipo( TipoLancamento.valueOf( tipo ) );
+		}
+		
+		if ( status != null ) {
+			lancamentoFiltro.setStatus( StatusLancamento.valueOf( status ) );
+		}
+		
+		return usuarioRepository.existePorId( idUsuario )
+		                        .map( existe -> existe
+		                                        ? ResponseEntity.ok( lancamentoRepository.listarItens( lancamentoFiltro ) )
+		                                        : ResponseEntity.badRequest().body( "Usuário não encontrado." ) );
+	}
+	
+}
@@ -0,0 +1,49 @@
+package com.jael.minhasfinacas.reativo.resource;
+
+import com.jael.minhasfinacas.reativo.autenticacao.FiltroAutenticacaoReativo;
+import com.jael.minhasfinacas.reativo.repository.SaldoLeituraRepository;
+import com.jael.minhasfinacas.reativo.repository.UsuarioLeituraRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping( "/api/usuarios" )
+@RequiredArgsConstructor
+public class UsuarioReativoResource {
+	
+	private final UsuarioLeituraRepository usuarioRepository;
+	private final SaldoLeituraRepository saldoRepository;
+	
+	@GetMapping( "/{id}/saldo" )
+	public Mono< ResponseEntity > obterSaldo( @PathVariable Long id,
+	                                          @RequestAttribute( FiltroAutenticacaoReativo.USUARIO ) Long idUsuario ) {
+		
+		if ( !id.equals( idUsuario ) ) {
+			return Mono.just( new ResponseEntity( "O saldo de outro usuário não pode ser consultado.",
+			                                      HttpStatus.FORBIDDEN ) );
+		}
+		
+		return usuarioRepository.existePorId( id ).flatMap( existe -> {
+			if ( !existe ) {
+				return Mono.just( new ResponseEntity( HttpStatus.NOT_FOUND ) );
+			}
+			
+			// A versão do saldo vira ETag; um If-None-Match com a mesma versão é respondido com 304 sem corpo.
+			return saldoRepository.obterSaldoComVersao( id ).map( saldo -> {
+				ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+				if ( saldo.getVersao() != null ) {
+					resposta.eTag( String.valueOf( saldo.getVersao() ) );
+				}
+				return resposta.body( saldo.getSaldo() );
+			} );
+		} );
+	}
+	
+}
@@ -0,0 +1,205 @@
+package com.jael.minhasfinacas.reativo.resource;
+
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import com.jael.minhasfinacas.service.TokenService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith( SpringRunner.class )
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles( "test" )
+public class LeituraReativaResourceTest {
+	
+	@Autowired
+	WebTestClient cliente;
+	
+	@Autowired
+	DatabaseClient databaseClient;
+	
+	@Autowired
+	TokenService tokenService;
+	
+	@Before
+	public void setUp() {
+		
+		executar( "DELETE FROM financas.saldo_usuario" );
+		executar( "DELETE FROM financas.lancamento" );
+		executar( "DELETE FROM financas.usuario" );
+		executar( "INSERT INTO financas.usuario ( id, nome, email, senha ) VALUES ( 1, 'usuario', 'usuario@email.com', 'senha' )" );
+		executar( "INSERT INTO financas.usuario ( id, nome, email, senha ) VALUES ( 2, 'outro', 'outro@email.com', 'senha' )" );
+		executar( "INSERT INTO financas.lancamento ( id, descricao, mes, ano, valor, tipo, status, id_usuario )"
+		          + " VALUES ( 10, 'Salário', 1, 2022, 100, 'RECEITA', 'EFETIVADO', 1 )" );
+		executar( "INSERT INTO financas.lancamento ( id, descricao, mes, ano, valor, tipo, status, id_usuario )"
+		          + " VALUES ( 11, 'Aluguel', 1, 2022, 30, 'DESPESA', 'EFETIVADO', 1 )" );
+		executar( "INSERT INTO financas.lancamento ( id, descricao, mes, ano, valor, tipo, status, id_usuario )"
+		          + " VALUES ( 12, 'Mercado', 2, 2022, 20, 'DESPESA', 'PENDENTE', 1 )" );
+		executar( "INSERT INTO financas.lancamento ( id, descricao, mes, ano, valor, tipo, status, id_usuario )"
+		          + " VALUES ( 13, 'Aluguel', 1, 2022, 50, 'DESPESA', 'EFETIVADO', 2 )" );
+	}
+	
+	@Test
+	public void deveListarOsLancamentosDoUsuarioComOsFiltrosDaAplicacaoPrincipal() {
+		//AÇÃO
+		WebTestClient.ResponseSpec resposta = cliente.get()
+		                                             .uri( "/api/lancamentos?usuario=1&mes=1&descricao=ALU" )
+		                                             .headers( autenticado( 1L ) )
+		                                             .accept( MediaType.APPLICATION_JSON )
+		                                             .exchange();
+		
+		//VERIFICAÇÃO
+		resposta.expectStatus().isOk()
+		        .expectBodyList( ItemLancamento.class )
+		        .value( itens -> {
+			        assertThat( itens ).extracting( ItemLancamento::getId ).containsExactly( 11L );
+			        assertThat( itens.get( 0 ).getTipo() ).isEqualTo( TipoLancamento.DESPESA );
+			        assertThat( itens.get( 0 ).getStatus() ).isEqualTo( StatusLancamento.EFETIVADO );
+			        assertThat( itens.get( 0 ).getValor() ).isEqualByComparingTo( "30" );
+		        } );
+	}
+	
+	@Test
+	public void deveTratarCuringasDoLikeComoTextoNaDescricao() {
+		//CENÁRIO
+		executar( "INSERT INTO financas.lancamento ( id, descricao, mes, ano, valor, tipo, status, id_usuario )"
+		          + " VALUES ( 14, 'Desconto 10% a_vista', 3, 2022, 5, 'RECEITA', 'EFETIVADO', 1 )" );
+		executar( "INSERT INTO financas.lancamento ( id, descricao, mes, ano, valor, tipo, status, id_usuario )"
+		          + " VALUES ( 15, 'Desconto 100 avista', 3, 2022, 5, 'RECEITA', 'EFETIVADO', 1 )" );
+		
+		//AÇÃO / VERIFICAÇÃO
+		for ( String descricao : new String[] { "10%", "a_v" } ) {
+			cliente.get()
+			       .uri( uri -> uri.path( "/api/lancamentos" ).queryParam( "descricao", "{descricao}" )
+			                       .build( descricao ) )
+			       .headers( autenticado( 1L ) )
+			       .accept( MediaType.APPLICATION_JSON )
+			       .exchange()
+			       .expectStatus().isOk()
+			       .expectBodyList( ItemLancamento.class )
+			       .value( itens -> assertThat( itens ).extracting( ItemLancamento::getId ).containsExactly( 14L ) );
+		}
+	}
+	
+	@Test
+	public void deveEntregarOsLancamentosSobDemandaEmNdjson() {
+		//AÇÃO
+		WebTestClient.ResponseSpec resposta = cliente.get()
+		                                             .uri( "/api/lancamentos" )
+		                                             .headers( autenticado( 1L ) )
+		                                             .accept( MediaType.APPLICATION_NDJSON )
+		                                             .exchange();
+		
+		//VERIFICAÇÃO
+		resposta.expectStatus().isOk().expectHeader().contentTypeCompatibleWith( MediaType.APPLICATION_NDJSON );
+		StepVerifier.create( resposta.returnResult( ItemLancamento.class ).getResponseBody(), 1 )
+		            .assertNext( item -> assertThat( item.getId() ).isEqualTo( 10L ) )
+		            .thenRequest( 2 )
+		            .assertNext( item -> assertThat( item.getId() ).isEqualTo( 11L ) )
+		            .assertNext( item -> assertThat( item.getId() ).isEqualTo( 12L ) )
+		            .verifyComplete();
+	}
+	
+	@Test
+	public void deveRecusarAListagemDeUmUsuarioInexistente() {
+		//AÇÃO / VERIFICAÇÃO
+		cliente.get()
+		       .uri( "/api/lancamentos?usuario=99" )
+		       .headers( autenticado( 99L ) )
+		       .exchange()
+		       .expectStatus().isBadRequest()
+		       .expectBody( String.class ).isEqualTo( "Usuário não encontrado." );
+	}
+	
+	@Test
+	public void deveCalcularOSaldoQuandoNaoHaProjecao() {
+		//AÇÃO / VERIFICAÇÃO
+		cliente.get()
+		       .uri( "/api/usuarios/1/saldo" )
+		       .headers( autenticado( 1L ) )
+		       .exchange()
+		       .expectStatus().isOk()
+		       .expectHeader().doesNotExist( "ETag" )
+		       .expectBody( BigDecimal.class ).value( saldo -> assertThat( saldo ).isEqualByComparingTo( "70" ) );
+	}
+	
+	@Test
+	public void deveResponderNaoModificadoQuandoOSaldoNaoMudou() {
+		//CENÁRIO
+		executar( "INSERT INTO financas.saldo_usuario ( id_usuario, saldo, versao ) VALUES ( 1, 70, 3 )" );
+		
+		//AÇÃO / VERIFICAÇÃO
+		cliente.get()
+		       .uri( "/api/usuarios/1/saldo" )
+		       .headers( autenticado( 1L ) )
+		       .exchange()
+		       .expectStatus().isOk()
+		       .expectHeader().valueEquals( "ETag", "\"3\"" );
+		
+		cliente.get()
+		       .uri( "/api/usuarios/1/saldo" )
+		       .headers( autenticado( 1L ) )
+		       .ifNoneMatch( "\"3\"" )
+		       .exchange()
+		       .expectStatus().isNotModified();
+	}
+	
+	@Test
+	public void deveResponderNaoEncontradoParaOSaldoDeUmUsuarioInexistente() {
+		//AÇÃO / VERIFICAÇÃO
+		cliente.get()
+		       .uri( "/api/usuarios/99/saldo" )
+		       .headers( autenticado( 99L ) )
+		       .exchange()
+		       .expectStatus().isNotFound();
+	}
+	
+	@Test
+	public void deveExigirOTokenDoProprioUsuario() {
+		//AÇÃO / VERIFICAÇÃO
+		cliente.get()
+		       .uri( "/api/lancamentos?usuario=1" )
+		       .exchange()
+		       .expectStatus().isUnauthorized();
+		
+		cliente.get()
+		       .uri( "/api/lancamentos?usuario=1" )
+		       .headers( autenticado( 2L ) )
+		       .exchange()
+		       .expectStatus().isForbidden();
+		
+		cliente.get()
+		       .uri( "/api/usuarios/1/saldo" )
+		       .headers( autenticado( 2L ) )
+		       .exchange()
+		       .expectStatus().isForbidden();
+	}
+	
+	private Consumer< HttpHeaders > autenticado( Long idUsuario ) {
+		
+		return cabecalhos -> cabecalhos.setBearerAuth( tokenService.gerar( idUsuario ) );
+	}
+	
+	private void executar( String sql ) {
+		
+		databaseClient.sql( sql ).then().block();
+	}
+	
+}
@@ -0,0 +1,30 @@
+CREATE SCHEMA IF NOT EXISTS financas;
+
+CREATE TABLE IF NOT EXISTS financas.usuario
+(
+    id    BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nome  VARCHAR(150),
+    email VARCHAR(100),
+    senha VARCHAR(20)
+);
+
+CREATE TABLE IF NOT EXISTS financas.lancamento
+(
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    descricao     VARCHAR(100) NOT NULL,
+    mes           INTEGER      NOT NULL,
+    ano           INTEGER      NOT NULL,
+    valor         NUMERIC(16, 2),
+    tipo          VARCHAR(20),
+    status        VARCHAR(20),
+    id_usuario    BIGINT REFERENCES financas.usuario (id),
+    data_cadastro DATE,
+    versao        BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS financas.saldo_usuario
+(
+    id_usuario BIGINT PRIMARY KEY,
+    saldo      NUMERIC(16, 2),
+    versao     BIGINT NOT NULL
+);
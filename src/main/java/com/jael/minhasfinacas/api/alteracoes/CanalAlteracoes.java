@@ -0,0 +1,281 @@
+package com.jael.minhasfinacas.api.alteracoes;
+
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
+import com.jael.minhasfinacas.service.SaldoUsuarioService;
+import com.jael.minhasfinacas.service.evento.AlteracaoLancamento;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entrega por Server-Sent Events as alterações de lançamentos de cada usuário e, em seguida, o saldo resultante, somente
+ * depois do commit da transação que as fez. O saldo também é enviado ao assinar, para que o cliente parta do estado
+ * atual sem consultar a API.
+ * <p>
+ * Cada assinante tem uma fila de até {@code minhasfinancas.alteracoes.buffer} eventos, esvaziada por uma thread de
+ * cada vez, de modo que um cliente lento não atrasa a requisição que fez a alteração. O pool mantém
+ * {@code minhasfinancas.alteracoes.threads} threads e cria outras, até {@code minhasfinancas.alteracoes.threads-maximo},
+ * quando todas estão ocupadas: o envio do {@link SseEmitter} bloqueia enquanto o cliente não lê a conexão, e um envio
+ * preso não pode segurar os demais assinantes. Quem deixa a fila encher, tem um envio que passa de
+ * {@code minhasfinancas.alteracoes.timeout-envio} ou precisa de uma thread quando todas já estão ocupadas é
+ * desconectado; ao reconectar recebe o saldo atual e deve recarregar a listagem.
+ */
+@Slf4j
+@Component
+public class CanalAlteracoes {
+	
+	public static final String EVENTO_LANCAMENTO = "lancamento";
+	
+	public static final String EVENTO_SALDO = "saldo";
+	
+	private final Map< Long, Set< Assinante > > assinantes = new ConcurrentHashMap<>();
+	
+	private final SaldoUsuarioService saldoUsuarioService;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final int capacidadeFila;
+	
+	private final Duration timeout;
+	
+	private final Duration timeoutEnvio;
+	
+	private final ExecutorService executor;
+	
+	private final ScheduledExecutorService vigia;
+	
+	public CanalAlteracoes( SaldoUsuarioService saldoUsuarioService, PlatformTransactionManager transactionManager,
+	                        @Value( "${minhasfinancas.alteracoes.buffer:64}" ) int capacidadeFila,
+	                        @Value( "${minhasfinancas.alteracoes.threads:2}" ) int threads,
+	                        @Value( "${minhasfinancas.alteracoes.threads-maximo:32}" ) int threadsMaximo,
+	                        @Value( "${minhasfinancas.alteracoes.timeout:PT30M}" ) Duration timeout,
+	                        @Value( "${minhasfinancas.alteracoes.timeout-envio:PT10S}" ) Duration timeoutEnvio ) {
+		
+		this.saldoUsuarioService = saldoUsuarioService;
+		// Uma transação de escrita leva a leitura para a primária: a réplica pode ainda não ter recebido o commit.
+		this.transactionTemplate = new TransactionTemplate( transactionManager );
+		this.capacidadeFila = capacidadeFila;
+		this.timeout = timeout;
+		this.timeoutEnvio = timeoutEnvio;
+		// Sem fila: uma tarefa sem thread livre é recusada e o assinante que dependia dela é desconectado.
+		this.executor = new ThreadPoolExecutor( threads, threadsMaximo, 60L, TimeUnit.SECONDS,
+		                                        new SynchronousQueue<>(),
+		                                        new CustomizableThreadFactory( "alteracoes-" ) );
+		this.vigia = Executors.newSingleThreadScheduledExecutor( new CustomizableThreadFactory( "alteracoes-vigia-" ) );
+	}
+	
+	public SseEmitter assinar( Long idUsuario ) {
+		
+		return assinar( idUsuario, new SseEmitter( timeout.toMillis() ) );
+	}
+	
+	SseEmitter assinar( Long idUsuario, SseEmitter emitter ) {
+		
+		Assinante assinante = new Assinante( idUsuario, emitter, new ArrayBlockingQueue<>( capacidadeFila ) );
+		emitter.onCompletion( () -> remover( assinante ) );
+		emitter.onTimeout( () -> remover( assinante ) );
+		emitter.onError( erro -> remover( assinante ) );
+		
+		assinantes.compute( idUsuario, ( id, doUsuario ) -> {
+			Set< Assinante > atualizados = doUsuario == null ? ConcurrentHashMap.newKeySet() : doUsuario;
+			atualizados.add( assinante );
+			return atualizados;
+		} );
+		executar( () -> enviarSaldo( idUsuario, List.of( assinante ) ), List.of( assinante ) );
+		return emitter;
+	}
+	
+	@TransactionalEventListener
+	public void publicar( AlteracaoLancamento alteracao ) {
+		
+		Set< Assinante > doUsuario = assinantes.get( alteracao.getIdUsuario() );
+		
+		if ( doUsuario == null || doUsuario.isEmpty() ) {
+			return;
+		}
+		
+		Evento evento = new Evento( EVENTO_LANCAMENTO, alteracao );
+		doUsuario.forEach( assinante -> entregar( assinante, evento ) );
+		executar( () -> enviarSaldo( alteracao.getIdUsuario(), doUsuario ), doUsuario );
+	}
+	
+	@PreDestroy
+	public void encerrar() {
+		
+		executor.shutdownNow();
+		vigia.shutdownNow();
+		assinantes.values().forEach( doUsuario -> doUsuario.forEach( assinante -> assinante.emitter.complete() ) );
+	}
+	
+	private void enviarSaldo( Long idUsuario, Collection< Assinante > destinatarios ) {
+		
+		if ( destinatarios.isEmpty() ) {
+			return;
+		}
+		
+		try {
+			SaldoUsuario saldo = transactionTemplate.execute(
+					status -> saldoUsuarioService.obterSaldoComVersao( idUsuario ) );
+			Evento evento = new Evento( EVENTO_SALDO, saldo );
+			destinatarios.forEach( assinante -> entregar( assinante, evento ) );
+		} catch ( RuntimeException e ) {
+			log.warn( "Não foi possível enviar o saldo do usuário {} aos assinantes.", idUsuario, e );
+		}
+	}
+	
+	private void entregar( Assinante assinante, Evento evento ) {
+		
+		if ( !assinante.fila.offer( evento ) ) {
+			log.debug( "Assinante do usuário {} desconectado por não acompanhar os eventos.", assinante.idUsuario );
+			assinante.descartado = true;
+			remover( assinante );
+		}
+		
+		if ( assinante.enviando.compareAndSet( false, true ) ) {
+			try {
+				executor.execute( () -> esvaziar( assinante ) );
+			} catch ( RejectedExecutionException e ) {
+				assinante.enviando.set( false );
+				descartarSemThread( assinante );
+			}
+		}
+	}
+	
+	private void executar( Runnable tarefa, Collection< Assinante > dependentes ) {
+		
+		try {
+			executor.execute( tarefa );
+		} catch ( RejectedExecutionException e ) {
+			dependentes.forEach( this::descartarSemThread );
+		}
+	}
+	
+	/**
+	 * Desconecta o assinante cuja tarefa o pool recusou. Com um envio em andamento, a própria thread do envio encerra
+	 * a resposta ao terminar; chamar o {@link SseEmitter} aqui esperaria por ela.
+	 */
+	private void descartarSemThread( Assinante assinante ) {
+		
+		log.debug( "Assinante do usuário {} desconectado por não haver thread de envio livre.", assinante.idUsuario );
+		assinante.descartado = true;
+		assinante.fila.clear();
+		remover( assinante );
+		
+		if ( assinante.enviando.compareAndSet( false, true ) ) {
+			assinante.emitter.complete();
+		}
+	}
+	
+	/**
+	 * Roda em uma única thread por assinante por vez. Um envio que passa de {@code timeoutEnvio} desconecta o
+	 * assinante sem esperar pela escrita: a thread continua presa até o contêiner desistir dela (o
+	 * {@code server.tomcat.connection-timeout}), mas os outros assinantes seguem nas demais threads do pool. Eventos
+	 * que chegam enquanto a thread devolve a vez são enviados por ela mesma, sem pedir outra ao pool.
+	 */
+	private void esvaziar( Assinante assinante ) {
+		
+		do {
+			try {
+				Evento evento;
+				while ( !assinante.descartado && ( evento = assinante.fila.poll() ) != null ) {
+					ScheduledFuture< ? > prazo = vigia.schedule( () -> expirar( assinante ), timeoutEnvio.toMillis(),
+					                                             TimeUnit.MILLISECONDS );
+					try {
+						assinante.emitter.send( SseEmitter.event()
+						                                  .name( evento.nome )
+						                                  .data( evento.dados, MediaType.APPLICATION_JSON ) );
+					} finally {
+						prazo.cancel( false );
+					}
+				}
+			} catch ( IOException | IllegalStateException e ) {
+				// O cliente desconectou ou a resposta já foi encerrada.
+				assinante.descartado = true;
+				remover( assinante );
+				return;
+			}
+			
+			if ( assinante.descartado ) {
+				assinante.emitter.complete();
+				return;
+			}
+			
+			assinante.enviando.set( false );
+			// Um descarte feito enquanto esta thread enviava deixou para ela encerrar a resposta.
+		} while ( ( assinante.descartado || !assinante.fila.isEmpty() )
+		          && assinante.enviando.compareAndSet( false, true ) );
+	}
+	
+	/**
+	 * Não chama o {@link SseEmitter}, cujos métodos aguardam o envio em andamento; a thread do envio encerra a
+	 * resposta quando a escrita terminar ou falhar.
+	 */
+	private void expirar( Assinante assinante ) {
+		
+		log.debug( "Assinante do usuário {} desconectado por um envio mais longo que {}.", assinante.idUsuario,
+		           timeoutEnvio );
+		assinante.descartado = true;
+		assinante.fila.clear();
+		remover( assinante );
+	}
+	
+	private void remover( Assinante assinante ) {
+		
+		assinantes.computeIfPresent( assinante.idUsuario, ( id, doUsuario ) -> {
+			doUsuario.remove( assinante );
+			return doUsuario.isEmpty() ? null : doUsuario;
+		} );
+	}
+	
+	@RequiredArgsConstructor
+	private static class Assinante {
+		
+		private final Long idUsuario;
+		
+		private final SseEmitter emitter;
+		
+		private final BlockingQueue< Evento > fila;
+		
+		private final AtomicBoolean enviando = new AtomicBoolean();
+		
+		private volatile boolean descartado;
+	
+	}
+	
+	@RequiredArgsConstructor
+	private static class Evento {
+		
+		private final String nome;
+		
+		private final Object dados;
+	
+	}
+	
+}
@@ -0,0 +1,99 @@
+package com.jael.minhasfinacas.api.autenticacao;
+
+import com.jael.minhasfinacas.exception.ErroAutenticacao;
+import com.jael.minhasfinacas.service.TokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Exige um token de {@code /api/usuarios/autenticar} no cabeçalho {@code Authorization: Bearer} e expõe o id do
+ * usuário no atributo {@value #USUARIO} da requisição, lido pelos endpoints com {@code @RequestAttribute}. Um token
+ * ausente, inválido ou expirado é respondido com 401 sem chegar ao endpoint.
+ * <p>
+ * Como o {@code EventSource} dos navegadores não envia cabeçalhos, as requisições que aceitam
+ * {@code text/event-stream} também podem levar o token no parâmetro {@value #PARAMETRO_TOKEN}.
+ * <p>
+ * O cadastro e a autenticação, em {@code POST /api/usuarios} e {@code POST /api/usuarios/autenticar}, ficam abertos
+ * mesmo quando o filtro cobre {@code /api/usuarios/*}: é por eles que o usuário obtém o token.
+ */
+@RequiredArgsConstructor
+public class FiltroAutenticacao extends OncePerRequestFilter {
+	
+	public static final String USUARIO = "idUsuarioAutenticado";
+	
+	public static final String PARAMETRO_TOKEN = "access_token";
+	
+	private static final String BEARER = "Bearer ";
+	
+	private static final Set< String > CAMINHOS_ABERTOS = Set.of( "/api/usuarios", "/api/usuarios/autenticar" );
+	
+	private final TokenService tokenService;
+	
+	@Override
+	protected void doFilterInternal( HttpServletRequest request, HttpServletResponse response, FilterChain chain )
+			throws ServletException, IOException {
+		
+		String token = token( request );
+		
+		if ( token == null ) {
+			naoAutorizado( response, "Informe o token de acesso no cabeçalho Authorization." );
+			return;
+		}
+		
+		try {
+			request.setAttribute( USUARIO, tokenService.validar( token ) );
+		} catch ( ErroAutenticacao e ) {
+			naoAutorizado( response, e.getMessage() );
+			return;
+		}
+		chain.doFilter( request, response );
+	}
+	
+	/**
+	 * A requisição de verificação do CORS não leva credenciais.
+	 */
+	@Override
+	protected boolean shouldNotFilter( HttpServletRequest request ) {
+		
+		if ( HttpMethod.OPTIONS.matches( request.getMethod() ) ) {
+			return true;
+		}
+		String caminho = request.getRequestURI().substring( request.getContextPath().length() );
+		return HttpMethod.POST.matches( request.getMethod() ) && CAMINHOS_ABERTOS.contains( caminho );
+	}
+	
+	private String token( HttpServletRequest request ) {
+		
+		String autorizacao = request.getHeader( HttpHeaders.AUTHORIZATION );
+		
+		if ( autorizacao != null && autorizacao.regionMatches( true, 0, BEARER, 0, BEARER.length() ) ) {
+			return autorizacao.substring( BEARER.length() ).trim();
+		}
+		if ( autorizacao == null && MediaType.TEXT_EVENT_STREAM_VALUE.equals( request.getHeader( HttpHeaders.ACCEPT ) ) ) {
+			return request.getParameter( PARAMETRO_TOKEN );
+		}
+		return null;
+	}
+	
+	private void naoAutorizado( HttpServletResponse response, String mensagem ) throws IOException {
+		
+		response.setStatus( HttpStatus.UNAUTHORIZED.value() );
+		response.setHeader( HttpHeaders.WWW_AUTHENTICATE, "Bearer" );
+		response.setContentType( MediaType.TEXT_PLAIN_VALUE );
+		response.setCharacterEncoding( StandardCharsets.UTF_8.name() );
+		response.getWriter().write( mensagem );
+	}
+	
+}
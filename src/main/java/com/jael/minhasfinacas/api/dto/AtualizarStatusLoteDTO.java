@@ -0,0 +1,26 @@
+package com.jael.minhasfinacas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizarStatusLoteDTO {
+	
+	private List< Long > ids;
+	
+	private Integer mes;
+	
+	private Integer ano;
+	
+	private String tipo;
+	
+	private String status;
+	
+}
@@ -0,0 +1,18 @@
+package com.jael.minhasfinacas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+	
+	private Integer registro;
+	
+	private String mensagem;
+	
+}
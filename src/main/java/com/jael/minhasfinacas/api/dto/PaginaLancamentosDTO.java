@@ -0,0 +1,23 @@
+package com.jael.minhasfinacas.api.dto;
+
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaLancamentosDTO {
+	
+	private List< ItemLancamento > conteudo;
+	
+	private Integer tamanho;
+	
+	private String proximo;
+	
+}
@@ -0,0 +1,28 @@
+package com.jael.minhasfinacas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+	
+	private String descricao;
+	
+	private BigDecimal valor;
+	
+	private String tipo;
+	
+	private Integer mes;
+	
+	private Integer ano;
+	
+	private Integer parcelas;
+	
+}
@@ -0,0 +1,24 @@
+package com.jael.minhasfinacas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+	
+	private Integer importados;
+	
+	private Integer totalErros;
+	
+	@Builder.Default
+	private List< ErroImportacaoDTO > erros = new ArrayList<>();
+	
+}
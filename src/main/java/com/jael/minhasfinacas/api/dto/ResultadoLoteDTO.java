@@ -0,0 +1,16 @@
+package com.jael.minhasfinacas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+	
+	private Integer quantidade;
+	
+}
@@ -0,0 +1,20 @@
+package com.jael.minhasfinacas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoAnualDTO {
+	
+	private Integer ano;
+	
+	private List< ResumoMensalDTO > meses;
+	
+}
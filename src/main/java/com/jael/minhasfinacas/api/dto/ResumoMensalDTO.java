@@ -0,0 +1,22 @@
+package com.jael.minhasfinacas.api.dto;
+
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalDTO {
+	
+	private Integer mes;
+	
+	private Map< TipoLancamento, Map< StatusLancamento, TotalResumoDTO > > totais;
+	
+}
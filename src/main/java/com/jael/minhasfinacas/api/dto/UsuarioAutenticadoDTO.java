@@ -0,0 +1,27 @@
+package com.jael.minhasfinacas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioAutenticadoDTO {
+	
+	private Long id;
+	
+	private String nome;
+	
+	private String email;
+	
+	/**
+	 * Enviado nos endpoints de lançamentos como {@code Authorization: Bearer <token>}.
+	 */
+	private String token;
+	
+	private Long expiraEmSegundos;
+	
+}
@@ -0,0 +1,90 @@
+package com.jael.minhasfinacas.api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jael.minhasfinacas.api.dto.LancamentoDTO;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.service.LancamentoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escreve os lançamentos de um usuário diretamente na resposta, linha a linha, à medida que são lidos do banco.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportadorLancamentos {
+	
+	private static final String CABECALHO_CSV = "id,descricao,mes,ano,valor,tipo,status,data_cadastro";
+	
+	private final LancamentoService lancamentoService;
+	
+	private final ObjectMapper objectMapper;
+	
+	public StreamingResponseBody exportar( Long idUsuario, FormatoExportacao formato ) {
+		
+		return saida -> {
+			Writer writer = new BufferedWriter( new OutputStreamWriter( saida, StandardCharsets.UTF_8 ) );
+			
+			if ( formato == FormatoExportacao.CSV ) {
+				writer.write( CABECALHO_CSV );
+				writer.write( '\n' );
+			}
+			
+			lancamentoService.exportarPorUsuario( idUsuario, lancamento -> {
+				try {
+					writer.write( formato == FormatoExportacao.CSV ? linhaCsv( lancamento ) : linhaJson( lancamento ) );
+					writer.write( '\n' );
+				} catch ( IOException e ) {
+					throw new UncheckedIOException( e );
+				}
+			} );
+			
+			writer.flush();
+		};
+	}
+	
+	private String linhaCsv( Lancamento lancamento ) {
+		
+		return String.join( ",", valor( lancamento.getId() ), texto( lancamento.getDescricao() ),
+		                    valor( lancamento.getMes() ), valor( lancamento.getAno() ), valor( lancamento.getValor() ),
+		                    valor( lancamento.getTipo() ), valor( lancamento.getStatus() ),
+		                    valor( lancamento.getDataCadastro() ) );
+	}
+	
+	private String linhaJson( Lancamento lancamento ) throws IOException {
+		
+		LancamentoDTO dto = LancamentoDTO.builder()
+		                                 .id( lancamento.getId() )
+		                                 .descricao( lancamento.getDescricao() )
+		                                 .mes( lancamento.getMes() )
+		                                 .ano( lancamento.getAno() )
+		                                 .valor( lancamento.getValor() )
+		                                 .usuario( lancamento.getUsuario().getId() )
+		                                 .tipo( valor( lancamento.getTipo() ) )
+		                                 .status( valor( lancamento.getStatus() ) )
+		                                 .build();
+		return objectMapper.writeValueAsString( dto );
+	}
+	
+	private String valor( Object valor ) {
+		
+		return valor == null ? "" : valor.toString();
+	}
+	
+	private String texto( String texto ) {
+		
+		if ( texto == null ) {
+			return "";
+		}
+		return "\"" + texto.replace( "\"", "\"\"" ) + "\"";
+	}
+	
+}
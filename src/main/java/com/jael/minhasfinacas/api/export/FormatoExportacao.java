@@ -0,0 +1,29 @@
+package com.jael.minhasfinacas.api.export;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum FormatoExportacao {
+	
+	CSV( "csv", new MediaType( "text", "csv" ) ),
+	NDJSON( "ndjson", new MediaType( "application", "x-ndjson" ) );
+	
+	private final String extensao;
+	
+	private final MediaType mediaType;
+	
+	public static FormatoExportacao de( String formato ) {
+		
+		for ( FormatoExportacao valor : values() ) {
+			if ( valor.extensao.equalsIgnoreCase( formato ) ) {
+				return valor;
+			}
+		}
+		throw new RegraNegocioException( "Informe um formato de exportação válido: csv ou ndjson." );
+	}
+	
+}
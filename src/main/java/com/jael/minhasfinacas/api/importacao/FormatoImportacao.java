@@ -0,0 +1,20 @@
+package com.jael.minhasfinacas.api.importacao;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+
+public enum FormatoImportacao {
+	
+	CSV,
+	OFX;
+	
+	public static FormatoImportacao de( String formato ) {
+		
+		for ( FormatoImportacao valor : values() ) {
+			if ( valor.name().equalsIgnoreCase( formato ) ) {
+				return valor;
+			}
+		}
+		throw new RegraNegocioException( "Informe um formato de importação válido: csv ou ofx." );
+	}
+	
+}
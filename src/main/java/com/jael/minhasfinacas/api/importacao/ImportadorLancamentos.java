@@ -0,0 +1,205 @@
+package com.jael.minhasfinacas.api.importacao;
+
+import com.jael.minhasfinacas.api.dto.ErroImportacaoDTO;
+import com.jael.minhasfinacas.api.dto.ResultadoImportacaoDTO;
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.service.LancamentoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Importa um extrato bancário lendo uma transação por vez, validando cada uma com as regras de
+ * {@link LancamentoService#validar(Lancamento)} e gravando as válidas em lotes. Transações inválidas são reportadas
+ * sem interromper a importação; um lote recusado pelo banco é regravado registro a registro para que apenas os
+ * registros recusados sejam reportados.
+ */
+@Component
+public class ImportadorLancamentos {
+	
+	private static final int LIMITE_ERROS_REPORTADOS = 1000;
+	
+	private static final List< DateTimeFormatter > FORMATOS_DATA = List.of( DateTimeFormatter.ISO_LOCAL_DATE,
+	                                                                        DateTimeFormatter.ofPattern( "dd/MM/yyyy" ),
+	                                                                        DateTimeFormatter.BASIC_ISO_DATE );
+	
+	private final LancamentoService lancamentoService;
+	
+	private final int tamanhoLote;
+	
+	public ImportadorLancamentos( LancamentoService lancamentoService,
+	                              @Value( "${minhasfinancas.importacao.tamanho-lote:500}" ) int tamanhoLote ) {
+		
+		this.lancamentoService = lancamentoService;
+		this.tamanhoLote = tamanhoLote;
+	}
+	
+	public ResultadoImportacaoDTO importar( Usuario usuario, FormatoImportacao formato, InputStream entrada )
+			throws IOException {
+		
+		BufferedReader reader = new BufferedReader( new InputStreamReader( entrada, StandardCharsets.UTF_8 ) );
+		LeitorExtrato leitor = formato == FormatoImportacao.CSV ? new LeitorCsv( reader ) : new LeitorOfx( reader );
+		
+		ResultadoImportacaoDTO resultado = new ResultadoImportacaoDTO( 0, 0, new ArrayList<>() );
+		List< Lancamento > lote = new ArrayList<>( tamanhoLote );
+		List< Integer > registrosDoLote = new ArrayList<>( tamanhoLote );
+		RegistroExtrato registro;
+		
+		while ( ( registro = leitor.proximo() ) != null ) {
+			try {
+				Lancamento lancamento = converter( registro, usuario );
+				lancamentoService.validar( lancamento );
+				lote.add( lancamento );
+				registrosDoLote.add( registro.getNumero() );
+			} catch ( RegraNegocioException e ) {
+				registrarErro( resultado, registro.getNumero(), e.getMessage() );
+			}
+			
+			if ( lote.size() == tamanhoLote ) {
+				gravar( lote, registrosDoLote, resultado );
+			}
+		}
+		gravar( lote, registrosDoLote, resultado );
+		
+		return resultado;
+	}
+	
+	private void gravar( List< Lancamento > lote, List< Integer > registrosDoLote, ResultadoImportacaoDTO resultado ) {
+		
+		if ( lote.isEmpty() ) {
+			return;
+		}
+		
+		try {
+			lancamentoService.salvarLote( lote );
+			resultado.setImportados( resultado.getImportados() + lote.size() );
+		} catch ( DataAccessException e ) {
+			for ( int i = 0; i < lote.size(); i++ ) {
+				gravarIndividualmente( lote.get( i ), registrosDoLote.get( i ), resultado );
+			}
+		}
+		
+		lote.clear();
+		registrosDoLote.clear();
+	}
+	
+	private void gravarIndividualmente( Lancamento lancamento, int numero, ResultadoImportacaoDTO resultado ) {
+		
+		// O lote desfeito já havia atribuído id e versão ao lançamento.
+		lancamento.setId( null );
+		lancamento.setVersao( null );
+		
+		try {
+			lancamentoService.salvarLote( List.of( lancamento ) );
+			resultado.setImportados( resultado.getImportados() + 1 );
+		} catch ( DataAccessException e ) {
+			registrarErro( resultado, numero, "Não foi possível gravar este registro." );
+		}
+	}
+	
+	private void registrarErro( ResultadoImportacaoDTO resultado, int numero, String mensagem ) {
+		
+		resultado.setTotalErros( resultado.getTotalErros() + 1 );
+		
+		if ( resultado.getErros().size() < LIMITE_ERROS_REPORTADOS ) {
+			resultado.getErros().add( new ErroImportacaoDTO( numero, mensagem ) );
+		}
+	}
+	
+	private Lancamento converter( RegistroExtrato registro, Usuario usuario ) {
+		
+		Lancamento lancamento = new Lancamento();
+		lancamento.setUsuario( usuario );
+		lancamento.setDescricao( registro.getDescricao() );
+		
+		BigDecimal valor = converterValor( registro.getValor() );
+		
+		if ( registro.getTipo() != null ) {
+			lancamento.setTipo( converterEnum( TipoLancamento.class, registro.getTipo(), "Tipo de Lançamento" ) );
+			lancamento.setValor( valor );
+		} else if ( valor != null ) {
+			lancamento.setTipo( valor.signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA );
+			lancamento.setValor( valor.abs() );
+		}
+		
+		lancamento.setStatus( registro.getStatus() == null
+		                      ? StatusLancamento.EFETIVADO
+		                      : converterEnum( StatusLancamento.class, registro.getStatus(), "Status de Lançamento" ) );
+		
+		if ( registro.getData() != null ) {
+			LocalDate data = converterData( registro.getData() );
+			lancamento.setMes( data.getMonthValue() );
+			lancamento.setAno( data.getYear() );
+		} else {
+			lancamento.setMes( converterInteiro( registro.getMes() ) );
+			lancamento.setAno( converterInteiro( registro.getAno() ) );
+		}
+		
+		return lancamento;
+	}
+	
+	private BigDecimal converterValor( String valor ) {
+		
+		if ( valor == null ) {
+			return null;
+		}
+		
+		String normalizado = valor.replace( " ", "" );
+		if ( normalizado.indexOf( ',' ) >= 0 ) {
+			normalizado = normalizado.replace( ".", "" ).replace( ',', '.' );
+		}
+		
+		try {
+			return new BigDecimal( normalizado );
+		} catch ( NumberFormatException e ) {
+			throw new RegraNegocioException( "Informe um Valor válido." );
+		}
+	}
+	
+	private LocalDate converterData( String data ) {
+		
+		for ( DateTimeFormatter formato : FORMATOS_DATA ) {
+			try {
+				return LocalDate.parse( data, formato );
+			} catch ( DateTimeParseException e ) {
+				// tenta o próximo formato
+			}
+		}
+		throw new RegraNegocioException( "Informe uma Data válida." );
+	}
+	
+	private Integer converterInteiro( String valor ) {
+		
+		try {
+			return valor == null ? null : Integer.valueOf( valor );
+		} catch ( NumberFormatException e ) {
+			return null;
+		}
+	}
+	
+	private < E extends Enum< E > > E converterEnum( Class< E > tipo, String valor, String campo ) {
+		
+		try {
+			return Enum.valueOf( tipo, valor.toUpperCase() );
+		} catch ( IllegalArgumentException e ) {
+			throw new RegraNegocioException( "Informe um " + campo + " válido." );
+		}
+	}
+	
+}
@@ -0,0 +1,122 @@
+package com.jael.minhasfinacas.api.importacao;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lê um CSV com cabeçalho, separado por vírgula ou ponto e vírgula. As colunas reconhecidas são descricao, valor,
+ * mes, ano, data, tipo e status; as demais são ignoradas, o que permite reimportar o CSV da exportação.
+ */
+public class LeitorCsv implements LeitorExtrato {
+	
+	private final BufferedReader reader;
+	
+	private final Map< String, Integer > colunas = new HashMap<>();
+	
+	private char separador;
+	
+	private int numeroLinha;
+	
+	public LeitorCsv( BufferedReader reader ) throws IOException {
+		
+		this.reader = reader;
+		lerCabecalho();
+	}
+	
+	@Override
+	public RegistroExtrato proximo() throws IOException {
+		
+		String linha;
+		do {
+			linha = reader.readLine();
+			numeroLinha++;
+			if ( linha == null ) {
+				return null;
+			}
+		} while ( linha.isBlank() );
+		
+		List< String > campos = dividir( linha );
+		
+		return RegistroExtrato.builder()
+		                      .numero( numeroLinha )
+		                      .descricao( campo( campos, "descricao" ) )
+		                      .valor( campo( campos, "valor" ) )
+		                      .mes( campo( campos, "mes" ) )
+		                      .ano( campo( campos, "ano" ) )
+		                      .data( campo( campos, "data" ) )
+		                      .tipo( campo( campos, "tipo" ) )
+		                      .status( campo( campos, "status" ) )
+		                      .build();
+	}
+	
+	private void lerCabecalho() throws IOException {
+		
+		String cabecalho = reader.readLine();
+		numeroLinha++;
+		
+		if ( cabecalho == null || cabecalho.isBlank() ) {
+			throw new RegraNegocioException( "O arquivo CSV deve começar por uma linha de cabeçalho." );
+		}
+		
+		separador = cabecalho.indexOf( ';' ) >= 0 ? ';' : ',';
+		List< String > nomes = dividir( cabecalho );
+		
+		for ( int i = 0; i < nomes.size(); i++ ) {
+			colunas.put( normalizar( nomes.get( i ) ), i );
+		}
+		
+		if ( !colunas.containsKey( "descricao" ) || !colunas.containsKey( "valor" ) ) {
+			throw new RegraNegocioException( "O cabeçalho do CSV deve conter as colunas descricao e valor." );
+		}
+	}
+	
+	private String campo( List< String > campos, String coluna ) {
+		
+		Integer indice = colunas.get( coluna );
+		
+		if ( indice == null || indice >= campos.size() || campos.get( indice ).isBlank() ) {
+			return null;
+		}
+		return campos.get( indice ).trim();
+	}
+	
+	private List< String > dividir( String linha ) {
+		
+		List< String > campos = new ArrayList<>();
+		StringBuilder atual = new StringBuilder();
+		boolean entreAspas = false;
+		
+		for ( int i = 0; i < linha.length(); i++ ) {
+			char c = linha.charAt( i );
+			
+			if ( c == '"' ) {
+				if ( entreAspas && i + 1 < linha.length() && linha.charAt( i + 1 ) == '"' ) {
+					atual.append( '"' );
+					i++;
+				} else {
+					entreAspas = !entreAspas;
+				}
+			} else if ( c == separador && !entreAspas ) {
+				campos.add( atual.toString() );
+				atual.setLength( 0 );
+			} else {
+				atual.append( c );
+			}
+		}
+		campos.add( atual.toString() );
+		return campos;
+	}
+	
+	private String normalizar( String nome ) {
+		
+		return Normalizer.normalize( nome.trim().toLowerCase(), Normalizer.Form.NFD ).replaceAll( "\\p{M}", "" );
+	}
+	
+}
@@ -0,0 +1,15 @@
+package com.jael.minhasfinacas.api.importacao;
+
+import java.io.IOException;
+
+/**
+ * Lê um extrato incrementalmente, uma transação por chamada.
+ */
+public interface LeitorExtrato {
+	
+	/**
+	 * @return a próxima transação do extrato ou {@code null} ao final do arquivo.
+	 */
+	RegistroExtrato proximo() throws IOException;
+	
+}
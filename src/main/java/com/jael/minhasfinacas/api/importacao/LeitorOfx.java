@@ -0,0 +1,87 @@
+package com.jael.minhasfinacas.api.importacao;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lê as transações ({@code <STMTTRN>}) de um extrato OFX, tanto no formato SGML (tags sem fechamento) quanto XML,
+ * sem carregar o arquivo inteiro na memória.
+ */
+public class LeitorOfx implements LeitorExtrato {
+	
+	private final PushbackReader reader;
+	
+	private int numeroTransacao;
+	
+	public LeitorOfx( Reader reader ) {
+		
+		this.reader = new PushbackReader( reader );
+	}
+	
+	@Override
+	public RegistroExtrato proximo() throws IOException {
+		
+		Map< String, String > campos = null;
+		String tag;
+		
+		while ( ( tag = proximaTag() ) != null ) {
+			String valor = lerValor();
+			
+			if ( tag.equals( "STMTTRN" ) ) {
+				campos = new HashMap<>();
+			} else if ( tag.equals( "/STMTTRN" ) && campos != null ) {
+				numeroTransacao++;
+				return converter( campos );
+			} else if ( campos != null && !tag.startsWith( "/" ) && !valor.isEmpty() ) {
+				campos.put( tag, valor );
+			}
+		}
+		return null;
+	}
+	
+	private RegistroExtrato converter( Map< String, String > campos ) {
+		
+		String data = campos.get( "DTPOSTED" );
+		
+		return RegistroExtrato.builder()
+		                      .numero( numeroTransacao )
+		                      .descricao( campos.getOrDefault( "MEMO", campos.get( "NAME" ) ) )
+		                      .valor( campos.get( "TRNAMT" ) )
+		                      .data( data == null || data.length() < 8 ? data : data.substring( 0, 8 ) )
+		                      .build();
+	}
+	
+	private String proximaTag() throws IOException {
+		
+		int c;
+		while ( ( c = reader.read() ) != -1 && c != '<' ) {
+			// ignora o cabeçalho e o texto fora de tags
+		}
+		if ( c == -1 ) {
+			return null;
+		}
+		
+		StringBuilder tag = new StringBuilder();
+		while ( ( c = reader.read() ) != -1 && c != '>' ) {
+			tag.append( ( char ) c );
+		}
+		return tag.toString().trim().toUpperCase();
+	}
+	
+	private String lerValor() throws IOException {
+		
+		StringBuilder valor = new StringBuilder();
+		int c;
+		while ( ( c = reader.read() ) != -1 && c != '<' ) {
+			valor.append( ( char ) c );
+		}
+		if ( c == '<' ) {
+			reader.unread( c );
+		}
+		return valor.toString().trim();
+	}
+	
+}
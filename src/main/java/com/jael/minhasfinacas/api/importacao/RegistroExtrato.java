@@ -0,0 +1,30 @@
+package com.jael.minhasfinacas.api.importacao;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Campos de uma transação do extrato, ainda como texto. {@code numero} é a linha do CSV ou a posição da transação no
+ * OFX, usada para reportar erros.
+ */
+@Value
+@Builder
+public class RegistroExtrato {
+	
+	int numero;
+	
+	String descricao;
+	
+	String valor;
+	
+	String mes;
+	
+	String ano;
+	
+	String data;
+	
+	String tipo;
+	
+	String status;
+	
+}
@@ -0,0 +1,52 @@
+package com.jael.minhasfinacas.api.resource;
+
+import com.jael.minhasfinacas.api.alteracoes.CanalAlteracoes;
+import com.jael.minhasfinacas.api.autenticacao.FiltroAutenticacao;
+import com.jael.minhasfinacas.config.WebConfig;
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.service.LancamentoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fluxo de Server-Sent Events com as alterações dos lançamentos do usuário do token (eventos {@code lancamento}) e o
+ * saldo depois de cada uma (eventos {@code saldo}), no lugar de consultar a listagem e o saldo periodicamente.
+ * <p>
+ * Com o parâmetro {@code desde}, devolve de uma vez o que mudou depois dessa marca, para clientes que ficaram
+ * desconectados; a marca {@code ate} da resposta é a usada na próxima sincronização e {@code desde=0} traz tudo.
+ */
+@RestController
+@RequestMapping( "/api/lancamentos/alteracoes" )
+@RequiredArgsConstructor
+public class AlteracaoLancamentoResource {
+	
+	private final CanalAlteracoes canalAlteracoes;
+	
+	private final LancamentoService lancamentoService;
+	
+	@GetMapping( produces = MediaType.TEXT_EVENT_STREAM_VALUE )
+	public SseEmitter assinar( @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		return canalAlteracoes.assinar( idUsuario );
+	}
+	
+	@GetMapping( params = "desde", produces = { MediaType.APPLICATION_JSON_VALUE, WebConfig.SMILE,
+	                                            MediaType.APPLICATION_CBOR_VALUE } )
+	public ResponseEntity buscarDesde( @RequestParam( "desde" ) Long desde,
+	                                   @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		try {
+			return ResponseEntity.ok( lancamentoService.buscarAlteracoes( idUsuario, desde ) );
+		} catch ( RegraNegocioException e ) {
+			return ResponseEntity.badRequest().body( e.getMessage() );
+		}
+	}
+	
+}
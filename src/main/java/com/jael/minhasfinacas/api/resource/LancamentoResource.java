@@ -1,21 +1,41 @@
 package com.jael.minhasfinacas.api.resource;
 
+import com.jael.minhasfinacas.api.autenticacao.FiltroAutenticacao;
 import com.jael.minhasfinacas.api.dto.AtualizarStatusDTO;
+import com.jael.minhasfinacas.api.dto.AtualizarStatusLoteDTO;
 import com.jael.minhasfinacas.api.dto.LancamentoDTO;
+import com.jael.minhasfinacas.api.dto.PaginaLancamentosDTO;
+import com.jael.minhasfinacas.api.dto.ResultadoImportacaoDTO;
+import com.jael.minhasfinacas.api.dto.ResultadoLoteDTO;
+import com.jael.minhasfinacas.api.export.ExportadorLancamentos;
+import com.jael.minhasfinacas.api.export.FormatoExportacao;
+import com.jael.minhasfinacas.api.importacao.FormatoImportacao;
+import com.jael.minhasfinacas.api.importacao.ImportadorLancamentos;
+import com.jael.minhasfinacas.exception.LancamentoNaoEncontradoException;
 import com.jael.minhasfinacas.exception.RegraNegocioException;
 import com.jael.minhasfinacas.model.entity.Lancamento;
 import com.jael.minhasfinacas.model.entity.Usuario;
 import com.jael.minhasfinacas.model.enums.StatusLancamento;
 import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.CursorLancamento;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
 import com.jael.minhasfinacas.service.LancamentoService;
-import com.jael.minhasfinacas.service.UsuarioService;
+import com.jael.minhasfinacas.service.SugestaoDescricaoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping( "/api/lancamentos" )
@@ -24,23 +44,40 @@ public class LancamentoResource {
 	
 	private final LancamentoService lancamentoService;
 	
-	private final UsuarioService usuarioService;
+	private final ExportadorLancamentos exportadorLancamentos;
+	
+	private final ImportadorLancamentos importadorLancamentos;
+	
+	private final SugestaoDescricaoService sugestaoDescricaoService;
 	
 	@GetMapping( "/{id}" )
-	public ResponseEntity buscarPorId( @PathVariable Long id ) {
+	public ResponseEntity buscarPorId( @PathVariable Long id,
+	                                   @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
 		
 		try {
-			Lancamento lancamento = lancamentoService.obterPorId( id ).get();
-			return ResponseEntity.ok( lancamento );
-		} catch ( RegraNegocioException e ) {
-			return ResponseEntity.badRequest().body( e.getMessage() );
+			Lancamento lancamento = lancamentoService.obterPorId( id, idUsuario ).get();
+			return ResponseEntity.ok().eTag( etag( lancamento ) ).body( lancamento );
+		} catch ( LancamentoNaoEncontradoException e ) {
+			return naoEncontrado( e );
 		}
 	}
 	
 	@GetMapping( "/descricao/{id}" )
-	public ResponseEntity obterDescricoes( @PathVariable Long id ) {
+	public ResponseEntity obterDescricoes( @PathVariable Long id,
+	                                       @RequestParam( value = "prefixo", required = false ) String prefixo,
+	                                       @RequestParam( value = "limite", required = false ) Integer limite,
+	                                       @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		if ( !id.equals( idUsuario ) ) {
+			return new ResponseEntity( "As descrições de outro usuário não podem ser consultadas.",
+			                           HttpStatus.FORBIDDEN );
+		}
 		
 		try {
+			if ( prefixo != null || limite != null ) {
+				return ResponseEntity.ok( sugestaoDescricaoService.sugerir( id, prefixo, limite ) );
+			}
+			
 			List< String > lancamentos = lancamentoService.buscarTodasAsDescricoesPorUsuario( id );
 			return ResponseEntity.ok( lancamentos );
 		} catch ( RegraNegocioException e ) {
@@ -54,7 +91,9 @@ public class LancamentoResource {
 	                              @RequestParam( value = "ano", required = false ) Integer ano,
 	                              @RequestParam( value = "tipo", required = false ) String tipo,
 	                              @RequestParam( value = "status", required = false ) String status,
-	                              @RequestParam( "usuario" ) Long idUsuario ) {
+	                              @RequestParam( value = "pesquisa", required = false ) String pesquisa,
+	                              @RequestParam( value = "limite", required = false ) Integer limite,
+	                              @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
 		
 		Lancamento lancamentoFiltro = new Lancamento();
 		
@@ -70,23 +109,106 @@ public class LancamentoResource {
 			lancamentoFiltro.setStatus( StatusLancamento.valueOf( status ) );
 		}
 		
-		Optional< Usuario > usuario = usuarioService.obterPorId( idUsuario );
+		lancamentoFiltro.setUsuario( usuario( idUsuario ) );
 		
-		if ( usuario.isEmpty() ) {
-			return ResponseEntity.badRequest().body( "Usuário não encontrado." );
-		} else {
-			lancamentoFiltro.setUsuario( usuario.get() );
+		if ( pesquisa != null ) {
+			try {
+				// A pesquisa textual ordena por relevância e substitui o filtro por trecho da descrição.
+				lancamentoFiltro.setDescricao( null );
+				return ResponseEntity.ok( lancamentoService.pesquisarPorDescricao( lancamentoFiltro, pesquisa, limite ) );
+			} catch ( RegraNegocioException e ) {
+				return ResponseEntity.badRequest().body( e.getMessage() );
+			}
 		}
 		
-		List< Lancamento > lancamentos = lancamentoService.buscar( lancamentoFiltro );
+		List< ItemLancamento > lancamentos = lancamentoService.listar( lancamentoFiltro );
 		return ResponseEntity.ok( lancamentos );
 	}
 	
+	@GetMapping( "/pagina" )
+	public ResponseEntity buscarPagina( @RequestParam( value = "descricao", required = false ) String descricao,
+	                                    @RequestParam( value = "mes", required = false ) Integer mes,
+	                                    @RequestParam( value = "ano", required = false ) Integer ano,
+	                                    @RequestParam( value = "tipo", required = false ) String tipo,
+	                                    @RequestParam( value = "status", required = false ) String status,
+	                                    @RequestParam( value = "cursor", required = false ) String cursor,
+	                                    @RequestParam( value = "tamanho", required = false ) Integer tamanho,
+	                                    @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		Lancamento lancamentoFiltro = new Lancamento();
+		
+		lancamentoFiltro.setDescricao( descricao );
+		lancamentoFiltro.setMes( mes );
+		lancamentoFiltro.setAno( ano );
+		
+		if ( tipo != null ) {
+			lancamentoFiltro.setTipo( TipoLancamento.valueOf( tipo ) );
+		}
+		
+		if ( status != null ) {
+			lancamentoFiltro.setStatus( StatusLancamento.valueOf( status ) );
+		}
+		
+		try {
+			lancamentoFiltro.setUsuario( usuario( idUsuario ) );
+			
+			CursorLancamento posicao = cursor == null ? null : CursorLancamento.decodificar( cursor );
+			Slice< ItemLancamento > pagina = lancamentoService.buscarPagina( lancamentoFiltro, posicao, tamanho );
+			
+			String proximo = null;
+			if ( pagina.hasNext() ) {
+				List< ItemLancamento > conteudo = pagina.getContent();
+				proximo = CursorLancamento.de( conteudo.get( conteudo.size() - 1 ) ).codificar();
+			}
+			
+			return ResponseEntity.ok( new PaginaLancamentosDTO( pagina.getContent(), pagina.getSize(), proximo ) );
+		} catch ( RegraNegocioException e ) {
+			return ResponseEntity.badRequest().body( e.getMessage() );
+		}
+	}
+	
+	@GetMapping( "/export" )
+	public ResponseEntity< StreamingResponseBody > exportar( @RequestParam( value = "formato", defaultValue = "csv" )
+	                                                         String formato,
+	                                                         @RequestAttribute( FiltroAutenticacao.USUARIO )
+	                                                         Long idUsuario ) {
+		
+		try {
+			FormatoExportacao formatoExportacao = FormatoExportacao.de( formato );
+			return ResponseEntity.ok()
+			                     .contentType( formatoExportacao.getMediaType() )
+			                     .header( HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=lancamentos."
+			                                                               + formatoExportacao.getExtensao() )
+			                     .body( exportadorLancamentos.exportar( idUsuario, formatoExportacao ) );
+		} catch ( RegraNegocioException e ) {
+			return ResponseEntity.badRequest()
+			                     .contentType( MediaType.TEXT_PLAIN )
+			                     .body( saida -> saida.write( e.getMessage().getBytes( StandardCharsets.UTF_8 ) ) );
+		}
+	}
+	
+	@PostMapping( "/importar" )
+	public ResponseEntity importar( @RequestParam( value = "formato", defaultValue = "csv" ) String formato,
+	                                @RequestParam( "arquivo" ) MultipartFile arquivo,
+	                                @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		try ( InputStream entrada = arquivo.getInputStream() ) {
+			ResultadoImportacaoDTO resultado = importadorLancamentos.importar( usuario( idUsuario ),
+			                                                                   FormatoImportacao.de( formato ), entrada );
+			return ResponseEntity.ok( resultado );
+		} catch ( RegraNegocioException e ) {
+			return ResponseEntity.badRequest().body( e.getMessage() );
+		} catch ( IOException e ) {
+			return ResponseEntity.badRequest().body( "Não foi possível ler o arquivo enviado." );
+		}
+	}
+	
 	@PostMapping
-	public ResponseEntity salvar( @RequestBody LancamentoDTO dto ) {
+	public ResponseEntity salvar( @RequestBody LancamentoDTO dto,
+	                              @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
 		
 		try {
-			Lancamento lancamento = converter( dto );
+			Lancamento lancamento = converter( dto, idUsuario );
 			Lancamento lancamentoSalvo = lancamentoService.salvar( lancamento );
 			return ResponseEntity.ok( lancamentoSalvo );
 		} catch ( RegraNegocioException e ) {
@@ -94,52 +216,218 @@ public class LancamentoResource {
 		}
 	}
 	
+	/**
+	 * Com {@code If-Match} a atualização não carrega a entidade: lê apenas o mês, o ano, o valor, o tipo e o status
+	 * gravados, que ajustam o saldo e os resumos, e é gravada somente se o lançamento ainda estiver na versão
+	 * informada, respondendo 412 caso contrário.
+	 */
 	@PutMapping( "/{id}" )
-	public ResponseEntity atualizar( @PathVariable Long id, @RequestBody LancamentoDTO dto ) {
+	public ResponseEntity atualizar( @PathVariable Long id, @RequestBody LancamentoDTO dto,
+	                                 @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch,
+	                                 @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		Long versao = versaoDe( ifMatch );
 		
-		return lancamentoService.obterPorId( id ).map( entidade -> {
+		if ( versao != null ) {
 			try {
-				Lancamento lancamento = converter( dto );
-				lancamento.setId( entidade.getId() );
-				lancamentoService.atualizar( lancamento );
-				return ResponseEntity.ok( lancamento );
+				Lancamento lancamento = converter( dto, idUsuario );
+				lancamento.setId( id );
+				lancamento.setVersao( versao );
+				Lancamento lancamentoAtualizado = lancamentoService.atualizarNaVersao( lancamento, idUsuario );
+				return ResponseEntity.ok().eTag( etag( lancamentoAtualizado ) ).body( lancamentoAtualizado );
+			} catch ( LancamentoNaoEncontradoException e ) {
+				return naoEncontrado( e );
 			} catch ( RegraNegocioException e ) {
 				return ResponseEntity.badRequest().body( e.getMessage() );
+			} catch ( OptimisticLockingFailureException e ) {
+				return precondicaoFalhou();
 			}
-		} ).orElseGet( () -> new ResponseEntity( "Lançamento não encontrado.", HttpStatus.BAD_REQUEST ) );
+		}
+		
+		try {
+			Lancamento entidade = lancamentoService.obterPorId( id, idUsuario ).get();
+			Lancamento lancamento = converter( dto, idUsuario );
+			lancamento.setId( entidade.getId() );
+			lancamento.setVersao( entidade.getVersao() );
+			Lancamento lancamentoAtualizado = lancamentoService.atualizar( lancamento, idUsuario );
+			return ResponseEntity.ok().eTag( etag( lancamentoAtualizado ) ).body( lancamentoAtualizado );
+		} catch ( LancamentoNaoEncontradoException e ) {
+			return naoEncontrado( e );
+		} catch ( RegraNegocioException e ) {
+			return ResponseEntity.badRequest().body( e.getMessage() );
+		}
 	}
 	
-	@PutMapping( "/{id}/atualizar-status" )
-	public ResponseEntity atualizarStatus( @PathVariable Long id, @RequestBody AtualizarStatusDTO dto ) {
+	/**
+	 * Altera o status de vários lançamentos do usuário de uma vez, selecionados pelos ids e/ou por mês, ano e tipo.
+	 * Lançamentos de outros usuários nunca são alterados.
+	 */
+	@PutMapping( "/status" )
+	public ResponseEntity atualizarStatusEmLote( @RequestBody AtualizarStatusLoteDTO dto,
+	                                             @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
 		
-		return lancamentoService.obterPorId( id ).map( entidade -> {
+		try {
 			if ( dto.getStatus() == null ) {
-				return ResponseEntity.badRequest()
-				                     .body( "Não foi possível atualizar o status do lançamento. Envie um status válido." );
+				throw new RegraNegocioException( "Informe o status dos lançamentos." );
+			}
+			
+			Lancamento lancamentoFiltro = new Lancamento();
+			lancamentoFiltro.setUsuario( usuario( idUsuario ) );
+			lancamentoFiltro.setMes( dto.getMes() );
+			lancamentoFiltro.setAno( dto.getAno() );
+			
+			if ( dto.getTipo() != null ) {
+				lancamentoFiltro.setTipo( TipoLancamento.valueOf( dto.getTipo() ) );
 			}
-			StatusLancamento statusSelecionado = StatusLancamento.valueOf( dto.getStatus() );
+			
+			int atualizados = lancamentoService.atualizarStatusEmLote( lancamentoFiltro, dto.getIds(),
+			                                                           StatusLancamento.valueOf( dto.getStatus() ) );
+			return ResponseEntity.ok( new ResultadoLoteDTO( atualizados ) );
+		} catch ( RegraNegocioException e ) {
+			return ResponseEntity.badRequest().body( e.getMessage() );
+		}
+	}
+	
+	/**
+	 * Com {@code If-Match} apenas o status é alterado, por um UPDATE condicionado à versão, e a resposta traz somente
+	 * a nova ETag. Como na atualização completa, o estado anterior ainda é lido, sem carregar a entidade.
+	 */
+	@PutMapping( "/{id}/atualizar-status" )
+	public ResponseEntity atualizarStatus( @PathVariable Long id, @RequestBody AtualizarStatusDTO dto,
+	                                       @RequestHeader( value = HttpHeaders.IF_MATCH, required = false )
+	                                       String ifMatch,
+	                                       @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		if ( dto.getStatus() == null ) {
+			return ResponseEntity.badRequest()
+			                     .body( "Não foi possível atualizar o status do lançamento. Envie um status válido." );
+		}
+		
+		StatusLancamento statusSelecionado = StatusLancamento.valueOf( dto.getStatus() );
+		Long versao = versaoDe( ifMatch );
+		
+		if ( versao != null ) {
 			try {
-				entidade.setStatus( statusSelecionado );
-				lancamentoService.atualizar( entidade );
-				return ResponseEntity.ok( entidade );
-			} catch ( RegraNegocioException e ) {
-				return ResponseEntity.badRequest().body( e.getMessage() );
+				Long novaVersao = lancamentoService.atualizarStatusNaVersao( id, idUsuario, versao, statusSelecionado );
+				return ResponseEntity.noContent().eTag( String.valueOf( novaVersao ) ).build();
+			} catch ( LancamentoNaoEncontradoException e ) {
+				return naoEncontrado( e );
+			} catch ( OptimisticLockingFailureException e ) {
+				return precondicaoFalhou();
 			}
-		} ).orElseGet( () -> new ResponseEntity( "Lançamento não encontrado.", HttpStatus.BAD_REQUEST ) );
+		}
+		
+		try {
+			Lancamento entidade = lancamentoService.obterPorId( id, idUsuario ).get();
+			entidade.setStatus( statusSelecionado );
+			Lancamento lancamentoAtualizado = lancamentoService.atualizar( entidade, idUsuario );
+			return ResponseEntity.ok().eTag( etag( lancamentoAtualizado ) ).body( lancamentoAtualizado );
+		} catch ( LancamentoNaoEncontradoException e ) {
+			return naoEncontrado( e );
+		} catch ( RegraNegocioException e ) {
+			return ResponseEntity.badRequest().body( e.getMessage() );
+		}
 	}
 	
-	@DeleteMapping( "/{id}" )
-	public ResponseEntity deletar( @PathVariable Long id ) {
+	/**
+	 * Remove de uma vez lançamentos do usuário, selecionados pelos ids e/ou por mês, ano, tipo e status. Lançamentos
+	 * de outros usuários nunca são removidos.
+	 */
+	@DeleteMapping
+	public ResponseEntity deletarEmLote( @RequestParam( value = "ids", required = false ) List< Long > ids,
+	                                     @RequestParam( value = "mes", required = false ) Integer mes,
+	                                     @RequestParam( value = "ano", required = false ) Integer ano,
+	                                     @RequestParam( value = "tipo", required = false ) String tipo,
+	                                     @RequestParam( value = "status", required = false ) String status,
+	                                     @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
 		
 		try {
-			lancamentoService.deletar( lancamentoService.obterPorId( id ).get() );
-			return new ResponseEntity( HttpStatus.NO_CONTENT );
+			Lancamento lancamentoFiltro = new Lancamento();
+			lancamentoFiltro.setUsuario( usuario( idUsuario ) );
+			lancamentoFiltro.setMes( mes );
+			lancamentoFiltro.setAno( ano );
+			
+			if ( tipo != null ) {
+				lancamentoFiltro.setTipo( TipoLancamento.valueOf( tipo ) );
+			}
+			
+			if ( status != null ) {
+				lancamentoFiltro.setStatus( StatusLancamento.valueOf( status ) );
+			}
+			
+			int excluidos = lancamentoService.deletarEmLote( lancamentoFiltro, ids );
+			return ResponseEntity.ok( new ResultadoLoteDTO( excluidos ) );
 		} catch ( RegraNegocioException e ) {
 			return ResponseEntity.badRequest().body( e.getMessage() );
 		}
 	}
 	
-	private Lancamento converter( LancamentoDTO dto ) {
+	@DeleteMapping( "/{id}" )
+	public ResponseEntity deletar( @PathVariable Long id,
+	                               @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		try {
+			lancamentoService.deletarPorId( id, idUsuario );
+			return new ResponseEntity( HttpStatus.NO_CONTENT );
+		} catch ( LancamentoNaoEncontradoException e ) {
+			return naoEncontrado( e );
+		}
+	}
+	
+	/**
+	 * A versão do lançamento como ETag forte; o {@code ResponseEntity} responde 304 sozinho quando ela coincide com o
+	 * {@code If-None-Match} de um GET.
+	 */
+	private String etag( Lancamento lancamento ) {
+		
+		return String.valueOf( lancamento.getVersao() );
+	}
+	
+	/**
+	 * Versão pedida no {@code If-Match}, ou nula quando o cabeçalho não foi enviado ou é {@code *}. ETags fracas,
+	 * listas ou valores que não sejam uma versão resultam em -1, que nunca corresponde a um lançamento.
+	 */
+	private Long versaoDe( String ifMatch ) {
+		
+		if ( ifMatch == null || ifMatch.trim().equals( "*" ) ) {
+			return null;
+		}
+		
+		String etag = ifMatch.trim();
+		if ( etag.length() < 2 || !etag.startsWith( "\"" ) || !etag.endsWith( "\"" ) ) {
+			return -1L;
+		}
+		
+		try {
+			return Long.valueOf( etag.substring( 1, etag.length() - 1 ) );
+		} catch ( NumberFormatException e ) {
+			return -1L;
+		}
+	}
+	
+	/**
+	 * Lançamentos de outros usuários respondem como inexistentes, sem revelar que o id existe.
+	 */
+	private ResponseEntity naoEncontrado( LancamentoNaoEncontradoException e ) {
+		
+		return new ResponseEntity( e.getMessage(), HttpStatus.NOT_FOUND );
+	}
+	
+	private ResponseEntity precondicaoFalhou() {
+		
+		return ResponseEntity.status( HttpStatus.PRECONDITION_FAILED )
+		                     .body( "O lançamento foi alterado por outra requisição ou não existe." );
+	}
+	
+	/**
+	 * O usuário do token vira apenas uma referência pelo id, sem consulta; o campo {@code usuario} do DTO é ignorado.
+	 */
+	private Usuario usuario( Long idUsuario ) {
+		
+		return Usuario.builder().id( idUsuario ).build();
+	}
+	
+	Lancamento converter( LancamentoDTO dto, Long idUsuario ) {
 		
 		Lancamento lancamento = new Lancamento();
 		
@@ -148,7 +436,7 @@ public class LancamentoResource {
 		lancamento.setAno( dto.getAno() );
 		lancamento.setMes( dto.getMes() );
 		lancamento.setValor( dto.getValor() );
-		lancamento.setUsuario( usuarioService.obterPorId( dto.getUsuario() ).get() );
+		lancamento.setUsuario( usuario( idUsuario ) );
 		if ( dto.getTipo() != null ) {
 			lancamento.setTipo( TipoLancamento.valueOf( dto.getTipo() ) );
 		}
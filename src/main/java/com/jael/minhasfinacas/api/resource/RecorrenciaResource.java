@@ -0,0 +1,73 @@
+package com.jael.minhasfinacas.api.resource;
+
+import com.jael.minhasfinacas.api.autenticacao.FiltroAutenticacao;
+import com.jael.minhasfinacas.api.dto.RecorrenciaDTO;
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.entity.Recorrencia;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.service.RecorrenciaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Lançamentos recorrentes e parcelados do usuário do token. Ao cadastrar, as ocorrências até o mês seguinte já são
+ * gravadas como lançamentos pendentes; as demais são gravadas mês a mês pelo gerador agendado.
+ */
+@RestController
+@RequestMapping( "/api/lancamentos/recorrencias" )
+@RequiredArgsConstructor
+public class RecorrenciaResource {
+	
+	private final RecorrenciaService recorrenciaService;
+	
+	@GetMapping
+	public ResponseEntity buscar( @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		return ResponseEntity.ok( recorrenciaService.buscarPorUsuario( idUsuario ) );
+	}
+	
+	@PostMapping
+	public ResponseEntity salvar( @RequestBody RecorrenciaDTO dto,
+	                              @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		try {
+			Recorrencia recorrencia = converter( dto, idUsuario );
+			return new ResponseEntity( recorrenciaService.salvar( recorrencia ), HttpStatus.CREATED );
+		} catch ( RegraNegocioException e ) {
+			return ResponseEntity.badRequest().body( e.getMessage() );
+		}
+	}
+	
+	@DeleteMapping( "/{id}" )
+	public ResponseEntity encerrar( @PathVariable Long id,
+	                                @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		
+		try {
+			recorrenciaService.encerrar( id, idUsuario );
+			return new ResponseEntity( HttpStatus.NO_CONTENT );
+		} catch ( RegraNegocioException e ) {
+			return ResponseEntity.badRequest().body( e.getMessage() );
+		}
+	}
+	
+	private Recorrencia converter( RecorrenciaDTO dto, Long idUsuario ) {
+		
+		Recorrencia recorrencia = new Recorrencia();
+		
+		recorrencia.setDescricao( dto.getDescricao() );
+		recorrencia.setValor( dto.getValor() );
+		recorrencia.setMes( dto.getMes() );
+		recorrencia.setAno( dto.getAno() );
+		recorrencia.setParcelas( dto.getParcelas() );
+		recorrencia.setUsuario( Usuario.builder().id( idUsuario ).build() );
+		if ( dto.getTipo() != null ) {
+			recorrencia.setTipo( TipoLancamento.valueOf( dto.getTipo() ) );
+		}
+		
+		return recorrencia;
+	}
+	
+}
@@ -1,18 +1,42 @@
 package com.jael.minhasfinacas.api.resource;
 
+import com.jael.minhasfinacas.api.autenticacao.FiltroAutenticacao;
+import com.jael.minhasfinacas.api.dto.ResumoAnualDTO;
+import com.jael.minhasfinacas.api.dto.ResumoMensalDTO;
+import com.jael.minhasfinacas.api.dto.TotalResumoDTO;
+import com.jael.minhasfinacas.api.dto.UsuarioAutenticadoDTO;
 import com.jael.minhasfinacas.api.dto.UsuarioDTO;
+import com.jael.minhasfinacas.config.ExecutorSenhas;
 import com.jael.minhasfinacas.exception.ErroAutenticacao;
 import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.entity.ResumoMensal;
+import com.jael.minhasfinacas.model.entity.ResumoMensalId;
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
 import com.jael.minhasfinacas.model.entity.Usuario;
-import com.jael.minhasfinacas.service.LancamentoService;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.service.FechamentoMensalService;
+import com.jael.minhasfinacas.service.ResumoMensalService;
+import com.jael.minhasfinacas.service.SaldoUsuarioService;
+import com.jael.minhasfinacas.service.TokenService;
 import com.jael.minhasfinacas.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping( "/api/usuarios" )
@@ -20,43 +44,162 @@ import java.util.Optional;
 public class UsuarioResource {
 	
 	private final UsuarioService service;
-	private final LancamentoService lancamentoService;
+	private final SaldoUsuarioService saldoUsuarioService;
+	private final ResumoMensalService resumoMensalService;
+	private final FechamentoMensalService fechamentoMensalService;
+	private final TokenService tokenService;
+	private final ExecutorSenhas executorSenhas;
 	
+	/**
+	 * Devolve o usuário com o token de acesso exigido pelos endpoints de lançamentos, saldo e resumo.
+	 */
 	@PostMapping( "/autenticar" )
-	public ResponseEntity autenticar( @RequestBody UsuarioDTO dto ) {
-		try {
-			Usuario usuarioAutenticado = service.autenticar( dto.getEmail(), dto.getSenha() );
-			return ResponseEntity.ok( usuarioAutenticado );
-		} catch ( ErroAutenticacao e ) {
-			return ResponseEntity.badRequest().body( e.getMessage() );
-		}
+	public CompletableFuture< ResponseEntity > autenticar( @RequestBody UsuarioDTO dto ) {
+		
+		return comSenha( () -> service.autenticar( dto.getEmail(), dto.getSenha() ), usuarioAutenticado ->
+				ResponseEntity.ok( UsuarioAutenticadoDTO.builder()
+				                                        .id( usuarioAutenticado.getId() )
+				                                        .nome( usuarioAutenticado.getNome() )
+				                                        .email( usuarioAutenticado.getEmail() )
+				                                        .token( tokenService.gerar( usuarioAutenticado.getId() ) )
+				                                        .expiraEmSegundos( tokenService.getValidade().getSeconds() )
+				                                        .build() ) );
 	}
 	
 	@PostMapping
-	public ResponseEntity salvar( @RequestBody UsuarioDTO dto ) {
+	public CompletableFuture< ResponseEntity > salvar( @RequestBody UsuarioDTO dto ) {
 		
 		Usuario usuario = Usuario.builder()
 				.nome( dto.getNome() )
 				.email( dto.getEmail() )
 				.senha( dto.getSenha() ).build();
 		
-		try {
-			Usuario usuarioSalvo = service.salvarUsuario( usuario );
-			return new ResponseEntity( usuarioSalvo, HttpStatus.CREATED );
-		} catch ( RegraNegocioException e ) {
-			return ResponseEntity.badRequest().body( e.getMessage() );
-		}
+		return comSenha( () -> service.salvarUsuario( usuario ),
+		                 usuarioSalvo -> new ResponseEntity( usuarioSalvo, HttpStatus.CREATED ) );
 	}
 	
+	/**
+	 * Saldo atual, ou, com {@code ano} e {@code mes}, o saldo dos lançamentos efetivados ao fim daquele mês.
+	 */
 	@GetMapping( "/{id}/saldo" )
-	public ResponseEntity obterSaldo( @PathVariable Long id ) {
+	public ResponseEntity obterSaldo( @PathVariable Long id, @RequestParam( value = "ano", required = false ) Integer ano,
+	                                  @RequestParam( value = "mes", required = false ) Integer mes,
+	                                  @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		if ( !id.equals( idUsuario ) ) {
+			return outroUsuario();
+		}
+		
 		Optional< Usuario > usuario = service.obterPorId( id );
 		
 		if ( usuario.isEmpty() ) {
 			return new ResponseEntity( HttpStatus.NOT_FOUND );
 		}
 		
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario( id );
-		return ResponseEntity.ok( saldo );
+		if ( ano != null || mes != null ) {
+			try {
+				return ResponseEntity.ok( fechamentoMensalService.obterSaldoAoFimDe( id, ano, mes ) );
+			} catch ( RegraNegocioException e ) {
+				return ResponseEntity.badRequest().body( e.getMessage() );
+			}
+		}
+		
+		// A versão do saldo vira ETag; um If-None-Match com a mesma versão é respondido com 304 sem corpo.
+		SaldoUsuario saldo = saldoUsuarioService.obterSaldoComVersao( id );
+		ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+		if ( saldo.getVersao() != null ) {
+			resposta.eTag( String.valueOf( saldo.getVersao() ) );
+		}
+		return resposta.body( saldo.getSaldo() );
 	}
+	
+	@GetMapping( "/{id}/resumo" )
+	public ResponseEntity obterResumo( @PathVariable Long id, @RequestParam( "ano" ) Integer ano,
+	                                   @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		if ( !id.equals( idUsuario ) ) {
+			return outroUsuario();
+		}
+		
+		try {
+			service.obterPorId( id );
+		} catch ( RegraNegocioException e ) {
+			return new ResponseEntity( HttpStatus.NOT_FOUND );
+		}
+		
+		List< ResumoMensal > resumos = resumoMensalService.obterResumoAnual( id, ano );
+		return ResponseEntity.ok( converter( ano, resumos ) );
+	}
+	
+	@PostMapping( "/{id}/saldo/reconstruir" )
+	public ResponseEntity reconstruirSaldo( @PathVariable Long id,
+	                                        @RequestAttribute( FiltroAutenticacao.USUARIO ) Long idUsuario ) {
+		if ( !id.equals( idUsuario ) ) {
+			return outroUsuario();
+		}
+		
+		try {
+			service.obterPorId( id );
+			BigDecimal saldo = saldoUsuarioService.reconstruir( id );
+			return ResponseEntity.ok( saldo );
+		} catch ( RegraNegocioException e ) {
+			return new ResponseEntity( HttpStatus.NOT_FOUND );
+		}
+	}
+	
+	private ResponseEntity outroUsuario() {
+		
+		return new ResponseEntity( "O saldo e o resumo de outro usuário não podem ser consultados.",
+		                           HttpStatus.FORBIDDEN );
+	}
+	
+	private ResumoAnualDTO converter( Integer ano, List< ResumoMensal > resumos ) {
+		
+		List< ResumoMensalDTO > meses = new ArrayList<>();
+		
+		for ( int mes = 1; mes <= 12; mes++ ) {
+			Map< TipoLancamento, Map< StatusLancamento, TotalResumoDTO > > totais = new EnumMap<>( TipoLancamento.class );
+			for ( TipoLancamento tipo : TipoLancamento.values() ) {
+				Map< StatusLancamento, TotalResumoDTO > porStatus = new EnumMap<>( StatusLancamento.class );
+				for ( StatusLancamento status : StatusLancamento.values() ) {
+					porStatus.put( status, new TotalResumoDTO( BigDecimal.ZERO, 0L ) );
+				}
+				totais.put( tipo, porStatus );
+			}
+			meses.add( new ResumoMensalDTO( mes, totais ) );
+		}
+		
+		for ( ResumoMensal resumo : resumos ) {
+			ResumoMensalId resumoId = resumo.getId();
+			meses.get( resumoId.getMes() - 1 ).getTotais().get( resumoId.getTipo() )
+			     .put( resumoId.getStatus(), new TotalResumoDTO( resumo.getValor(), resumo.getQuantidade() ) );
+		}
+		
+		return new ResumoAnualDTO( ano, meses );
+	}
+	
+	/**
+	 * Executa no {@link ExecutorSenhas} uma operação que calcula o hash da senha, liberando a thread da requisição
+	 * enquanto isso. Com o pool saturado responde 503 de imediato.
+	 */
+	private < T > CompletableFuture< ResponseEntity > comSenha( Supplier< T > operacao,
+	                                                           Function< T, ResponseEntity > resposta ) {
+		
+		try {
+			return executorSenhas.executar( operacao ).handle( ( resultado, erro ) -> {
+				if ( erro == null ) {
+					return resposta.apply( resultado );
+				}
+				Throwable causa = erro instanceof CompletionException ? erro.getCause() : erro;
+				if ( causa instanceof ErroAutenticacao || causa instanceof RegraNegocioException ) {
+					return ResponseEntity.badRequest().body( causa.getMessage() );
+				}
+				throw new CompletionException( causa );
+			} );
+		} catch ( RejectedExecutionException e ) {
+			return CompletableFuture.completedFuture(
+					ResponseEntity.status( HttpStatus.SERVICE_UNAVAILABLE )
+					              .header( HttpHeaders.RETRY_AFTER, "1" )
+					              .body( "Muitas autenticações simultâneas. Tente novamente em instantes." ) );
+		}
+	}
+	
 }
@@ -0,0 +1,25 @@
+package com.jael.minhasfinacas.config;
+
+import com.jael.minhasfinacas.api.autenticacao.FiltroAutenticacao;
+import com.jael.minhasfinacas.service.TokenService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Os endpoints de lançamentos e os de saldo e resumo de usuários identificam o usuário pelo token de acesso; apenas o
+ * cadastro e a autenticação que emite o token continuam abertos.
+ */
+@Configuration
+public class AutenticacaoConfig {
+	
+	@Bean
+	public FilterRegistrationBean< FiltroAutenticacao > filtroAutenticacao( TokenService tokenService ) {
+		
+		FilterRegistrationBean< FiltroAutenticacao > registro =
+				new FilterRegistrationBean<>( new FiltroAutenticacao( tokenService ) );
+		registro.addUrlPatterns( "/api/lancamentos", "/api/lancamentos/*", "/api/usuarios/*" );
+		return registro;
+	}
+	
+}
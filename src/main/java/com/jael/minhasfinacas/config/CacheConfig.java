@@ -0,0 +1,20 @@
+package com.jael.minhasfinacas.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita os caches declarados nos serviços. O tamanho e a expiração vêm de {@code spring.cache.caffeine.spec};
+ * desativado com {@code minhasfinancas.cache.habilitado=false}, quando toda consulta volta a ir ao banco.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty( name = "minhasfinancas.cache.habilitado", havingValue = "true", matchIfMissing = true )
+public class CacheConfig {
+	
+	public static final String USUARIOS = "usuarios";
+	
+	public static final String USUARIOS_POR_EMAIL = "usuariosPorEmail";
+	
+}
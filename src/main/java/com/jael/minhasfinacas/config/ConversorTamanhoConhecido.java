@@ -0,0 +1,167 @@
+package com.jael.minhasfinacas.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Decora um conversor Jackson para informar o {@code Content-Length} das respostas menores que o tamanho mínimo de
+ * compressão: sem ele o Tomcat comprime qualquer resposta, por menor que seja. Só as respostas até esse tamanho ficam
+ * em memória; as maiores seguem em streaming, sem tamanho, e são comprimidas.
+ */
+class ConversorTamanhoConhecido implements GenericHttpMessageConverter< Object > {
+	
+	private final AbstractJackson2HttpMessageConverter conversor;
+	
+	private final int tamanhoMinimo;
+	
+	ConversorTamanhoConhecido( AbstractJackson2HttpMessageConverter conversor, int tamanhoMinimo ) {
+		
+		this.conversor = conversor;
+		this.tamanhoMinimo = tamanhoMinimo;
+	}
+	
+	@Override
+	public boolean canRead( Class< ? > clazz, MediaType mediaType ) {
+		
+		return conversor.canRead( clazz, mediaType );
+	}
+	
+	@Override
+	public boolean canRead( Type type, Class< ? > contextClass, MediaType mediaType ) {
+		
+		return conversor.canRead( type, contextClass, mediaType );
+	}
+	
+	@Override
+	public boolean canWrite( Class< ? > clazz, MediaType mediaType ) {
+		
+		return conversor.canWrite( clazz, mediaType );
+	}
+	
+	@Override
+	public boolean canWrite( Type type, Class< ? > clazz, MediaType mediaType ) {
+		
+		return conversor.canWrite( type, clazz, mediaType );
+	}
+	
+	@Override
+	public List< MediaType > getSupportedMediaTypes() {
+		
+		return conversor.getSupportedMediaTypes();
+	}
+	
+	@Override
+	public List< MediaType > getSupportedMediaTypes( Class< ? > clazz ) {
+		
+		return conversor.getSupportedMediaTypes( clazz );
+	}
+	
+	@Override
+	public Object read( Class< ? > clazz, HttpInputMessage inputMessage ) throws IOException {
+		
+		return conversor.read( clazz, inputMessage );
+	}
+	
+	@Override
+	public Object read( Type type, Class< ? > contextClass, HttpInputMessage inputMessage ) throws IOException {
+		
+		return conversor.read( type, contextClass, inputMessage );
+	}
+	
+	@Override
+	public void write( Object objeto, MediaType contentType, HttpOutputMessage outputMessage ) throws IOException {
+		
+		SaidaLimitada saida = new SaidaLimitada( outputMessage );
+		conversor.write( objeto, contentType, saida );
+		saida.concluir();
+	}
+	
+	@Override
+	public void write( Object objeto, Type type, MediaType contentType, HttpOutputMessage outputMessage )
+			throws IOException {
+		
+		SaidaLimitada saida = new SaidaLimitada( outputMessage );
+		conversor.write( objeto, type, contentType, saida );
+		saida.concluir();
+	}
+	
+	/**
+	 * Acumula o corpo até o tamanho mínimo; passado esse tamanho, envia o acumulado e escreve o resto direto na
+	 * resposta.
+	 */
+	private class SaidaLimitada extends OutputStream implements HttpOutputMessage {
+		
+		private final HttpOutputMessage destino;
+		
+		private final ByteArrayOutputStream acumulado = new ByteArrayOutputStream();
+		
+		private OutputStream corpo;
+		
+		SaidaLimitada( HttpOutputMessage destino ) {
+			
+			this.destino = destino;
+		}
+		
+		@Override
+		public HttpHeaders getHeaders() {
+			
+			return destino.getHeaders();
+		}
+		
+		@Override
+		public OutputStream getBody() {
+			
+			return this;
+		}
+		
+		@Override
+		public void write( int b ) throws IOException {
+			
+			write( new byte[] { ( byte ) b }, 0, 1 );
+		}
+		
+		@Override
+		public void write( byte[] b, int off, int len ) throws IOException {
+			
+			if ( corpo == null && acumulado.size() + len >= tamanhoMinimo ) {
+				corpo = destino.getBody();
+				acumulado.writeTo( corpo );
+			}
+			if ( corpo != null ) {
+				corpo.write( b, off, len );
+			} else {
+				acumulado.write( b, off, len );
+			}
+		}
+		
+		@Override
+		public void flush() throws IOException {
+			
+			// Enquanto acumula, um flush enviaria os cabeçalhos antes de o tamanho ser conhecido.
+			if ( corpo != null ) {
+				corpo.flush();
+			}
+		}
+		
+		void concluir() throws IOException {
+			
+			if ( corpo == null ) {
+				destino.getHeaders().setContentLength( acumulado.size() );
+				acumulado.writeTo( destino.getBody() );
+			}
+			destino.getBody().flush();
+		}
+	
+	}
+	
+}
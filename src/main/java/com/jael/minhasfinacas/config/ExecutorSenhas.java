@@ -0,0 +1,37 @@
+package com.jael.minhasfinacas.config;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Pool de tamanho e fila limitados para as operações que calculam hash de senha, caras por definição. Com o pool e a
+ * fila cheios a tarefa é recusada com {@link RejectedExecutionException} em vez de ocupar as threads que atendem as
+ * requisições. Não implementa {@code Executor} para não substituir o {@code applicationTaskExecutor} do Spring Boot.
+ */
+public class ExecutorSenhas {
+	
+	private final ThreadPoolExecutor executor;
+	
+	public ExecutorSenhas( int threads, int fila ) {
+		
+		executor = new ThreadPoolExecutor( threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>( fila ),
+		                                   new CustomizableThreadFactory( "senhas-" ) );
+	}
+	
+	public < T > CompletableFuture< T > executar( Supplier< T > tarefa ) {
+		
+		return CompletableFuture.supplyAsync( tarefa, executor );
+	}
+	
+	public void encerrar() {
+		
+		executor.shutdown();
+	}
+	
+}
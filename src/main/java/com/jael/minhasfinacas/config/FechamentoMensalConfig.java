@@ -0,0 +1,37 @@
+package com.jael.minhasfinacas.config;
+
+import com.jael.minhasfinacas.service.FechamentoMensalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.YearMonth;
+
+/**
+ * Fecha o mês anterior no início de cada mês ({@code minhasfinancas.fechamento.cron}, dia 1 às 2h por padrão). Como
+ * fechar de novo um mês não altera os fechamentos existentes, uma execução concorrente em outra instância é inofensiva;
+ * para mantê-lo em uma só, desative as demais com {@code minhasfinancas.fechamento.agendamento=false}.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@ConditionalOnProperty( name = "minhasfinancas.fechamento.agendamento", havingValue = "true", matchIfMissing = true )
+public class FechamentoMensalConfig {
+	
+	private final FechamentoMensalService fechamentoMensalService;
+	
+	@Scheduled( cron = "${minhasfinancas.fechamento.cron:0 0 2 1 * *}" )
+	public void fechar() {
+		
+		long inicio = System.nanoTime();
+		YearMonth mes = YearMonth.now().minusMonths( 1 );
+		int fechados = fechamentoMensalService.fecharMes( mes );
+		log.info( "Mês {} fechado para {} usuário(s) em {} ms.", mes, fechados,
+		          ( System.nanoTime() - inicio ) / 1_000_000 );
+	}
+	
+}
@@ -0,0 +1,35 @@
+package com.jael.minhasfinacas.config;
+
+import com.jael.minhasfinacas.service.RecorrenciaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Gera diariamente as ocorrências das recorrências até o mês seguinte ({@code minhasfinancas.recorrencias.cron},
+ * 3h por padrão). Com várias instâncias basta mantê-lo em uma, desativando as demais com
+ * {@code minhasfinancas.recorrencias.agendamento=false}; uma execução concorrente não duplica parcelas, mas refaz o
+ * trabalho.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@ConditionalOnProperty( name = "minhasfinancas.recorrencias.agendamento", havingValue = "true", matchIfMissing = true )
+public class GeracaoRecorrenciasConfig {
+	
+	private final RecorrenciaService recorrenciaService;
+	
+	@Scheduled( cron = "${minhasfinancas.recorrencias.cron:0 0 3 * * *}" )
+	public void gerar() {
+		
+		long inicio = System.nanoTime();
+		int gerados = recorrenciaService.gerarProximasOcorrencias();
+		log.info( "{} ocorrência(s) de recorrências gerada(s) em {} ms.", gerados,
+		          ( System.nanoTime() - inicio ) / 1_000_000 );
+	}
+	
+}
@@ -0,0 +1,25 @@
+package com.jael.minhasfinacas.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ativa o {@code @Timed} nos serviços. Cada chamada é registrada no timer {@value #SERVICO} com as tags
+ * {@code class}, {@code method} e {@code exception}; esta última indica a exceção lançada, como
+ * {@code RegraNegocioException} ou {@code ErroAutenticacao}, ou {@code none} quando a chamada termina normalmente.
+ * Os endpoints são medidos pelo {@code http.server.requests} do Spring Boot.
+ */
+@Configuration
+public class MetricasConfig {
+	
+	public static final String SERVICO = "minhasfinancas.servico";
+	
+	@Bean
+	public TimedAspect timedAspect( MeterRegistry registry ) {
+		
+		return new TimedAspect( registry );
+	}
+	
+}
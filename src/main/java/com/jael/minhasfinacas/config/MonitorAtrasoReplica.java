@@ -0,0 +1,83 @@
+package com.jael.minhasfinacas.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede periodicamente o atraso da réplica com uma consulta que devolve o atraso em segundos. Acima do atraso tolerado,
+ * ou com a réplica fora do ar, as leituras voltam para a primária até a próxima verificação que a encontre em dia.
+ */
+@Slf4j
+public class MonitorAtrasoReplica {
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	private final String consultaAtraso;
+	
+	private final Duration atrasoMaximo;
+	
+	private final Duration intervalo;
+	
+	private final ScheduledExecutorService agendador;
+	
+	private volatile boolean disponivel;
+	
+	public MonitorAtrasoReplica( DataSource replica, String consultaAtraso, Duration atrasoMaximo, Duration intervalo ) {
+		
+		this.jdbcTemplate = new JdbcTemplate( replica );
+		this.consultaAtraso = consultaAtraso;
+		this.atrasoMaximo = atrasoMaximo;
+		this.intervalo = intervalo;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory( "monitor-replica-" );
+		threadFactory.setDaemon( true );
+		this.agendador = Executors.newSingleThreadScheduledExecutor( threadFactory );
+	}
+	
+	public boolean isDisponivel() {
+		
+		return disponivel;
+	}
+	
+	public void iniciar() {
+		
+		verificar();
+		agendador.scheduleWithFixedDelay( this::verificar, intervalo.toMillis(), intervalo.toMillis(),
+		                                  TimeUnit.MILLISECONDS );
+	}
+	
+	public void encerrar() {
+		
+		agendador.shutdownNow();
+	}
+	
+	void verificar() {
+		
+		boolean anterior = disponivel;
+		
+		try {
+			Number segundos = jdbcTemplate.queryForObject( consultaAtraso, Number.class );
+			Duration atraso = Duration.ofMillis( Math.round( segundos == null ? 0 : segundos.doubleValue() * 1000 ) );
+			disponivel = atraso.compareTo( atrasoMaximo ) <= 0;
+			
+			if ( anterior != disponivel ) {
+				log.info( "Réplica com atraso de {} ms (tolerado: {} ms); leituras {}.", atraso.toMillis(),
+				          atrasoMaximo.toMillis(), disponivel ? "na réplica" : "na primária" );
+			}
+		} catch ( DataAccessException e ) {
+			disponivel = false;
+			
+			if ( anterior ) {
+				log.warn( "Não foi possível medir o atraso da réplica; leituras na primária.", e );
+			}
+		}
+	}
+	
+}
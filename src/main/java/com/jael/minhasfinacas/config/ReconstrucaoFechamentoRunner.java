@@ -0,0 +1,30 @@
+package com.jael.minhasfinacas.config;
+
+import com.jael.minhasfinacas.service.FechamentoMensalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recria os fechamentos mensais de todos os usuários na inicialização, a partir do resumo mensal. Ativado com
+ * {@code --minhasfinancas.fechamento.reconstruir=true}; roda depois de uma reconstrução do resumo pedida junto.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty( name = "minhasfinancas.fechamento.reconstruir", havingValue = "true" )
+public class ReconstrucaoFechamentoRunner implements ApplicationRunner {
+	
+	private final FechamentoMensalService fechamentoMensalService;
+	
+	@Override
+	public void run( ApplicationArguments args ) {
+		
+		int fechamentos = fechamentoMensalService.reconstruirTodos();
+		log.info( "Fechamento mensal reconstruído com {} linha(s).", fechamentos );
+	}
+	
+}
@@ -0,0 +1,33 @@
+package com.jael.minhasfinacas.config;
+
+import com.jael.minhasfinacas.service.ResumoMensalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconstrói os resumos mensais de todos os usuários na inicialização.
+ * Ativado com {@code --minhasfinancas.resumo.reconstruir=true}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order( Ordered.HIGHEST_PRECEDENCE )
+@ConditionalOnProperty( name = "minhasfinancas.resumo.reconstruir", havingValue = "true" )
+public class ReconstrucaoResumoRunner implements ApplicationRunner {
+	
+	private final ResumoMensalService resumoMensalService;
+	
+	@Override
+	public void run( ApplicationArguments args ) {
+		
+		int linhas = resumoMensalService.reconstruirTodos();
+		log.info( "Resumo mensal reconstruído com {} linha(s).", linhas );
+	}
+	
+}
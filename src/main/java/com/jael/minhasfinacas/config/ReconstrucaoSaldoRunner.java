@@ -0,0 +1,30 @@
+package com.jael.minhasfinacas.config;
+
+import com.jael.minhasfinacas.service.SaldoUsuarioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconstrói a projeção de saldos de todos os usuários na inicialização, para recuperar uma projeção divergente.
+ * Ativado com {@code --minhasfinancas.saldo.reconstruir=true}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty( name = "minhasfinancas.saldo.reconstruir", havingValue = "true" )
+public class ReconstrucaoSaldoRunner implements ApplicationRunner {
+	
+	private final SaldoUsuarioService saldoUsuarioService;
+	
+	@Override
+	public void run( ApplicationArguments args ) {
+		
+		int usuarios = saldoUsuarioService.reconstruirTodos();
+		log.info( "Saldo reconstruído para {} usuário(s).", usuarios );
+	}
+	
+}
@@ -0,0 +1,110 @@
+package com.jael.minhasfinacas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Modo opcional, ativado com {@code minhasfinancas.replica.habilitada=true}, em que as transações
+ * {@code readOnly = true} leem de uma réplica ({@code minhasfinancas.replica.url}, {@code username},
+ * {@code password} e {@code hikari.*}) e as escritas seguem na primária ({@code spring.datasource.*}).
+ * <p>
+ * O atraso da réplica é medido a cada {@code minhasfinancas.replica.intervalo-verificacao} com
+ * {@code minhasfinancas.replica.consulta-atraso}; acima de {@code minhasfinancas.replica.atraso-maximo} as leituras
+ * voltam para a primária. Cada transação obtém a própria conexão, mesmo com o {@code EntityManager} aberto durante toda
+ * a requisição, para que uma leitura não prenda a requisição à réplica antes de uma escrita.
+ */
+@Configuration
+@ConditionalOnProperty( name = "minhasfinancas.replica.habilitada", havingValue = "true" )
+public class ReplicaConfig {
+	
+	/**
+	 * Zero enquanto a réplica aplica tudo o que recebeu; sem isso uma primária sem escritas pareceria atrasar.
+	 */
+	private static final String CONSULTA_ATRASO_POSTGRESQL =
+			"SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+			+ "ELSE COALESCE( EXTRACT( EPOCH FROM now() - pg_last_xact_replay_timestamp() ), 0 ) END";
+	
+	@Bean( destroyMethod = "close" )
+	@ConfigurationProperties( "spring.datasource.hikari" )
+	public HikariDataSource dataSourcePrimaria( DataSourceProperties properties ) {
+		
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type( HikariDataSource.class ).build();
+		dataSource.setPoolName( RoteamentoDataSource.PRIMARIA );
+		return dataSource;
+	}
+	
+	@Bean( destroyMethod = "close" )
+	@ConfigurationProperties( "minhasfinancas.replica.hikari" )
+	public HikariDataSource dataSourceReplica( @Value( "${minhasfinancas.replica.url}" ) String url,
+	                                           @Value( "${minhasfinancas.replica.username:${spring.datasource.username:}}" )
+	                                           String username,
+	                                           @Value( "${minhasfinancas.replica.password:${spring.datasource.password:}}" )
+	                                           String password ) {
+		
+		HikariDataSource dataSource = DataSourceBuilder.create()
+		                                               .type( HikariDataSource.class )
+		                                               .url( url )
+		                                               .username( username )
+		                                               .password( password )
+		                                               .build();
+		dataSource.setPoolName( RoteamentoDataSource.REPLICA );
+		dataSource.setReadOnly( true );
+		return dataSource;
+	}
+	
+	@Bean( initMethod = "iniciar", destroyMethod = "encerrar" )
+	public MonitorAtrasoReplica monitorAtrasoReplica(
+			@Qualifier( "dataSourceReplica" ) DataSource replica,
+			@Value( "${minhasfinancas.replica.consulta-atraso:" + CONSULTA_ATRASO_POSTGRESQL + "}" ) String consulta,
+			@Value( "${minhasfinancas.replica.atraso-maximo:PT5S}" ) Duration atrasoMaximo,
+			@Value( "${minhasfinancas.replica.intervalo-verificacao:PT1S}" ) Duration intervalo ) {
+		
+		return new MonitorAtrasoReplica( replica, consulta, atrasoMaximo, intervalo );
+	}
+	
+	@Bean
+	@Primary
+	public DataSource dataSource( @Qualifier( "dataSourcePrimaria" ) DataSource primaria,
+	                              @Qualifier( "dataSourceReplica" ) DataSource replica,
+	                              MonitorAtrasoReplica monitor ) {
+		
+		RoteamentoDataSource roteamento = new RoteamentoDataSource( monitor );
+		roteamento.setTargetDataSources( Map.of( RoteamentoDataSource.PRIMARIA, primaria,
+		                                         RoteamentoDataSource.REPLICA, replica ) );
+		roteamento.setDefaultTargetDataSource( primaria );
+		roteamento.afterPropertiesSet();
+		
+		// Os padrões informados evitam abrir uma conexão só para descobri-los na subida.
+		LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+		proxy.setTargetDataSource( roteamento );
+		proxy.setDefaultAutoCommit( true );
+		proxy.setDefaultTransactionIsolation( Connection.TRANSACTION_READ_COMMITTED );
+		proxy.afterPropertiesSet();
+		return proxy;
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer conexaoPorTransacao() {
+		
+		return propriedades -> propriedades.put( AvailableSettings.CONNECTION_HANDLING,
+		                                         PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION );
+	}
+	
+}
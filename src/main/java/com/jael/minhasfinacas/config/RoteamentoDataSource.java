@@ -0,0 +1,34 @@
+package com.jael.minhasfinacas.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia as transações {@code readOnly} para a réplica enquanto o {@link MonitorAtrasoReplica} a considera em dia; o
+ * restante, inclusive o acesso fora de transação, vai para a primária. A decisão depende da transação já iniciada, por
+ * isso a conexão precisa ser obtida por um {@code LazyConnectionDataSourceProxy}, que só chega aqui no primeiro
+ * comando enviado ao banco.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+	
+	public static final String PRIMARIA = "primaria";
+	
+	public static final String REPLICA = "replica";
+	
+	private final MonitorAtrasoReplica monitor;
+	
+	public RoteamentoDataSource( MonitorAtrasoReplica monitor ) {
+		
+		this.monitor = monitor;
+	}
+	
+	@Override
+	protected Object determineCurrentLookupKey() {
+		
+		if ( TransactionSynchronizationManager.isCurrentTransactionReadOnly() && monitor.isDisponivel() ) {
+			return REPLICA;
+		}
+		return PRIMARIA;
+	}
+	
+}
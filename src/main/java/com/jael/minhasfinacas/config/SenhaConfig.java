@@ -0,0 +1,32 @@
+package com.jael.minhasfinacas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Senhas gravadas com bcrypt, com sal próprio e custo {@code minhasfinancas.senha.custo} (2^custo rodadas). O cadastro
+ * e a autenticação rodam no {@link ExecutorSenhas}, com {@code minhasfinancas.senha.threads} threads e até
+ * {@code minhasfinancas.senha.fila} pedidos aguardando.
+ */
+@Configuration
+public class SenhaConfig {
+	
+	@Bean
+	public PasswordEncoder passwordEncoder( @Value( "${minhasfinancas.senha.custo:10}" ) int custo ) {
+		
+		return new BCryptPasswordEncoder( custo );
+	}
+	
+	@Bean( destroyMethod = "encerrar" )
+	public ExecutorSenhas executorSenhas(
+			@Value( "${minhasfinancas.senha.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}" )
+			int threads,
+			@Value( "${minhasfinancas.senha.fila:100}" ) int fila ) {
+		
+		return new ExecutorSenhas( threads, fila );
+	}
+	
+}
@@ -0,0 +1,70 @@
+package com.jael.minhasfinacas.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo experimental, ativado com {@code minhasfinancas.threads-virtuais.habilitado=true}, em que cada requisição do
+ * Tomcat e cada tarefa do {@code applicationTaskExecutor} ({@code @Async} e requisições assíncronas do MVC) roda em
+ * uma thread virtual. Uma requisição bloqueada no banco deixa de ocupar uma thread do pool do Tomcat; a concorrência
+ * com o banco passa a ser limitada apenas pelo pool do Hikari ({@code spring.datasource.hikari.maximum-pool-size}), e
+ * o excesso aguarda uma conexão por até {@code spring.datasource.hikari.connection-timeout}.
+ * <p>
+ * Exige Java 21 (perfil {@code java21} do Maven); em versões anteriores a aplicação não sobe com o modo ativo. O
+ * driver do PostgreSQL e o Hikari usam versões que trocaram os blocos {@code synchronized} do caminho de E/S por
+ * {@code ReentrantLock}, de modo que a espera pelo banco não prende a thread virtual à thread portadora. Pontos de
+ * fixação restantes podem ser listados com {@code -Djdk.tracePinnedThreads=short}.
+ * <p>
+ * Ainda não é suportado: o caminho em Java 21 nunca foi executado sob carga nem comparado com o pool de threads do
+ * Tomcat. Antes de ativá-lo em produção, meça as duas configurações com o módulo {@code carga}
+ * ({@code -Dcarga.threads-virtuais=true}) sobre o mesmo banco.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty( name = "minhasfinancas.threads-virtuais.habilitado", havingValue = "true" )
+public class ThreadsVirtuaisConfig {
+	
+	@Bean( destroyMethod = "shutdown" )
+	public ExecutorService executorThreadsVirtuais() {
+		
+		log.warn( "minhasfinancas.threads-virtuais.habilitado é experimental e ainda não foi medido sob carga." );
+		try {
+			return ( ExecutorService ) MethodHandles.publicLookup()
+			                                        .findStatic( Executors.class, "newVirtualThreadPerTaskExecutor",
+			                                                     MethodType.methodType( ExecutorService.class ) )
+			                                        .invoke();
+		} catch ( NoSuchMethodException e ) {
+			throw new IllegalStateException( "Threads virtuais exigem Java 21 ou superior; a aplicação está em Java "
+			                                 + Runtime.version().feature() + ".", e );
+		} catch ( Throwable e ) {
+			throw new IllegalStateException( "Não foi possível criar o executor de threads virtuais.", e );
+		}
+	}
+	
+	@Bean
+	public TomcatProtocolHandlerCustomizer< ? > protocolHandlerThreadsVirtuais( ExecutorService executorThreadsVirtuais ) {
+		
+		return protocolHandler -> protocolHandler.setExecutor( executorThreadsVirtuais );
+	}
+	
+	/**
+	 * Substitui o pool padrão do Spring Boot, que só é criado quando não há outro {@code Executor} no contexto.
+	 */
+	@Bean( name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME )
+	public AsyncTaskExecutor applicationTaskExecutor( ExecutorService executorThreadsVirtuais ) {
+		
+		return new TaskExecutorAdapter( executorThreadsVirtuais );
+	}
+	
+}
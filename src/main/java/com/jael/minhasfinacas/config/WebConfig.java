@@ -0,0 +1,78 @@
+package com.jael.minhasfinacas.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Com {@code @EnableWebMvc} os conversores de mensagem são os padrão do Spring MVC, que incluem Smile
+ * ({@link #SMILE}) e CBOR ({@code application/cbor}) por estarem no classpath: o cliente escolhe o
+ * formato binário pelo {@code Accept}, e sem ele a resposta continua em JSON. A compressão gzip das respostas textuais
+ * é feita pelo Tomcat ({@code server.compression.*}), e os conversores Jackson informam o tamanho das respostas
+ * pequenas para que o Tomcat respeite o {@code min-response-size}.
+ */
+@Configuration
+@EnableWebMvc
+public class WebConfig implements WebMvcConfigurer {
+	
+	public static final String SMILE = "application/x-jackson-smile";
+	
+	private final ObjectProvider< AsyncTaskExecutor > taskExecutor;
+	
+	@Value( "${minhasfinancas.async.timeout:1800000}" )
+	private long asyncTimeout;
+	
+	@Value( "${server.compression.enabled:false}" )
+	private boolean compressao;
+	
+	@Value( "${server.compression.min-response-size:2KB}" )
+	private DataSize tamanhoMinimoCompressao;
+	
+	public WebConfig( @Qualifier( TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME )
+	                  ObjectProvider< AsyncTaskExecutor > taskExecutor ) {
+		
+		this.taskExecutor = taskExecutor;
+	}
+	
+	@Override
+	public void addCorsMappings( CorsRegistry registry ) {
+		
+		registry.addMapping( "/**" ).allowedMethods( "GET", "POST", "PUT", "DELETE", "OPTIONS" );
+	}
+	
+	@Override
+	public void extendMessageConverters( List< HttpMessageConverter< ? > > converters ) {
+		
+		if ( !compressao ) {
+			return;
+		}
+		converters.replaceAll( conversor -> conversor instanceof AbstractJackson2HttpMessageConverter
+		                                    ? new ConversorTamanhoConhecido( ( AbstractJackson2HttpMessageConverter ) conversor,
+		                                                                     ( int ) tamanhoMinimoCompressao.toBytes() )
+		                                    : conversor );
+	}
+	
+	/**
+	 * Respostas em streaming, como a exportação de lançamentos, são escritas fora da thread da requisição pelo pool
+	 * da aplicação (spring.task.execution.pool.*) e podem durar bem mais que o timeout padrão do container.
+	 */
+	@Override
+	public void configureAsyncSupport( AsyncSupportConfigurer configurer ) {
+		
+		configurer.setDefaultTimeout( asyncTimeout );
+		taskExecutor.ifAvailable( configurer::setTaskExecutor );
+	}
+	
+}
@@ -0,0 +1,11 @@
+package com.jael.minhasfinacas.exception;
+
+/**
+ * O lançamento não existe ou pertence a outro usuário; os dois casos são indistinguíveis para quem consulta.
+ */
+public class LancamentoNaoEncontradoException extends RegraNegocioException {
+	
+	public LancamentoNaoEncontradoException() {
+		super( "Lançamento não encontrado para o ID informado." );
+	}
+}
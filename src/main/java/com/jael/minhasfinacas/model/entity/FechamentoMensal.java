@@ -0,0 +1,52 @@
+package com.jael.minhasfinacas.model.entity;
+
+import lombok.*;
+import org.springframework.data.util.ProxyUtils;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Saldo de cada usuário ao fim de um mês já encerrado: a soma dos lançamentos efetivados até esse mês. Gravado pelo
+ * fechamento mensal e corrigido pelas escritas de lançamentos do próprio mês ou de meses anteriores.
+ */
+@Entity
+@Table( name = "fechamento_mensal", schema = "financas" )
+@Getter
+@Setter
+@ToString
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class FechamentoMensal {
+	
+	@EmbeddedId
+	private FechamentoMensalId id;
+	
+	@Column( name = "saldo" )
+	private BigDecimal saldo;
+	
+	@Override
+	public boolean equals( Object o ) {
+		
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || ProxyUtils.getUserClass( this ) != ProxyUtils.getUserClass( o ) ) {
+			return false;
+		}
+		FechamentoMensal that = ( FechamentoMensal ) o;
+		return id != null && Objects.equals( id, that.id );
+	}
+	
+	@Override
+	public int hashCode() {
+		
+		return getClass().hashCode();
+	}
+	
+}
@@ -0,0 +1,27 @@
+package com.jael.minhasfinacas.model.entity;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class FechamentoMensalId implements Serializable {
+	
+	@Column( name = "id_usuario" )
+	private Long idUsuario;
+	
+	@Column( name = "ano" )
+	private Integer ano;
+	
+	@Column( name = "mes" )
+	private Integer mes;
+	
+}
@@ -12,7 +12,12 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table( name = "lancamento", schema = "financas" )
+@Table( name = "lancamento", schema = "financas", indexes = {
+		@Index( name = "idx_lancamento_usuario_ano_mes_id", columnList = "id_usuario, ano, mes, id" ),
+		@Index( name = "idx_lancamento_usuario_status_tipo", columnList = "id_usuario, status, tipo" ),
+		@Index( name = "idx_lancamento_usuario_sequencia", columnList = "id_usuario, sequencia_alteracao" ),
+		@Index( name = "uk_lancamento_recorrencia_parcela", columnList = "id_recorrencia, parcela, ano",
+		        unique = true ) } )
 @Getter
 @Setter
 @ToString
@@ -21,9 +26,17 @@ import java.util.Objects;
 @AllArgsConstructor
 public class Lancamento {
 	
+	/** Tamanho da coluna descricao, conferido na validação para que o banco não recuse o lançamento. */
+	public static final int TAMANHO_DESCRICAO = 100;
+	
+	/**
+	 * Gerado por sequência com alocação em blocos para permitir inserts em lote; o INCREMENT BY da sequência no banco
+	 * deve ser igual ao allocationSize.
+	 */
 	@Id
 	@Column( name = "id" )
-	@GeneratedValue( strategy = GenerationType.IDENTITY )
+	@GeneratedValue( strategy = GenerationType.SEQUENCE, generator = "lancamento_id_seq" )
+	@SequenceGenerator( name = "lancamento_id_seq", sequenceName = "financas.lancamento_id_seq", allocationSize = 50 )
 	private Long id;
 	
 	@Column( name = "mes" )
@@ -32,11 +45,12 @@ public class Lancamento {
 	@Column( name = "ano" )
 	private Integer ano;
 	
-	@Column( name = "descricao" )
+	@Column( name = "descricao", length = Lancamento.TAMANHO_DESCRICAO )
 	private String descricao;
 	
-	@ManyToOne
+	@ManyToOne( fetch = FetchType.LAZY )
 	@JoinColumn( name = "id_usuario" )
+	@ToString.Exclude
 	private Usuario usuario;
 	
 	@Column( name = "valor" )
@@ -54,6 +68,30 @@ public class Lancamento {
 	@Enumerated( value = EnumType.STRING )
 	private StatusLancamento status;
 	
+	/**
+	 * Incrementada a cada alteração gravada; exposta como ETag e conferida nas atualizações condicionais.
+	 */
+	@Version
+	@Column( name = "versao" )
+	private Long versao;
+	
+	/**
+	 * Sequência do usuário na última alteração gravada, usada pela sincronização incremental; os lançamentos
+	 * anteriores a ela têm zero.
+	 */
+	@Column( name = "sequencia_alteracao" )
+	private Long sequenciaAlteracao;
+	
+	/**
+	 * Recorrência que gerou o lançamento e o número da parcela, únicos juntos para que a geração não repita uma
+	 * parcela. Não são alterados pelas atualizações do lançamento.
+	 */
+	@Column( name = "id_recorrencia", updatable = false )
+	private Long idRecorrencia;
+	
+	@Column( name = "parcela", updatable = false )
+	private Integer parcela;
+	
 	@Override
 	public boolean equals( Object o ) {
 		if ( this == o ) return true;
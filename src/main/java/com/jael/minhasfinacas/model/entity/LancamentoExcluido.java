@@ -0,0 +1,52 @@
+package com.jael.minhasfinacas.model.entity;
+
+import lombok.*;
+import org.springframework.data.util.ProxyUtils;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Registro de que um lançamento deixou de pertencer ao usuário, excluído ou transferido a outro, na sequência de
+ * alteração em que isso aconteceu. Permite à sincronização incremental informar exclusões sem manter as linhas na
+ * tabela de lançamentos.
+ */
+@Entity
+@Table( name = "lancamento_excluido", schema = "financas" )
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class LancamentoExcluido {
+	
+	@EmbeddedId
+	private LancamentoExcluidoId id;
+	
+	public LancamentoExcluido( Long idUsuario, Long sequenciaAlteracao, Long idLancamento ) {
+		
+		this( new LancamentoExcluidoId( idUsuario, sequenciaAlteracao, idLancamento ) );
+	}
+	
+	@Override
+	public boolean equals( Object o ) {
+		
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || ProxyUtils.getUserClass( this ) != ProxyUtils.getUserClass( o ) ) {
+			return false;
+		}
+		LancamentoExcluido that = ( LancamentoExcluido ) o;
+		return id != null && Objects.equals( id, that.id );
+	}
+	
+	@Override
+	public int hashCode() {
+		
+		return getClass().hashCode();
+	}
+	
+}
@@ -0,0 +1,27 @@
+package com.jael.minhasfinacas.model.entity;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoExcluidoId implements Serializable {
+	
+	@Column( name = "id_usuario" )
+	private Long idUsuario;
+	
+	@Column( name = "sequencia_alteracao" )
+	private Long sequenciaAlteracao;
+	
+	@Column( name = "id_lancamento" )
+	private Long idLancamento;
+	
+}
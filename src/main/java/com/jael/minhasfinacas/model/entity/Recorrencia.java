@@ -0,0 +1,101 @@
+package com.jael.minhasfinacas.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import lombok.*;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+import org.springframework.data.util.ProxyUtils;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Lançamento que se repete todo mês a partir de {@code mes}/{@code ano}: por tempo indeterminado ou, quando
+ * {@code parcelas} é informado, em parcelas de mesmo valor. As ocorrências são gravadas como lançamentos pendentes
+ * pelo gerador de recorrências, que avança {@code parcelasGeradas} na mesma transação.
+ */
+@Entity
+@Table( name = "recorrencia", schema = "financas", indexes = {
+		@Index( name = "idx_recorrencia_usuario_id", columnList = "id_usuario, id" ) } )
+@Getter
+@Setter
+@ToString
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class Recorrencia {
+	
+	@Id
+	@Column( name = "id" )
+	@GeneratedValue( strategy = GenerationType.IDENTITY )
+	private Long id;
+	
+	@Column( name = "descricao" )
+	private String descricao;
+	
+	@Column( name = "valor" )
+	private BigDecimal valor;
+	
+	@Column( name = "tipo" )
+	@Enumerated( value = EnumType.STRING )
+	private TipoLancamento tipo;
+	
+	@Column( name = "mes" )
+	private Integer mes;
+	
+	@Column( name = "ano" )
+	private Integer ano;
+	
+	/**
+	 * Quantidade de parcelas; nula para uma recorrência sem fim.
+	 */
+	@Column( name = "parcelas" )
+	private Integer parcelas;
+	
+	@Column( name = "parcelas_geradas", nullable = false )
+	private Integer parcelasGeradas;
+	
+	@Column( name = "ativa", nullable = false )
+	private Boolean ativa;
+	
+	@ManyToOne( fetch = FetchType.LAZY )
+	@JoinColumn( name = "id_usuario" )
+	@ToString.Exclude
+	@JsonIgnore
+	private Usuario usuario;
+	
+	@Column( name = "data_cadastro" )
+	@Convert( converter = Jsr310JpaConverters.LocalDateConverter.class )
+	private LocalDate dataCadastro;
+	
+	/**
+	 * Mês da primeira parcela contado em meses desde o ano zero, base das comparações com o mês alvo da geração.
+	 */
+	@JsonIgnore
+	public int getMesAbsolutoInicial() {
+		
+		return ano * 12 + mes - 1;
+	}
+	
+	@Override
+	public boolean equals( Object o ) {
+		
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || ProxyUtils.getUserClass( this ) != ProxyUtils.getUserClass( o ) ) {
+			return false;
+		}
+		Recorrencia that = ( Recorrencia ) o;
+		return id != null && Objects.equals( id, that.id );
+	}
+	
+	@Override
+	public int hashCode() {
+		
+		return getClass().hashCode();
+	}
+	
+}
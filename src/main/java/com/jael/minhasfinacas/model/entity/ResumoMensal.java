@@ -0,0 +1,55 @@
+package com.jael.minhasfinacas.model.entity;
+
+import lombok.*;
+import org.springframework.data.util.ProxyUtils;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Soma e quantidade de lançamentos por usuário, ano, mês, tipo e status, mantidas pelas operações de escrita de
+ * lançamentos.
+ */
+@Entity
+@Table( name = "resumo_mensal", schema = "financas" )
+@Getter
+@Setter
+@ToString
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class ResumoMensal {
+	
+	@EmbeddedId
+	private ResumoMensalId id;
+	
+	@Column( name = "valor" )
+	private BigDecimal valor;
+	
+	@Column( name = "quantidade" )
+	private Long quantidade;
+	
+	@Override
+	public boolean equals( Object o ) {
+		
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || ProxyUtils.getUserClass( this ) != ProxyUtils.getUserClass( o ) ) {
+			return false;
+		}
+		ResumoMensal that = ( ResumoMensal ) o;
+		return id != null && Objects.equals( id, that.id );
+	}
+	
+	@Override
+	public int hashCode() {
+		
+		return getClass().hashCode();
+	}
+	
+}
@@ -0,0 +1,46 @@
+package com.jael.minhasfinacas.model.entity;
+
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoMensalId implements Serializable {
+	
+	@Column( name = "id_usuario" )
+	private Long idUsuario;
+	
+	@Column( name = "ano" )
+	private Integer ano;
+	
+	@Column( name = "mes" )
+	private Integer mes;
+	
+	@Column( name = "tipo" )
+	@Enumerated( value = EnumType.STRING )
+	private TipoLancamento tipo;
+	
+	@Column( name = "status" )
+	@Enumerated( value = EnumType.STRING )
+	private StatusLancamento status;
+	
+	public static ResumoMensalId de( MovimentoLancamento movimento ) {
+		
+		return new ResumoMensalId( movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(),
+		                           movimento.getTipo(), movimento.getStatus() );
+	}
+	
+}
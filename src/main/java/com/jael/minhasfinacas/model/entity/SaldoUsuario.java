@@ -0,0 +1,64 @@
+package com.jael.minhasfinacas.model.entity;
+
+import lombok.*;
+import org.springframework.data.util.ProxyUtils;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Projeção do saldo atual de cada usuário, mantida pelas operações de escrita de lançamentos.
+ */
+@Entity
+@Table( name = "saldo_usuario", schema = "financas" )
+@Getter
+@Setter
+@ToString
+@Builder
+@RequiredArgsConstructor
+@AllArgsConstructor
+public class SaldoUsuario {
+	
+	@Id
+	@Column( name = "id_usuario" )
+	private Long idUsuario;
+	
+	@Column( name = "saldo" )
+	private BigDecimal saldo;
+	
+	/**
+	 * Incrementada a cada alteração do saldo e exposta como ETag. Não é um {@code @Version}: o saldo é alterado por
+	 * UPDATEs diretos, que a incrementam na mesma instrução.
+	 */
+	@Column( name = "versao", nullable = false )
+	private Long versao;
+	
+	public SaldoUsuario( Long idUsuario, BigDecimal saldo ) {
+		
+		this( idUsuario, saldo, 0L );
+	}
+	
+	@Override
+	public boolean equals( Object o ) {
+		
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || ProxyUtils.getUserClass( this ) != ProxyUtils.getUserClass( o ) ) {
+			return false;
+		}
+		SaldoUsuario that = ( SaldoUsuario ) o;
+		return idUsuario != null && Objects.equals( idUsuario, that.idUsuario );
+	}
+	
+	@Override
+	public int hashCode() {
+		
+		return getClass().hashCode();
+	}
+	
+}
@@ -1,6 +1,7 @@
 package com.jael.minhasfinacas.model.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import org.springframework.data.util.ProxyUtils;
 
@@ -8,7 +9,9 @@ import javax.persistence.*;
 import java.util.Objects;
 
 @Entity
-@Table( name = "usuario", schema = "financas" )
+@Table( name = "usuario", schema = "financas", indexes = {
+		@Index( name = "uk_usuario_email", columnList = "email", unique = true ) } )
+@JsonIgnoreProperties( { "hibernateLazyInitializer", "handler" } )
 @Getter
 @Setter
 @ToString
@@ -32,6 +35,15 @@ public class Usuario {
 	@JsonIgnore
 	private String senha;
 	
+	/**
+	 * Última sequência atribuída às alterações dos lançamentos do usuário. Avançada apenas por UPDATE direto, que
+	 * bloqueia a linha até o commit e assim mantém a sequência na ordem em que as alterações são confirmadas.
+	 */
+	@Column( name = "sequencia_alteracao", insertable = false, updatable = false,
+	         columnDefinition = "bigint default 0 not null" )
+	@JsonIgnore
+	private Long sequenciaAlteracao;
+	
 	@Override
 	public boolean equals( Object o ) {
 		
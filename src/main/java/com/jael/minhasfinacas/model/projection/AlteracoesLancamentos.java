@@ -0,0 +1,25 @@
+package com.jael.minhasfinacas.model.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Lançamentos criados ou alterados e ids dos excluídos desde uma marca de sincronização, até a marca {@code ate},
+ * que o cliente guarda e envia na próxima vez. Com {@code completa} a resposta traz todos os lançamentos do usuário e
+ * o cliente substitui o que tiver guardado.
+ */
+@Value
+@AllArgsConstructor
+public class AlteracoesLancamentos {
+	
+	List< ItemLancamento > alterados;
+	
+	List< Long > excluidos;
+	
+	Long ate;
+	
+	boolean completa;
+	
+}
@@ -0,0 +1,45 @@
+package com.jael.minhasfinacas.model.projection;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de um lançamento na ordenação (ano, mês, id) usada pela paginação por cursor.
+ */
+@Value
+@AllArgsConstructor
+public class CursorLancamento {
+	
+	Integer ano;
+	
+	Integer mes;
+	
+	Long id;
+	
+	public static CursorLancamento de( ItemLancamento lancamento ) {
+		
+		return new CursorLancamento( lancamento.getAno(), lancamento.getMes(), lancamento.getId() );
+	}
+	
+	public static CursorLancamento decodificar( String cursor ) {
+		
+		try {
+			String[] partes = new String( Base64.getUrlDecoder().decode( cursor ), StandardCharsets.UTF_8 ).split( ":" );
+			return new CursorLancamento( Integer.valueOf( partes[ 0 ] ), Integer.valueOf( partes[ 1 ] ),
+			                             Long.valueOf( partes[ 2 ] ) );
+		} catch ( IllegalArgumentException | ArrayIndexOutOfBoundsException e ) {
+			throw new RegraNegocioException( "Cursor de paginação inválido." );
+		}
+	}
+	
+	public String codificar() {
+		
+		String posicao = ano + ":" + mes + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString( posicao.getBytes( StandardCharsets.UTF_8 ) );
+	}
+	
+}
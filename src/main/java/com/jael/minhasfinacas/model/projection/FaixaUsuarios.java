@@ -0,0 +1,18 @@
+package com.jael.minhasfinacas.model.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Menor e maior id de usuário de um conjunto de linhas, usados para dividir um processamento em faixas de usuários.
+ * Os dois são nulos quando não há linhas.
+ */
+@Value
+@AllArgsConstructor
+public class FaixaUsuarios {
+	
+	Long menor;
+	
+	Long maior;
+	
+}
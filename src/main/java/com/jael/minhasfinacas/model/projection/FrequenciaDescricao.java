@@ -0,0 +1,9 @@
+package com.jael.minhasfinacas.model.projection;
+
+public interface FrequenciaDescricao {
+	
+	String getDescricao();
+	
+	Long getQuantidade();
+	
+}
@@ -0,0 +1,40 @@
+package com.jael.minhasfinacas.model.projection;
+
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Soma e quantidade de lançamentos de um mesmo usuário, mês, tipo e status, usadas para ajustar o saldo e os
+ * resumos mensais de uma vez quando vários lançamentos mudam juntos.
+ */
+@Value
+@AllArgsConstructor
+public class GrupoLancamentos {
+	
+	Long idUsuario;
+	
+	Integer ano;
+	
+	Integer mes;
+	
+	TipoLancamento tipo;
+	
+	StatusLancamento status;
+	
+	BigDecimal valor;
+	
+	Long quantidade;
+	
+	/**
+	 * O grupo visto como um único movimento com o status informado, cujo valor é a soma dos lançamentos.
+	 */
+	public MovimentoLancamento comStatus( StatusLancamento novoStatus ) {
+		
+		return new MovimentoLancamento( idUsuario, ano, mes, valor, tipo, novoStatus );
+	}
+	
+}
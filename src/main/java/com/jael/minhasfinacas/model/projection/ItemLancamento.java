@@ -0,0 +1,42 @@
+package com.jael.minhasfinacas.model.projection;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Colunas exibidas nas listagens de lançamentos. Lida por projeção, não passa pelo contexto de persistência e traz
+ * apenas o id do usuário, sem carregar a entidade {@code Usuario}.
+ */
+@Value
+@AllArgsConstructor
+public class ItemLancamento {
+	
+	Long id;
+	
+	String descricao;
+	
+	Integer mes;
+	
+	Integer ano;
+	
+	BigDecimal valor;
+	
+	Long usuario;
+	
+	TipoLancamento tipo;
+	
+	StatusLancamento status;
+	
+	public static ItemLancamento de( Lancamento lancamento ) {
+		
+		return new ItemLancamento( lancamento.getId(), lancamento.getDescricao(), lancamento.getMes(),
+		                           lancamento.getAno(), lancamento.getValor(), lancamento.getUsuario().getId(),
+		                           lancamento.getTipo(), lancamento.getStatus() );
+	}
+	
+}
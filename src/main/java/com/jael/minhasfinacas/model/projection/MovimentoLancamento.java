@@ -0,0 +1,59 @@
+package com.jael.minhasfinacas.model.projection;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Colunas de um lançamento que influenciam o saldo e os resumos mensais do usuário.
+ */
+@Value
+@AllArgsConstructor
+public class MovimentoLancamento {
+	
+	Long idUsuario;
+	
+	Integer ano;
+	
+	Integer mes;
+	
+	BigDecimal valor;
+	
+	TipoLancamento tipo;
+	
+	StatusLancamento status;
+	
+	public static MovimentoLancamento de( Lancamento lancamento ) {
+		
+		return new MovimentoLancamento( lancamento.getUsuario().getId(), lancamento.getAno(), lancamento.getMes(),
+		                                lancamento.getValor(), lancamento.getTipo(), lancamento.getStatus() );
+	}
+	
+	public static MovimentoLancamento de( ItemLancamento item ) {
+		
+		return new MovimentoLancamento( item.getUsuario(), item.getAno(), item.getMes(), item.getValor(),
+		                                item.getTipo(), item.getStatus() );
+	}
+	
+	public MovimentoLancamento comStatus( StatusLancamento novoStatus ) {
+		
+		return new MovimentoLancamento( idUsuario, ano, mes, valor, tipo, novoStatus );
+	}
+	
+	/**
+	 * Valor com que o lançamento contribui para o saldo: apenas lançamentos efetivados contam, receitas somando e
+	 * despesas subtraindo.
+	 */
+	public BigDecimal getContribuicao() {
+		
+		if ( status != StatusLancamento.EFETIVADO || valor == null ) {
+			return BigDecimal.ZERO;
+		}
+		return tipo == TipoLancamento.DESPESA ? valor.negate() : valor;
+	}
+	
+}
@@ -0,0 +1,11 @@
+package com.jael.minhasfinacas.model.projection;
+
+import java.math.BigDecimal;
+
+public interface TotalLancamentos {
+	
+	BigDecimal getValor();
+	
+	Long getQuantidade();
+	
+}
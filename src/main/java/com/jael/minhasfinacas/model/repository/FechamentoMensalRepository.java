@@ -0,0 +1,70 @@
+package com.jael.minhasfinacas.model.repository;
+
+import com.jael.minhasfinacas.model.entity.FechamentoMensal;
+import com.jael.minhasfinacas.model.entity.FechamentoMensalId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface FechamentoMensalRepository extends JpaRepository< FechamentoMensal, FechamentoMensalId > {
+	
+	/**
+	 * Fechamentos do usuário até o mês informado, do mais recente para o mais antigo, pela chave primária.
+	 */
+	@Query( value = " SELECT f FROM FechamentoMensal f WHERE f.id.idUsuario = :idUsuario"
+	                + " AND ( f.id.ano < :ano OR ( f.id.ano = :ano AND f.id.mes <= :mes ) )"
+	                + " ORDER BY f.id.ano DESC, f.id.mes DESC " )
+	List< FechamentoMensal > buscarAte( @Param( "idUsuario" ) Long idUsuario, @Param( "ano" ) Integer ano,
+	                                    @Param( "mes" ) Integer mes, Pageable limite );
+	
+	/**
+	 * Soma o valor aos fechamentos do usuário a partir do mês informado, inclusive.
+	 */
+	@Modifying
+	@Query( value = " UPDATE FechamentoMensal f SET f.saldo = f.saldo + :valor WHERE f.id.idUsuario = :idUsuario"
+	                + " AND ( f.id.ano > :ano OR ( f.id.ano = :ano AND f.id.mes >= :mes ) ) " )
+	int somarAPartirDe( @Param( "idUsuario" ) Long idUsuario, @Param( "ano" ) Integer ano,
+	                    @Param( "mes" ) Integer mes, @Param( "valor" ) BigDecimal valor );
+	
+	/**
+	 * Fecha o mês dos usuários da faixa que têm o fechamento do mês anterior: o saldo anterior mais os lançamentos
+	 * efetivados do mês, lidos do resumo mensal.
+	 */
+	@Modifying
+	@Query( value = " INSERT INTO financas.fechamento_mensal ( id_usuario, ano, mes, saldo )"
+	                + " SELECT f.id_usuario, :ano, :mes, f.saldo + COALESCE( ( SELECT SUM( CASE"
+	                + "        WHEN r.tipo = 'RECEITA' THEN r.valor WHEN r.tipo = 'DESPESA' THEN -r.valor END )"
+	                + "     FROM financas.resumo_mensal r WHERE r.id_usuario = f.id_usuario AND r.ano = :ano"
+	                + "     AND r.mes = :mes AND r.status = 'EFETIVADO' ), 0 )"
+	                + " FROM financas.fechamento_mensal f"
+	                + " WHERE f.ano = :anoAnterior AND f.mes = :mesAnterior AND f.id_usuario BETWEEN :de AND :ate"
+	                + " AND NOT EXISTS ( SELECT 1 FROM financas.fechamento_mensal n WHERE n.id_usuario = f.id_usuario"
+	                + "                  AND n.ano = :ano AND n.mes = :mes ) ", nativeQuery = true )
+	int fecharAPartirDoAnterior( @Param( "ano" ) Integer ano, @Param( "mes" ) Integer mes,
+	                             @Param( "anoAnterior" ) Integer anoAnterior,
+	                             @Param( "mesAnterior" ) Integer mesAnterior, @Param( "de" ) Long de,
+	                             @Param( "ate" ) Long ate );
+	
+	/**
+	 * Fecha o mês dos demais usuários da faixa somando todo o resumo mensal até o mês.
+	 */
+	@Modifying
+	@Query( value = " INSERT INTO financas.fechamento_mensal ( id_usuario, ano, mes, saldo )"
+	                + " SELECT u.id, :ano, :mes, COALESCE( SUM( CASE"
+	                + "        WHEN r.tipo = 'RECEITA' THEN r.valor WHEN r.tipo = 'DESPESA' THEN -r.valor END ), 0 )"
+	                + " FROM financas.usuario u"
+	                + " LEFT JOIN financas.resumo_mensal r ON r.id_usuario = u.id AND r.status = 'EFETIVADO'"
+	                + "      AND ( r.ano < :ano OR ( r.ano = :ano AND r.mes <= :mes ) )"
+	                + " WHERE u.id BETWEEN :de AND :ate"
+	                + " AND NOT EXISTS ( SELECT 1 FROM financas.fechamento_mensal n WHERE n.id_usuario = u.id"
+	                + "                  AND n.ano = :ano AND n.mes = :mes )"
+	                + " GROUP BY u.id ", nativeQuery = true )
+	int fecharPeloResumo( @Param( "ano" ) Integer ano, @Param( "mes" ) Integer mes, @Param( "de" ) Long de,
+	                      @Param( "ate" ) Long ate );
+	
+}
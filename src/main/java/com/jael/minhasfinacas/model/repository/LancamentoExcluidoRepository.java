@@ -0,0 +1,18 @@
+package com.jael.minhasfinacas.model.repository;
+
+import com.jael.minhasfinacas.model.entity.LancamentoExcluido;
+import com.jael.minhasfinacas.model.entity.LancamentoExcluidoId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LancamentoExcluidoRepository extends JpaRepository< LancamentoExcluido, LancamentoExcluidoId > {
+	
+	@Query( value = " SELECT DISTINCT e.id.idLancamento FROM LancamentoExcluido e WHERE e.id.idUsuario = :idUsuario"
+	                + " AND e.id.sequenciaAlteracao > :desde AND e.id.sequenciaAlteracao <= :ate " )
+	List< Long > buscarExcluidosEntre( @Param( "idUsuario" ) Long idUsuario, @Param( "desde" ) Long desde,
+	                                   @Param( "ate" ) Long ate );
+	
+}
@@ -3,14 +3,21 @@ package com.jael.minhasfinacas.model.repository;
 import com.jael.minhasfinacas.model.entity.Lancamento;
 import com.jael.minhasfinacas.model.enums.StatusLancamento;
 import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.FrequenciaDescricao;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
-public interface LancamentoRepository extends JpaRepository< Lancamento, Long > {
+public interface LancamentoRepository extends JpaRepository< Lancamento, Long >, LancamentoRepositoryCustom {
 	
 	@Query( value = " SELECT sum(l.valor) FROM Lancamento l JOIN l.usuario u WHERE"
 	                + " u.id = :idUsuario and l.tipo = :tipo and l.status = :status GROUP BY u " )
@@ -21,4 +28,60 @@ public interface LancamentoRepository extends JpaRepository< Lancamento, Long >
 	@Query( value = " SELECT l.descricao FROM Lancamento l JOIN l.usuario u WHERE u.id = :idUsuario " )
 	List< String > obterDescricaoPorIdUsuario( @Param( "idUsuario" ) Long idUsuario );
 	
+	@Query( value = " SELECT l.descricao AS descricao, count( l ) AS quantidade FROM Lancamento l JOIN l.usuario u"
+	                + " WHERE u.id = :idUsuario GROUP BY l.descricao " )
+	List< FrequenciaDescricao > contarDescricoesPorUsuario( @Param( "idUsuario" ) Long idUsuario );
+	
+	/**
+	 * O lançamento, somente se pertencer ao usuário informado.
+	 */
+	@Query( value = " SELECT l FROM Lancamento l WHERE l.id = :id AND l.usuario.id = :idUsuario " )
+	Optional< Lancamento > buscarPorIdEUsuario( @Param( "id" ) Long id, @Param( "idUsuario" ) Long idUsuario );
+	
+	/**
+	 * Lê o estado gravado do lançamento do usuário sem antes descarregar alterações pendentes da sessão, permitindo
+	 * calcular a diferença que uma atualização provoca no saldo e nos resumos mensais.
+	 */
+	@QueryHints( @QueryHint( name = "org.hibernate.flushMode", value = "COMMIT" ) )
+	@Query( value = " SELECT new com.jael.minhasfinacas.model.projection.MovimentoLancamento("
+	                + " u.id, l.ano, l.mes, l.valor, l.tipo, l.status ) FROM Lancamento l JOIN l.usuario u"
+	                + " WHERE l.id = :id AND u.id = :idUsuario " )
+	Optional< MovimentoLancamento > obterMovimentoPorId( @Param( "id" ) Long id,
+	                                                     @Param( "idUsuario" ) Long idUsuario );
+	
+	@Query( value = " SELECT new com.jael.minhasfinacas.model.projection.ItemLancamento( l.id, l.descricao, l.mes,"
+	                + " l.ano, l.valor, l.usuario.id, l.tipo, l.status ) FROM Lancamento l"
+	                + " WHERE l.id = :id AND l.usuario.id = :idUsuario " )
+	Optional< ItemLancamento > obterItemPorId( @Param( "id" ) Long id, @Param( "idUsuario" ) Long idUsuario );
+	
+	/**
+	 * Remove o lançamento do usuário com um DELETE direto, sem carregar a entidade na sessão antes.
+	 */
+	@Modifying( flushAutomatically = true, clearAutomatically = true )
+	@Query( value = " DELETE FROM Lancamento l WHERE l.id = :id AND l.usuario.id = :idUsuario " )
+	int excluirPorId( @Param( "id" ) Long id, @Param( "idUsuario" ) Long idUsuario );
+	
+	/**
+	 * Altera o status e incrementa a versão do lançamento do usuário somente se ele ainda estiver na {@code versao}
+	 * informada.
+	 */
+	@Modifying( flushAutomatically = true, clearAutomatically = true )
+	@Query( value = " UPDATE Lancamento l SET l.status = :status, l.versao = l.versao + 1,"
+	                + " l.sequenciaAlteracao = :sequencia"
+	                + " WHERE l.id = :id AND l.usuario.id = :idUsuario AND l.versao = :versao " )
+	int atualizarStatusNaVersao( @Param( "id" ) Long id, @Param( "idUsuario" ) Long idUsuario,
+	                             @Param( "versao" ) Long versao, @Param( "status" ) StatusLancamento status,
+	                             @Param( "sequencia" ) Long sequencia );
+	
+	/**
+	 * Lançamentos do usuário alterados depois da sequência {@code desde} até a sequência {@code ate}, pelo índice
+	 * (id_usuario, sequencia_alteracao).
+	 */
+	@Query( value = " SELECT new com.jael.minhasfinacas.model.projection.ItemLancamento( l.id, l.descricao, l.mes,"
+	                + " l.ano, l.valor, l.usuario.id, l.tipo, l.status ) FROM Lancamento l WHERE l.usuario.id = :idUsuario"
+	                + " AND l.sequenciaAlteracao > :desde AND l.sequenciaAlteracao <= :ate"
+	                + " ORDER BY l.sequenciaAlteracao, l.id " )
+	List< ItemLancamento > buscarAlteradosEntre( @Param( "idUsuario" ) Long idUsuario, @Param( "desde" ) Long desde,
+	                                             @Param( "ate" ) Long ate );
+	
 }
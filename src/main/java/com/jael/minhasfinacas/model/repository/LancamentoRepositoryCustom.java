@@ -0,0 +1,85 @@
+package com.jael.minhasfinacas.model.repository;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.projection.CursorLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface LancamentoRepositoryCustom {
+	
+	/**
+	 * Busca até {@code limite} lançamentos que atendem ao filtro, ordenados por (ano, mês, id) e posicionados logo
+	 * após o {@code cursor}, quando informado.
+	 */
+	List< ItemLancamento > buscarAposCursor( Lancamento filtro, CursorLancamento cursor, int limite );
+	
+	/**
+	 * Lista os lançamentos que atendem ao filtro como projeções somente leitura, sem hidratar entidades.
+	 */
+	List< ItemLancamento > listarItens( Lancamento filtro );
+	
+	/**
+	 * Percorre todos os lançamentos do usuário com um cursor do banco, buscando {@code tamanhoLote} linhas por vez e
+	 * desanexando cada entidade da sessão para que a memória usada não cresça com a quantidade de lançamentos. O
+	 * {@link Stream} deve ser fechado e consumido dentro de uma transação.
+	 */
+	Stream< Lancamento > percorrerPorUsuario( Long idUsuario, int tamanhoLote );
+	
+	/**
+	 * Insere os lançamentos em lote JDBC e os desanexa da sessão em seguida, para que importações grandes não
+	 * acumulem entidades na memória.
+	 */
+	void inserirEmLote( List< Lancamento > lancamentos );
+	
+	/**
+	 * Pesquisa lançamentos cuja descrição se parece com o {@code termo}, dos mais aos menos relevantes. No PostgreSQL
+	 * usa similaridade de trigramas sem acentos, apoiada por índice GIN; nos demais bancos recorre a um LIKE sem
+	 * ranqueamento.
+	 */
+	List< Lancamento > pesquisarPorDescricao( Lancamento filtro, String termo, int limite );
+	
+	/**
+	 * Agrupa por usuário, mês, tipo e status os lançamentos que {@link #atualizarStatus} alteraria: os do usuário do
+	 * filtro, restritos aos {@code ids} quando informados e ao mês, ano, tipo e status do filtro, que ainda não estejam
+	 * no {@code novoStatus}.
+	 */
+	List< GrupoLancamentos > agruparParaAtualizarStatus( Lancamento filtro, List< Long > ids,
+	                                                     StatusLancamento novoStatus );
+	
+	/**
+	 * Altera o status dos lançamentos selecionados como em {@link #agruparParaAtualizarStatus} com um único UPDATE,
+	 * que também incrementa suas versões e grava a {@code sequencia} de alteração, devolvendo a quantidade alterada. A
+	 * sessão é descarregada antes e limpa depois, para que nenhuma entidade carregada fique com o status antigo.
+	 */
+	int atualizarStatus( Lancamento filtro, List< Long > ids, StatusLancamento novoStatus, Long sequencia );
+	
+	/**
+	 * Grava o lançamento desanexado com um UPDATE condicionado à sua {@code versao} e a pertencer ao {@code idUsuario},
+	 * sem carregá-lo antes; a data de cadastro, a recorrência e a parcela não são alteradas. Se a versão gravada for
+	 * outra, ou o lançamento não existir para o usuário, lança uma falha de bloqueio otimista.
+	 */
+	Lancamento atualizarNaVersao( Lancamento lancamento, Long idUsuario );
+	
+	/**
+	 * Agrupa por usuário, mês, tipo e status os lançamentos que {@link #excluir} removeria, selecionados como em
+	 * {@link #agruparParaAtualizarStatus}, mas sem restrição de status além da do filtro.
+	 */
+	List< GrupoLancamentos > agruparParaExcluir( Lancamento filtro, List< Long > ids );
+	
+	/**
+	 * Remove os lançamentos selecionados como em {@link #agruparParaExcluir} com um único DELETE, sem carregá-los,
+	 * devolvendo a quantidade removida. A sessão é descarregada antes e limpa depois.
+	 */
+	int excluir( Lancamento filtro, List< Long > ids );
+	
+	/**
+	 * Registra em {@code LancamentoExcluido}, na {@code sequencia} informada, os lançamentos que {@link #excluir}
+	 * removeria. Deve ser chamado antes da exclusão.
+	 */
+	void registrarExclusoes( Lancamento filtro, List< Long > ids, Long sequencia );
+	
+}
@@ -0,0 +1,379 @@
+package com.jael.minhasfinacas.model.repository;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.LancamentoExcluido;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.CursorLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+public class LancamentoRepositoryCustomImpl implements LancamentoRepositoryCustom {
+	
+	/** Caractere de escape dos padrões LIKE montados a partir do que o usuário digitou. */
+	private static final char ESCAPE = '\\';
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	private Boolean postgres;
+	
+	@Override
+	public List< ItemLancamento > buscarAposCursor( Lancamento filtro, CursorLancamento cursor, int limite ) {
+		
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery< ItemLancamento > query = cb.createQuery( ItemLancamento.class );
+		Root< Lancamento > lancamento = query.from( Lancamento.class );
+		
+		List< Predicate > predicados = filtrar( cb, lancamento, filtro );
+		
+		if ( cursor != null ) {
+			predicados.add( aposCursor( cb, lancamento, cursor ) );
+		}
+		
+		query.select( item( cb, lancamento ) )
+		     .where( predicados.toArray( new Predicate[ 0 ] ) )
+		     .orderBy( cb.asc( lancamento.get( "ano" ) ), cb.asc( lancamento.get( "mes" ) ),
+		               cb.asc( lancamento.get( "id" ) ) );
+		
+		return entityManager.createQuery( query ).setMaxResults( limite ).getResultList();
+	}
+	
+	@Override
+	public List< ItemLancamento > listarItens( Lancamento filtro ) {
+		
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery< ItemLancamento > query = cb.createQuery( ItemLancamento.class );
+		Root< Lancamento > lancamento = query.from( Lancamento.class );
+		
+		query.select( item( cb, lancamento ) )
+		     .where( filtrar( cb, lancamento, filtro ).toArray( new Predicate[ 0 ] ) )
+		     .orderBy( cb.asc( lancamento.get( "id" ) ) );
+		
+		return entityManager.createQuery( query ).getResultList();
+	}
+	
+	/**
+	 * Mesmos critérios da busca por exemplo: descrição por trecho sem diferenciar maiúsculas e os demais campos por
+	 * igualdade.
+	 */
+	private List< Predicate > filtrar( CriteriaBuilder cb, Root< Lancamento > lancamento, Lancamento filtro ) {
+		
+		List< Predicate > predicados = new ArrayList<>();
+		
+		if ( filtro.getUsuario() != null ) {
+			predicados.add( cb.equal( lancamento.get( "usuario" ).get( "id" ), filtro.getUsuario().getId() ) );
+		}
+		if ( filtro.getDescricao() != null ) {
+			predicados.add( cb.like( cb.lower( lancamento.get( "descricao" ) ),
+			                         contendo( filtro.getDescricao().toLowerCase() ), ESCAPE ) );
+		}
+		if ( filtro.getMes() != null ) {
+			predicados.add( cb.equal( lancamento.get( "mes" ), filtro.getMes() ) );
+		}
+		if ( filtro.getAno() != null ) {
+			predicados.add( cb.equal( lancamento.get( "ano" ), filtro.getAno() ) );
+		}
+		if ( filtro.getTipo() != null ) {
+			predicados.add( cb.equal( lancamento.get( "tipo" ), filtro.getTipo() ) );
+		}
+		if ( filtro.getStatus() != null ) {
+			predicados.add( cb.equal( lancamento.get( "status" ), filtro.getStatus() ) );
+		}
+		return predicados;
+	}
+	
+	/**
+	 * O id do usuário vem da chave estrangeira do próprio lançamento, sem junção com a tabela de usuários.
+	 */
+	private CompoundSelection< ItemLancamento > item( CriteriaBuilder cb, Root< Lancamento > lancamento ) {
+		
+		return cb.construct( ItemLancamento.class, lancamento.get( "id" ), lancamento.get( "descricao" ),
+		                     lancamento.get( "mes" ), lancamento.get( "ano" ), lancamento.get( "valor" ),
+		                     lancamento.get( "usuario" ).get( "id" ), lancamento.get( "tipo" ),
+		                     lancamento.get( "status" ) );
+	}
+	
+	@Override
+	public Stream< Lancamento > percorrerPorUsuario( Long idUsuario, int tamanhoLote ) {
+		
+		return entityManager.createQuery( " SELECT l FROM Lancamento l WHERE l.usuario.id = :idUsuario"
+		                                  + " ORDER BY l.ano, l.mes, l.id ", Lancamento.class )
+		                    .setParameter( "idUsuario", idUsuario )
+		                    .setHint( QueryHints.HINT_FETCH_SIZE, tamanhoLote )
+		                    .setHint( QueryHints.HINT_READONLY, true )
+		                    .getResultStream()
+		                    .map( lancamento -> {
+			                    entityManager.detach( lancamento );
+			                    return lancamento;
+		                    } );
+	}
+	
+	@Override
+	public void inserirEmLote( List< Lancamento > lancamentos ) {
+		
+		lancamentos.forEach( entityManager::persist );
+		entityManager.flush();
+		lancamentos.forEach( entityManager::detach );
+	}
+	
+	@Override
+	@SuppressWarnings( "unchecked" )
+	public List< Lancamento > pesquisarPorDescricao( Lancamento filtro, String termo, int limite ) {
+		
+		StringBuilder sql = new StringBuilder( " SELECT l.* FROM financas.lancamento l WHERE l.id_usuario = :idUsuario" );
+		
+		if ( filtro.getMes() != null ) {
+			sql.append( " AND l.mes = :mes" );
+		}
+		if ( filtro.getAno() != null ) {
+			sql.append( " AND l.ano = :ano" );
+		}
+		if ( filtro.getTipo() != null ) {
+			sql.append( " AND l.tipo = :tipo" );
+		}
+		if ( filtro.getStatus() != null ) {
+			sql.append( " AND l.status = :status" );
+		}
+		
+		if ( isPostgres() ) {
+			// A expressão precisa ser idêntica à do índice idx_lancamento_descricao_trgm para que ele seja usado.
+			sql.append( " AND ( financas.normalizar_descricao( :termo ) <% financas.normalizar_descricao( l.descricao )" )
+			   .append( " OR financas.normalizar_descricao( l.descricao ) LIKE" )
+			   .append( " financas.normalizar_descricao( :trecho ) ESCAPE '\\' )" )
+			   .append( " ORDER BY word_similarity( financas.normalizar_descricao( :termo )," )
+			   .append( " financas.normalizar_descricao( l.descricao ) ) DESC, l.id DESC" );
+		} else {
+			sql.append( " AND LOWER( l.descricao ) LIKE LOWER( :trecho ) ESCAPE '\\' ORDER BY l.id DESC" );
+		}
+		
+		javax.persistence.Query query = entityManager.createNativeQuery( sql.toString(), Lancamento.class )
+		                                             .setParameter( "idUsuario", filtro.getUsuario().getId() )
+		                                             .setParameter( "trecho", contendo( termo ) )
+		                                             .setMaxResults( limite );
+		
+		if ( isPostgres() ) {
+			query.setParameter( "termo", termo );
+		}
+		
+		if ( filtro.getMes() != null ) {
+			query.setParameter( "mes", filtro.getMes() );
+		}
+		if ( filtro.getAno() != null ) {
+			query.setParameter( "ano", filtro.getAno() );
+		}
+		if ( filtro.getTipo() != null ) {
+			query.setParameter( "tipo", filtro.getTipo().name() );
+		}
+		if ( filtro.getStatus() != null ) {
+			query.setParameter( "status", filtro.getStatus().name() );
+		}
+		
+		return query.getResultList();
+	}
+	
+	@Override
+	public List< GrupoLancamentos > agruparParaAtualizarStatus( Lancamento filtro, List< Long > ids,
+	                                                            StatusLancamento novoStatus ) {
+		
+		return agrupar( ( cb, lancamento ) -> paraAtualizarStatus( cb, lancamento, filtro, ids, novoStatus ) );
+	}
+	
+	@Override
+	public int atualizarStatus( Lancamento filtro, List< Long > ids, StatusLancamento novoStatus, Long sequencia ) {
+		
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate< Lancamento > update = cb.createCriteriaUpdate( Lancamento.class );
+		Root< Lancamento > lancamento = update.from( Lancamento.class );
+		
+		update.set( lancamento.< StatusLancamento >get( "status" ), novoStatus )
+		      .set( lancamento.< Long >get( "versao" ), cb.sum( lancamento.get( "versao" ), 1L ) )
+		      .set( lancamento.< Long >get( "sequenciaAlteracao" ), sequencia )
+		      .where( paraAtualizarStatus( cb, lancamento, filtro, ids, novoStatus ).toArray( new Predicate[ 0 ] ) );
+		
+		entityManager.flush();
+		int atualizados = entityManager.createQuery( update ).executeUpdate();
+		entityManager.clear();
+		return atualizados;
+	}
+	
+	@Override
+	public Lancamento atualizarNaVersao( Lancamento lancamento, Long idUsuario ) {
+		
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate< Lancamento > update = cb.createCriteriaUpdate( Lancamento.class );
+		Root< Lancamento > gravado = update.from( Lancamento.class );
+		
+		update.set( gravado.< String >get( "descricao" ), lancamento.getDescricao() )
+		      .set( gravado.< Integer >get( "mes" ), lancamento.getMes() )
+		      .set( gravado.< Integer >get( "ano" ), lancamento.getAno() )
+		      .set( gravado.< BigDecimal >get( "valor" ), lancamento.getValor() )
+		      .set( gravado.< TipoLancamento >get( "tipo" ), lancamento.getTipo() )
+		      .set( gravado.< StatusLancamento >get( "status" ), lancamento.getStatus() )
+		      .set( gravado.< Usuario >get( "usuario" ), lancamento.getUsuario() )
+		      .set( gravado.< Long >get( "versao" ), lancamento.getVersao() + 1 )
+		      .set( gravado.< Long >get( "sequenciaAlteracao" ), lancamento.getSequenciaAlteracao() )
+		      .where( cb.equal( gravado.get( "id" ), lancamento.getId() ),
+		              cb.equal( gravado.get( "usuario" ).get( "id" ), idUsuario ),
+		              cb.equal( gravado.get( "versao" ), lancamento.getVersao() ) );
+		
+		entityManager.flush();
+		int atualizados = entityManager.createQuery( update ).executeUpdate();
+		entityManager.clear();
+		
+		if ( atualizados == 0 ) {
+			throw new ObjectOptimisticLockingFailureException( Lancamento.class, lancamento.getId() );
+		}
+		lancamento.setVersao( lancamento.getVersao() + 1 );
+		return lancamento;
+	}
+	
+	@Override
+	public List< GrupoLancamentos > agruparParaExcluir( Lancamento filtro, List< Long > ids ) {
+		
+		return agrupar( ( cb, lancamento ) -> doLote( cb, lancamento, filtro, ids ) );
+	}
+	
+	@Override
+	public int excluir( Lancamento filtro, List< Long > ids ) {
+		
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaDelete< Lancamento > delete = cb.createCriteriaDelete( Lancamento.class );
+		Root< Lancamento > lancamento = delete.from( Lancamento.class );
+		
+		delete.where( doLote( cb, lancamento, filtro, ids ).toArray( new Predicate[ 0 ] ) );
+		
+		entityManager.flush();
+		int excluidos = entityManager.createQuery( delete ).executeUpdate();
+		entityManager.clear();
+		return excluidos;
+	}
+	
+	/**
+	 * Os ids são lidos e os registros inseridos em lote JDBC, sem carregar os lançamentos.
+	 */
+	@Override
+	public void registrarExclusoes( Lancamento filtro, List< Long > ids, Long sequencia ) {
+		
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery< Long > query = cb.createQuery( Long.class );
+		Root< Lancamento > lancamento = query.from( Lancamento.class );
+		
+		query.select( lancamento.get( "id" ) )
+		     .where( doLote( cb, lancamento, filtro, ids ).toArray( new Predicate[ 0 ] ) );
+		
+		Long idUsuario = filtro.getUsuario().getId();
+		entityManager.createQuery( query )
+		             .getResultList()
+		             .forEach( id -> entityManager.persist( new LancamentoExcluido( idUsuario, sequencia, id ) ) );
+		entityManager.flush();
+	}
+	
+	private List< GrupoLancamentos > agrupar(
+			BiFunction< CriteriaBuilder, Root< Lancamento >, List< Predicate > > selecao ) {
+		
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery< GrupoLancamentos > query = cb.createQuery( GrupoLancamentos.class );
+		Root< Lancamento > lancamento = query.from( Lancamento.class );
+		
+		Path< Long > usuario = lancamento.get( "usuario" ).get( "id" );
+		Path< Integer > ano = lancamento.get( "ano" );
+		Path< Integer > mes = lancamento.get( "mes" );
+		Path< ? > tipo = lancamento.get( "tipo" );
+		Path< ? > status = lancamento.get( "status" );
+		
+		query.select( cb.construct( GrupoLancamentos.class, usuario, ano, mes, tipo, status,
+		                            cb.sum( lancamento.get( "valor" ) ), cb.count( lancamento ) ) )
+		     .where( selecao.apply( cb, lancamento ).toArray( new Predicate[ 0 ] ) )
+		     .groupBy( usuario, ano, mes, tipo, status );
+		
+		return entityManager.createQuery( query ).getResultList();
+	}
+	
+	private List< Predicate > paraAtualizarStatus( CriteriaBuilder cb, Root< Lancamento > lancamento,
+	                                               Lancamento filtro, List< Long > ids, StatusLancamento novoStatus ) {
+		
+		List< Predicate > predicados = doLote( cb, lancamento, filtro, ids );
+		predicados.add( cb.notEqual( lancamento.get( "status" ), novoStatus ) );
+		return predicados;
+	}
+	
+	private List< Predicate > doLote( CriteriaBuilder cb, Root< Lancamento > lancamento, Lancamento filtro,
+	                                  List< Long > ids ) {
+		
+		// A descrição do filtro não participa: apenas o usuário, o período, o tipo e o status delimitam o lote.
+		Lancamento criterios = Lancamento.builder()
+		                                 .usuario( filtro.getUsuario() )
+		                                 .mes( filtro.getMes() )
+		                                 .ano( filtro.getAno() )
+		                                 .tipo( filtro.getTipo() )
+		                                 .status( filtro.getStatus() )
+		                                 .build();
+		
+		List< Predicate > predicados = filtrar( cb, lancamento, criterios );
+		
+		if ( ids != null && !ids.isEmpty() ) {
+			predicados.add( lancamento.get( "id" ).in( ids ) );
+		}
+		return predicados;
+	}
+	
+	/**
+	 * Padrão LIKE que encontra o trecho em qualquer posição, com {@code %} e {@code _} tratados como texto e não como
+	 * curingas.
+	 */
+	private static String contendo( String trecho ) {
+		
+		return "%" + trecho.replace( "\\", "\\\\" ).replace( "%", "\\%" ).replace( "_", "\\_" ) + "%";
+	}
+	
+	private boolean isPostgres() {
+		
+		if ( postgres == null ) {
+			Dialect dialect = entityManager.getEntityManagerFactory()
+			                               .unwrap( SessionFactoryImplementor.class )
+			                               .getJdbcServices()
+			                               .getDialect();
+			postgres = dialect instanceof PostgreSQL81Dialect;
+		}
+		return postgres;
+	}
+	
+	private Predicate aposCursor( CriteriaBuilder cb, Root< Lancamento > lancamento, CursorLancamento cursor ) {
+		
+		Path< Integer > ano = lancamento.get( "ano" );
+		Path< Integer > mes = lancamento.get( "mes" );
+		Path< Long > id = lancamento.get( "id" );
+		
+		// O OR sozinho não delimita o índice (id_usuario, ano, mes, id); o ano >= redundante permite que a busca
+		// comece no ano do cursor em vez de percorrer os lançamentos do usuário desde o início.
+		return cb.and( cb.greaterThanOrEqualTo( ano, cursor.getAno() ),
+		               cb.or( cb.greaterThan( ano, cursor.getAno() ),
+		                      cb.and( cb.equal( ano, cursor.getAno() ), cb.greaterThan( mes, cursor.getMes() ) ),
+		                      cb.and( cb.equal( ano, cursor.getAno() ), cb.equal( mes, cursor.getMes() ),
+		                              cb.greaterThan( id, cursor.getId() ) ) ) );
+	}
+	
+}
@@ -0,0 +1,40 @@
+package com.jael.minhasfinacas.model.repository;
+
+import com.jael.minhasfinacas.model.entity.Recorrencia;
+import com.jael.minhasfinacas.model.projection.FaixaUsuarios;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Uma recorrência está pendente para o mês {@code alvo} (ano * 12 + mês - 1) quando está ativa, ainda tem parcelas
+ * e a sua próxima parcela cai até esse mês.
+ */
+public interface RecorrenciaRepository extends JpaRepository< Recorrencia, Long > {
+	
+	String PENDENTE = " r.ativa = true AND ( r.parcelas IS NULL OR r.parcelasGeradas < r.parcelas )"
+	                  + " AND r.ano * 12 + r.mes - 1 + r.parcelasGeradas <= :alvo ";
+	
+	@Query( value = " SELECT r FROM Recorrencia r WHERE r.usuario.id = :idUsuario ORDER BY r.id " )
+	List< Recorrencia > buscarPorUsuario( @Param( "idUsuario" ) Long idUsuario );
+	
+	@Query( value = " SELECT new com.jael.minhasfinacas.model.projection.FaixaUsuarios( MIN( r.usuario.id ),"
+	                + " MAX( r.usuario.id ) ) FROM Recorrencia r WHERE" + PENDENTE )
+	FaixaUsuarios obterFaixaDeUsuariosPendentes( @Param( "alvo" ) int alvo );
+	
+	/**
+	 * Próximo bloco de recorrências pendentes da faixa de usuários {@code [de, ate]}, depois da posição
+	 * ({@code usuarioAnterior}, {@code idAnterior}), na ordem do índice (id_usuario, id).
+	 */
+	@Query( value = " SELECT r FROM Recorrencia r WHERE r.usuario.id BETWEEN :de AND :ate"
+	                + " AND ( r.usuario.id > :usuarioAnterior OR ( r.usuario.id = :usuarioAnterior AND r.id > :idAnterior ) )"
+	                + " AND" + PENDENTE + "ORDER BY r.usuario.id, r.id " )
+	List< Recorrencia > buscarPendentes( @Param( "de" ) Long de, @Param( "ate" ) Long ate,
+	                                     @Param( "usuarioAnterior" ) Long usuarioAnterior,
+	                                     @Param( "idAnterior" ) Long idAnterior, @Param( "alvo" ) int alvo,
+	                                     Pageable bloco );
+	
+}
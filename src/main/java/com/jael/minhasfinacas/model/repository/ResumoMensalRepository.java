@@ -0,0 +1,66 @@
+package com.jael.minhasfinacas.model.repository;
+
+import com.jael.minhasfinacas.model.entity.ResumoMensal;
+import com.jael.minhasfinacas.model.entity.ResumoMensalId;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.TotalLancamentos;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ResumoMensalRepository extends JpaRepository< ResumoMensal, ResumoMensalId > {
+	
+	@Query( value = " SELECT r FROM ResumoMensal r WHERE r.id.idUsuario = :idUsuario and r.id.ano = :ano"
+	                + " ORDER BY r.id.mes " )
+	List< ResumoMensal > obterPorUsuarioEAno( @Param( "idUsuario" ) Long idUsuario, @Param( "ano" ) Integer ano );
+	
+	@Modifying
+	@Query( value = " UPDATE ResumoMensal r SET r.valor = r.valor + :valor, r.quantidade = r.quantidade + :quantidade"
+	                + " WHERE r.id.idUsuario = :idUsuario and r.id.ano = :ano and r.id.mes = :mes"
+	                + " and r.id.tipo = :tipo and r.id.status = :status " )
+	int somarAoResumo( @Param( "idUsuario" ) Long idUsuario,
+	                   @Param( "ano" ) Integer ano,
+	                   @Param( "mes" ) Integer mes,
+	                   @Param( "tipo" ) TipoLancamento tipo,
+	                   @Param( "status" ) StatusLancamento status,
+	                   @Param( "valor" ) BigDecimal valor,
+	                   @Param( "quantidade" ) Long quantidade );
+	
+	@Query( value = " SELECT COALESCE( sum(l.valor), 0 ) AS valor, count(l) AS quantidade FROM Lancamento l"
+	                + " JOIN l.usuario u WHERE u.id = :idUsuario and l.ano = :ano and l.mes = :mes"
+	                + " and l.tipo = :tipo and l.status = :status " )
+	TotalLancamentos totalizarLancamentos( @Param( "idUsuario" ) Long idUsuario,
+	                                       @Param( "ano" ) Integer ano,
+	                                       @Param( "mes" ) Integer mes,
+	                                       @Param( "tipo" ) TipoLancamento tipo,
+	                                       @Param( "status" ) StatusLancamento status );
+	
+	/**
+	 * Soma dos lançamentos efetivados do usuário depois do mês {@code desde} até o mês {@code ate}, ambos contados
+	 * como ano * 12 + mês - 1, com receitas somando e despesas subtraindo.
+	 */
+	@Query( value = " SELECT COALESCE( SUM( CASE WHEN r.id.tipo = :receita THEN r.valor ELSE -r.valor END ), 0 )"
+	                + " FROM ResumoMensal r WHERE r.id.idUsuario = :idUsuario AND r.id.status = :efetivado"
+	                + " AND r.id.ano BETWEEN :anoDesde AND :anoAte"
+	                + " AND r.id.ano * 12 + r.id.mes - 1 > :desde AND r.id.ano * 12 + r.id.mes - 1 <= :ate " )
+	BigDecimal somarEfetivadosEntre( @Param( "idUsuario" ) Long idUsuario, @Param( "desde" ) int desde,
+	                                 @Param( "ate" ) int ate, @Param( "anoDesde" ) int anoDesde,
+	                                 @Param( "anoAte" ) int anoAte, @Param( "receita" ) TipoLancamento receita,
+	                                 @Param( "efetivado" ) StatusLancamento efetivado );
+	
+	@Query( value = " SELECT MIN( r.id.ano * 12 + r.id.mes - 1 ) FROM ResumoMensal r " )
+	Integer obterPrimeiroMes();
+	
+	@Modifying
+	@Query( value = " INSERT INTO financas.resumo_mensal ( id_usuario, ano, mes, tipo, status, valor, quantidade )"
+	                + " SELECT l.id_usuario, l.ano, l.mes, l.tipo, l.status, SUM( l.valor ), COUNT( * )"
+	                + " FROM financas.lancamento l"
+	                + " GROUP BY l.id_usuario, l.ano, l.mes, l.tipo, l.status ", nativeQuery = true )
+	int inserirResumosCalculados();
+	
+}
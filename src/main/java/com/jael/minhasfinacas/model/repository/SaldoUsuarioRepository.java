@@ -0,0 +1,33 @@
+package com.jael.minhasfinacas.model.repository;
+
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+
+public interface SaldoUsuarioRepository extends JpaRepository< SaldoUsuario, Long > {
+	
+	@Modifying
+	@Query( value = " UPDATE SaldoUsuario s SET s.saldo = s.saldo + :valor, s.versao = s.versao + 1"
+	                + " WHERE s.idUsuario = :idUsuario " )
+	int somarAoSaldo( @Param( "idUsuario" ) Long idUsuario, @Param( "valor" ) BigDecimal valor );
+	
+	@Query( value = " SELECT COALESCE( MAX( s.versao ), 0 ) FROM SaldoUsuario s " )
+	long obterMaiorVersao();
+	
+	/**
+	 * Insere o saldo calculado de todos os usuários, todos com a mesma {@code versao}.
+	 */
+	@Modifying
+	@Query( value = " INSERT INTO financas.saldo_usuario ( id_usuario, saldo, versao )"
+	                + " SELECT u.id, COALESCE( SUM( CASE WHEN l.tipo = 'RECEITA' THEN l.valor"
+	                + "                                  WHEN l.tipo = 'DESPESA' THEN -l.valor END ), 0 ), :versao"
+	                + " FROM financas.usuario u"
+	                + " LEFT JOIN financas.lancamento l ON l.id_usuario = u.id AND l.status = 'EFETIVADO'"
+	                + " GROUP BY u.id ", nativeQuery = true )
+	int inserirSaldosCalculados( @Param( "versao" ) long versao );
+	
+}
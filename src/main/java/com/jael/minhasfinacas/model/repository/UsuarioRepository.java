@@ -1,9 +1,16 @@
 package com.jael.minhasfinacas.model.repository;
 
+import com.jael.minhasfinacas.config.CacheConfig;
 import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.projection.FaixaUsuarios;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +18,30 @@ public interface UsuarioRepository extends JpaRepository< Usuario, Long > {
 	
 	boolean existsByEmail( String email );
 	
+	@Cacheable( cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#p0", unless = "#result == null" )
 	Optional< Usuario > findByEmail( String email );
 	
+	/**
+	 * Avança a sequência de alteração do usuário, mantendo a linha bloqueada até o fim da transação; escritas
+	 * concorrentes do mesmo usuário recebem assim sequências na ordem de commit.
+	 */
+	@Modifying
+	@Query( value = " UPDATE Usuario u SET u.sequenciaAlteracao = u.sequenciaAlteracao + 1 WHERE u.id = :id " )
+	int avancarSequenciaAlteracao( @Param( "id" ) Long id );
+	
+	@Query( value = " SELECT u.sequenciaAlteracao FROM Usuario u WHERE u.id = :id " )
+	Optional< Long > obterSequenciaAlteracao( @Param( "id" ) Long id );
+	
+	@Query( value = " SELECT new com.jael.minhasfinacas.model.projection.FaixaUsuarios( MIN( u.id ), MAX( u.id ) )"
+	                + " FROM Usuario u " )
+	FaixaUsuarios obterFaixaDeIds();
+	
+	/**
+	 * Bloqueia as linhas dos usuários da faixa até o fim da transação, esperando as escritas de lançamentos em
+	 * andamento, que mantêm a linha do usuário bloqueada ao avançar a sequência de alteração.
+	 */
+	@Query( value = " SELECT u.id FROM financas.usuario u WHERE u.id BETWEEN :de AND :ate FOR UPDATE ",
+	        nativeQuery = true )
+	List< Long > bloquearFaixa( @Param( "de" ) Long de, @Param( "ate" ) Long ate );
+	
 }
@@ -0,0 +1,27 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface FechamentoMensalService {
+	
+	BigDecimal obterSaldoAoFimDe( Long idUsuario, Integer ano, Integer mes );
+	
+	void registrarMovimento( MovimentoLancamento anterior, MovimentoLancamento atual );
+	
+	void registrarInclusoes( List< MovimentoLancamento > movimentos );
+	
+	void registrarMudancaDeStatus( List< GrupoLancamentos > grupos, StatusLancamento novoStatus );
+	
+	void registrarExclusoes( List< GrupoLancamentos > grupos );
+	
+	int fecharMes( YearMonth mes );
+	
+	int reconstruirTodos();
+	
+}
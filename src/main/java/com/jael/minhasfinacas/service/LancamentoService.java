@@ -2,29 +2,58 @@ package com.jael.minhasfinacas.service;
 
 import com.jael.minhasfinacas.model.entity.Lancamento;
 import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.projection.AlteracoesLancamentos;
+import com.jael.minhasfinacas.model.projection.CursorLancamento;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface LancamentoService {
 	
 	Lancamento salvar( Lancamento lancamento );
 	
+	void salvarLote( List< Lancamento > lancamentos );
+	
 	Lancamento atualizar( Lancamento lancamento );
 	
-	Optional< Lancamento > obterPorId( Long id );
+	Lancamento atualizar( Lancamento lancamento, Long idUsuario );
+	
+	Optional< Lancamento > obterPorId( Long id, Long idUsuario );
 	
 	List< Lancamento > buscar( Lancamento lancamentoFiltro );
 	
+	List< ItemLancamento > listar( Lancamento lancamentoFiltro );
+	
+	Slice< ItemLancamento > buscarPagina( Lancamento lancamentoFiltro, CursorLancamento cursor, Integer tamanho );
+	
+	List< ItemLancamento > pesquisarPorDescricao( Lancamento lancamentoFiltro, String termo, Integer limite );
+	
 	List< String > buscarTodasAsDescricoesPorUsuario( Long id );
 	
+	AlteracoesLancamentos buscarAlteracoes( Long idUsuario, Long desde );
+	
+	void exportarPorUsuario( Long idUsuario, Consumer< Lancamento > consumidor );
+	
 	BigDecimal obterSaldoPorUsuario( Long id );
 	
 	void deletar( Lancamento lancamento );
 	
+	void deletarPorId( Long id, Long idUsuario );
+	
+	int deletarEmLote( Lancamento lancamentoFiltro, List< Long > ids );
+	
 	void atualizarStatus( Lancamento lancamento, StatusLancamento status );
 	
+	Lancamento atualizarNaVersao( Lancamento lancamento, Long idUsuario );
+	
+	Long atualizarStatusNaVersao( Long id, Long idUsuario, Long versao, StatusLancamento status );
+	
+	int atualizarStatusEmLote( Lancamento lancamentoFiltro, List< Long > ids, StatusLancamento status );
+	
 	void validar( Lancamento lancamento );
 	
 }
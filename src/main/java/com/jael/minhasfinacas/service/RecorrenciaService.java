@@ -0,0 +1,22 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.model.entity.Recorrencia;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface RecorrenciaService {
+	
+	Recorrencia salvar( Recorrencia recorrencia );
+	
+	List< Recorrencia > buscarPorUsuario( Long idUsuario );
+	
+	void encerrar( Long id, Long idUsuario );
+	
+	int gerarOcorrencias( YearMonth ate );
+	
+	int gerarProximasOcorrencias();
+	
+	void validar( Recorrencia recorrencia );
+	
+}
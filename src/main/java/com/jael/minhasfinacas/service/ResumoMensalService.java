@@ -0,0 +1,24 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.model.entity.ResumoMensal;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+
+import java.util.List;
+
+public interface ResumoMensalService {
+	
+	List< ResumoMensal > obterResumoAnual( Long idUsuario, Integer ano );
+	
+	void registrarMovimento( MovimentoLancamento anterior, MovimentoLancamento atual );
+	
+	void registrarInclusoes( List< MovimentoLancamento > movimentos );
+	
+	void registrarMudancaDeStatus( List< GrupoLancamentos > grupos, StatusLancamento novoStatus );
+	
+	void registrarExclusoes( List< GrupoLancamentos > grupos );
+	
+	int reconstruirTodos();
+	
+}
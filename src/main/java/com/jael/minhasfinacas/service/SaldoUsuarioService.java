@@ -0,0 +1,29 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface SaldoUsuarioService {
+	
+	BigDecimal obterSaldo( Long idUsuario );
+	
+	SaldoUsuario obterSaldoComVersao( Long idUsuario );
+	
+	void registrarMovimento( MovimentoLancamento anterior, MovimentoLancamento atual );
+	
+	void registrarInclusoes( List< MovimentoLancamento > movimentos );
+	
+	void registrarMudancaDeStatus( List< GrupoLancamentos > grupos, StatusLancamento novoStatus );
+	
+	void registrarExclusoes( List< GrupoLancamentos > grupos );
+	
+	BigDecimal reconstruir( Long idUsuario );
+	
+	int reconstruirTodos();
+	
+}
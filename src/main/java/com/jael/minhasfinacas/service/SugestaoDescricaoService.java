@@ -0,0 +1,15 @@
+package com.jael.minhasfinacas.service;
+
+import java.util.List;
+
+public interface SugestaoDescricaoService {
+	
+	List< String > sugerir( Long idUsuario, String prefixo, Integer limite );
+	
+	void registrarInclusao( Long idUsuario, String descricao );
+	
+	void registrarExclusao( Long idUsuario, String descricao );
+	
+	void descartar( Long idUsuario );
+	
+}
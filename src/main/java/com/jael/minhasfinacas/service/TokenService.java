@@ -0,0 +1,13 @@
+package com.jael.minhasfinacas.service;
+
+import java.time.Duration;
+
+public interface TokenService {
+	
+	String gerar( Long idUsuario );
+	
+	Long validar( String token );
+	
+	Duration getValidade();
+	
+}
@@ -0,0 +1,56 @@
+package com.jael.minhasfinacas.service.evento;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Publicada pelo {@code LancamentoService} a cada escrita e entregue aos interessados depois do commit. Traz o
+ * lançamento quando ele já está em memória; sem ele, como na troca de status pela versão, o cliente recarrega o
+ * lançamento pelo {@code id}. Um {@link Tipo#LOTE} não identifica os lançamentos e pede a recarga da listagem.
+ */
+@Value
+@AllArgsConstructor
+public class AlteracaoLancamento {
+	
+	public enum Tipo {
+		CRIADO, ATUALIZADO, EXCLUIDO, LOTE
+	}
+	
+	Tipo tipo;
+	
+	Long idUsuario;
+	
+	Long id;
+	
+	ItemLancamento lancamento;
+	
+	public static AlteracaoLancamento criado( Lancamento lancamento ) {
+		
+		return new AlteracaoLancamento( Tipo.CRIADO, lancamento.getUsuario().getId(), lancamento.getId(),
+		                                ItemLancamento.de( lancamento ) );
+	}
+	
+	public static AlteracaoLancamento atualizado( Lancamento lancamento ) {
+		
+		return new AlteracaoLancamento( Tipo.ATUALIZADO, lancamento.getUsuario().getId(), lancamento.getId(),
+		                                ItemLancamento.de( lancamento ) );
+	}
+	
+	public static AlteracaoLancamento atualizado( Long idUsuario, Long id ) {
+		
+		return new AlteracaoLancamento( Tipo.ATUALIZADO, idUsuario, id, null );
+	}
+	
+	public static AlteracaoLancamento excluido( Long idUsuario, Long id ) {
+		
+		return new AlteracaoLancamento( Tipo.EXCLUIDO, idUsuario, id, null );
+	}
+	
+	public static AlteracaoLancamento lote( Long idUsuario ) {
+		
+		return new AlteracaoLancamento( Tipo.LOTE, idUsuario, null, null );
+	}
+	
+}
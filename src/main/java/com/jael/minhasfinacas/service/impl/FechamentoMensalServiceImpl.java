@@ -0,0 +1,220 @@
+package com.jael.minhasfinacas.service.impl;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.entity.FechamentoMensal;
+import com.jael.minhasfinacas.model.entity.FechamentoMensalId;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.FaixaUsuarios;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+import com.jael.minhasfinacas.model.repository.FechamentoMensalRepository;
+import com.jael.minhasfinacas.model.repository.ResumoMensalRepository;
+import com.jael.minhasfinacas.model.repository.UsuarioRepository;
+import com.jael.minhasfinacas.service.FechamentoMensalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantém o saldo de fechamento de cada usuário por mês. O saldo ao fim de um mês é o do fechamento mais próximo até
+ * ele, mais os lançamentos efetivados dos meses seguintes lidos do resumo mensal; com os meses fechados em dia, isso é
+ * um fechamento e o resumo de um único mês, qualquer que seja o tamanho do histórico.
+ */
+@Service
+public class FechamentoMensalServiceImpl implements FechamentoMensalService {
+	
+	@Autowired
+	private final FechamentoMensalRepository repository;
+	
+	@Autowired
+	private final ResumoMensalRepository resumoMensalRepository;
+	
+	@Autowired
+	private final UsuarioRepository usuarioRepository;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	@Value( "${minhasfinancas.fechamento.tamanho-bloco:1000}" )
+	private int tamanhoBloco;
+	
+	public FechamentoMensalServiceImpl( FechamentoMensalRepository repository,
+	                                    ResumoMensalRepository resumoMensalRepository,
+	                                    UsuarioRepository usuarioRepository,
+	                                    PlatformTransactionManager transactionManager ) {
+		
+		this.repository = repository;
+		this.resumoMensalRepository = resumoMensalRepository;
+		this.usuarioRepository = usuarioRepository;
+		this.transactionTemplate = new TransactionTemplate( transactionManager );
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public BigDecimal obterSaldoAoFimDe( Long idUsuario, Integer ano, Integer mes ) {
+		
+		if ( ano == null || mes == null ) {
+			throw new RegraNegocioException( "Informe o Ano e o Mês." );
+		}
+		
+		if ( mes < 1 || mes > 12 ) {
+			throw new RegraNegocioException( "Informe um Mês entre 1 e 12." );
+		}
+		
+		int ate = mesAbsoluto( ano, mes );
+		List< FechamentoMensal > fechamentos = repository.buscarAte( idUsuario, ano, mes, PageRequest.of( 0, 1 ) );
+		
+		if ( fechamentos.isEmpty() ) {
+			return somarEfetivadosEntre( idUsuario, -1, ate );
+		}
+		
+		FechamentoMensal fechamento = fechamentos.get( 0 );
+		int desde = mesAbsoluto( fechamento.getId().getAno(), fechamento.getId().getMes() );
+		if ( desde == ate ) {
+			return fechamento.getSaldo();
+		}
+		return fechamento.getSaldo().add( somarEfetivadosEntre( idUsuario, desde, ate ) );
+	}
+	
+	@Override
+	@Transactional
+	public void registrarMovimento( MovimentoLancamento anterior, MovimentoLancamento atual ) {
+		
+		Map< FechamentoMensalId, BigDecimal > diferencas = new HashMap<>();
+		
+		if ( anterior != null ) {
+			diferencas.merge( id( anterior ), anterior.getContribuicao().negate(), BigDecimal::add );
+		}
+		if ( atual != null ) {
+			diferencas.merge( id( atual ), atual.getContribuicao(), BigDecimal::add );
+		}
+		diferencas.forEach( this::somar );
+	}
+	
+	@Override
+	@Transactional
+	public void registrarInclusoes( List< MovimentoLancamento > movimentos ) {
+		
+		Map< FechamentoMensalId, BigDecimal > acrescimos = new HashMap<>();
+		
+		for ( MovimentoLancamento movimento : movimentos ) {
+			acrescimos.merge( id( movimento ), movimento.getContribuicao(), BigDecimal::add );
+		}
+		acrescimos.forEach( this::somar );
+	}
+	
+	@Override
+	@Transactional
+	public void registrarMudancaDeStatus( List< GrupoLancamentos > grupos, StatusLancamento novoStatus ) {
+		
+		Map< FechamentoMensalId, BigDecimal > diferencas = new HashMap<>();
+		
+		for ( GrupoLancamentos grupo : grupos ) {
+			BigDecimal diferenca = grupo.comStatus( novoStatus ).getContribuicao()
+			                            .subtract( grupo.comStatus( grupo.getStatus() ).getContribuicao() );
+			diferencas.merge( id( grupo.comStatus( novoStatus ) ), diferenca, BigDecimal::add );
+		}
+		diferencas.forEach( this::somar );
+	}
+	
+	@Override
+	@Transactional
+	public void registrarExclusoes( List< GrupoLancamentos > grupos ) {
+		
+		Map< FechamentoMensalId, BigDecimal > estornos = new HashMap<>();
+		
+		for ( GrupoLancamentos grupo : grupos ) {
+			MovimentoLancamento movimento = grupo.comStatus( grupo.getStatus() );
+			estornos.merge( id( movimento ), movimento.getContribuicao().negate(), BigDecimal::add );
+		}
+		estornos.forEach( this::somar );
+	}
+	
+	/**
+	 * Fecha o mês para todos os usuários, em blocos de ids. Cada bloco bloqueia as linhas dos seus usuários antes de
+	 * ler o resumo: uma escrita de lançamento em andamento termina antes e já entra no fechamento, e uma posterior
+	 * encontra o fechamento gravado e o corrige. Fechar de novo um mês não altera os fechamentos existentes.
+	 */
+	@Override
+	public int fecharMes( YearMonth mes ) {
+		
+		FaixaUsuarios faixa = usuarioRepository.obterFaixaDeIds();
+		
+		if ( faixa == null || faixa.getMenor() == null ) {
+			return 0;
+		}
+		
+		YearMonth anterior = mes.minusMonths( 1 );
+		int fechados = 0;
+		
+		for ( long de = faixa.getMenor(); de <= faixa.getMaior(); de += tamanhoBloco ) {
+			long inicio = de;
+			long fim = de + tamanhoBloco - 1;
+			fechados += transactionTemplate.execute( status -> {
+				usuarioRepository.bloquearFaixa( inicio, fim );
+				return repository.fecharAPartirDoAnterior( mes.getYear(), mes.getMonthValue(), anterior.getYear(),
+				                                           anterior.getMonthValue(), inicio, fim )
+				       + repository.fecharPeloResumo( mes.getYear(), mes.getMonthValue(), inicio, fim );
+			} );
+		}
+		return fechados;
+	}
+	
+	/**
+	 * Recria os fechamentos de todos os meses, do primeiro mês com lançamentos até o mês passado, a partir do resumo
+	 * mensal, que deve estar íntegro.
+	 */
+	@Override
+	public int reconstruirTodos() {
+		
+		transactionTemplate.executeWithoutResult( status -> repository.deleteAllInBatch() );
+		Integer primeiroMes = resumoMensalRepository.obterPrimeiroMes();
+		
+		if ( primeiroMes == null ) {
+			return 0;
+		}
+		
+		int fechados = 0;
+		YearMonth ultimo = YearMonth.now().minusMonths( 1 );
+		for ( YearMonth mes = YearMonth.of( primeiroMes / 12, primeiroMes % 12 + 1 ); !mes.isAfter( ultimo );
+		      mes = mes.plusMonths( 1 ) ) {
+			fechados += fecharMes( mes );
+		}
+		return fechados;
+	}
+	
+	private void somar( FechamentoMensalId id, BigDecimal valor ) {
+		
+		if ( valor.signum() != 0 ) {
+			repository.somarAPartirDe( id.getIdUsuario(), id.getAno(), id.getMes(), valor );
+		}
+	}
+	
+	private BigDecimal somarEfetivadosEntre( Long idUsuario, int desde, int ate ) {
+		
+		return resumoMensalRepository.somarEfetivadosEntre( idUsuario, desde, ate, Math.floorDiv( desde, 12 ),
+		                                                    ate / 12, TipoLancamento.RECEITA,
+		                                                    StatusLancamento.EFETIVADO );
+	}
+	
+	private static FechamentoMensalId id( MovimentoLancamento movimento ) {
+		
+		return new FechamentoMensalId( movimento.getIdUsuario(), movimento.getAno(), movimento.getMes() );
+	}
+	
+	private static int mesAbsoluto( int ano, int mes ) {
+		
+		return ano * 12 + mes - 1;
+	}
+	
+}
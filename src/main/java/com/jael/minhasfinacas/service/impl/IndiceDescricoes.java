@@ -0,0 +1,119 @@
+package com.jael.minhasfinacas.service.impl;
+
+import com.jael.minhasfinacas.model.projection.FrequenciaDescricao;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Descrições distintas de um usuário ordenadas pela forma normalizada (minúsculas e sem acentos), com a quantidade de
+ * lançamentos que usam cada uma. A ordenação permite localizar todas as descrições de um prefixo com uma única
+ * sub-árvore.
+ */
+class IndiceDescricoes {
+	
+	private static final Comparator< Entrada > POR_RELEVANCIA = Comparator.comparingLong( Entrada::getQuantidade )
+	                                                                      .thenComparing( Entrada::getChave,
+	                                                                                      Comparator.reverseOrder() );
+	
+	private final NavigableMap< String, Entrada > entradas = new TreeMap<>();
+	
+	IndiceDescricoes( List< FrequenciaDescricao > frequencias ) {
+		
+		frequencias.forEach( frequencia -> somar( frequencia.getDescricao(), frequencia.getQuantidade() ) );
+	}
+	
+	synchronized void adicionar( String descricao ) {
+		
+		somar( descricao, 1 );
+	}
+	
+	synchronized void remover( String descricao ) {
+		
+		somar( descricao, -1 );
+	}
+	
+	/**
+	 * Descrições que começam pelo prefixo, das mais usadas para as menos usadas.
+	 */
+	synchronized List< String > sugerir( String prefixo, int limite ) {
+		
+		String inicio = normalizar( prefixo );
+		NavigableMap< String, Entrada > candidatas = entradas.subMap( inicio, true, inicio + Character.MAX_VALUE, false );
+		
+		// Mantém apenas as mais relevantes em um heap mínimo de tamanho limitado.
+		PriorityQueue< Entrada > melhores = new PriorityQueue<>( limite + 1, POR_RELEVANCIA );
+		
+		for ( Entrada entrada : candidatas.values() ) {
+			melhores.offer( entrada );
+			if ( melhores.size() > limite ) {
+				melhores.poll();
+			}
+		}
+		
+		List< String > sugestoes = new ArrayList<>( melhores.size() );
+		while ( !melhores.isEmpty() ) {
+			sugestoes.add( melhores.poll().getDescricao() );
+		}
+		Collections.reverse( sugestoes );
+		return sugestoes;
+	}
+	
+	private void somar( String descricao, long quantidade ) {
+		
+		if ( descricao == null || descricao.isBlank() ) {
+			return;
+		}
+		
+		String chave = normalizar( descricao );
+		Entrada entrada = entradas.computeIfAbsent( chave, c -> new Entrada( c, descricao.trim() ) );
+		entrada.quantidade += quantidade;
+		
+		if ( entrada.quantidade <= 0 ) {
+			entradas.remove( chave );
+		}
+	}
+	
+	static String normalizar( String texto ) {
+		
+		return Normalizer.normalize( texto.trim().toLowerCase(), Normalizer.Form.NFD ).replaceAll( "\\p{M}", "" );
+	}
+	
+	private static class Entrada {
+		
+		private final String chave;
+		
+		private final String descricao;
+		
+		private long quantidade;
+		
+		Entrada( String chave, String descricao ) {
+			
+			this.chave = chave;
+			this.descricao = descricao;
+		}
+		
+		String getChave() {
+			
+			return chave;
+		}
+		
+		String getDescricao() {
+			
+			return descricao;
+		}
+		
+		long getQuantidade() {
+			
+			return quantidade;
+		}
+		
+	}
+	
+}
@@ -1,33 +1,112 @@
 package com.jael.minhasfinacas.service.impl;
 
+import com.jael.minhasfinacas.config.MetricasConfig;
+import com.jael.minhasfinacas.exception.LancamentoNaoEncontradoException;
 import com.jael.minhasfinacas.exception.RegraNegocioException;
 import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.LancamentoExcluido;
+import com.jael.minhasfinacas.model.entity.Usuario;
 import com.jael.minhasfinacas.model.enums.StatusLancamento;
-import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.AlteracoesLancamentos;
+import com.jael.minhasfinacas.model.projection.CursorLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+import com.jael.minhasfinacas.model.repository.LancamentoExcluidoRepository;
 import com.jael.minhasfinacas.model.repository.LancamentoRepository;
+import com.jael.minhasfinacas.model.repository.UsuarioRepository;
+import com.jael.minhasfinacas.service.FechamentoMensalService;
 import com.jael.minhasfinacas.service.LancamentoService;
+import com.jael.minhasfinacas.service.ResumoMensalService;
+import com.jael.minhasfinacas.service.SaldoUsuarioService;
+import com.jael.minhasfinacas.service.SugestaoDescricaoService;
+import com.jael.minhasfinacas.service.evento.AlteracaoLancamento;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.springframework.data.domain.ExampleMatcher.matching;
 
 @Service
+@Timed( MetricasConfig.SERVICO )
 public class LancamentoServiceImpl implements LancamentoService {
 	
 	@Autowired
 	private final LancamentoRepository repository;
 	
-	public LancamentoServiceImpl( LancamentoRepository repository ) {
+	@Autowired
+	private final LancamentoExcluidoRepository excluidoRepository;
+	
+	@Autowired
+	private final UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	private final SaldoUsuarioService saldoUsuarioService;
+	
+	@Autowired
+	private final ResumoMensalService resumoMensalService;
+	
+	@Autowired
+	private final FechamentoMensalService fechamentoMensalService;
+	
+	@Autowired
+	private final SugestaoDescricaoService sugestaoDescricaoService;
+	
+	@Autowired
+	private final ApplicationEventPublisher eventos;
+	
+	@Value( "${minhasfinancas.lancamentos.tamanho-pagina:50}" )
+	private int tamanhoPaginaPadrao;
+	
+	@Value( "${minhasfinancas.lancamentos.tamanho-pagina-maximo:500}" )
+	private int tamanhoPaginaMaximo;
+	
+	@Value( "${minhasfinancas.busca.limite:50}" )
+	private int limitePesquisaPadrao;
+	
+	@Value( "${minhasfinancas.busca.limite-maximo:200}" )
+	private int limitePesquisaMaximo;
+	
+	@Value( "${minhasfinancas.exportacao.tamanho-lote:500}" )
+	private int tamanhoLoteExportacao;
+	
+	public LancamentoServiceImpl( LancamentoRepository repository, LancamentoExcluidoRepository excluidoRepository,
+	                              UsuarioRepository usuarioRepository, SaldoUsuarioService saldoUsuarioService,
+	                              ResumoMensalService resumoMensalService,
+	                              FechamentoMensalService fechamentoMensalService,
+	                              SugestaoDescricaoService sugestaoDescricaoService,
+	                              ApplicationEventPublisher eventos ) {
 		
 		this.repository = repository;
+		this.excluidoRepository = excluidoRepository;
+		this.usuarioRepository = usuarioRepository;
+		this.saldoUsuarioService = saldoUsuarioService;
+		this.resumoMensalService = resumoMensalService;
+		this.fechamentoMensalService = fechamentoMensalService;
+		this.sugestaoDescricaoService = sugestaoDescricaoService;
+		this.eventos = eventos;
 	}
 	
 	@Override
@@ -35,33 +114,114 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento salvar( Lancamento lancamento ) {
 		
 		validar( lancamento );
-		return repository.save( lancamento );
+		lancamento.setSequenciaAlteracao( proximaSequencia( lancamento.getUsuario().getId() ) );
+		Lancamento lancamentoSalvo = repository.save( lancamento );
+		registrarMovimento( null, MovimentoLancamento.de( lancamento ) );
+		sugestaoDescricaoService.registrarInclusao( lancamento.getUsuario().getId(), lancamento.getDescricao() );
+		eventos.publishEvent( AlteracaoLancamento.criado( lancamentoSalvo ) );
+		return lancamentoSalvo;
 	}
 	
+	/**
+	 * Grava lançamentos já validados em um único lote, aplicando ao saldo e aos resumos um acréscimo agregado por
+	 * usuário e por mês em vez de uma atualização por lançamento.
+	 */
+	@Override
+	@Transactional
+	public void salvarLote( List< Lancamento > lancamentos ) {
+		
+		Map< Long, Long > sequencias = new HashMap<>();
+		lancamentos.forEach( lancamento -> lancamento.setSequenciaAlteracao(
+				sequencias.computeIfAbsent( lancamento.getUsuario().getId(), this::proximaSequencia ) ) );
+		repository.inserirEmLote( lancamentos );
+		
+		List< MovimentoLancamento > movimentos = lancamentos.stream()
+		                                                    .map( MovimentoLancamento::de )
+		                                                    .collect( Collectors.toList() );
+		saldoUsuarioService.registrarInclusoes( movimentos );
+		resumoMensalService.registrarInclusoes( movimentos );
+		fechamentoMensalService.registrarInclusoes( movimentos );
+		movimentos.stream()
+		          .map( MovimentoLancamento::getIdUsuario )
+		          .distinct()
+		          .forEach( idUsuario -> {
+			          sugestaoDescricaoService.descartar( idUsuario );
+			          eventos.publishEvent( AlteracaoLancamento.lote( idUsuario ) );
+		          } );
+	}
+	
+	/**
+	 * Atualiza o lançamento mantendo-o com o usuário que ele já tem.
+	 */
 	@Override
 	@Transactional
 	public Lancamento atualizar( Lancamento lancamento ) {
 		
-		Objects.requireNonNull( lancamento.getId() );
-		validar( lancamento );
-		return repository.save( lancamento );
+		return atualizar( lancamento, lancamento.getUsuario().getId() );
+	}
+	
+	/**
+	 * Atualiza o lançamento somente se ele pertencer ao {@code idUsuario}; só quem já é dono pode transferi-lo a
+	 * outro usuário.
+	 */
+	@Override
+	@Transactional
+	public Lancamento atualizar( Lancamento lancamento, Long idUsuario ) {
+		
+		return atualizar( lancamento, idUsuario, repository::save );
+	}
+	
+	/**
+	 * Atualiza o lançamento do {@code idUsuario} somente se ele ainda estiver na versão que traz; caso contrário lança
+	 * {@link org.springframework.dao.OptimisticLockingFailureException}. A entidade não é carregada nem mesclada, mas
+	 * o estado anterior ainda é lido como {@link MovimentoLancamento}, uma consulta a mais antes do UPDATE, para
+	 * ajustar o saldo e os resumos.
+	 */
+	@Override
+	@Transactional
+	public Lancamento atualizarNaVersao( Lancamento lancamento, Long idUsuario ) {
+		
+		Objects.requireNonNull( lancamento.getVersao() );
+		return atualizar( lancamento, idUsuario,
+		                  gravacao -> repository.atualizarNaVersao( gravacao, idUsuario ) );
 	}
 	
+	/**
+	 * Altera apenas o status do lançamento do {@code idUsuario}, se ele ainda estiver na {@code versao} informada,
+	 * devolvendo a nova versão. Assim como em {@link #atualizarNaVersao}, o estado anterior é lido como
+	 * {@link MovimentoLancamento} antes do UPDATE; só a carga da entidade é evitada.
+	 */
 	@Override
 	@Transactional
-	public Optional< Lancamento > obterPorId( Long id ) {
+	public Long atualizarStatusNaVersao( Long id, Long idUsuario, Long versao, StatusLancamento status ) {
+		
+		MovimentoLancamento anterior = repository.obterMovimentoPorId( id, idUsuario )
+		                                         .orElseThrow( LancamentoNaoEncontradoException::new );
+		
+		if ( repository.atualizarStatusNaVersao( id, idUsuario, versao, status, proximaSequencia( idUsuario ) ) == 0 ) {
+			throw new ObjectOptimisticLockingFailureException( Lancamento.class, id );
+		}
+		
+		registrarMovimento( anterior, anterior.comStatus( status ) );
+		eventos.publishEvent( AlteracaoLancamento.atualizado( idUsuario, id ) );
+		return versao + 1;
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public Optional< Lancamento > obterPorId( Long id, Long idUsuario ) {
 		
-		Optional< Lancamento > lancamento = repository.findById( id );
+		Optional< Lancamento > lancamento = repository.buscarPorIdEUsuario( id, idUsuario );
 		
 		if ( lancamento.isEmpty() ) {
-			throw new RegraNegocioException( "Lançamento não encontrado para o ID informado." );
+			throw new LancamentoNaoEncontradoException();
 		}
 		
 		return lancamento;
 	}
 	
 	@Override
-	@Transactional
+	@Transactional( readOnly = true )
 	public List< Lancamento > buscar( Lancamento lancamentoFiltro ) {
 		
 		Example< Lancamento > example = Example.of( lancamentoFiltro, matching().withIgnoreCase()
@@ -69,8 +229,56 @@ public class LancamentoServiceImpl implements LancamentoService {
 				                                                                        ExampleMatcher.StringMatcher.CONTAINING ) );
 		return repository.findAll( example );
 	}
+	
 	@Override
-	@Transactional
+	@Transactional( readOnly = true )
+	public List< ItemLancamento > listar( Lancamento lancamentoFiltro ) {
+		
+		return repository.listarItens( lancamentoFiltro );
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public Slice< ItemLancamento > buscarPagina( Lancamento lancamentoFiltro, CursorLancamento cursor, Integer tamanho ) {
+		
+		int tamanhoPagina = tamanho == null ? tamanhoPaginaPadrao : tamanho;
+		
+		if ( tamanhoPagina < 1 || tamanhoPagina > tamanhoPaginaMaximo ) {
+			throw new RegraNegocioException( "Informe um tamanho de página entre 1 e " + tamanhoPaginaMaximo + "." );
+		}
+		
+		// Um registro a mais indica se existe próxima página sem precisar de uma consulta de contagem.
+		List< ItemLancamento > lancamentos = repository.buscarAposCursor( lancamentoFiltro, cursor, tamanhoPagina + 1 );
+		boolean possuiProxima = lancamentos.size() > tamanhoPagina;
+		
+		if ( possuiProxima ) {
+			lancamentos = lancamentos.subList( 0, tamanhoPagina );
+		}
+		return new SliceImpl<>( lancamentos, PageRequest.of( 0, tamanhoPagina ), possuiProxima );
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public List< ItemLancamento > pesquisarPorDescricao( Lancamento lancamentoFiltro, String termo, Integer limite ) {
+		
+		if ( termo == null || termo.trim().length() < 3 ) {
+			throw new RegraNegocioException( "Informe ao menos 3 caracteres para pesquisar pela descrição." );
+		}
+		
+		int limiteResultados = limite == null ? limitePesquisaPadrao : limite;
+		
+		if ( limiteResultados < 1 || limiteResultados > limitePesquisaMaximo ) {
+			throw new RegraNegocioException( "Informe um limite entre 1 e " + limitePesquisaMaximo + "." );
+		}
+		
+		return repository.pesquisarPorDescricao( lancamentoFiltro, termo.trim(), limiteResultados )
+		                 .stream()
+		                 .map( ItemLancamento::de )
+		                 .collect( Collectors.toList() );
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
 	public List< String > buscarTodasAsDescricoesPorUsuario( Long id ) {
 		
 		List< String > listaDescricao = repository.obterDescricaoPorIdUsuario( id );
@@ -82,30 +290,113 @@ public class LancamentoServiceImpl implements LancamentoService {
 		return listaDescricao;
 	}
 	
+	/**
+	 * A marca devolvida é lida antes dos lançamentos: as alterações até ela já foram confirmadas, pois a sequência do
+	 * usuário só avança para a próxima escrita depois do commit da anterior. Sem marca, ou com uma marca à frente da
+	 * sequência do usuário, a sincronização é completa.
+	 */
 	@Override
 	@Transactional( readOnly = true )
-	public BigDecimal obterSaldoPorUsuario( Long id ) {
+	public AlteracoesLancamentos buscarAlteracoes( Long idUsuario, Long desde ) {
 		
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus( id, TipoLancamento.RECEITA,
-		                                                                             StatusLancamento.EFETIVADO );
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus( id, TipoLancamento.DESPESA,
-		                                                                             StatusLancamento.EFETIVADO );
+		Long ate = usuarioRepository.obterSequenciaAlteracao( idUsuario ).orElseThrow(
+				() -> new RegraNegocioException( "Usuário não encontrado para o ID informado." ) );
 		
-		if ( receitas == null ) {
-			receitas = BigDecimal.ZERO;
+		if ( desde == null || desde <= 0 || desde > ate ) {
+			Lancamento filtro = Lancamento.builder().usuario( Usuario.builder().id( idUsuario ).build() ).build();
+			return new AlteracoesLancamentos( repository.listarItens( filtro ), List.of(), ate, true );
 		}
 		
-		if ( despesas == null ) {
-			despesas = BigDecimal.ZERO;
+		List< ItemLancamento > alterados = repository.buscarAlteradosEntre( idUsuario, desde, ate );
+		Set< Long > idsAlterados = new HashSet<>();
+		alterados.forEach( item -> idsAlterados.add( item.getId() ) );
+		
+		// Um lançamento transferido e depois devolvido ao usuário aparece nas duas listas; vale a alteração.
+		List< Long > excluidos = excluidoRepository.buscarExcluidosEntre( idUsuario, desde, ate )
+		                                           .stream()
+		                                           .filter( id -> !idsAlterados.contains( id ) )
+		                                           .collect( Collectors.toList() );
+		return new AlteracoesLancamentos( alterados, excluidos, ate, false );
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public void exportarPorUsuario( Long idUsuario, Consumer< Lancamento > consumidor ) {
+		
+		try ( Stream< Lancamento > lancamentos = repository.percorrerPorUsuario( idUsuario, tamanhoLoteExportacao ) ) {
+			lancamentos.forEach( consumidor );
 		}
-		return receitas.subtract( despesas );
 	}
 	
 	@Override
+	@Transactional( readOnly = true )
+	public BigDecimal obterSaldoPorUsuario( Long id ) {
+		
+		return saldoUsuarioService.obterSaldo( id );
+	}
+	
+	@Override
+	@Transactional
 	public void deletar( Lancamento lancamento ) {
 		
 		Objects.requireNonNull( lancamento.getId() );
+		MovimentoLancamento anterior = repository.obterMovimentoPorId( lancamento.getId(),
+		                                                               lancamento.getUsuario().getId() )
+		                                         .orElse( null );
 		repository.delete( lancamento );
+		registrarMovimento( anterior, null );
+		
+		if ( anterior != null ) {
+			registrarExclusao( anterior.getIdUsuario(), lancamento.getId() );
+			sugestaoDescricaoService.registrarExclusao( anterior.getIdUsuario(), lancamento.getDescricao() );
+			eventos.publishEvent( AlteracaoLancamento.excluido( anterior.getIdUsuario(), lancamento.getId() ) );
+		}
+	}
+	
+	/**
+	 * Remove o lançamento do {@code idUsuario} lendo apenas as colunas que afetam o saldo, os resumos e as sugestões,
+	 * seguidas de um DELETE direto, sem carregar nem mesclar a entidade.
+	 */
+	@Override
+	@Transactional
+	public void deletarPorId( Long id, Long idUsuario ) {
+		
+		ItemLancamento item = repository.obterItemPorId( id, idUsuario )
+		                                .orElseThrow( LancamentoNaoEncontradoException::new );
+		
+		repository.excluirPorId( id, idUsuario );
+		registrarExclusao( item.getUsuario(), id );
+		registrarMovimento( MovimentoLancamento.de( item ), null );
+		sugestaoDescricaoService.registrarExclusao( item.getUsuario(), item.getDescricao() );
+		eventos.publishEvent( AlteracaoLancamento.excluido( item.getUsuario(), id ) );
+	}
+	
+	/**
+	 * Remove vários lançamentos do usuário do filtro com um único DELETE. O saldo e os resumos são ajustados a partir
+	 * dos totais por mês, tipo e status lidos antes da remoção, sob o bloqueio do usuário, como em
+	 * {@link #atualizarStatusEmLote}.
+	 */
+	@Override
+	@Transactional
+	public int deletarEmLote( Lancamento lancamentoFiltro, List< Long > ids ) {
+		
+		validarLote( lancamentoFiltro, ids );
+		
+		Long sequencia = proximaSequencia( lancamentoFiltro.getUsuario().getId() );
+		List< GrupoLancamentos > grupos = repository.agruparParaExcluir( lancamentoFiltro, ids );
+		
+		if ( grupos.isEmpty() ) {
+			return 0;
+		}
+		
+		repository.registrarExclusoes( lancamentoFiltro, ids, sequencia );
+		int excluidos = repository.excluir( lancamentoFiltro, ids );
+		saldoUsuarioService.registrarExclusoes( grupos );
+		resumoMensalService.registrarExclusoes( grupos );
+		fechamentoMensalService.registrarExclusoes( grupos );
+		sugestaoDescricaoService.descartar( lancamentoFiltro.getUsuario().getId() );
+		eventos.publishEvent( AlteracaoLancamento.lote( lancamentoFiltro.getUsuario().getId() ) );
+		return excluidos;
 	}
 	
 	@Override
@@ -116,6 +407,37 @@ public class LancamentoServiceImpl implements LancamentoService {
 		atualizar( lancamento );
 	}
 	
+	/**
+	 * Altera o status de vários lançamentos do usuário do filtro com um único UPDATE. O saldo e os resumos são
+	 * ajustados a partir dos totais por mês, tipo e status lidos antes da alteração. Os totais só são lidos depois de
+	 * avançar a sequência do usuário, que bloqueia a linha dele até o commit: outra gravação do mesmo usuário não
+	 * consegue alterar os lançamentos entre a leitura e o UPDATE.
+	 */
+	@Override
+	@Transactional
+	public int atualizarStatusEmLote( Lancamento lancamentoFiltro, List< Long > ids, StatusLancamento status ) {
+		
+		if ( status == null ) {
+			throw new RegraNegocioException( "Informe um Status de Lançamento." );
+		}
+		
+		validarLote( lancamentoFiltro, ids );
+		
+		Long sequencia = proximaSequencia( lancamentoFiltro.getUsuario().getId() );
+		List< GrupoLancamentos > grupos = repository.agruparParaAtualizarStatus( lancamentoFiltro, ids, status );
+		
+		if ( grupos.isEmpty() ) {
+			return 0;
+		}
+		
+		int atualizados = repository.atualizarStatus( lancamentoFiltro, ids, status, sequencia );
+		saldoUsuarioService.registrarMudancaDeStatus( grupos, status );
+		resumoMensalService.registrarMudancaDeStatus( grupos, status );
+		fechamentoMensalService.registrarMudancaDeStatus( grupos, status );
+		eventos.publishEvent( AlteracaoLancamento.lote( lancamentoFiltro.getUsuario().getId() ) );
+		return atualizados;
+	}
+	
 	@Override
 	public void validar( Lancamento lancamento ) {
 		
@@ -123,6 +445,11 @@ public class LancamentoServiceImpl implements LancamentoService {
 			throw new RegraNegocioException( "Informe uma Descrição válida." );
 		}
 		
+		if ( lancamento.getDescricao().length() > Lancamento.TAMANHO_DESCRICAO ) {
+			throw new RegraNegocioException( "Informe uma Descrição de até " + Lancamento.TAMANHO_DESCRICAO
+			                                 + " caracteres." );
+		}
+		
 		if ( lancamento.getMes() == null || lancamento.getMes() < 1 || lancamento.getMes() > 12 ) {
 			throw new RegraNegocioException( "Informe um Mês entre 1 e 12." );
 		}
@@ -148,4 +475,63 @@ public class LancamentoServiceImpl implements LancamentoService {
 		}
 	}
 	
+	/**
+	 * O estado anterior é lido pelo id e pelo {@code idUsuario}, de modo que o lançamento de outro usuário não é
+	 * encontrado nem gravado.
+	 */
+	private Lancamento atualizar( Lancamento lancamento, Long idUsuario, UnaryOperator< Lancamento > gravacao ) {
+		
+		Objects.requireNonNull( lancamento.getId() );
+		validar( lancamento );
+		MovimentoLancamento anterior = repository.obterMovimentoPorId( lancamento.getId(), idUsuario )
+		                                         .orElseThrow( LancamentoNaoEncontradoException::new );
+		lancamento.setSequenciaAlteracao( proximaSequencia( lancamento.getUsuario().getId() ) );
+		Lancamento lancamentoAtualizado = gravacao.apply( lancamento );
+		registrarMovimento( anterior, MovimentoLancamento.de( lancamento ) );
+		
+		// A descrição anterior não é lida aqui, então o índice de sugestões dos usuários envolvidos é recarregado.
+		sugestaoDescricaoService.descartar( lancamento.getUsuario().getId() );
+		if ( !anterior.getIdUsuario().equals( lancamento.getUsuario().getId() ) ) {
+			sugestaoDescricaoService.descartar( anterior.getIdUsuario() );
+			registrarExclusao( anterior.getIdUsuario(), lancamento.getId() );
+			eventos.publishEvent( AlteracaoLancamento.excluido( anterior.getIdUsuario(), lancamento.getId() ) );
+		}
+		eventos.publishEvent( AlteracaoLancamento.atualizado( lancamentoAtualizado ) );
+		return lancamentoAtualizado;
+	}
+	
+	/**
+	 * Um lote é sempre de um único usuário e precisa de ids ou de algum filtro, para que uma requisição incompleta
+	 * não alcance todos os lançamentos do usuário.
+	 */
+	private void validarLote( Lancamento lancamentoFiltro, List< Long > ids ) {
+		
+		if ( lancamentoFiltro.getUsuario() == null || lancamentoFiltro.getUsuario().getId() == null ) {
+			throw new RegraNegocioException( "Informe um Usuário válido." );
+		}
+		
+		if ( ( ids == null || ids.isEmpty() ) && lancamentoFiltro.getMes() == null && lancamentoFiltro.getAno() == null
+		     && lancamentoFiltro.getTipo() == null && lancamentoFiltro.getStatus() == null ) {
+			throw new RegraNegocioException( "Informe os lançamentos ou um filtro de mês, ano, tipo ou status." );
+		}
+	}
+	
+	private Long proximaSequencia( Long idUsuario ) {
+		
+		usuarioRepository.avancarSequenciaAlteracao( idUsuario );
+		return usuarioRepository.obterSequenciaAlteracao( idUsuario ).orElse( null );
+	}
+	
+	private void registrarExclusao( Long idUsuario, Long idLancamento ) {
+		
+		excluidoRepository.save( new LancamentoExcluido( idUsuario, proximaSequencia( idUsuario ), idLancamento ) );
+	}
+	
+	private void registrarMovimento( MovimentoLancamento anterior, MovimentoLancamento atual ) {
+		
+		saldoUsuarioService.registrarMovimento( anterior, atual );
+		resumoMensalService.registrarMovimento( anterior, atual );
+		fechamentoMensalService.registrarMovimento( anterior, atual );
+	}
+	
 }
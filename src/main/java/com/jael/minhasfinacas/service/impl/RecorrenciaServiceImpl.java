@@ -0,0 +1,343 @@
+package com.jael.minhasfinacas.service.impl;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Recorrencia;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.projection.FaixaUsuarios;
+import com.jael.minhasfinacas.model.repository.RecorrenciaRepository;
+import com.jael.minhasfinacas.service.LancamentoService;
+import com.jael.minhasfinacas.service.RecorrenciaService;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+	
+	@Autowired
+	private final RecorrenciaRepository repository;
+	
+	@Autowired
+	private final LancamentoService lancamentoService;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	@Value( "${minhasfinancas.recorrencias.threads:4}" )
+	private int threads;
+	
+	@Value( "${minhasfinancas.recorrencias.tamanho-bloco:500}" )
+	private int tamanhoBloco;
+	
+	@Value( "${minhasfinancas.recorrencias.meses-antecedencia:1}" )
+	private int mesesAntecedencia;
+	
+	@Value( "${minhasfinancas.recorrencias.meses-retroativos:12}" )
+	private int mesesRetroativos;
+	
+	public RecorrenciaServiceImpl( RecorrenciaRepository repository, LancamentoService lancamentoService,
+	                               PlatformTransactionManager transactionManager ) {
+		
+		this.repository = repository;
+		this.lancamentoService = lancamentoService;
+		// Transação de escrita: a leitura das recorrências pendentes precisa ver a primária, não a réplica.
+		this.transactionTemplate = new TransactionTemplate( transactionManager );
+	}
+	
+	/**
+	 * As ocorrências até o horizonte de geração são gravadas junto com a recorrência, na mesma requisição; por isso o
+	 * mês inicial pode estar no máximo {@code minhasfinancas.recorrencias.meses-retroativos} meses no passado.
+	 */
+	@Override
+	@Transactional
+	public Recorrencia salvar( Recorrencia recorrencia ) {
+		
+		validar( recorrencia );
+		recorrencia.setId( null );
+		recorrencia.setParcelasGeradas( 0 );
+		recorrencia.setAtiva( true );
+		recorrencia.setDataCadastro( LocalDate.now() );
+		Recorrencia recorrenciaSalva = repository.save( recorrencia );
+		gerar( List.of( recorrenciaSalva ), mesAbsoluto( horizonte() ) );
+		return recorrenciaSalva;
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public List< Recorrencia > buscarPorUsuario( Long idUsuario ) {
+		
+		return repository.buscarPorUsuario( idUsuario );
+	}
+	
+	/**
+	 * Interrompe a geração de novas ocorrências; as já geradas continuam como lançamentos comuns.
+	 */
+	@Override
+	@Transactional
+	public void encerrar( Long id, Long idUsuario ) {
+		
+		Recorrencia recorrencia = repository.findById( id )
+		                                    .filter( r -> r.getUsuario().getId().equals( idUsuario ) )
+		                                    .orElseThrow( () -> new RegraNegocioException(
+				                                    "Recorrência não encontrada para o ID informado." ) );
+		recorrencia.setAtiva( false );
+	}
+	
+	/**
+	 * Grava, para todos os usuários, as ocorrências pendentes até o mês {@code ate}, inclusive as de meses anteriores
+	 * que não tenham sido geradas. Os usuários com recorrências pendentes são divididos em faixas contíguas de id, uma
+	 * por thread; cada faixa é percorrida em blocos, e cada bloco grava seus lançamentos em lote e avança
+	 * {@code parcelasGeradas} na mesma transação. Como uma faixa só escreve lançamentos dos seus usuários, as threads
+	 * não disputam os bloqueios de sequência de alteração por usuário.
+	 * <p>
+	 * Executar de novo não repete parcelas: as recorrências já em dia não são mais selecionadas. Um bloco que falhar é
+	 * desfeito e pulado: a sua faixa segue com os blocos seguintes, e ele é retomado na próxima execução.
+	 */
+	@Override
+	public int gerarOcorrencias( YearMonth ate ) {
+		
+		int alvo = mesAbsoluto( ate );
+		FaixaUsuarios faixa = repository.obterFaixaDeUsuariosPendentes( alvo );
+		
+		if ( faixa == null || faixa.getMenor() == null ) {
+			return 0;
+		}
+		
+		long largura = ( faixa.getMaior() - faixa.getMenor() ) / threads + 1;
+		ExecutorService executor = Executors.newFixedThreadPool( threads,
+		                                                         new CustomizableThreadFactory( "recorrencias-" ) );
+		
+		try {
+			List< Future< Integer > > faixas = new ArrayList<>();
+			for ( long de = faixa.getMenor(); de <= faixa.getMaior(); de += largura ) {
+				long inicio = de;
+				long fim = Math.min( faixa.getMaior(), de + largura - 1 );
+				faixas.add( executor.submit( () -> gerarFaixa( inicio, fim, alvo ) ) );
+			}
+			
+			int gerados = 0;
+			for ( Future< Integer > resultado : faixas ) {
+				gerados += resultado.get();
+			}
+			return gerados;
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException( "A geração de recorrências foi interrompida.", e );
+		} catch ( ExecutionException e ) {
+			throw new IllegalStateException( "Não foi possível gerar as recorrências.", e.getCause() );
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Override
+	public int gerarProximasOcorrencias() {
+		
+		return gerarOcorrencias( horizonte() );
+	}
+	
+	@Override
+	public void validar( Recorrencia recorrencia ) {
+		
+		if ( recorrencia.getDescricao() == null || recorrencia.getDescricao().trim().equals( "" ) ) {
+			throw new RegraNegocioException( "Informe uma Descrição válida." );
+		}
+		
+		if ( recorrencia.getParcelas() != null && recorrencia.getParcelas() < 1 ) {
+			throw new RegraNegocioException( "Informe uma quantidade de Parcelas maior que zero." );
+		}
+		
+		// A descrição gravada nos lançamentos inclui o sufixo " (parcela/total)" das parcelas.
+		if ( descricao( recorrencia, recorrencia.getParcelas() == null ? 1 : recorrencia.getParcelas() ).length()
+		     > Lancamento.TAMANHO_DESCRICAO ) {
+			throw new RegraNegocioException( "Informe uma Descrição mais curta." );
+		}
+		
+		if ( recorrencia.getMes() == null || recorrencia.getMes() < 1 || recorrencia.getMes() > 12 ) {
+			throw new RegraNegocioException( "Informe um Mês entre 1 e 12." );
+		}
+		
+		if ( recorrencia.getAno() == null || recorrencia.getAno().toString().length() != 4 ) {
+			throw new RegraNegocioException( "Informe um Ano válido." );
+		}
+		
+		if ( YearMonth.of( recorrencia.getAno(), recorrencia.getMes() )
+		              .isBefore( YearMonth.now().minusMonths( mesesRetroativos ) ) ) {
+			throw new RegraNegocioException( "Informe um Mês inicial de no máximo " + mesesRetroativos
+			                                 + " meses atrás." );
+		}
+		
+		if ( recorrencia.getUsuario() == null || recorrencia.getUsuario().getId() == null ) {
+			throw new RegraNegocioException( "Informe um Usuário válido." );
+		}
+		
+		if ( recorrencia.getValor() == null || recorrencia.getValor().compareTo( BigDecimal.ZERO ) < 1 ) {
+			throw new RegraNegocioException( "Informe um Valor válido." );
+		}
+		
+		if ( recorrencia.getTipo() == null ) {
+			throw new RegraNegocioException( "Informe um Tipo de Lançamento." );
+		}
+	}
+	
+	private int gerarFaixa( long de, long ate, int alvo ) {
+		
+		int gerados = 0;
+		long usuarioAnterior = de;
+		long idAnterior = 0;
+		
+		try {
+			while ( true ) {
+				long usuario = usuarioAnterior;
+				long id = idAnterior;
+				Bloco bloco;
+				
+				try {
+					bloco = transactionTemplate.execute( status -> gerarBloco( de, ate, usuario, id, alvo ) );
+				} catch ( RuntimeException e ) {
+					bloco = pularBloco( de, ate, usuario, id, alvo, e );
+				}
+				
+				if ( bloco == null ) {
+					return gerados;
+				}
+				
+				gerados += bloco.getGerados();
+				usuarioAnterior = bloco.getUltimoUsuario();
+				idAnterior = bloco.getUltimoId();
+			}
+		} catch ( RuntimeException e ) {
+			log.error( "Falha ao gerar as recorrências dos usuários {} a {}; a faixa será retomada na próxima execução.",
+			           de, ate, e );
+			return gerados;
+		}
+	}
+	
+	/**
+	 * Relê o bloco que falhou, já desfeito, apenas para saber onde ele termina: a faixa continua depois dele, e as suas
+	 * recorrências, ainda pendentes, são tentadas de novo na próxima execução.
+	 */
+	private Bloco pularBloco( long de, long ate, long usuarioAnterior, long idAnterior, int alvo,
+	                          RuntimeException erro ) {
+		
+		List< Recorrencia > recorrencias = transactionTemplate.execute(
+				status -> repository.buscarPendentes( de, ate, usuarioAnterior, idAnterior, alvo,
+				                                      PageRequest.of( 0, tamanhoBloco ) ) );
+		
+		if ( recorrencias == null || recorrencias.isEmpty() ) {
+			return null;
+		}
+		
+		Recorrencia primeira = recorrencias.get( 0 );
+		Recorrencia ultima = recorrencias.get( recorrencias.size() - 1 );
+		log.error( "Falha ao gerar as recorrências {} a {}; o bloco será retomado na próxima execução.",
+		           primeira.getId(), ultima.getId(), erro );
+		return new Bloco( ultima.getUsuario().getId(), ultima.getId(), 0 );
+	}
+	
+	private Bloco gerarBloco( long de, long ate, long usuarioAnterior, long idAnterior, int alvo ) {
+		
+		List< Recorrencia > recorrencias = repository.buscarPendentes( de, ate, usuarioAnterior, idAnterior, alvo,
+		                                                               PageRequest.of( 0, tamanhoBloco ) );
+		
+		if ( recorrencias.isEmpty() ) {
+			return null;
+		}
+		
+		Recorrencia ultima = recorrencias.get( recorrencias.size() - 1 );
+		return new Bloco( ultima.getUsuario().getId(), ultima.getId(), gerar( recorrencias, alvo ) );
+	}
+	
+	/**
+	 * Grava em um único lote as parcelas ainda não geradas das recorrências até o mês {@code alvo} e avança
+	 * {@code parcelasGeradas}, que é gravado no commit da transação corrente.
+	 */
+	private int gerar( List< Recorrencia > recorrencias, int alvo ) {
+		
+		List< Lancamento > lancamentos = new ArrayList<>();
+		
+		for ( Recorrencia recorrencia : recorrencias ) {
+			int ultimaParcela = alvo - recorrencia.getMesAbsolutoInicial() + 1;
+			if ( recorrencia.getParcelas() != null ) {
+				ultimaParcela = Math.min( ultimaParcela, recorrencia.getParcelas() );
+			}
+			
+			for ( int parcela = recorrencia.getParcelasGeradas() + 1; parcela <= ultimaParcela; parcela++ ) {
+				lancamentos.add( ocorrencia( recorrencia, parcela ) );
+			}
+			recorrencia.setParcelasGeradas( Math.max( recorrencia.getParcelasGeradas(), ultimaParcela ) );
+		}
+		
+		if ( !lancamentos.isEmpty() ) {
+			lancamentoService.salvarLote( lancamentos );
+		}
+		return lancamentos.size();
+	}
+	
+	private Lancamento ocorrencia( Recorrencia recorrencia, int parcela ) {
+		
+		int mes = recorrencia.getMesAbsolutoInicial() + parcela - 1;
+		return Lancamento.builder()
+		                 .descricao( descricao( recorrencia, parcela ) )
+		                 .mes( mes % 12 + 1 )
+		                 .ano( mes / 12 )
+		                 .valor( recorrencia.getValor() )
+		                 .tipo( recorrencia.getTipo() )
+		                 .status( StatusLancamento.PENDENTE )
+		                 .usuario( recorrencia.getUsuario() )
+		                 .dataCadastro( LocalDate.now() )
+		                 .idRecorrencia( recorrencia.getId() )
+		                 .parcela( parcela )
+		                 .build();
+	}
+	
+	private String descricao( Recorrencia recorrencia, int parcela ) {
+		
+		if ( recorrencia.getParcelas() == null ) {
+			return recorrencia.getDescricao();
+		}
+		return recorrencia.getDescricao() + " (" + parcela + "/" + recorrencia.getParcelas() + ")";
+	}
+	
+	private YearMonth horizonte() {
+		
+		return YearMonth.now().plusMonths( mesesAntecedencia );
+	}
+	
+	private static int mesAbsoluto( YearMonth mes ) {
+		
+		return mes.getYear() * 12 + mes.getMonthValue() - 1;
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	private static class Bloco {
+		
+		private final Long ultimoUsuario;
+		
+		private final Long ultimoId;
+		
+		private final int gerados;
+	
+	}
+	
+}
@@ -0,0 +1,126 @@
+package com.jael.minhasfinacas.service.impl;
+
+import com.jael.minhasfinacas.model.entity.ResumoMensal;
+import com.jael.minhasfinacas.model.entity.ResumoMensalId;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+import com.jael.minhasfinacas.model.projection.TotalLancamentos;
+import com.jael.minhasfinacas.model.repository.ResumoMensalRepository;
+import com.jael.minhasfinacas.service.ResumoMensalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class ResumoMensalServiceImpl implements ResumoMensalService {
+	
+	@Autowired
+	private final ResumoMensalRepository repository;
+	
+	public ResumoMensalServiceImpl( ResumoMensalRepository repository ) {
+		
+		this.repository = repository;
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public List< ResumoMensal > obterResumoAnual( Long idUsuario, Integer ano ) {
+		
+		return repository.obterPorUsuarioEAno( idUsuario, ano );
+	}
+	
+	@Override
+	@Transactional
+	public void registrarMovimento( MovimentoLancamento anterior, MovimentoLancamento atual ) {
+		
+		if ( anterior != null && atual != null
+		     && Objects.equals( ResumoMensalId.de( anterior ), ResumoMensalId.de( atual ) ) ) {
+			somar( ResumoMensalId.de( atual ), valorDe( atual ).subtract( valorDe( anterior ) ), 0L );
+			return;
+		}
+		
+		if ( anterior != null ) {
+			somar( ResumoMensalId.de( anterior ), valorDe( anterior ).negate(), -1L );
+		}
+		if ( atual != null ) {
+			somar( ResumoMensalId.de( atual ), valorDe( atual ), 1L );
+		}
+	}
+	
+	@Override
+	@Transactional
+	public void registrarInclusoes( List< MovimentoLancamento > movimentos ) {
+		
+		Map< ResumoMensalId, BigDecimal > valores = new HashMap<>();
+		Map< ResumoMensalId, Long > quantidades = new HashMap<>();
+		
+		for ( MovimentoLancamento movimento : movimentos ) {
+			ResumoMensalId id = ResumoMensalId.de( movimento );
+			valores.merge( id, valorDe( movimento ), BigDecimal::add );
+			quantidades.merge( id, 1L, Long::sum );
+		}
+		valores.forEach( ( id, valor ) -> somar( id, valor, quantidades.get( id ) ) );
+	}
+	
+	/**
+	 * Cada grupo sai da célula do seu status atual e entra, com o mesmo valor e quantidade, na célula do novo status.
+	 */
+	@Override
+	@Transactional
+	public void registrarMudancaDeStatus( List< GrupoLancamentos > grupos, StatusLancamento novoStatus ) {
+		
+		for ( GrupoLancamentos grupo : grupos ) {
+			somar( ResumoMensalId.de( grupo.comStatus( grupo.getStatus() ) ), grupo.getValor().negate(),
+			       -grupo.getQuantidade() );
+			somar( ResumoMensalId.de( grupo.comStatus( novoStatus ) ), grupo.getValor(), grupo.getQuantidade() );
+		}
+	}
+	
+	@Override
+	@Transactional
+	public void registrarExclusoes( List< GrupoLancamentos > grupos ) {
+		
+		for ( GrupoLancamentos grupo : grupos ) {
+			somar( ResumoMensalId.de( grupo.comStatus( grupo.getStatus() ) ), grupo.getValor().negate(),
+			       -grupo.getQuantidade() );
+		}
+	}
+	
+	@Override
+	@Transactional
+	public int reconstruirTodos() {
+		
+		repository.deleteAllInBatch();
+		return repository.inserirResumosCalculados();
+	}
+	
+	private void somar( ResumoMensalId id, BigDecimal valor, Long quantidade ) {
+		
+		if ( valor.signum() == 0 && quantidade == 0 ) {
+			return;
+		}
+		
+		int linhas = repository.somarAoResumo( id.getIdUsuario(), id.getAno(), id.getMes(), id.getTipo(),
+		                                       id.getStatus(), valor, quantidade );
+		
+		// Sem linha no resumo a célula é recalculada a partir dos lançamentos, que já refletem a alteração atual.
+		if ( linhas == 0 ) {
+			TotalLancamentos total = repository.totalizarLancamentos( id.getIdUsuario(), id.getAno(), id.getMes(),
+			                                                          id.getTipo(), id.getStatus() );
+			repository.save( new ResumoMensal( id, total.getValor(), total.getQuantidade() ) );
+		}
+	}
+	
+	private BigDecimal valorDe( MovimentoLancamento movimento ) {
+		
+		return movimento.getValor() == null ? BigDecimal.ZERO : movimento.getValor();
+	}
+	
+}
@@ -0,0 +1,164 @@
+package com.jael.minhasfinacas.service.impl;
+
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+import com.jael.minhasfinacas.model.repository.LancamentoRepository;
+import com.jael.minhasfinacas.model.repository.SaldoUsuarioRepository;
+import com.jael.minhasfinacas.service.SaldoUsuarioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService {
+	
+	@Autowired
+	private final SaldoUsuarioRepository repository;
+	
+	@Autowired
+	private final LancamentoRepository lancamentoRepository;
+	
+	public SaldoUsuarioServiceImpl( SaldoUsuarioRepository repository, LancamentoRepository lancamentoRepository ) {
+		
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+	}
+	
+	@Override
+	@Transactional( readOnly = true )
+	public BigDecimal obterSaldo( Long idUsuario ) {
+		
+		return repository.findById( idUsuario ).map( SaldoUsuario::getSaldo ).orElseGet( () -> calcular( idUsuario ) );
+	}
+	
+	/**
+	 * Sem linha na projeção o saldo é calculado na hora e devolvido sem versão.
+	 */
+	@Override
+	@Transactional( readOnly = true )
+	public SaldoUsuario obterSaldoComVersao( Long idUsuario ) {
+		
+		return repository.findById( idUsuario )
+		                 .orElseGet( () -> new SaldoUsuario( idUsuario, calcular( idUsuario ), null ) );
+	}
+	
+	@Override
+	@Transactional
+	public void registrarMovimento( MovimentoLancamento anterior, MovimentoLancamento atual ) {
+		
+		BigDecimal estorno = anterior == null ? BigDecimal.ZERO : anterior.getContribuicao().negate();
+		BigDecimal acrescimo = atual == null ? BigDecimal.ZERO : atual.getContribuicao();
+		
+		if ( anterior != null && atual != null && Objects.equals( anterior.getIdUsuario(), atual.getIdUsuario() ) ) {
+			somar( atual.getIdUsuario(), estorno.add( acrescimo ) );
+			return;
+		}
+		
+		if ( anterior != null ) {
+			somar( anterior.getIdUsuario(), estorno );
+		}
+		if ( atual != null ) {
+			somar( atual.getIdUsuario(), acrescimo );
+		}
+	}
+	
+	@Override
+	@Transactional
+	public void registrarInclusoes( List< MovimentoLancamento > movimentos ) {
+		
+		Map< Long, BigDecimal > acrescimos = new HashMap<>();
+		
+		for ( MovimentoLancamento movimento : movimentos ) {
+			acrescimos.merge( movimento.getIdUsuario(), movimento.getContribuicao(), BigDecimal::add );
+		}
+		acrescimos.forEach( this::somar );
+	}
+	
+	@Override
+	@Transactional
+	public void registrarMudancaDeStatus( List< GrupoLancamentos > grupos, StatusLancamento novoStatus ) {
+		
+		Map< Long, BigDecimal > diferencas = new HashMap<>();
+		
+		for ( GrupoLancamentos grupo : grupos ) {
+			BigDecimal diferenca = grupo.comStatus( novoStatus ).getContribuicao()
+			                            .subtract( grupo.comStatus( grupo.getStatus() ).getContribuicao() );
+			diferencas.merge( grupo.getIdUsuario(), diferenca, BigDecimal::add );
+		}
+		diferencas.forEach( this::somar );
+	}
+	
+	@Override
+	@Transactional
+	public void registrarExclusoes( List< GrupoLancamentos > grupos ) {
+		
+		Map< Long, BigDecimal > estornos = new HashMap<>();
+		
+		for ( GrupoLancamentos grupo : grupos ) {
+			estornos.merge( grupo.getIdUsuario(), grupo.comStatus( grupo.getStatus() ).getContribuicao().negate(),
+			                BigDecimal::add );
+		}
+		estornos.forEach( this::somar );
+	}
+	
+	@Override
+	@Transactional
+	public BigDecimal reconstruir( Long idUsuario ) {
+		
+		BigDecimal saldo = calcular( idUsuario );
+		long versao = repository.findById( idUsuario ).map( SaldoUsuario::getVersao ).orElse( 0L );
+		repository.save( new SaldoUsuario( idUsuario, saldo, versao + 1 ) );
+		return saldo;
+	}
+	
+	@Override
+	@Transactional
+	public int reconstruirTodos() {
+		
+		// Os saldos recriados ficam acima de qualquer versão anterior, para que nenhuma ETag antiga volte a valer.
+		long versao = repository.obterMaiorVersao() + 1;
+		repository.deleteAllInBatch();
+		return repository.inserirSaldosCalculados( versao );
+	}
+	
+	private void somar( Long idUsuario, BigDecimal valor ) {
+		
+		if ( valor.signum() == 0 ) {
+			return;
+		}
+		
+		// Sem linha na projeção o saldo é recalculado a partir dos lançamentos, que já refletem a alteração atual.
+		if ( repository.somarAoSaldo( idUsuario, valor ) == 0 ) {
+			reconstruir( idUsuario );
+		}
+	}
+	
+	private BigDecimal calcular( Long idUsuario ) {
+		
+		BigDecimal receitas = lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus( idUsuario,
+		                                                                                       TipoLancamento.RECEITA,
+		                                                                                       StatusLancamento.EFETIVADO );
+		BigDecimal despesas = lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus( idUsuario,
+		                                                                                       TipoLancamento.DESPESA,
+		                                                                                       StatusLancamento.EFETIVADO );
+		
+		if ( receitas == null ) {
+			receitas = BigDecimal.ZERO;
+		}
+		
+		if ( despesas == null ) {
+			despesas = BigDecimal.ZERO;
+		}
+		return receitas.subtract( despesas );
+	}
+	
+}
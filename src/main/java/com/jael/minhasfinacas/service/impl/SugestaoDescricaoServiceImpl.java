@@ -0,0 +1,185 @@
+package com.jael.minhasfinacas.service.impl;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.repository.LancamentoRepository;
+import com.jael.minhasfinacas.service.SugestaoDescricaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Mantém em memória um {@link IndiceDescricoes} por usuário, carregado na primeira sugestão pedida e descartado pelo
+ * usuário menos recentemente consultado quando o limite de índices é atingido.
+ * <p>
+ * Um índice só é guardado se nenhuma alteração do usuário ficou em aberto ou foi encerrada durante a sua carga; do
+ * contrário ele serve apenas à sugestão que o carregou, e a próxima sugestão lê o banco de novo.
+ */
+@Service
+public class SugestaoDescricaoServiceImpl implements SugestaoDescricaoService {
+	
+	@Autowired
+	private final LancamentoRepository lancamentoRepository;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	@Value( "${minhasfinancas.sugestoes.limite:10}" )
+	private int limitePadrao;
+	
+	@Value( "${minhasfinancas.sugestoes.limite-maximo:50}" )
+	private int limiteMaximo;
+	
+	@Value( "${minhasfinancas.sugestoes.usuarios-em-memoria:1000}" )
+	private int usuariosEmMemoria;
+	
+	/**
+	 * Quantidade de faixas em que os usuários são agrupados para contar as alterações; usuários da mesma faixa apenas
+	 * deixam de guardar um índice carregado junto com a alteração do outro.
+	 */
+	private static final int FAIXAS = 64;
+	
+	/** Alterações registradas em transações ainda abertas, por faixa de usuários. Protegido por {@link #indices}. */
+	private final int[] pendentes = new int[ FAIXAS ];
+	
+	/** Alterações já encerradas, por faixa de usuários. Protegido por {@link #indices}. */
+	private final long[] geracoes = new long[ FAIXAS ];
+	
+	private final Map< Long, IndiceDescricoes > indices = new LinkedHashMap<>( 16, 0.75f, true ) {
+		
+		@Override
+		protected boolean removeEldestEntry( Map.Entry< Long, IndiceDescricoes > maisAntigo ) {
+			
+			return size() > usuariosEmMemoria;
+		}
+	};
+	
+	public SugestaoDescricaoServiceImpl( LancamentoRepository lancamentoRepository,
+	                                     PlatformTransactionManager transactionManager ) {
+		
+		this.lancamentoRepository = lancamentoRepository;
+		// Transação de escrita: o índice fica guardado, e a réplica pode ainda não ter os lançamentos recém-gravados.
+		this.transactionTemplate = new TransactionTemplate( transactionManager );
+	}
+	
+	@Override
+	public List< String > sugerir( Long idUsuario, String prefixo, Integer limite ) {
+		
+		int limiteSugestoes = limite == null ? limitePadrao : limite;
+		
+		if ( limiteSugestoes < 1 || limiteSugestoes > limiteMaximo ) {
+			throw new RegraNegocioException( "Informe um limite entre 1 e " + limiteMaximo + "." );
+		}
+		
+		int faixa = faixa( idUsuario );
+		IndiceDescricoes indice;
+		long geracao;
+		synchronized ( indices ) {
+			indice = indices.get( idUsuario );
+			geracao = geracoes[ faixa ];
+		}
+		
+		if ( indice == null ) {
+			// A carga acontece fora do bloqueio para não segurar as consultas dos demais usuários.
+			IndiceDescricoes carregado = new IndiceDescricoes( transactionTemplate.execute(
+					status -> lancamentoRepository.contarDescricoesPorUsuario( idUsuario ) ) );
+			synchronized ( indices ) {
+				if ( pendentes[ faixa ] == 0 && geracoes[ faixa ] == geracao ) {
+					indice = indices.computeIfAbsent( idUsuario, id -> carregado );
+				} else {
+					indice = carregado;
+				}
+			}
+		}
+		return indice.sugerir( prefixo == null ? "" : prefixo, limiteSugestoes );
+	}
+	
+	@Override
+	public void registrarInclusao( Long idUsuario, String descricao ) {
+		
+		aposConfirmar( idUsuario, indice -> indice.adicionar( descricao ) );
+	}
+	
+	@Override
+	public void registrarExclusao( Long idUsuario, String descricao ) {
+		
+		aposConfirmar( idUsuario, indice -> indice.remover( descricao ) );
+	}
+	
+	@Override
+	public void descartar( Long idUsuario ) {
+		
+		executarAposConfirmar( idUsuario, () -> {
+			synchronized ( indices ) {
+				indices.remove( idUsuario );
+			}
+		} );
+	}
+	
+	/**
+	 * Aplica a alteração somente ao índice já carregado; um índice ainda não carregado lerá a alteração do banco.
+	 */
+	private void aposConfirmar( Long idUsuario, Consumer< IndiceDescricoes > alteracao ) {
+		
+		executarAposConfirmar( idUsuario, () -> {
+			IndiceDescricoes indice;
+			synchronized ( indices ) {
+				indice = indices.get( idUsuario );
+			}
+			if ( indice != null ) {
+				alteracao.accept( indice );
+			}
+		} );
+	}
+	
+	/**
+	 * Executa a ação após o commit e só então encerra a alteração, para que uma carga concorrente que já enxergue o
+	 * commit encontre a ação aplicada e uma carga anterior a ele não seja guardada.
+	 */
+	private void executarAposConfirmar( Long idUsuario, Runnable acao ) {
+		
+		int faixa = faixa( idUsuario );
+		
+		if ( !TransactionSynchronizationManager.isSynchronizationActive() ) {
+			acao.run();
+			synchronized ( indices ) {
+				geracoes[ faixa ]++;
+			}
+			return;
+		}
+		
+		synchronized ( indices ) {
+			pendentes[ faixa ]++;
+		}
+		TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization() {
+			
+			@Override
+			public void afterCommit() {
+				
+				acao.run();
+			}
+			
+			@Override
+			public void afterCompletion( int status ) {
+				
+				synchronized ( indices ) {
+					pendentes[ faixa ]--;
+					geracoes[ faixa ]++;
+				}
+			}
+		} );
+	}
+	
+	private static int faixa( Long idUsuario ) {
+		
+		return Math.floorMod( idUsuario.hashCode(), FAIXAS );
+	}
+	
+}
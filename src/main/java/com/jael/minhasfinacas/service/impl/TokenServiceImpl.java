@@ -0,0 +1,108 @@
+package com.jael.minhasfinacas.service.impl;
+
+import com.jael.minhasfinacas.exception.ErroAutenticacao;
+import com.jael.minhasfinacas.service.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Tokens no formato {@code idUsuario.expiraEm.assinatura}, em que {@code expiraEm} é o instante de expiração em
+ * segundos e a assinatura é o HMAC-SHA256 dos dois primeiros campos com {@code minhasfinancas.token.segredo}. A
+ * validação só recalcula a assinatura e confere a expiração, sem consultar o banco.
+ */
+@Slf4j
+@Service
+public class TokenServiceImpl implements TokenService {
+	
+	private static final String ALGORITMO = "HmacSHA256";
+	
+	private final Mac prototipo;
+	
+	private final Duration validade;
+	
+	public TokenServiceImpl( @Value( "${minhasfinancas.token.segredo:}" ) String segredo,
+	                         @Value( "${minhasfinancas.token.validade:PT8H}" ) Duration validade ) {
+		
+		byte[] chave = segredo.getBytes( StandardCharsets.UTF_8 );
+		
+		if ( chave.length == 0 ) {
+			// Sem segredo configurado os tokens deixam de valer a cada reinício e entre instâncias diferentes.
+			log.warn( "minhasfinancas.token.segredo não configurado; usando um segredo aleatório." );
+			chave = new byte[ 32 ];
+			new SecureRandom().nextBytes( chave );
+		}
+		
+		try {
+			prototipo = Mac.getInstance( ALGORITMO );
+			prototipo.init( new SecretKeySpec( chave, ALGORITMO ) );
+		} catch ( GeneralSecurityException e ) {
+			throw new IllegalStateException( "Não foi possível iniciar a assinatura dos tokens.", e );
+		}
+		this.validade = validade;
+	}
+	
+	@Override
+	public String gerar( Long idUsuario ) {
+		
+		String conteudo = idUsuario + "." + Instant.now().plus( validade ).getEpochSecond();
+		return conteudo + "." + Base64.getUrlEncoder().withoutPadding().encodeToString( assinar( conteudo ) );
+	}
+	
+	@Override
+	public Long validar( String token ) {
+		
+		int fimConteudo = token == null ? -1 : token.lastIndexOf( '.' );
+		int fimId = fimConteudo < 0 ? -1 : token.lastIndexOf( '.', fimConteudo - 1 );
+		
+		if ( fimId < 1 ) {
+			throw new ErroAutenticacao( "Token de acesso inválido." );
+		}
+		
+		byte[] assinatura;
+		try {
+			assinatura = Base64.getUrlDecoder().decode( token.substring( fimConteudo + 1 ) );
+		} catch ( IllegalArgumentException e ) {
+			throw new ErroAutenticacao( "Token de acesso inválido." );
+		}
+		
+		if ( !MessageDigest.isEqual( assinar( token.substring( 0, fimConteudo ) ), assinatura ) ) {
+			throw new ErroAutenticacao( "Token de acesso inválido." );
+		}
+		
+		// Com a assinatura conferida os campos foram gerados por este serviço e estão bem formados.
+		long expiraEm = Long.parseLong( token.substring( fimId + 1, fimConteudo ) );
+		if ( Instant.now().getEpochSecond() >= expiraEm ) {
+			throw new ErroAutenticacao( "Token de acesso expirado." );
+		}
+		return Long.valueOf( token.substring( 0, fimId ) );
+	}
+	
+	@Override
+	public Duration getValidade() {
+		
+		return validade;
+	}
+	
+	private byte[] assinar( String conteudo ) {
+		
+		try {
+			// Mac não é thread-safe; cada assinatura usa uma cópia já iniciada com a chave.
+			Mac mac = ( Mac ) prototipo.clone();
+			return mac.doFinal( conteudo.getBytes( StandardCharsets.UTF_8 ) );
+		} catch ( CloneNotSupportedException e ) {
+			throw new IllegalStateException( e );
+		}
+	}
+	
+}
@@ -1,27 +1,43 @@
 package com.jael.minhasfinacas.service.impl;
 
+import com.jael.minhasfinacas.config.CacheConfig;
+import com.jael.minhasfinacas.config.MetricasConfig;
 import com.jael.minhasfinacas.exception.ErroAutenticacao;
 import com.jael.minhasfinacas.exception.RegraNegocioException;
 import com.jael.minhasfinacas.model.entity.Usuario;
 import com.jael.minhasfinacas.model.repository.UsuarioRepository;
 import com.jael.minhasfinacas.service.UsuarioService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Objects;
 import java.util.Optional;
 
 @Service
+@Timed( MetricasConfig.SERVICO )
 public class UsuarioServiceImpl implements UsuarioService {
 	
 	@Autowired
 	private final UsuarioRepository repository;
 	
-	public UsuarioServiceImpl( UsuarioRepository repository ) {
+	@Autowired
+	private final PasswordEncoder passwordEncoder;
+	
+	public UsuarioServiceImpl( UsuarioRepository repository, PasswordEncoder passwordEncoder ) {
 		this.repository = repository;
+		this.passwordEncoder = passwordEncoder;
 	}
 	
+	/**
+	 * Confere a senha contra o hash gravado; o custo do hash é intencional, por isso deve ser chamado fora das threads
+	 * que atendem as requisições.
+	 */
 	@Override
 	public Usuario autenticar( String email, String senha ) {
 		Optional< Usuario > usuario = repository.findByEmail( email );
@@ -30,7 +46,7 @@ public class UsuarioServiceImpl implements UsuarioService {
 			throw new ErroAutenticacao( "Usuário não encontrado para o email informado." );
 		}
 		
-		if ( !Objects.equals( usuario.get().getSenha(), senha ) ) {
+		if ( senha == null || !passwordEncoder.matches( senha, usuario.get().getSenha() ) ) {
 			throw new ErroAutenticacao( "Senha inválida." );
 		}
 		
@@ -39,12 +55,20 @@ public class UsuarioServiceImpl implements UsuarioService {
 	
 	@Override
 	@Transactional
+	@Caching( put = @CachePut( cacheNames = CacheConfig.USUARIOS, key = "#result.id" ),
+	          evict = @CacheEvict( cacheNames = CacheConfig.USUARIOS_POR_EMAIL, key = "#usuario.email" ) )
 	public Usuario salvarUsuario( Usuario usuario ) {
 		validarEmail( usuario.getEmail() );
+		
+		if ( usuario.getSenha() != null ) {
+			usuario.setSenha( passwordEncoder.encode( usuario.getSenha() ) );
+		}
 		return repository.save( usuario );
 	}
 	
 	@Override
+	@Transactional( readOnly = true )
+	@Cacheable( cacheNames = CacheConfig.USUARIOS )
 	public Optional< Usuario > obterPorId( Long id ) {
 		Optional< Usuario > usuario = repository.findById( id );
 		
@@ -0,0 +1,6 @@
+-- O Hibernate reserva ids de lançamento em blocos de 50 (allocationSize) para inserir em lote; a sequência precisa
+-- avançar no mesmo passo. Sem o DEFAULT nenhum INSERT fora da aplicação consome ids de um bloco já reservado.
+
+ALTER SEQUENCE financas.lancamento_id_seq INCREMENT BY 50;
+
+ALTER TABLE financas.lancamento ALTER COLUMN id DROP DEFAULT;
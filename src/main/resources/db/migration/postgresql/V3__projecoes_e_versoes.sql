@@ -0,0 +1,36 @@
+-- Projeções de saldo e de resumo mensal mantidas pelas escritas de lançamentos, e as versões expostas como ETag.
+-- As projeções já nascem preenchidas a partir dos lançamentos existentes.
+
+ALTER TABLE financas.lancamento ADD COLUMN IF NOT EXISTS versao bigint NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS financas.saldo_usuario
+(
+    id_usuario bigint         NOT NULL PRIMARY KEY REFERENCES financas.usuario ( id ),
+    saldo      numeric(16, 2) NOT NULL,
+    versao     bigint         NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS financas.resumo_mensal
+(
+    id_usuario bigint                NOT NULL REFERENCES financas.usuario ( id ),
+    ano        integer               NOT NULL,
+    mes        integer               NOT NULL,
+    tipo       character varying(20) NOT NULL,
+    status     character varying(20) NOT NULL,
+    valor      numeric(16, 2)        NOT NULL,
+    quantidade bigint                NOT NULL,
+    PRIMARY KEY ( id_usuario, ano, mes, tipo, status )
+);
+
+INSERT INTO financas.saldo_usuario ( id_usuario, saldo )
+SELECT u.id, COALESCE( SUM( CASE WHEN l.tipo = 'RECEITA' THEN l.valor WHEN l.tipo = 'DESPESA' THEN -l.valor END ), 0 )
+FROM financas.usuario u
+         LEFT JOIN financas.lancamento l ON l.id_usuario = u.id AND l.status = 'EFETIVADO'
+GROUP BY u.id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO financas.resumo_mensal ( id_usuario, ano, mes, tipo, status, valor, quantidade )
+SELECT l.id_usuario, l.ano, l.mes, l.tipo, l.status, SUM( l.valor ), COUNT( * )
+FROM financas.lancamento l
+GROUP BY l.id_usuario, l.ano, l.mes, l.tipo, l.status
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,15 @@
+-- Índices das consultas dos repositórios. Todas as consultas de lançamentos começam pelo usuário:
+--  * (id_usuario, ano, mes, id) atende os filtros por período, a paginação por cursor em (ano, mes, id) e os
+--    totais do resumo mensal;
+--  * (id_usuario, status, tipo) INCLUDE (valor) calcula o saldo efetivado só com o índice.
+-- O e-mail único sustenta findByEmail/existsByEmail e impede cadastros duplicados; e-mails já repetidos precisam
+-- ser corrigidos antes desta migração.
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_ano_mes_id
+    ON financas.lancamento ( id_usuario, ano, mes, id );
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_status_tipo
+    ON financas.lancamento ( id_usuario, status, tipo ) INCLUDE ( valor );
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_usuario_email
+    ON financas.usuario ( email );
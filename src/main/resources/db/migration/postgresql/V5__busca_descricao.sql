@@ -0,0 +1,15 @@
+-- Índice de trigramas para a pesquisa de lançamentos por descrição, sem diferenciar acentos nem maiúsculas.
+-- unaccent não é IMMUTABLE e por isso não pode ser usada diretamente na expressão de um índice. As extensões ficam
+-- em public, fora do search_path que o Flyway usa para as migrações, e por isso são referenciadas com o esquema.
+
+CREATE EXTENSION IF NOT EXISTS unaccent SCHEMA public;
+CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA public;
+
+CREATE OR REPLACE FUNCTION financas.normalizar_descricao( texto text )
+    RETURNS text
+    LANGUAGE sql
+    IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT lower( public.unaccent( 'public.unaccent'::regdictionary, texto ) ) $$;
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_descricao_trgm
+    ON financas.lancamento USING gin ( financas.normalizar_descricao( descricao ) public.gin_trgm_ops );
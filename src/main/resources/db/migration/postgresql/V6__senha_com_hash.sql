@@ -0,0 +1,11 @@
+-- As senhas passam a ser gravadas com bcrypt ($2a$, 60 caracteres), gerado pela aplicação com BCryptPasswordEncoder.
+-- As senhas já cadastradas em texto puro são convertidas aqui pelo crypt do pgcrypto, que produz o mesmo formato.
+
+CREATE EXTENSION IF NOT EXISTS pgcrypto SCHEMA public;
+
+ALTER TABLE financas.usuario ALTER COLUMN senha TYPE varchar(100);
+
+UPDATE financas.usuario
+   SET senha = public.crypt( senha, public.gen_salt( 'bf', 10 ) )
+ WHERE senha IS NOT NULL
+   AND senha NOT LIKE '$2_$%';
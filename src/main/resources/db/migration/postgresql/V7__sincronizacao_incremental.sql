@@ -0,0 +1,19 @@
+-- Sincronização incremental dos lançamentos: cada escrita avança a sequência do usuário e a grava nos lançamentos
+-- alterados; exclusões e transferências deixam um registro em lancamento_excluido. Os dois índices começam pelo
+-- usuário e pela sequência, de modo que buscar as alterações desde uma marca lê apenas o que mudou depois dela.
+-- Os lançamentos existentes ficam com a sequência zero e são entregues na primeira sincronização completa.
+
+ALTER TABLE financas.usuario ADD COLUMN IF NOT EXISTS sequencia_alteracao bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE financas.lancamento ADD COLUMN IF NOT EXISTS sequencia_alteracao bigint NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_sequencia
+    ON financas.lancamento ( id_usuario, sequencia_alteracao );
+
+CREATE TABLE IF NOT EXISTS financas.lancamento_excluido
+(
+    id_usuario          bigint NOT NULL REFERENCES financas.usuario ( id ),
+    sequencia_alteracao bigint NOT NULL,
+    id_lancamento       bigint NOT NULL,
+    PRIMARY KEY ( id_usuario, sequencia_alteracao, id_lancamento )
+);
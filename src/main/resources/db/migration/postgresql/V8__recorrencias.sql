@@ -0,0 +1,28 @@
+-- Lançamentos recorrentes e parcelados. Cada ocorrência gerada guarda a recorrência e o número da parcela; o índice
+-- único impede que uma geração repetida ou concorrente grave a mesma parcela duas vezes. O ano entra no índice
+-- porque a tabela pode estar particionada por ano, e a parcela já determina o ano.
+
+CREATE TABLE IF NOT EXISTS financas.recorrencia
+(
+    id               bigserial              NOT NULL PRIMARY KEY,
+    descricao        character varying(100) NOT NULL,
+    valor            numeric(16, 2)         NOT NULL,
+    tipo             character varying(20) CHECK ( tipo IN ( 'RECEITA', 'DESPESA' ) ) NOT NULL,
+    mes              integer                NOT NULL,
+    ano              integer                NOT NULL,
+    parcelas         integer CHECK ( parcelas > 0 ),
+    parcelas_geradas integer                NOT NULL DEFAULT 0,
+    ativa            boolean                NOT NULL DEFAULT true,
+    id_usuario       bigint REFERENCES financas.usuario ( id ) NOT NULL,
+    data_cadastro    date DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_recorrencia_usuario_id
+    ON financas.recorrencia ( id_usuario, id );
+
+ALTER TABLE financas.lancamento ADD COLUMN IF NOT EXISTS id_recorrencia bigint REFERENCES financas.recorrencia ( id );
+
+ALTER TABLE financas.lancamento ADD COLUMN IF NOT EXISTS parcela integer;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_lancamento_recorrencia_parcela
+    ON financas.lancamento ( id_recorrencia, parcela, ano );
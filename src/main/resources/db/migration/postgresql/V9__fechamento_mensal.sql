@@ -0,0 +1,13 @@
+-- Fechamento mensal: o saldo dos lançamentos efetivados de cada usuário ao fim de cada mês encerrado. O saldo de um
+-- mês passado é o fechamento mais próximo até ele mais o resumo mensal dos meses seguintes, em vez da soma de todo o
+-- histórico. A tabela começa vazia; os meses já encerrados podem ser fechados de uma vez iniciando a aplicação com
+-- --minhasfinancas.fechamento.reconstruir=true, e até lá as consultas somam o resumo mensal desde o início.
+
+CREATE TABLE IF NOT EXISTS financas.fechamento_mensal
+(
+    id_usuario bigint         NOT NULL REFERENCES financas.usuario ( id ),
+    ano        integer        NOT NULL,
+    mes        integer        NOT NULL,
+    saldo      numeric(16, 2) NOT NULL,
+    PRIMARY KEY ( id_usuario, ano, mes )
+);
@@ -0,0 +1,89 @@
+-- Particionamento declarativo de financas.lancamento por ano, opcional: é aplicado quando
+-- classpath:db/particionamento/{vendor} é incluído em spring.flyway.locations e pode ser habilitado a qualquer
+-- momento, pois converte a tabela existente. Cria uma partição por ano com lançamentos, as do ano corrente e do
+-- seguinte e uma partição padrão para os demais; consultas filtradas por ano leem apenas a partição do ano.
+--
+-- A chave primária passa a ser (id, ano), como o PostgreSQL exige; os ids continuam únicos por virem da sequência.
+-- Partições de anos futuros são criadas com financas.criar_particao_lancamento(ano), que também move para elas os
+-- lançamentos que já estiverem na partição padrão.
+
+CREATE OR REPLACE FUNCTION financas.criar_particao_lancamento( p_ano integer )
+    RETURNS void
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    particao text := 'lancamento_' || p_ano;
+BEGIN
+    IF to_regclass( 'financas.' || particao ) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    EXECUTE format( 'CREATE TABLE financas.%I ( LIKE financas.lancamento INCLUDING DEFAULTS INCLUDING CONSTRAINTS )',
+                    particao );
+    EXECUTE format( 'WITH movidos AS ( DELETE FROM financas.lancamento_padrao WHERE ano = %s RETURNING * )'
+                    ' INSERT INTO financas.%I SELECT * FROM movidos', p_ano, particao );
+    EXECUTE format( 'ALTER TABLE financas.lancamento ATTACH PARTITION financas.%I FOR VALUES FROM ( %s ) TO ( %s )',
+                    particao, p_ano, p_ano + 1 );
+END
+$$;
+
+DO $$
+DECLARE
+    v_ano integer;
+BEGIN
+    IF EXISTS ( SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'financas.lancamento'::regclass ) THEN
+        RETURN;
+    END IF;
+
+    -- A sequência pertence à coluna da tabela antiga e seria removida junto com ela.
+    ALTER SEQUENCE financas.lancamento_id_seq OWNED BY NONE;
+
+    CREATE TABLE financas.lancamento_particionado
+    (
+        id            bigint                 NOT NULL,
+        descricao     character varying(100) NOT NULL,
+        mes           integer                NOT NULL,
+        ano           integer                NOT NULL,
+        valor         numeric(16, 2)         NOT NULL,
+        tipo          character varying(20) CHECK ( tipo IN ( 'RECEITA', 'DESPESA' ) ) NOT NULL,
+        status        character varying(20) CHECK ( status IN ( 'PENDENTE', 'CANCELADO', 'EFETIVADO' ) ) NOT NULL,
+        id_usuario    bigint REFERENCES financas.usuario ( id ) NOT NULL,
+        data_cadastro date DEFAULT now(),
+        versao        bigint                 NOT NULL DEFAULT 0,
+        sequencia_alteracao bigint           NOT NULL DEFAULT 0,
+        id_recorrencia bigint REFERENCES financas.recorrencia ( id ),
+        parcela       integer,
+        PRIMARY KEY ( id, ano )
+    ) PARTITION BY RANGE ( ano );
+
+    CREATE TABLE financas.lancamento_padrao PARTITION OF financas.lancamento_particionado DEFAULT;
+
+    FOR v_ano IN SELECT DISTINCT ano FROM financas.lancamento
+                 UNION
+                 SELECT generate_series( extract( YEAR FROM current_date )::integer,
+                                         extract( YEAR FROM current_date )::integer + 1 )
+        LOOP
+            EXECUTE format( 'CREATE TABLE financas.%I PARTITION OF financas.lancamento_particionado'
+                            ' FOR VALUES FROM ( %s ) TO ( %s )', 'lancamento_' || v_ano, v_ano, v_ano + 1 );
+        END LOOP;
+
+    INSERT INTO financas.lancamento_particionado ( id, descricao, mes, ano, valor, tipo, status, id_usuario,
+                                                   data_cadastro, versao, sequencia_alteracao, id_recorrencia,
+                                                   parcela )
+    SELECT id, descricao, mes, ano, valor, tipo, status, id_usuario, data_cadastro, versao, sequencia_alteracao,
+           id_recorrencia, parcela
+    FROM financas.lancamento;
+
+    DROP TABLE financas.lancamento;
+    ALTER TABLE financas.lancamento_particionado RENAME TO lancamento;
+    ALTER SEQUENCE financas.lancamento_id_seq OWNED BY financas.lancamento.id;
+
+    -- Os índices criados na tabela particionada são replicados em cada partição, inclusive nas criadas depois.
+    CREATE INDEX idx_lancamento_usuario_ano_mes_id ON financas.lancamento ( id_usuario, ano, mes, id );
+    CREATE INDEX idx_lancamento_usuario_status_tipo ON financas.lancamento ( id_usuario, status, tipo ) INCLUDE ( valor );
+    CREATE INDEX idx_lancamento_usuario_sequencia ON financas.lancamento ( id_usuario, sequencia_alteracao );
+    CREATE UNIQUE INDEX uk_lancamento_recorrencia_parcela ON financas.lancamento ( id_recorrencia, parcela, ano );
+    CREATE INDEX idx_lancamento_descricao_trgm
+        ON financas.lancamento USING gin ( financas.normalizar_descricao( descricao ) public.gin_trgm_ops );
+END
+$$;
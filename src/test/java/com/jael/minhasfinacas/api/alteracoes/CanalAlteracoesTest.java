@@ -0,0 +1,199 @@
+package com.jael.minhasfinacas.api.alteracoes;
+
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
+import com.jael.minhasfinacas.service.SaldoUsuarioService;
+import com.jael.minhasfinacas.service.evento.AlteracaoLancamento;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CanalAlteracoesTest {
+	
+	SaldoUsuarioService saldoUsuarioService;
+	
+	CanalAlteracoes canal;
+	
+	@Before
+	public void setUp() {
+		
+		saldoUsuarioService = mock( SaldoUsuarioService.class );
+		when( saldoUsuarioService.obterSaldoComVersao( anyLong() ) ).thenAnswer(
+				invocacao -> new SaldoUsuario( invocacao.getArgument( 0 ), BigDecimal.TEN, 3L ) );
+		canal = new CanalAlteracoes( saldoUsuarioService, mock( PlatformTransactionManager.class ), 2, 1, 8,
+		                             Duration.ofMinutes( 1 ), Duration.ofMinutes( 1 ) );
+	}
+	
+	@After
+	public void tearDown() {
+		
+		canal.encerrar();
+	}
+	
+	@Test
+	public void deveEnviarAAlteracaoEOSaldoSomenteAosAssinantesDoUsuario() throws Exception {
+		//CENÁRIO
+		EmissorGravado doUsuario = new EmissorGravado();
+		EmissorGravado deOutroUsuario = new EmissorGravado();
+		canal.assinar( 1L, doUsuario );
+		canal.assinar( 2L, deOutroUsuario );
+		aguardar( () -> doUsuario.eventos.size() == 1 && deOutroUsuario.eventos.size() == 1 );
+		
+		//AÇÃO
+		canal.publicar( AlteracaoLancamento.excluido( 1L, 10L ) );
+		
+		//VERIFICAÇÃO
+		aguardar( () -> doUsuario.eventos.size() == 3 );
+		assertThat( doUsuario.eventos.get( 0 ) ).startsWith( "event:saldo" ).contains( "idUsuario=1" );
+		assertThat( doUsuario.eventos.get( 1 ) ).startsWith( "event:lancamento" ).contains( "tipo=EXCLUIDO", "id=10" );
+		assertThat( doUsuario.eventos.get( 2 ) ).startsWith( "event:saldo" ).contains( "versao=3" );
+		assertThat( deOutroUsuario.eventos ).hasSize( 1 );
+	}
+	
+	@Test
+	public void deveDesconectarOAssinanteQueNaoAcompanhaOsEventos() throws Exception {
+		//CENÁRIO
+		EmissorGravado lento = new EmissorGravado();
+		lento.liberacao = new CountDownLatch( 1 );
+		canal.assinar( 1L, lento );
+		aguardar( () -> lento.bloqueado );
+		
+		//AÇÃO
+		for ( long id = 1; id <= 4; id++ ) {
+			canal.publicar( AlteracaoLancamento.excluido( 1L, id ) );
+		}
+		lento.liberacao.countDown();
+		aguardar( () -> lento.encerrado );
+		canal.publicar( AlteracaoLancamento.excluido( 1L, 5L ) );
+		
+		//VERIFICAÇÃO
+		assertThat( lento.eventos ).hasSize( 1 );
+		assertThat( lento.eventos.get( 0 ) ).startsWith( "event:saldo" );
+	}
+	
+	@Test
+	public void deveDesconectarOAssinanteComEnvioBloqueadoSemAtrasarOsDemais() throws Exception {
+		//CENÁRIO
+		canal.encerrar();
+		canal = new CanalAlteracoes( saldoUsuarioService, mock( PlatformTransactionManager.class ), 2, 1, 8,
+		                             Duration.ofMinutes( 1 ), Duration.ofMillis( 200 ) );
+		EmissorGravado lento = new EmissorGravado();
+		lento.liberacao = new CountDownLatch( 1 );
+		EmissorGravado outro = new EmissorGravado();
+		canal.assinar( 1L, lento );
+		aguardar( () -> lento.bloqueado );
+		canal.assinar( 2L, outro );
+		aguardar( () -> outro.eventos.size() == 1 );
+		
+		//AÇÃO
+		canal.publicar( AlteracaoLancamento.excluido( 2L, 10L ) );
+		aguardar( () -> outro.eventos.size() == 3 );
+		Thread.sleep( 400 );
+		canal.publicar( AlteracaoLancamento.excluido( 1L, 11L ) );
+		lento.liberacao.countDown();
+		aguardar( () -> lento.encerrado );
+		
+		//VERIFICAÇÃO
+		assertThat( outro.eventos.get( 1 ) ).startsWith( "event:lancamento" ).contains( "id=10" );
+		assertThat( lento.eventos ).hasSize( 1 );
+		assertThat( lento.eventos.get( 0 ) ).startsWith( "event:saldo" );
+	}
+	
+	@Test
+	public void deveDesconectarQuemPrecisaDeThreadQuandoTodasEstaoPresasEmEnvios() throws Exception {
+		//CENÁRIO
+		canal.encerrar();
+		canal = new CanalAlteracoes( saldoUsuarioService, mock( PlatformTransactionManager.class ), 2, 1, 3,
+		                             Duration.ofMinutes( 1 ), Duration.ofMinutes( 1 ) );
+		EmissorGravado lento = new EmissorGravado();
+		lento.liberacao = new CountDownLatch( 1 );
+		EmissorGravado outroLento = new EmissorGravado();
+		outroLento.liberacao = lento.liberacao;
+		EmissorGravado semThread = new EmissorGravado();
+		canal.assinar( 1L, lento );
+		aguardar( () -> lento.bloqueado );
+		canal.assinar( 2L, outroLento );
+		aguardar( () -> outroLento.bloqueado );
+		
+		//AÇÃO
+		canal.assinar( 3L, semThread );
+		aguardar( () -> semThread.encerrado );
+		lento.liberacao.countDown();
+		aguardar( () -> lento.eventos.size() == 1 && outroLento.eventos.size() == 1 );
+		// Dá tempo para as threads liberadas voltarem a aguardar tarefas no pool.
+		Thread.sleep( 200 );
+		EmissorGravado depois = new EmissorGravado();
+		canal.assinar( 4L, depois );
+		aguardar( () -> depois.eventos.size() == 1 );
+		
+		//VERIFICAÇÃO
+		assertThat( semThread.eventos ).isEmpty();
+		assertThat( depois.eventos.get( 0 ) ).startsWith( "event:saldo" );
+		assertThat( depois.encerrado ).isFalse();
+	}
+	
+	private static void aguardar( BooleanSupplier condicao ) throws InterruptedException {
+		
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos( 5 );
+		while ( !condicao.getAsBoolean() ) {
+			assertThat( System.nanoTime() ).as( "tempo de espera esgotado" ).isLessThan( limite );
+			Thread.sleep( 10 );
+		}
+	}
+	
+	/**
+	 * Guarda o texto de cada evento em vez de escrevê-lo em uma resposta; com {@code liberacao} o envio fica bloqueado
+	 * como o de um cliente que não lê a conexão.
+	 */
+	static class EmissorGravado extends SseEmitter {
+		
+		final List< String > eventos = new CopyOnWriteArrayList<>();
+		
+		volatile CountDownLatch liberacao;
+		
+		volatile boolean bloqueado;
+		
+		volatile boolean encerrado;
+		
+		@Override
+		public void send( SseEventBuilder evento ) throws IOException {
+			
+			if ( liberacao != null ) {
+				try {
+					bloqueado = true;
+					liberacao.await();
+				} catch ( InterruptedException e ) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			eventos.add( evento.build()
+			                   .stream()
+			                   .map( dado -> String.valueOf( dado.getData() ) )
+			                   .collect( Collectors.joining() ) );
+		}
+		
+		@Override
+		public synchronized void complete() {
+			
+			encerrado = true;
+		}
+	
+	}
+	
+}
@@ -0,0 +1,100 @@
+package com.jael.minhasfinacas.api.autenticacao;
+
+import com.jael.minhasfinacas.service.TokenService;
+import com.jael.minhasfinacas.service.impl.TokenServiceImpl;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FiltroAutenticacaoTest {
+	
+	TokenService tokenService = new TokenServiceImpl( "segredo", Duration.ofHours( 1 ) );
+	
+	FiltroAutenticacao filtro = new FiltroAutenticacao( tokenService );
+	
+	@Test
+	public void deveExporOUsuarioDoTokenParaOsEndpoints() throws Exception {
+		//CENÁRIO
+		MockHttpServletRequest request = new MockHttpServletRequest( "GET", "/api/lancamentos" );
+		request.addHeader( HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.gerar( 7L ) );
+		MockFilterChain chain = new MockFilterChain();
+		
+		//AÇÃO
+		filtro.doFilter( request, new MockHttpServletResponse(), chain );
+		
+		//VERIFICAÇÃO
+		assertThat( chain.getRequest() ).isNotNull();
+		assertThat( request.getAttribute( FiltroAutenticacao.USUARIO ) ).isEqualTo( 7L );
+	}
+	
+	@Test
+	public void deveAceitarOTokenNoParametroSomenteParaServerSentEvents() throws Exception {
+		//CENÁRIO
+		String token = tokenService.gerar( 7L );
+		MockHttpServletRequest eventos = new MockHttpServletRequest( "GET", "/api/lancamentos/alteracoes" );
+		eventos.addHeader( HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE );
+		eventos.setParameter( FiltroAutenticacao.PARAMETRO_TOKEN, token );
+		MockHttpServletRequest listagem = new MockHttpServletRequest( "GET", "/api/lancamentos" );
+		listagem.setParameter( FiltroAutenticacao.PARAMETRO_TOKEN, token );
+		MockHttpServletResponse respostaListagem = new MockHttpServletResponse();
+		
+		//AÇÃO
+		filtro.doFilter( eventos, new MockHttpServletResponse(), new MockFilterChain() );
+		filtro.doFilter( listagem, respostaListagem, new MockFilterChain() );
+		
+		//VERIFICAÇÃO
+		assertThat( eventos.getAttribute( FiltroAutenticacao.USUARIO ) ).isEqualTo( 7L );
+		assertThat( respostaListagem.getStatus() ).isEqualTo( 401 );
+	}
+	
+	@Test
+	public void deveDeixarAbertosApenasOCadastroEAAutenticacao() throws Exception {
+		//CENÁRIO
+		MockFilterChain cadastro = new MockFilterChain();
+		MockFilterChain autenticacao = new MockFilterChain();
+		MockHttpServletResponse respostaSaldo = new MockHttpServletResponse();
+		
+		//AÇÃO
+		filtro.doFilter( new MockHttpServletRequest( "POST", "/api/usuarios" ), new MockHttpServletResponse(),
+		                 cadastro );
+		filtro.doFilter( new MockHttpServletRequest( "POST", "/api/usuarios/autenticar" ),
+		                 new MockHttpServletResponse(), autenticacao );
+		filtro.doFilter( new MockHttpServletRequest( "GET", "/api/usuarios/7/saldo" ), respostaSaldo,
+		                 new MockFilterChain() );
+		
+		//VERIFICAÇÃO
+		assertThat( cadastro.getRequest() ).isNotNull();
+		assertThat( autenticacao.getRequest() ).isNotNull();
+		assertThat( respostaSaldo.getStatus() ).isEqualTo( 401 );
+	}
+	
+	@Test
+	public void deveResponderNaoAutorizadoSemUmTokenValido() throws Exception {
+		//CENÁRIO
+		MockHttpServletRequest semToken = new MockHttpServletRequest( "GET", "/api/lancamentos" );
+		MockHttpServletRequest tokenInvalido = new MockHttpServletRequest( "GET", "/api/lancamentos" );
+		tokenInvalido.addHeader( HttpHeaders.AUTHORIZATION, "Bearer 7.1.abc" );
+		MockHttpServletResponse respostaSemToken = new MockHttpServletResponse();
+		MockHttpServletResponse respostaTokenInvalido = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		
+		//AÇÃO
+		filtro.doFilter( semToken, respostaSemToken, chain );
+		filtro.doFilter( tokenInvalido, respostaTokenInvalido, chain );
+		
+		//VERIFICAÇÃO
+		assertThat( chain.getRequest() ).isNull();
+		assertThat( respostaSemToken.getStatus() ).isEqualTo( 401 );
+		assertThat( respostaSemToken.getHeader( HttpHeaders.WWW_AUTHENTICATE ) ).isEqualTo( "Bearer" );
+		assertThat( respostaTokenInvalido.getStatus() ).isEqualTo( 401 );
+		assertThat( respostaTokenInvalido.getContentAsString() ).isEqualTo( "Token de acesso inválido." );
+	}
+	
+}
@@ -0,0 +1,181 @@
+package com.jael.minhasfinacas.api.importacao;
+
+import com.jael.minhasfinacas.api.dto.ResultadoImportacaoDTO;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.service.LancamentoService;
+import com.jael.minhasfinacas.service.UsuarioServiceTest;
+import com.jael.minhasfinacas.service.impl.LancamentoServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ImportadorLancamentosTest {
+	
+	LancamentoService lancamentoService;
+	
+	ImportadorLancamentos importador;
+	
+	List< Lancamento > gravados;
+	
+	@Before
+	public void setUp() {
+		
+		lancamentoService = mock( LancamentoService.class );
+		LancamentoServiceImpl validador = new LancamentoServiceImpl( null, null, null, null, null, null, null, null );
+		doAnswer( invocacao -> {
+			validador.validar( invocacao.getArgument( 0 ) );
+			return null;
+		} ).when( lancamentoService ).validar( any() );
+		
+		gravados = new ArrayList<>();
+		doAnswer( invocacao -> gravados.addAll( invocacao.getArgument( 0 ) ) ).when( lancamentoService )
+		                                                                       .salvarLote( anyList() );
+		
+		importador = new ImportadorLancamentos( lancamentoService, 2 );
+	}
+	
+	@Test
+	public void deveImportarUmCsvEmLotesReportandoAsLinhasInvalidas() throws IOException {
+		//CENÁRIO
+		String csv = "data;descrição;valor\n"
+		             + "15/07/2022;Salário;\"5.000,00\"\n"
+		             + "16/07/2022;Padaria;-12,50\n"
+		             + "17/07/2022;;10,00\n"
+		             + "18/07/2022;Mercado;abc\n"
+		             + "19/07/2022;Farmácia;-30,00\n";
+		
+		//AÇÃO
+		ResultadoImportacaoDTO resultado = importador.importar( UsuarioServiceTest.criarUsuario(),
+		                                                        FormatoImportacao.CSV, entrada( csv ) );
+		
+		//VERIFICAÇÃO
+		assertThat( resultado.getImportados() ).isEqualTo( 3 );
+		assertThat( resultado.getTotalErros() ).isEqualTo( 2 );
+		assertThat( resultado.getErros() ).extracting( "registro" ).containsExactly( 4, 5 );
+		verify( lancamentoService, times( 2 ) ).salvarLote( anyList() );
+		
+		Lancamento padaria = gravados.get( 1 );
+		assertThat( padaria.getTipo() ).isEqualTo( TipoLancamento.DESPESA );
+		assertThat( padaria.getValor() ).isEqualByComparingTo( "12.50" );
+		assertThat( padaria.getMes() ).isEqualTo( 7 );
+		assertThat( padaria.getAno() ).isEqualTo( 2022 );
+		assertThat( padaria.getStatus() ).isEqualTo( StatusLancamento.EFETIVADO );
+		assertThat( gravados.get( 0 ).getValor() ).isEqualByComparingTo( "5000" );
+	}
+	
+	@Test
+	public void deveImportarOCsvGeradoPelaExportacao() throws IOException {
+		//CENÁRIO
+		String csv = "id,descricao,mes,ano,valor,tipo,status,data_cadastro\n"
+		             + "1,\"Aluguel, \"\"centro\"\"\",3,2022,1500.00,DESPESA,PENDENTE,\n";
+		
+		//AÇÃO
+		ResultadoImportacaoDTO resultado = importador.importar( UsuarioServiceTest.criarUsuario(),
+		                                                        FormatoImportacao.CSV, entrada( csv ) );
+		
+		//VERIFICAÇÃO
+		assertThat( resultado.getImportados() ).isEqualTo( 1 );
+		assertThat( gravados.get( 0 ).getDescricao() ).isEqualTo( "Aluguel, \"centro\"" );
+		assertThat( gravados.get( 0 ).getStatus() ).isEqualTo( StatusLancamento.PENDENTE );
+		assertThat( gravados.get( 0 ).getMes() ).isEqualTo( 3 );
+	}
+	
+	@Test
+	public void deveImportarAsTransacoesDeUmOfx() throws IOException {
+		//CENÁRIO
+		String ofx = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n"
+		             + "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20220715120000[-3:BRT]\n<TRNAMT>-50.00\n"
+		             + "<MEMO>Padaria\n</STMTTRN>\n"
+		             + "<STMTTRN><TRNTYPE>CREDIT</TRNTYPE><DTPOSTED>20220801</DTPOSTED><TRNAMT>100.00</TRNAMT>"
+		             + "<NAME>Pix recebido</NAME></STMTTRN>\n"
+		             + "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+		
+		//AÇÃO
+		ResultadoImportacaoDTO resultado = importador.importar( UsuarioServiceTest.criarUsuario(),
+		                                                        FormatoImportacao.OFX, entrada( ofx ) );
+		
+		//VERIFICAÇÃO
+		assertThat( resultado.getImportados() ).isEqualTo( 2 );
+		assertThat( resultado.getTotalErros() ).isZero();
+		assertThat( gravados ).extracting( Lancamento::getDescricao ).containsExactly( "Padaria", "Pix recebido" );
+		assertThat( gravados ).extracting( Lancamento::getTipo )
+		                      .containsExactly( TipoLancamento.DESPESA, TipoLancamento.RECEITA );
+		assertThat( gravados ).extracting( Lancamento::getMes ).containsExactly( 7, 8 );
+		assertThat( gravados.get( 0 ).getValor() ).isEqualByComparingTo( BigDecimal.valueOf( 50 ) );
+	}
+	
+	@Test
+	public void deveResolverOUsuarioUmaUnicaVezParaTodoOArquivo() throws IOException {
+		//CENÁRIO
+		Usuario usuario = UsuarioServiceTest.criarUsuario();
+		String csv = "descricao,valor,mes,ano\nA,1,1,2022\nB,2,2,2022\nC,3,3,2022\n";
+		
+		//AÇÃO
+		importador.importar( usuario, FormatoImportacao.CSV, entrada( csv ) );
+		
+		//VERIFICAÇÃO
+		verify( lancamentoService, times( 2 ) ).salvarLote( anyList() );
+		assertThat( gravados ).hasSize( 3 );
+		assertThat( gravados ).allMatch( lancamento -> lancamento.getUsuario() == usuario );
+	}
+	
+	@Test
+	public void deveReportarNaPropriaLinhaADescricaoMaiorQueAColuna() throws IOException {
+		//CENÁRIO
+		String csv = "descricao,valor,mes,ano\nA,1,1,2022\n" + "x".repeat( Lancamento.TAMANHO_DESCRICAO + 1 )
+		             + ",2,1,2022\n";
+		
+		//AÇÃO
+		ResultadoImportacaoDTO resultado = importador.importar( UsuarioServiceTest.criarUsuario(),
+		                                                        FormatoImportacao.CSV, entrada( csv ) );
+		
+		//VERIFICAÇÃO
+		assertThat( resultado.getImportados() ).isEqualTo( 1 );
+		assertThat( resultado.getErros() ).extracting( "registro" ).containsExactly( 3 );
+		assertThat( resultado.getErros() ).extracting( "mensagem" )
+		                                  .containsExactly( "Informe uma Descrição de até 100 caracteres." );
+	}
+	
+	@Test
+	public void deveRegravarUmAUmOLoteRecusadoReportandoApenasORegistroRecusado() throws IOException {
+		//CENÁRIO
+		doAnswer( invocacao -> {
+			List< Lancamento > lote = invocacao.getArgument( 0 );
+			if ( lote.stream().anyMatch( lancamento -> lancamento.getDescricao().equals( "Recusado" ) ) ) {
+				throw new DataIntegrityViolationException( "recusado" );
+			}
+			return gravados.addAll( lote );
+		} ).when( lancamentoService ).salvarLote( anyList() );
+		String csv = "descricao,valor,mes,ano\nA,1,1,2022\nRecusado,2,1,2022\nB,3,1,2022\n";
+		
+		//AÇÃO
+		ResultadoImportacaoDTO resultado = importador.importar( UsuarioServiceTest.criarUsuario(),
+		                                                        FormatoImportacao.CSV, entrada( csv ) );
+		
+		//VERIFICAÇÃO
+		assertThat( resultado.getImportados() ).isEqualTo( 2 );
+		assertThat( resultado.getTotalErros() ).isEqualTo( 1 );
+		assertThat( resultado.getErros() ).extracting( "registro" ).containsExactly( 3 );
+		assertThat( gravados ).extracting( Lancamento::getDescricao ).containsExactly( "A", "B" );
+	}
+	
+	private InputStream entrada( String conteudo ) {
+		
+		return new ByteArrayInputStream( conteudo.getBytes( StandardCharsets.UTF_8 ) );
+	}
+	
+}
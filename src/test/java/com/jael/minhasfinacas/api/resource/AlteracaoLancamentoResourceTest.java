@@ -0,0 +1,161 @@
+package com.jael.minhasfinacas.api.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.jael.minhasfinacas.api.autenticacao.FiltroAutenticacao;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.repository.LancamentoRepositoryTest;
+import com.jael.minhasfinacas.model.repository.UsuarioRepository;
+import com.jael.minhasfinacas.service.LancamentoService;
+import com.jael.minhasfinacas.service.TokenService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith( SpringRunner.class )
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles( "test" )
+public class AlteracaoLancamentoResourceTest {
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	TokenService tokenService;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	LancamentoService lancamentoService;
+	
+	@Autowired
+	TransactionTemplate transactionTemplate;
+	
+	@Test
+	public void deveEnviarAsAlteracoesConfirmadasEOSaldoAoAssinante() throws Exception {
+		//CENÁRIO
+		Usuario usuario = usuarioRepository.save( Usuario.builder()
+		                                                 .nome( "assinante" )
+		                                                 .email( "assinante@email.com" )
+		                                                 .senha( "senha" )
+		                                                 .build() );
+		MockHttpServletResponse resposta = mvc.perform( get( "/api/lancamentos/alteracoes" )
+				                                                .accept( MediaType.TEXT_EVENT_STREAM )
+				                                                .param( FiltroAutenticacao.PARAMETRO_TOKEN,
+				                                                        tokenService.gerar( usuario.getId() ) ) )
+		                                      .andReturn()
+		                                      .getResponse();
+		
+		//AÇÃO
+		transactionTemplate.executeWithoutResult( status -> {
+			lancamentoService.salvar( lancamento( usuario, "desfeito" ) );
+			status.setRollbackOnly();
+		} );
+		lancamentoService.salvar( lancamento( usuario, "confirmado" ) );
+		
+		//VERIFICAÇÃO
+		String eventos = aguardarConteudo( resposta, "\"saldo\":400" );
+		assertThat( resposta.getContentType() ).startsWith( MediaType.TEXT_EVENT_STREAM_VALUE );
+		assertThat( eventos ).contains( "event:lancamento", "\"tipo\":\"CRIADO\"", "\"descricao\":\"confirmado\"" );
+		assertThat( eventos ).contains( "\"saldo\":400" );
+		assertThat( eventos ).doesNotContain( "desfeito" );
+		assertThat( eventos.indexOf( "event:lancamento" ) ).isLessThan( eventos.lastIndexOf( "event:saldo" ) );
+	}
+	
+	@Test
+	public void deveDevolverApenasOQueMudouDesdeAMarcaDoCliente() throws Exception {
+		//CENÁRIO
+		Usuario usuario = usuarioRepository.save( Usuario.builder()
+		                                                 .nome( "offline" )
+		                                                 .email( "offline@email.com" )
+		                                                 .senha( "senha" )
+		                                                 .build() );
+		String autorizacao = "Bearer " + tokenService.gerar( usuario.getId() );
+		Lancamento mantido = lancamentoService.salvar( lancamento( usuario, "mantido" ) );
+		Lancamento excluido = lancamentoService.salvar( lancamento( usuario, "excluido" ) );
+		Long marca = usuarioRepository.obterSequenciaAlteracao( usuario.getId() ).orElseThrow();
+		
+		//AÇÃO
+		lancamentoService.deletarPorId( excluido.getId(), usuario.getId() );
+		Lancamento novo = lancamentoService.salvar( lancamento( usuario, "novo" ) );
+		String resposta = mvc.perform( get( "/api/lancamentos/alteracoes" )
+				                               .param( "desde", marca.toString() )
+				                               .header( HttpHeaders.AUTHORIZATION, autorizacao ) )
+		                     .andExpect( status().isOk() )
+		                     .andReturn()
+		                     .getResponse()
+		                     .getContentAsString();
+		
+		//VERIFICAÇÃO
+		assertThat( resposta ).contains( "\"descricao\":\"novo\"", "\"excluidos\":[" + excluido.getId() + "]",
+		                                 "\"ate\":" + ( marca + 2 ), "\"completa\":false" );
+		assertThat( resposta ).doesNotContain( "mantido" );
+		assertThat( novo.getSequenciaAlteracao() ).isEqualTo( marca + 2 );
+		assertThat( mantido.getSequenciaAlteracao() ).isLessThan( marca );
+	}
+	
+	@Test
+	public void deveResponderAsAlteracoesEmCborConformeOAccept() throws Exception {
+		//CENÁRIO
+		Usuario usuario = usuarioRepository.save( Usuario.builder()
+		                                                 .nome( "binario" )
+		                                                 .email( "binario@email.com" )
+		                                                 .senha( "senha" )
+		                                                 .build() );
+		lancamentoService.salvar( lancamento( usuario, "compacto" ) );
+		
+		//AÇÃO
+		MockHttpServletResponse cbor = mvc.perform( get( "/api/lancamentos/alteracoes" )
+				                                            .param( "desde", "0" )
+				                                            .accept( MediaType.APPLICATION_CBOR )
+				                                            .header( HttpHeaders.AUTHORIZATION,
+				                                                     "Bearer " + tokenService.gerar( usuario.getId() ) ) )
+		                                  .andExpect( status().isOk() )
+		                                  .andReturn()
+		                                  .getResponse();
+		
+		//VERIFICAÇÃO
+		assertThat( cbor.getContentType() ).startsWith( MediaType.APPLICATION_CBOR_VALUE );
+		JsonNode alteracoes = new ObjectMapper( new CBORFactory() ).readTree( cbor.getContentAsByteArray() );
+		assertThat( alteracoes.get( "alterados" ).get( 0 ).get( "descricao" ).asText() ).isEqualTo( "compacto" );
+	}
+	
+	private static Lancamento lancamento( Usuario usuario, String descricao ) {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario( usuario );
+		lancamento.setDescricao( descricao );
+		lancamento.setStatus( StatusLancamento.EFETIVADO );
+		return lancamento;
+	}
+	
+	private static String aguardarConteudo( MockHttpServletResponse resposta, String esperado ) throws Exception {
+		
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos( 5 );
+		while ( !resposta.getContentAsString().contains( esperado ) && System.nanoTime() < limite ) {
+			Thread.sleep( 10 );
+		}
+		return resposta.getContentAsString();
+	}
+	
+}
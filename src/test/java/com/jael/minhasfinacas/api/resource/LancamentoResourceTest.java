@@ -0,0 +1,210 @@
+package com.jael.minhasfinacas.api.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jael.minhasfinacas.config.WebConfig;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.repository.LancamentoRepository;
+import com.jael.minhasfinacas.model.repository.LancamentoRepositoryTest;
+import com.jael.minhasfinacas.model.repository.UsuarioRepository;
+import com.jael.minhasfinacas.service.LancamentoService;
+import com.jael.minhasfinacas.service.TokenService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith( SpringRunner.class )
+@SpringBootTest( webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT )
+@AutoConfigureMockMvc
+@ActiveProfiles( "test" )
+public class LancamentoResourceTest {
+	
+	static final String API = "/api/lancamentos";
+	
+	@LocalServerPort
+	int porta;
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	TokenService tokenService;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	LancamentoService lancamentoService;
+	
+	@Test
+	public void naoDeveExporNemAlterarOLancamentoDeOutroUsuario() throws Exception {
+		//CENÁRIO
+		Usuario dono = usuario( "dono" );
+		Usuario intruso = usuario( "intruso" );
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario( dono );
+		lancamento = lancamentoService.salvar( lancamento );
+		String autorizacao = "Bearer " + tokenService.gerar( intruso.getId() );
+		String url = API + "/" + lancamento.getId();
+		String json = "{\"descricao\":\"tomado\",\"mes\":7,\"ano\":2022,\"valor\":1,\"tipo\":\"RECEITA\"," +
+		              "\"status\":\"EFETIVADO\"}";
+		String novoStatus = "{\"status\":\"CANCELADO\"}";
+		
+		//AÇÃO / VERIFICAÇÃO
+		mvc.perform( get( url ).header( HttpHeaders.AUTHORIZATION, autorizacao ) )
+		   .andExpect( status().isNotFound() );
+		mvc.perform( put( url ).header( HttpHeaders.AUTHORIZATION, autorizacao )
+		                       .contentType( MediaType.APPLICATION_JSON )
+		                       .content( json ) )
+		   .andExpect( status().isNotFound() );
+		mvc.perform( put( url ).header( HttpHeaders.AUTHORIZATION, autorizacao )
+		                       .header( HttpHeaders.IF_MATCH, "\"" + lancamento.getVersao() + "\"" )
+		                       .contentType( MediaType.APPLICATION_JSON )
+		                       .content( json ) )
+		   .andExpect( status().isNotFound() );
+		mvc.perform( put( url + "/atualizar-status" ).header( HttpHeaders.AUTHORIZATION, autorizacao )
+		                                             .contentType( MediaType.APPLICATION_JSON )
+		                                             .content( novoStatus ) )
+		   .andExpect( status().isNotFound() );
+		mvc.perform( put( url + "/atualizar-status" ).header( HttpHeaders.AUTHORIZATION, autorizacao )
+		                                             .header( HttpHeaders.IF_MATCH,
+		                                                      "\"" + lancamento.getVersao() + "\"" )
+		                                             .contentType( MediaType.APPLICATION_JSON )
+		                                             .content( novoStatus ) )
+		   .andExpect( status().isNotFound() );
+		mvc.perform( delete( url ).header( HttpHeaders.AUTHORIZATION, autorizacao ) )
+		   .andExpect( status().isNotFound() );
+		
+		Lancamento gravado = lancamentoService.obterPorId( lancamento.getId(), dono.getId() ).orElseThrow();
+		assertThat( gravado.getDescricao() ).isEqualTo( lancamento.getDescricao() );
+		assertThat( gravado.getStatus() ).isEqualTo( lancamento.getStatus() );
+		assertThat( gravado.getVersao() ).isEqualTo( lancamento.getVersao() );
+		assertThat( lancamentoRepository.obterItemPorId( lancamento.getId(), dono.getId() ) ).isPresent();
+	}
+	
+	@Test
+	public void deveAtualizarEDeletarOProprioLancamento() throws Exception {
+		//CENÁRIO
+		Usuario dono = usuario( "proprio" );
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario( dono );
+		lancamento = lancamentoService.salvar( lancamento );
+		String autorizacao = "Bearer " + tokenService.gerar( dono.getId() );
+		String url = API + "/" + lancamento.getId();
+		
+		//AÇÃO / VERIFICAÇÃO
+		mvc.perform( put( url + "/atualizar-status" ).header( HttpHeaders.AUTHORIZATION, autorizacao )
+		                                             .header( HttpHeaders.IF_MATCH,
+		                                                      "\"" + lancamento.getVersao() + "\"" )
+		                                             .contentType( MediaType.APPLICATION_JSON )
+		                                             .content( "{\"status\":\"EFETIVADO\"}" ) )
+		   .andExpect( status().isNoContent() );
+		mvc.perform( delete( url ).header( HttpHeaders.AUTHORIZATION, autorizacao ) )
+		   .andExpect( status().isNoContent() );
+		mvc.perform( get( url ).header( HttpHeaders.AUTHORIZATION, autorizacao ) )
+		   .andExpect( status().isNotFound() );
+	}
+	
+	@Test
+	public void deveResponderEmSmileConformeOAccept() throws Exception {
+		//CENÁRIO
+		Usuario usuario = usuario( "binario" );
+		lancamentoService.salvar( lancamento( usuario, "compacto" ) );
+		
+		//AÇÃO
+		MockHttpServletResponse smile = mvc.perform( get( API ).accept( WebConfig.SMILE )
+		                                                       .header( HttpHeaders.AUTHORIZATION,
+		                                                                "Bearer " + tokenService.gerar( usuario.getId() ) ) )
+		                                   .andExpect( status().isOk() )
+		                                   .andReturn()
+		                                   .getResponse();
+		
+		//VERIFICAÇÃO
+		assertThat( smile.getContentType() ).startsWith( WebConfig.SMILE );
+		JsonNode lista = new ObjectMapper( new SmileFactory() ).readTree( smile.getContentAsByteArray() );
+		assertThat( lista.get( 0 ).get( "descricao" ).asText() ).isEqualTo( "compacto" );
+		assertThat( lista.get( 0 ).get( "usuario" ).asLong() ).isEqualTo( usuario.getId() );
+	}
+	
+	@Test
+	public void deveComprimirApenasAsRespostasAcimaDoTamanhoMinimo() throws Exception {
+		//CENÁRIO
+		Usuario pequeno = usuario( "pequeno" );
+		lancamentoService.salvar( lancamento( pequeno, "unico" ) );
+		Usuario grande = usuario( "grande" );
+		for ( int i = 0; i < 50; i++ ) {
+			lancamentoService.salvar( lancamento( grande, "lancamento " + i ) );
+		}
+		
+		//AÇÃO
+		HttpResponse< byte[] > semCompressao = buscarComGzip( pequeno );
+		HttpResponse< byte[] > comCompressao = buscarComGzip( grande );
+		
+		//VERIFICAÇÃO
+		assertThat( semCompressao.statusCode() ).isEqualTo( 200 );
+		assertThat( semCompressao.body().length ).isLessThan( 2048 );
+		assertThat( semCompressao.headers().firstValue( HttpHeaders.CONTENT_ENCODING ) ).isEmpty();
+		
+		assertThat( comCompressao.statusCode() ).isEqualTo( 200 );
+		assertThat( comCompressao.headers().firstValue( HttpHeaders.CONTENT_ENCODING ) ).contains( "gzip" );
+		byte[] json = new GZIPInputStream( new ByteArrayInputStream( comCompressao.body() ) ).readAllBytes();
+		assertThat( json.length ).isGreaterThan( 2048 );
+		assertThat( new ObjectMapper().readTree( json ) ).hasSize( 50 );
+	}
+	
+	private HttpResponse< byte[] > buscarComGzip( Usuario usuario ) throws Exception {
+		
+		HttpRequest requisicao = HttpRequest.newBuilder( URI.create( "http://localhost:" + porta + API ) )
+		                                    .header( HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE )
+		                                    .header( HttpHeaders.ACCEPT_ENCODING, "gzip" )
+		                                    .header( HttpHeaders.AUTHORIZATION,
+		                                             "Bearer " + tokenService.gerar( usuario.getId() ) )
+		                                    .build();
+		return HttpClient.newHttpClient().send( requisicao, HttpResponse.BodyHandlers.ofByteArray() );
+	}
+	
+	private static Lancamento lancamento( Usuario usuario, String descricao ) {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario( usuario );
+		lancamento.setDescricao( descricao );
+		return lancamento;
+	}
+	
+	private Usuario usuario( String nome ) {
+		
+		return usuarioRepository.save( Usuario.builder()
+		                                      .nome( nome )
+		                                      .email( nome + "@email.com" )
+		                                      .senha( "senha" )
+		                                      .build() );
+	}
+	
+}
@@ -2,11 +2,23 @@ package com.jael.minhasfinacas.api.resource;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jael.minhasfinacas.api.dto.UsuarioDTO;
+import com.jael.minhasfinacas.config.AutenticacaoConfig;
+import com.jael.minhasfinacas.config.SenhaConfig;
 import com.jael.minhasfinacas.exception.ErroAutenticacao;
 import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.entity.ResumoMensal;
+import com.jael.minhasfinacas.model.entity.ResumoMensalId;
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
 import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.service.FechamentoMensalService;
 import com.jael.minhasfinacas.service.LancamentoService;
+import com.jael.minhasfinacas.service.ResumoMensalService;
+import com.jael.minhasfinacas.service.SaldoUsuarioService;
+import com.jael.minhasfinacas.service.TokenService;
 import com.jael.minhasfinacas.service.UsuarioService;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -14,24 +26,35 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
 @RunWith( SpringRunner.class )
 @ActiveProfiles( "test" )
 @WebMvcTest( controllers = UsuarioResource.class )
 @AutoConfigureMockMvc
+@Import( { SenhaConfig.class, AutenticacaoConfig.class } )
 public class UsuarioResourceTest {
 	
 	static final String API = "/api/usuarios";
 	
 	static final MediaType JSON = MediaType.APPLICATION_JSON;
 	
+	static final String AUTORIZACAO = "Bearer token";
+	
 	@Autowired
 	MockMvc mvc;
 	
@@ -41,12 +64,32 @@ public class UsuarioResourceTest {
 	@MockBean
 	LancamentoService lancamentoService;
 	
+	@MockBean
+	SaldoUsuarioService saldoUsuarioService;
+	
+	@MockBean
+	ResumoMensalService resumoMensalService;
+	
+	@MockBean
+	FechamentoMensalService fechamentoMensalService;
+	
+	@MockBean
+	TokenService tokenService;
+	
+	@Before
+	public void setUp() {
+		
+		Mockito.when( tokenService.validar( "token" ) ).thenReturn( 1L );
+	}
+	
 	@Test
 	public void deveAutenticarUmUsuarioComSucesso() throws Exception {
 		//CENÁRIO
 		UsuarioDTO dto = criarUsuarioDTO();
 		Usuario usuario = criarUsuario();
 		Mockito.when( service.autenticar( usuario.getEmail(), usuario.getSenha() ) ).thenReturn( usuario );
+		Mockito.when( tokenService.gerar( usuario.getId() ) ).thenReturn( "token" );
+		Mockito.when( tokenService.getValidade() ).thenReturn( Duration.ofHours( 8 ) );
 		String json = new ObjectMapper().writeValueAsString( dto );
 		
 		//EXECUÇÃO E VERIFICAÇÃO
@@ -54,11 +97,14 @@ public class UsuarioResourceTest {
 		                                                              .accept( JSON )
 		                                                              .contentType( JSON )
 		                                                              .content( json );
-		mvc.perform( request )
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch( iniciar( request ) ) )
 		   .andExpect( MockMvcResultMatchers.status().isOk() )
 		   .andExpect( MockMvcResultMatchers.jsonPath( "id" ).value( usuario.getId() ) )
 		   .andExpect( MockMvcResultMatchers.jsonPath( "nome" ).value( usuario.getNome() ) )
-		   .andExpect( MockMvcResultMatchers.jsonPath( "email" ).value( usuario.getEmail() ) );
+		   .andExpect( MockMvcResultMatchers.jsonPath( "email" ).value( usuario.getEmail() ) )
+		   .andExpect( MockMvcResultMatchers.jsonPath( "token" ).value( "token" ) )
+		   .andExpect( MockMvcResultMatchers.jsonPath( "expiraEmSegundos" ).value( 28800 ) )
+		   .andExpect( MockMvcResultMatchers.jsonPath( "senha" ).doesNotExist() );
 	}
 	
 	@Test
@@ -74,7 +120,8 @@ public class UsuarioResourceTest {
 		                                                              .contentType( JSON )
 		                                                              .content( json );
 		
-		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch( iniciar( request ) ) )
+		   .andExpect( MockMvcResultMatchers.status().isBadRequest() );
 	}
 	
 	@Test
@@ -90,7 +137,7 @@ public class UsuarioResourceTest {
 		                                                              .accept( JSON )
 		                                                              .contentType( JSON )
 		                                                              .content( json );
-		mvc.perform( request )
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch( iniciar( request ) ) )
 		   .andExpect( MockMvcResultMatchers.status().isCreated() )
 		   .andExpect( MockMvcResultMatchers.jsonPath( "id" ).value( usuario.getId() ) )
 		   .andExpect( MockMvcResultMatchers.jsonPath( "nome" ).value( usuario.getNome() ) )
@@ -110,8 +157,112 @@ public class UsuarioResourceTest {
 		                                                              .accept( JSON )
 		                                                              .contentType( JSON )
 		                                                              .content( json );
-		mvc.perform( request ).andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		mvc.perform( MockMvcRequestBuilders.asyncDispatch( iniciar( request ) ) )
+		   .andExpect( MockMvcResultMatchers.status().isBadRequest() );
 	}
+	
+	@Test
+	public void deveObterOResumoAnualComTodosOsMeses() throws Exception {
+		//CENÁRIO
+		Usuario usuario = criarUsuario();
+		ResumoMensal resumo = new ResumoMensal( new ResumoMensalId( 1L, 2022, 3, TipoLancamento.RECEITA,
+		                                                            StatusLancamento.EFETIVADO ),
+		                                        BigDecimal.valueOf( 400 ), 2L );
+		Mockito.when( service.obterPorId( 1L ) ).thenReturn( Optional.of( usuario ) );
+		Mockito.when( resumoMensalService.obterResumoAnual( 1L, 2022 ) ).thenReturn( List.of( resumo ) );
+		
+		//EXECUÇÃO E VERIFICAÇÃO
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get( API.concat( "/1/resumo?ano=2022" ) )
+		                                                              .header( HttpHeaders.AUTHORIZATION, AUTORIZACAO )
+		                                                              .accept( JSON );
+		mvc.perform( request )
+		   .andExpect( MockMvcResultMatchers.status().isOk() )
+		   .andExpect( MockMvcResultMatchers.jsonPath( "ano" ).value( 2022 ) )
+		   .andExpect( MockMvcResultMatchers.jsonPath( "meses.length()" ).value( 12 ) )
+		   .andExpect( MockMvcResultMatchers.jsonPath( "meses[2].totais.RECEITA.EFETIVADO.valor" ).value( 400 ) )
+		   .andExpect( MockMvcResultMatchers.jsonPath( "meses[2].totais.RECEITA.EFETIVADO.quantidade" ).value( 2 ) )
+		   .andExpect( MockMvcResultMatchers.jsonPath( "meses[0].totais.DESPESA.PENDENTE.quantidade" ).value( 0 ) );
+	}
+	
+	@Test
+	public void deveResponderNaoModificadoQuandoOSaldoNaoMudou() throws Exception {
+		//CENÁRIO
+		Mockito.when( service.obterPorId( 1L ) ).thenReturn( Optional.of( criarUsuario() ) );
+		Mockito.when( saldoUsuarioService.obterSaldoComVersao( 1L ) ).thenReturn(
+				new SaldoUsuario( 1L, BigDecimal.TEN, 3L ) );
+		
+		//EXECUÇÃO E VERIFICAÇÃO
+		mvc.perform( MockMvcRequestBuilders.get( API.concat( "/1/saldo" ) )
+		                                   .header( HttpHeaders.AUTHORIZATION, AUTORIZACAO )
+		                                   .accept( JSON ) )
+		   .andExpect( MockMvcResultMatchers.status().isOk() )
+		   .andExpect( MockMvcResultMatchers.header().string( HttpHeaders.ETAG, "\"3\"" ) );
+		
+		mvc.perform( MockMvcRequestBuilders.get( API.concat( "/1/saldo" ) )
+		                                   .header( HttpHeaders.AUTHORIZATION, AUTORIZACAO )
+		                                   .accept( JSON )
+		                                   .header( HttpHeaders.IF_NONE_MATCH, "\"3\"" ) )
+		   .andExpect( MockMvcResultMatchers.status().isNotModified() )
+		   .andExpect( MockMvcResultMatchers.content().string( "" ) );
+	}
+	
+	@Test
+	public void deveObterOSaldoAoFimDeUmMesPeloFechamento() throws Exception {
+		//CENÁRIO
+		Mockito.when( service.obterPorId( 1L ) ).thenReturn( Optional.of( criarUsuario() ) );
+		Mockito.when( fechamentoMensalService.obterSaldoAoFimDe( 1L, 2022, 3 ) ).thenReturn( BigDecimal.valueOf( 150 ) );
+		Mockito.when( fechamentoMensalService.obterSaldoAoFimDe( 1L, 2022, 13 ) )
+		       .thenThrow( new RegraNegocioException( "Informe um Mês entre 1 e 12." ) );
+		
+		//EXECUÇÃO E VERIFICAÇÃO
+		mvc.perform( MockMvcRequestBuilders.get( API.concat( "/1/saldo?ano=2022&mes=3" ) )
+		                                   .header( HttpHeaders.AUTHORIZATION, AUTORIZACAO )
+		                                   .accept( JSON ) )
+		   .andExpect( MockMvcResultMatchers.status().isOk() )
+		   .andExpect( MockMvcResultMatchers.header().doesNotExist( HttpHeaders.ETAG ) )
+		   .andExpect( MockMvcResultMatchers.content().string( "150" ) );
+		
+		mvc.perform( MockMvcRequestBuilders.get( API.concat( "/1/saldo?ano=2022&mes=13" ) )
+		                                   .header( HttpHeaders.AUTHORIZATION, AUTORIZACAO )
+		                                   .accept( JSON ) )
+		   .andExpect( MockMvcResultMatchers.status().isBadRequest() );
+		Mockito.verify( saldoUsuarioService, Mockito.never() ).obterSaldoComVersao( 1L );
+	}
+	
+	@Test
+	public void deveExigirOTokenDoProprioUsuarioParaSaldoEResumo() throws Exception {
+		//CENÁRIO
+		Mockito.when( service.obterPorId( 2L ) ).thenReturn( Optional.of( criarUsuario() ) );
+		
+		//EXECUÇÃO E VERIFICAÇÃO
+		mvc.perform( MockMvcRequestBuilders.get( API.concat( "/1/saldo" ) ).accept( JSON ) )
+		   .andExpect( MockMvcResultMatchers.status().isUnauthorized() );
+		mvc.perform( MockMvcRequestBuilders.get( API.concat( "/2/saldo" ) )
+		                                   .header( HttpHeaders.AUTHORIZATION, AUTORIZACAO )
+		                                   .accept( JSON ) )
+		   .andExpect( MockMvcResultMatchers.status().isForbidden() );
+		mvc.perform( MockMvcRequestBuilders.get( API.concat( "/2/saldo?ano=2022&mes=3" ) )
+		                                   .header( HttpHeaders.AUTHORIZATION, AUTORIZACAO )
+		                                   .accept( JSON ) )
+		   .andExpect( MockMvcResultMatchers.status().isForbidden() );
+		mvc.perform( MockMvcRequestBuilders.get( API.concat( "/2/resumo?ano=2022" ) )
+		                                   .header( HttpHeaders.AUTHORIZATION, AUTORIZACAO )
+		                                   .accept( JSON ) )
+		   .andExpect( MockMvcResultMatchers.status().isForbidden() );
+		mvc.perform( MockMvcRequestBuilders.post( API.concat( "/2/saldo/reconstruir" ) )
+		                                   .header( HttpHeaders.AUTHORIZATION, AUTORIZACAO ) )
+		   .andExpect( MockMvcResultMatchers.status().isForbidden() );
+		Mockito.verifyNoInteractions( saldoUsuarioService, resumoMensalService, fechamentoMensalService );
+	}
+	
+	/**
+	 * Autenticação e cadastro respondem de forma assíncrona, depois do hash da senha.
+	 */
+	private MvcResult iniciar( MockHttpServletRequestBuilder request ) throws Exception {
+		
+		return mvc.perform( request ).andExpect( MockMvcResultMatchers.request().asyncStarted() ).andReturn();
+	}
+	
 	public static UsuarioDTO criarUsuarioDTO() {
 		
 		return UsuarioDTO.builder().email( "usuario@email.com" ).senha( "123" ).build();
@@ -0,0 +1,48 @@
+package com.jael.minhasfinacas.config;
+
+import com.jael.minhasfinacas.service.TokenService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@RunWith( SpringRunner.class )
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles( "test" )
+public class MetricasTest {
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	TokenService tokenService;
+	
+	@Test
+	public void deveExporAsMetricasDosServicosEDoBancoParaOPrometheus() throws Exception {
+		//CENÁRIO
+		mvc.perform( get( "/api/lancamentos/descricao/999" ).header( HttpHeaders.AUTHORIZATION,
+		                                                            "Bearer " + tokenService.gerar( 999L ) ) );
+		
+		//AÇÃO
+		String metricas = mvc.perform( get( "/actuator/prometheus" ) ).andReturn().getResponse().getContentAsString();
+		
+		//VERIFICAÇÃO
+		assertThat( metricas ).contains( "minhasfinancas_servico_seconds_count{class=\"com.jael.minhasfinacas.service"
+		                                 + ".impl.LancamentoServiceImpl\",exception=\"RegraNegocioException\"" );
+		assertThat( metricas ).contains( "http_server_requests_seconds_count" );
+		assertThat( metricas ).contains( "hikaricp_connections_active" );
+		assertThat( metricas ).contains( "hibernate_statements_total" );
+	}
+	
+}
@@ -0,0 +1,120 @@
+package com.jael.minhasfinacas.config;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith( SpringRunner.class )
+@SpringBootTest( properties = {
+		"spring.datasource.url=jdbc:h2:mem:primaria;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas\\\\;"
+		+ "CREATE TABLE IF NOT EXISTS financas.origem AS SELECT 'primaria' nome",
+		"minhasfinancas.replica.habilitada=true",
+		"minhasfinancas.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas\\\\;"
+		+ "CREATE TABLE IF NOT EXISTS financas.origem AS SELECT 'replica' nome\\\\;"
+		+ "CREATE TABLE IF NOT EXISTS financas.atraso AS SELECT 0 segundos",
+		"minhasfinancas.replica.consulta-atraso=SELECT segundos FROM financas.atraso",
+		"minhasfinancas.replica.atraso-maximo=PT5S",
+		"minhasfinancas.replica.intervalo-verificacao=PT1H" } )
+@ActiveProfiles( "test" )
+public class ReplicaConfigTest {
+	
+	@Autowired
+	EntityManager entityManager;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	PlatformTransactionManager transactionManager;
+	
+	@Autowired
+	@Qualifier( "dataSourceReplica" )
+	DataSource replica;
+	
+	@Autowired
+	MonitorAtrasoReplica monitor;
+	
+	@After
+	public void tearDown() {
+		
+		new JdbcTemplate( replica ).update( "UPDATE financas.atraso SET segundos = 0" );
+		monitor.verificar();
+	}
+	
+	@Test
+	public void deveLerDaReplicaSemFlushNemVerificacaoDeAlteracoes() {
+		//CENÁRIO
+		TransactionTemplate leitura = new TransactionTemplate( transactionManager );
+		leitura.setReadOnly( true );
+		
+		//AÇÃO
+		Object[] resultado = leitura.execute( status -> {
+			Session sessao = entityManager.unwrap( Session.class );
+			return new Object[] { origem(), sessao.getHibernateFlushMode(), sessao.isDefaultReadOnly() };
+		} );
+		
+		//VERIFICAÇÃO
+		assertThat( resultado ).containsExactly( "replica", FlushMode.MANUAL, true );
+	}
+	
+	@Test
+	public void deveEscreverNaPrimariaMesmoDepoisDeUmaLeituraNaMesmaRequisicao() {
+		//CENÁRIO
+		// EntityManager aberto durante toda a requisição, como faz o open-in-view.
+		EntityManager daRequisicao = entityManagerFactory.createEntityManager();
+		TransactionSynchronizationManager.bindResource( entityManagerFactory, new EntityManagerHolder( daRequisicao ) );
+		TransactionTemplate leitura = new TransactionTemplate( transactionManager );
+		leitura.setReadOnly( true );
+		TransactionTemplate escrita = new TransactionTemplate( transactionManager );
+		
+		//AÇÃO
+		String lidoDe = leitura.execute( status -> origem() );
+		String escritoEm = escrita.execute( status -> origem() );
+		TransactionSynchronizationManager.unbindResource( entityManagerFactory );
+		daRequisicao.close();
+		
+		//VERIFICAÇÃO
+		assertThat( lidoDe ).isEqualTo( "replica" );
+		assertThat( escritoEm ).isEqualTo( "primaria" );
+	}
+	
+	@Test
+	public void deveLerDaPrimariaQuandoAReplicaPassaDoAtrasoTolerado() {
+		//CENÁRIO
+		new JdbcTemplate( replica ).update( "UPDATE financas.atraso SET segundos = 30" );
+		monitor.verificar();
+		TransactionTemplate leitura = new TransactionTemplate( transactionManager );
+		leitura.setReadOnly( true );
+		
+		//AÇÃO
+		String lidoDe = leitura.execute( status -> origem() );
+		
+		//VERIFICAÇÃO
+		assertThat( monitor.isDisponivel() ).isFalse();
+		assertThat( lidoDe ).isEqualTo( "primaria" );
+	}
+	
+	private String origem() {
+		
+		return ( String ) entityManager.createNativeQuery( "SELECT nome FROM financas.origem" ).getSingleResult();
+	}
+	
+}
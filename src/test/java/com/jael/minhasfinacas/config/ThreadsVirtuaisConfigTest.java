@@ -0,0 +1,41 @@
+package com.jael.minhasfinacas.config;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.junit.Assume.assumeTrue;
+
+public class ThreadsVirtuaisConfigTest {
+	
+	@Test
+	public void deveExecutarAsTarefasEmThreadsVirtuais() throws Exception {
+		//CENÁRIO
+		assumeTrue( Runtime.version().feature() >= 21 );
+		ExecutorService executor = new ThreadsVirtuaisConfig().executorThreadsVirtuais();
+		
+		//AÇÃO
+		Object virtual = executor.submit( () -> Thread.class.getMethod( "isVirtual" )
+		                                                    .invoke( Thread.currentThread() ) ).get();
+		
+		//VERIFICAÇÃO
+		assertThat( virtual ).isEqualTo( true );
+		executor.shutdown();
+	}
+	
+	@Test
+	public void naoDeveSubirComThreadsVirtuaisAntesDoJava21() {
+		//CENÁRIO
+		assumeTrue( Runtime.version().feature() < 21 );
+		
+		//AÇÃO
+		Throwable erro = catchThrowable( () -> new ThreadsVirtuaisConfig().executorThreadsVirtuais() );
+		
+		//VERIFICAÇÃO
+		assertThat( erro ).isInstanceOf( IllegalStateException.class )
+		                  .hasMessageStartingWith( "Threads virtuais exigem Java 21 ou superior" );
+	}
+	
+}
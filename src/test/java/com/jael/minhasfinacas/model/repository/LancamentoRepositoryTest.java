@@ -1,8 +1,12 @@
 package com.jael.minhasfinacas.model.repository;
 
 import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Usuario;
 import com.jael.minhasfinacas.model.enums.StatusLancamento;
 import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.CursorLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
 import com.jael.minhasfinacas.service.UsuarioServiceTest;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -10,14 +14,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 @RunWith( SpringRunner.class )
 @DataJpaTest
@@ -28,6 +39,9 @@ public class LancamentoRepositoryTest {
 	@Autowired
 	LancamentoRepository repository;
 	
+	@Autowired
+	LancamentoExcluidoRepository excluidoRepository;
+	
 	@Autowired
 	TestEntityManager entityManager;
 	
@@ -35,6 +49,7 @@ public class LancamentoRepositoryTest {
 	public void deveSalvarUmLancamento() {
 		//CENÁRIO
 		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario( criarEPersistirUmUsuario() );
 		
 		//AÇÃO
 		Lancamento lancamentoSalvo = repository.save( lancamento );
@@ -84,13 +99,408 @@ public class LancamentoRepositoryTest {
 		//VERIFICAÇÃO
 		assertThat( lancamentoAchado ).isPresent();
 	}
+	@Test
+	public void deveBuscarLancamentosAposOCursorNaOrdemAnoMesId() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		Lancamento janeiro = persistirLancamento( usuario, 2022, 1 );
+		Lancamento marco = persistirLancamento( usuario, 2022, 3 );
+		Lancamento fevereiro = persistirLancamento( usuario, 2022, 2 );
+		Lancamento anoSeguinte = persistirLancamento( usuario, 2023, 1 );
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( usuario );
+		
+		//AÇÃO
+		List< ItemLancamento > primeiraPagina = repository.buscarAposCursor( filtro, null, 2 );
+		List< ItemLancamento > segundaPagina = repository.buscarAposCursor( filtro, CursorLancamento.de(
+				primeiraPagina.get( 1 ) ), 2 );
+		
+		//VERIFICAÇÃO
+		assertThat( primeiraPagina ).extracting( ItemLancamento::getId )
+		                            .containsExactly( janeiro.getId(), fevereiro.getId() );
+		assertThat( segundaPagina ).extracting( ItemLancamento::getId )
+		                           .containsExactly( marco.getId(), anoSeguinte.getId() );
+	}
+	
+	@Test
+	public void devePaginarPeloCursorAtravessandoVariasViradasDeAno() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		List< Lancamento > lancamentos = new ArrayList<>();
+		for ( int ano = 2023; ano >= 2019; ano-- ) {
+			for ( int mes : new int[] { 12, 1, 6 } ) {
+				lancamentos.add( persistirLancamento( usuario, ano, mes ) );
+			}
+		}
+		lancamentos.add( persistirLancamento( usuario, 2021, 6 ) );
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( usuario );
+		
+		//AÇÃO
+		List< Long > percorridos = new ArrayList<>();
+		CursorLancamento cursor = null;
+		List< ItemLancamento > pagina;
+		while ( !( pagina = repository.buscarAposCursor( filtro, cursor, 4 ) ).isEmpty() ) {
+			pagina.forEach( item -> percorridos.add( item.getId() ) );
+			cursor = CursorLancamento.de( pagina.get( pagina.size() - 1 ) );
+		}
+		
+		//VERIFICAÇÃO
+		assertThat( percorridos ).containsExactlyElementsOf(
+				lancamentos.stream()
+				           .sorted( Comparator.comparing( Lancamento::getAno )
+				                              .thenComparing( Lancamento::getMes )
+				                              .thenComparing( Lancamento::getId ) )
+				           .map( Lancamento::getId )
+				           .collect( Collectors.toList() ) );
+	}
+	
+	@Test
+	public void deveListarOsLancamentosFiltradosComoProjecaoSemCarregarOUsuario() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		Lancamento julho = persistirLancamento( usuario, 2022, 7 );
+		persistirLancamento( usuario, 2022, 8 );
+		entityManager.flush();
+		entityManager.clear();
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( usuario );
+		filtro.setMes( 7 );
+		filtro.setDescricao( "TESTE" );
+		
+		//AÇÃO
+		List< ItemLancamento > itens = repository.listarItens( filtro );
+		
+		//VERIFICAÇÃO
+		assertThat( itens ).extracting( ItemLancamento::getId ).containsExactly( julho.getId() );
+		assertThat( itens ).extracting( ItemLancamento::getUsuario ).containsExactly( usuario.getId() );
+		assertThat( entityManager.getEntityManager().contains( julho ) ).isFalse();
+	}
+	
+	@Test
+	public void devePercorrerOsLancamentosDoUsuarioDesanexandoCadaEntidade() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		persistirLancamento( usuario, 2022, 2 );
+		persistirLancamento( usuario, 2022, 1 );
+		entityManager.flush();
+		entityManager.clear();
+		
+		//AÇÃO
+		List< Lancamento > lancamentos;
+		try ( Stream< Lancamento > stream = repository.percorrerPorUsuario( usuario.getId(), 1 ) ) {
+			lancamentos = stream.collect( Collectors.toList() );
+		}
+		
+		//VERIFICAÇÃO
+		assertThat( lancamentos ).extracting( Lancamento::getMes ).containsExactly( 1, 2 );
+		assertThat( lancamentos ).noneMatch( lancamento -> entityManager.getEntityManager().contains( lancamento ) );
+		assertThat( lancamentos ).allMatch( lancamento -> usuario.getId().equals( lancamento.getUsuario().getId() ) );
+	}
+	
+	@Test
+	public void deveInserirUmLoteDeLancamentosDesanexandoAsEntidades() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		List< Lancamento > lote = List.of( criarLancamento(), criarLancamento(), criarLancamento() );
+		lote.forEach( lancamento -> lancamento.setUsuario( usuario ) );
+		
+		//AÇÃO
+		repository.inserirEmLote( lote );
+		
+		//VERIFICAÇÃO
+		assertThat( lote ).allMatch( lancamento -> lancamento.getId() != null );
+		assertThat( lote ).noneMatch( lancamento -> entityManager.getEntityManager().contains( lancamento ) );
+		assertThat( repository.count() ).isEqualTo( 3 );
+	}
+	
+	@Test
+	public void devePesquisarLancamentosPelaDescricaoRespeitandoOsFiltros() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		Lancamento padaria = persistirLancamento( usuario, 2022, 1 );
+		padaria.setDescricao( "Compra na PADARIA do bairro" );
+		Lancamento mercado = persistirLancamento( usuario, 2022, 1 );
+		mercado.setDescricao( "Mercado" );
+		Lancamento padariaOutroAno = persistirLancamento( usuario, 2021, 1 );
+		padariaOutroAno.setDescricao( "Padaria" );
+		entityManager.flush();
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( usuario );
+		filtro.setAno( 2022 );
+		
+		//AÇÃO
+		List< Lancamento > lancamentos = repository.pesquisarPorDescricao( filtro, "padaria", 10 );
+		
+		//VERIFICAÇÃO
+		assertThat( lancamentos ).containsExactly( padaria );
+	}
+	
+	@Test
+	public void deveTratarCuringasDoLikeComoTextoNaDescricao() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		Lancamento desconto = persistirLancamento( usuario, 2022, 1 );
+		desconto.setDescricao( "Desconto 10% a_vista" );
+		Lancamento outro = persistirLancamento( usuario, 2022, 1 );
+		outro.setDescricao( "Desconto 100 avista" );
+		entityManager.flush();
+		entityManager.clear();
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( usuario );
+		
+		//AÇÃO
+		List< Lancamento > porPercentual = repository.pesquisarPorDescricao( filtro, "10%", 10 );
+		List< Lancamento > porSublinhado = repository.pesquisarPorDescricao( filtro, "a_v", 10 );
+		filtro.setDescricao( "10%" );
+		List< ItemLancamento > filtrados = repository.listarItens( filtro );
+		
+		//VERIFICAÇÃO
+		assertThat( porPercentual ).extracting( Lancamento::getId ).containsExactly( desconto.getId() );
+		assertThat( porSublinhado ).extracting( Lancamento::getId ).containsExactly( desconto.getId() );
+		assertThat( filtrados ).extracting( ItemLancamento::getId ).containsExactly( desconto.getId() );
+	}
+	
+	@Test
+	public void deveAtualizarOStatusEmLoteApenasDosLancamentosDoUsuario() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		Usuario outroUsuario = entityManager.persist( Usuario.builder().nome( "outro" ).email( "outro@email.com" )
+		                                                     .build() );
+		Lancamento julho = persistirLancamento( usuario, 2022, 7 );
+		Lancamento outroJulho = persistirLancamento( usuario, 2022, 7 );
+		Lancamento agosto = persistirLancamento( usuario, 2022, 8 );
+		Lancamento deOutroUsuario = persistirLancamento( outroUsuario, 2022, 7 );
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( usuario );
+		filtro.setMes( 7 );
+		
+		//AÇÃO
+		List< GrupoLancamentos > grupos = repository.agruparParaAtualizarStatus( filtro, null,
+		                                                                         StatusLancamento.EFETIVADO );
+		int atualizados = repository.atualizarStatus( filtro, null, StatusLancamento.EFETIVADO, 5L );
+		
+		//VERIFICAÇÃO
+		assertThat( grupos ).hasSize( 1 );
+		assertThat( grupos.get( 0 ).getQuantidade() ).isEqualTo( 2L );
+		assertThat( grupos.get( 0 ).getStatus() ).isEqualTo( StatusLancamento.PENDENTE );
+		assertThat( atualizados ).isEqualTo( 2 );
+		assertThat( entityManager.find( Lancamento.class, julho.getId() ).getStatus() ).isEqualTo(
+				StatusLancamento.EFETIVADO );
+		assertThat( entityManager.find( Lancamento.class, julho.getId() ).getSequenciaAlteracao() ).isEqualTo( 5L );
+		assertThat( entityManager.find( Lancamento.class, outroJulho.getId() ).getStatus() ).isEqualTo(
+				StatusLancamento.EFETIVADO );
+		assertThat( entityManager.find( Lancamento.class, agosto.getId() ).getStatus() ).isEqualTo(
+				StatusLancamento.PENDENTE );
+		assertThat( entityManager.find( Lancamento.class, deOutroUsuario.getId() ).getStatus() ).isEqualTo(
+				StatusLancamento.PENDENTE );
+	}
+	
+	@Test
+	public void naoDeveAtualizarOStatusDeIdsDeOutroUsuario() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		Usuario outroUsuario = entityManager.persist( Usuario.builder().nome( "outro" ).email( "outro@email.com" )
+		                                                     .build() );
+		Lancamento deOutroUsuario = persistirLancamento( outroUsuario, 2022, 7 );
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( usuario );
+		
+		//AÇÃO
+		int atualizados = repository.atualizarStatus( filtro, List.of( deOutroUsuario.getId() ),
+		                                              StatusLancamento.CANCELADO, 5L );
+		
+		//VERIFICAÇÃO
+		assertThat( atualizados ).isZero();
+	}
+	
+	@Test
+	public void deveExcluirEmLoteApenasOsLancamentosDoUsuario() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		Usuario outroUsuario = entityManager.persist( Usuario.builder().nome( "outro" ).email( "outro@email.com" )
+		                                                     .build() );
+		Lancamento doAno = persistirLancamento( usuario, 2022, 7 );
+		Lancamento deOutroAno = persistirLancamento( usuario, 2021, 7 );
+		Lancamento deOutroUsuario = persistirLancamento( outroUsuario, 2022, 7 );
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( usuario );
+		filtro.setAno( 2022 );
+		
+		//AÇÃO
+		List< GrupoLancamentos > grupos = repository.agruparParaExcluir( filtro, null );
+		int excluidos = repository.excluir( filtro, List.of( doAno.getId(), deOutroUsuario.getId() ) );
+		
+		//VERIFICAÇÃO
+		assertThat( grupos ).hasSize( 1 );
+		assertThat( grupos.get( 0 ).getQuantidade() ).isEqualTo( 1L );
+		assertThat( excluidos ).isEqualTo( 1 );
+		assertThat( entityManager.find( Lancamento.class, doAno.getId() ) ).isNull();
+		assertThat( entityManager.find( Lancamento.class, deOutroAno.getId() ) ).isNotNull();
+		assertThat( entityManager.find( Lancamento.class, deOutroUsuario.getId() ) ).isNotNull();
+	}
+	
+	@Test
+	public void deveRegistrarAsExclusoesEmLoteNaSequenciaInformada() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		Lancamento doAno = persistirLancamento( usuario, 2022, 7 );
+		persistirLancamento( usuario, 2021, 7 );
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( usuario );
+		filtro.setAno( 2022 );
+		
+		//AÇÃO
+		repository.registrarExclusoes( filtro, null, 4L );
+		repository.excluir( filtro, null );
+		
+		//VERIFICAÇÃO
+		assertThat( excluidoRepository.buscarExcluidosEntre( usuario.getId(), 3L, 4L ) ).containsExactly(
+				doAno.getId() );
+		assertThat( excluidoRepository.buscarExcluidosEntre( usuario.getId(), 4L, 9L ) ).isEmpty();
+	}
+	
+	@Test
+	public void deveBuscarOsLancamentosAlteradosEntreAsSequenciasDoUsuario() {
+		//CENÁRIO
+		Usuario usuario = criarEPersistirUmUsuario();
+		Lancamento antigo = persistirLancamento( usuario, 2022, 1 );
+		Lancamento recente = persistirLancamento( usuario, 2022, 2 );
+		Lancamento futuro = persistirLancamento( usuario, 2022, 3 );
+		antigo.setSequenciaAlteracao( 2L );
+		recente.setSequenciaAlteracao( 5L );
+		futuro.setSequenciaAlteracao( 8L );
+		entityManager.flush();
+		
+		//AÇÃO
+		List< ItemLancamento > alterados = repository.buscarAlteradosEntre( usuario.getId(), 2L, 7L );
+		
+		//VERIFICAÇÃO
+		assertThat( alterados ).extracting( ItemLancamento::getId ).containsExactly( recente.getId() );
+	}
+	
+	@Test
+	public void deveExcluirUmLancamentoPeloIdSemCarregaLo() {
+		//CENÁRIO
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		Long id = lancamento.getId();
+		
+		//AÇÃO
+		int excluidos = repository.excluirPorId( id, lancamento.getUsuario().getId() );
+		
+		//VERIFICAÇÃO
+		assertThat( excluidos ).isEqualTo( 1 );
+		assertThat( entityManager.find( Lancamento.class, id ) ).isNull();
+	}
+	
+	@Test
+	public void naoDeveExcluirUmLancamentoDeOutroUsuario() {
+		//CENÁRIO
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		Long id = lancamento.getId();
+		
+		//AÇÃO
+		int excluidos = repository.excluirPorId( id, lancamento.getUsuario().getId() + 1 );
+		
+		//VERIFICAÇÃO
+		assertThat( excluidos ).isZero();
+		assertThat( entityManager.find( Lancamento.class, id ) ).isNotNull();
+	}
+	
+	@Test
+	public void deveAtualizarUmLancamentoNaVersaoSemCarregaLo() {
+		//CENÁRIO
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		entityManager.flush();
+		entityManager.clear();
+		Lancamento alteracao = copiar( lancamento );
+		alteracao.setDescricao( "alterado" );
+		
+		//AÇÃO
+		repository.atualizarNaVersao( alteracao, lancamento.getUsuario().getId() );
+		entityManager.clear();
+		
+		//VERIFICAÇÃO
+		Lancamento gravado = entityManager.find( Lancamento.class, lancamento.getId() );
+		assertThat( gravado.getDescricao() ).isEqualTo( "alterado" );
+		assertThat( gravado.getVersao() ).isEqualTo( lancamento.getVersao() + 1 );
+	}
+	
+	@Test
+	public void naoDeveAtualizarUmLancamentoDeOutraVersao() {
+		//CENÁRIO
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		entityManager.flush();
+		entityManager.clear();
+		Lancamento alteracao = copiar( lancamento );
+		alteracao.setVersao( lancamento.getVersao() + 1 );
+		
+		//AÇÃO
+		Throwable exception = catchThrowable( () -> repository.atualizarNaVersao( alteracao,
+		                                                                          lancamento.getUsuario().getId() ) );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).isInstanceOf( OptimisticLockingFailureException.class );
+	}
+	
+	@Test
+	public void naoDeveAtualizarUmLancamentoDeOutroUsuario() {
+		//CENÁRIO
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		entityManager.flush();
+		entityManager.clear();
+		Lancamento alteracao = copiar( lancamento );
+		alteracao.setDescricao( "alterado" );
+		
+		//AÇÃO
+		Throwable exception = catchThrowable( () -> repository.atualizarNaVersao( alteracao,
+		                                                                          lancamento.getUsuario().getId() + 1 ) );
+		entityManager.clear();
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).isInstanceOf( OptimisticLockingFailureException.class );
+		assertThat( entityManager.find( Lancamento.class, lancamento.getId() ).getDescricao() )
+				.isEqualTo( lancamento.getDescricao() );
+	}
+	
+	private Lancamento copiar( Lancamento lancamento ) {
+		
+		return Lancamento.builder()
+		                 .id( lancamento.getId() )
+		                 .descricao( lancamento.getDescricao() )
+		                 .mes( lancamento.getMes() )
+		                 .ano( lancamento.getAno() )
+		                 .valor( lancamento.getValor() )
+		                 .tipo( lancamento.getTipo() )
+		                 .status( lancamento.getStatus() )
+		                 .dataCadastro( lancamento.getDataCadastro() )
+		                 .usuario( lancamento.getUsuario() )
+		                 .versao( lancamento.getVersao() )
+		                 .build();
+	}
+	
+	private Lancamento persistirLancamento( Usuario usuario, int ano, int mes ) {
+		
+		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario( usuario );
+		lancamento.setAno( ano );
+		lancamento.setMes( mes );
+		return entityManager.persist( lancamento );
+	}
+	
 	private Lancamento criarEPersistirUmLancamento() {
 		
 		Lancamento lancamento = criarLancamento();
+		lancamento.setUsuario( criarEPersistirUmUsuario() );
 		entityManager.persist( lancamento );
 		return lancamento;
 	}
 	
+	private Usuario criarEPersistirUmUsuario() {
+		
+		return entityManager.persist( UsuarioRepositoryTest.criarUsuario() );
+	}
+	
 	public static Lancamento criarLancamento() {
 		
 		return Lancamento.builder()
@@ -0,0 +1,101 @@
+package com.jael.minhasfinacas.model.repository;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.ResumoMensal;
+import com.jael.minhasfinacas.model.entity.ResumoMensalId;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.TotalLancamentos;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith( SpringRunner.class )
+@DataJpaTest
+@AutoConfigureTestDatabase( replace = AutoConfigureTestDatabase.Replace.NONE )
+@ActiveProfiles( "test" )
+public class ResumoMensalRepositoryTest {
+	
+	@Autowired
+	ResumoMensalRepository repository;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	@Test
+	public void deveSomarAoResumoExistente() {
+		//CENÁRIO
+		ResumoMensalId id = new ResumoMensalId( 1L, 2022, 7, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO );
+		entityManager.persist( new ResumoMensal( id, BigDecimal.valueOf( 100 ), 2L ) );
+		
+		//AÇÃO
+		int linhas = repository.somarAoResumo( 1L, 2022, 7, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO,
+		                                       BigDecimal.valueOf( 50 ), 1L );
+		entityManager.clear();
+		
+		//VERIFICAÇÃO
+		ResumoMensal resumo = repository.findById( id ).get();
+		assertThat( linhas ).isEqualTo( 1 );
+		assertThat( resumo.getValor() ).isEqualByComparingTo( "150" );
+		assertThat( resumo.getQuantidade() ).isEqualTo( 3L );
+	}
+	
+	@Test
+	public void deveTotalizarOsLancamentosDeUmaCelula() {
+		//CENÁRIO
+		Usuario usuario = entityManager.persist( UsuarioRepositoryTest.criarUsuario() );
+		persistirLancamento( usuario, 7, 100 );
+		persistirLancamento( usuario, 7, 50 );
+		persistirLancamento( usuario, 8, 10 );
+		
+		//AÇÃO
+		TotalLancamentos total = repository.totalizarLancamentos( usuario.getId(), 2022, 7, TipoLancamento.RECEITA,
+		                                                          StatusLancamento.PENDENTE );
+		
+		//VERIFICAÇÃO
+		assertThat( total.getValor() ).isEqualByComparingTo( "150" );
+		assertThat( total.getQuantidade() ).isEqualTo( 2L );
+	}
+	
+	@Test
+	public void deveCalcularOsResumosDeTodosOsUsuarios() {
+		//CENÁRIO
+		Usuario usuario = entityManager.persist( UsuarioRepositoryTest.criarUsuario() );
+		persistirLancamento( usuario, 7, 100 );
+		persistirLancamento( usuario, 7, 50 );
+		persistirLancamento( usuario, 8, 10 );
+		entityManager.flush();
+		
+		//AÇÃO
+		int linhas = repository.inserirResumosCalculados();
+		List< ResumoMensal > resumos = repository.obterPorUsuarioEAno( usuario.getId(), 2022 );
+		
+		//VERIFICAÇÃO
+		assertThat( linhas ).isEqualTo( 2 );
+		assertThat( resumos ).hasSize( 2 );
+		assertThat( resumos.get( 0 ).getId().getMes() ).isEqualTo( 7 );
+		assertThat( resumos.get( 0 ).getValor() ).isEqualByComparingTo( "150" );
+		assertThat( resumos.get( 0 ).getQuantidade() ).isEqualTo( 2L );
+	}
+	
+	private void persistirLancamento( Usuario usuario, int mes, long valor ) {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario( usuario );
+		lancamento.setMes( mes );
+		lancamento.setValor( BigDecimal.valueOf( valor ) );
+		entityManager.persist( lancamento );
+	}
+	
+}
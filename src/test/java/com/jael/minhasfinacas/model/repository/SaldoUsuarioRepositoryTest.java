@@ -0,0 +1,85 @@
+package com.jael.minhasfinacas.model.repository;
+
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith( SpringRunner.class )
+@DataJpaTest
+@AutoConfigureTestDatabase( replace = AutoConfigureTestDatabase.Replace.NONE )
+@ActiveProfiles( "test" )
+public class SaldoUsuarioRepositoryTest {
+	
+	@Autowired
+	SaldoUsuarioRepository repository;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	@Test
+	public void deveSomarAoSaldoExistente() {
+		//CENÁRIO
+		Usuario usuario = entityManager.persist( UsuarioRepositoryTest.criarUsuario() );
+		entityManager.persist( new SaldoUsuario( usuario.getId(), BigDecimal.valueOf( 100 ) ) );
+		
+		//AÇÃO
+		int linhas = repository.somarAoSaldo( usuario.getId(), BigDecimal.valueOf( -30 ) );
+		entityManager.clear();
+		
+		//VERIFICAÇÃO
+		assertThat( linhas ).isEqualTo( 1 );
+		assertThat( repository.findById( usuario.getId() ).get().getSaldo() ).isEqualByComparingTo( "70" );
+		assertThat( repository.findById( usuario.getId() ).get().getVersao() ).isEqualTo( 1L );
+	}
+	
+	@Test
+	public void naoDeveSomarQuandoNaoExisteSaldo() {
+		//AÇÃO
+		int linhas = repository.somarAoSaldo( 99L, BigDecimal.TEN );
+		
+		//VERIFICAÇÃO
+		assertThat( linhas ).isZero();
+	}
+	
+	@Test
+	public void deveCalcularOsSaldosDeTodosOsUsuarios() {
+		//CENÁRIO
+		Usuario usuario = entityManager.persist( UsuarioRepositoryTest.criarUsuario() );
+		persistirLancamento( usuario, 400, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO );
+		persistirLancamento( usuario, 150, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO );
+		persistirLancamento( usuario, 1000, TipoLancamento.RECEITA, StatusLancamento.PENDENTE );
+		entityManager.flush();
+		
+		//AÇÃO
+		int linhas = repository.inserirSaldosCalculados( 1L );
+		
+		//VERIFICAÇÃO
+		assertThat( linhas ).isEqualTo( 1 );
+		assertThat( repository.findById( usuario.getId() ).get().getSaldo() ).isEqualByComparingTo( "250" );
+	}
+	
+	private void persistirLancamento( Usuario usuario, long valor, TipoLancamento tipo, StatusLancamento status ) {
+		
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario( usuario );
+		lancamento.setValor( BigDecimal.valueOf( valor ) );
+		lancamento.setTipo( tipo );
+		lancamento.setStatus( status );
+		entityManager.persist( lancamento );
+	}
+	
+}
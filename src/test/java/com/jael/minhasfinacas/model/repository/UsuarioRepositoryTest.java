@@ -73,6 +73,19 @@ public class UsuarioRepositoryTest {
 		assertThat( result ).isPresent();
 	}
 	
+	@Test
+	public void deveAvancarASequenciaDeAlteracaoDoUsuario() {
+		//CENÁRIO
+		Usuario usuario = entityManager.persistFlushFind( criarUsuario() );
+		
+		//AÇÃO
+		repository.avancarSequenciaAlteracao( usuario.getId() );
+		repository.avancarSequenciaAlteracao( usuario.getId() );
+		
+		//VERIFICAÇÃO
+		assertThat( repository.obterSequenciaAlteracao( usuario.getId() ) ).contains( 2L );
+	}
+	
 	@Test
 	public void deveRetornarVazioAoBuscarUsuarioPorEmailQuandoNaoExisteNoBanco() {
 		//AÇÃO
@@ -0,0 +1,146 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.entity.FechamentoMensalId;
+import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.StatusLancamento;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.repository.FechamentoMensalRepository;
+import com.jael.minhasfinacas.model.repository.UsuarioRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static com.jael.minhasfinacas.model.enums.StatusLancamento.EFETIVADO;
+import static com.jael.minhasfinacas.model.enums.StatusLancamento.PENDENTE;
+import static com.jael.minhasfinacas.model.enums.TipoLancamento.DESPESA;
+import static com.jael.minhasfinacas.model.enums.TipoLancamento.RECEITA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@RunWith( SpringRunner.class )
+@SpringBootTest( properties = { "minhasfinancas.fechamento.tamanho-bloco=2",
+                                "minhasfinancas.fechamento.agendamento=false",
+                                "minhasfinancas.recorrencias.agendamento=false" } )
+@ActiveProfiles( "test" )
+public class FechamentoMensalServiceTest {
+	
+	@Autowired
+	FechamentoMensalService service;
+	
+	@Autowired
+	FechamentoMensalRepository repository;
+	
+	@Autowired
+	LancamentoService lancamentoService;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Test
+	public void deveFecharOMesEResponderPeloFechamentoMaisOsMesesSeguintes() {
+		//CENÁRIO
+		Usuario usuario = criarUsuario();
+		lancamentoService.salvar( lancamento( usuario, 2070, 1, RECEITA, 1000, EFETIVADO ) );
+		lancamentoService.salvar( lancamento( usuario, 2070, 2, DESPESA, 300, EFETIVADO ) );
+		lancamentoService.salvar( lancamento( usuario, 2070, 2, DESPESA, 999, PENDENTE ) );
+		lancamentoService.salvar( lancamento( usuario, 2070, 4, RECEITA, 50, EFETIVADO ) );
+		
+		//AÇÃO
+		service.fecharMes( YearMonth.of( 2070, 1 ) );
+		service.fecharMes( YearMonth.of( 2070, 2 ) );
+		service.fecharMes( YearMonth.of( 2070, 2 ) );
+		
+		//VERIFICAÇÃO
+		assertThat( saldoFechado( usuario, 2070, 1 ) ).isEqualByComparingTo( "1000" );
+		assertThat( saldoFechado( usuario, 2070, 2 ) ).isEqualByComparingTo( "700" );
+		assertThat( service.obterSaldoAoFimDe( usuario.getId(), 2069, 12 ) ).isEqualByComparingTo( "0" );
+		assertThat( service.obterSaldoAoFimDe( usuario.getId(), 2070, 2 ) ).isEqualByComparingTo( "700" );
+		assertThat( service.obterSaldoAoFimDe( usuario.getId(), 2070, 3 ) ).isEqualByComparingTo( "700" );
+		assertThat( service.obterSaldoAoFimDe( usuario.getId(), 2070, 4 ) ).isEqualByComparingTo( "750" );
+	}
+	
+	@Test
+	public void deveCorrigirOsFechamentosAoAlterarUmMesJaFechado() {
+		//CENÁRIO
+		Usuario usuario = criarUsuario();
+		lancamentoService.salvar( lancamento( usuario, 2071, 2, RECEITA, 500, EFETIVADO ) );
+		Lancamento conta = lancamentoService.salvar( lancamento( usuario, 2071, 1, DESPESA, 80, PENDENTE ) );
+		service.fecharMes( YearMonth.of( 2071, 1 ) );
+		service.fecharMes( YearMonth.of( 2071, 2 ) );
+		
+		//AÇÃO
+		lancamentoService.salvar( lancamento( usuario, 2071, 1, RECEITA, 200, EFETIVADO ) );
+		lancamentoService.atualizarStatus( conta, EFETIVADO );
+		
+		//VERIFICAÇÃO
+		assertThat( saldoFechado( usuario, 2071, 1 ) ).isEqualByComparingTo( "120" );
+		assertThat( saldoFechado( usuario, 2071, 2 ) ).isEqualByComparingTo( "620" );
+		
+		lancamentoService.deletar( lancamentoService.obterPorId( conta.getId(), usuario.getId() ).get() );
+		assertThat( saldoFechado( usuario, 2071, 1 ) ).isEqualByComparingTo( "200" );
+		assertThat( service.obterSaldoAoFimDe( usuario.getId(), 2071, 2 ) ).isEqualByComparingTo( "700" );
+	}
+	
+	@Test
+	public void deveSomarOResumoMensalQuandoNaoHaFechamento() {
+		//CENÁRIO
+		Usuario usuario = criarUsuario();
+		lancamentoService.salvar( lancamento( usuario, 2072, 5, RECEITA, 40, EFETIVADO ) );
+		lancamentoService.salvar( lancamento( usuario, 2073, 5, DESPESA, 15, EFETIVADO ) );
+		
+		//AÇÃO
+		BigDecimal saldo = service.obterSaldoAoFimDe( usuario.getId(), 2073, 5 );
+		
+		//VERIFICAÇÃO
+		assertThat( saldo ).isEqualByComparingTo( "25" );
+		assertThat( service.obterSaldoAoFimDe( usuario.getId(), 2073, 4 ) ).isEqualByComparingTo( "40" );
+	}
+	
+	@Test
+	public void naoDeveObterOSaldoDeUmMesInvalido() {
+		//AÇÃO
+		RegraNegocioException exception = catchThrowableOfType(
+				() -> service.obterSaldoAoFimDe( 1L, 2022, 13 ), RegraNegocioException.class );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).hasMessage( "Informe um Mês entre 1 e 12." );
+	}
+	
+	private BigDecimal saldoFechado( Usuario usuario, int ano, int mes ) {
+		
+		return repository.findById( new FechamentoMensalId( usuario.getId(), ano, mes ) ).get().getSaldo();
+	}
+	
+	private Usuario criarUsuario() {
+		
+		String nome = UUID.randomUUID().toString();
+		return usuarioRepository.save( Usuario.builder().nome( nome ).email( nome + "@email.com" ).senha( "senha" )
+		                                      .build() );
+	}
+	
+	private static Lancamento lancamento( Usuario usuario, int ano, int mes, TipoLancamento tipo, int valor,
+	                                      StatusLancamento status ) {
+		
+		return Lancamento.builder()
+		                 .descricao( "Lançamento" )
+		                 .ano( ano )
+		                 .mes( mes )
+		                 .valor( BigDecimal.valueOf( valor ) )
+		                 .tipo( tipo )
+		                 .status( status )
+		                 .usuario( usuario )
+		                 .dataCadastro( LocalDate.now() )
+		                 .build();
+	}
+	
+}
@@ -1,22 +1,36 @@
 package com.jael.minhasfinacas.service;
 
+import com.jael.minhasfinacas.exception.LancamentoNaoEncontradoException;
 import com.jael.minhasfinacas.exception.RegraNegocioException;
 import com.jael.minhasfinacas.model.entity.Lancamento;
+import com.jael.minhasfinacas.model.entity.LancamentoExcluido;
 import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.AlteracoesLancamentos;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.ItemLancamento;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+import com.jael.minhasfinacas.model.repository.LancamentoExcluidoRepository;
 import com.jael.minhasfinacas.model.repository.LancamentoRepository;
 import com.jael.minhasfinacas.model.repository.LancamentoRepositoryTest;
+import com.jael.minhasfinacas.model.repository.UsuarioRepository;
 import com.jael.minhasfinacas.service.impl.LancamentoServiceImpl;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static com.jael.minhasfinacas.model.enums.StatusLancamento.EFETIVADO;
 import static com.jael.minhasfinacas.model.enums.StatusLancamento.PENDENTE;
@@ -34,6 +48,24 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository repository;
 	
+	@MockBean
+	LancamentoExcluidoRepository excluidoRepository;
+	
+	@MockBean
+	UsuarioRepository usuarioRepository;
+	
+	@MockBean
+	SaldoUsuarioService saldoUsuarioService;
+	
+	@MockBean
+	ResumoMensalService resumoMensalService;
+	
+	@MockBean
+	FechamentoMensalService fechamentoMensalService;
+	
+	@MockBean
+	SugestaoDescricaoService sugestaoDescricaoService;
+	
 	@Test
 	public void deveSalvarUmLancamento() {
 		//CENÁRIO
@@ -52,6 +84,25 @@ public class LancamentoServiceTest {
 		assertThat( lancamentoSalvado.getStatus() ).isEqualTo( lancamentoRetorno.getStatus() );
 	}
 	
+	@Test
+	public void deveSalvarUmLoteAgregandoOsMovimentos() {
+		//CENÁRIO
+		List< Lancamento > lote = List.of( LancamentoRepositoryTest.criarLancamento(),
+		                                   LancamentoRepositoryTest.criarLancamento() );
+		List< MovimentoLancamento > movimentos = List.of( MovimentoLancamento.de( lote.get( 0 ) ),
+		                                                  MovimentoLancamento.de( lote.get( 1 ) ) );
+		
+		//AÇÃO
+		service.salvarLote( lote );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).inserirEmLote( lote );
+		verify( repository, never() ).save( any() );
+		verify( saldoUsuarioService, times( 1 ) ).registrarInclusoes( movimentos );
+		verify( resumoMensalService, times( 1 ) ).registrarInclusoes( movimentos );
+		verify( fechamentoMensalService, times( 1 ) ).registrarInclusoes( movimentos );
+	}
+	
 	@Test
 	public void naoDeveSalvarUmLancamentoQuandoHouverErroDeValidacao() {
 		//CENÁRIO
@@ -72,6 +123,8 @@ public class LancamentoServiceTest {
 		lancamento.setId( 1L );
 		lancamento.setStatus( PENDENTE );
 		doNothing().when( service ).validar( lancamento );
+		when( repository.obterMovimentoPorId( 1L, 1L ) )
+				.thenReturn( Optional.of( MovimentoLancamento.de( lancamento ) ) );
 		when( repository.save( lancamento ) ).thenReturn( lancamento );
 		
 		//AÇÃO
@@ -81,6 +134,23 @@ public class LancamentoServiceTest {
 		verify( repository, times( 1 ) ).save( lancamento );
 	}
 	
+	@Test
+	public void naoDeveAtualizarUmLancamentoDeOutroUsuario() {
+		//CENÁRIO
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId( 1L );
+		doNothing().when( service ).validar( lancamento );
+		when( repository.obterMovimentoPorId( 1L, 2L ) ).thenReturn( Optional.empty() );
+		
+		//AÇÃO
+		Throwable exception = catchThrowableOfType( () -> service.atualizar( lancamento, 2L ),
+		                                            LancamentoNaoEncontradoException.class );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).isNotNull();
+		verify( repository, never() ).save( any() );
+	}
+	
 	@Test
 	public void naoDeveAtualizarUmLancamentoQueAindaNaoFoiSalvo() {
 		//CENÁRIO
@@ -118,6 +188,100 @@ public class LancamentoServiceTest {
 		verify( repository, never() ).delete( lancamento );
 	}
 	
+	@Test
+	public void deveAtualizarOStatusNaVersaoEAjustarAsProjecoes() {
+		//CENÁRIO
+		MovimentoLancamento anterior = new MovimentoLancamento( 2L, 2022, 7, BigDecimal.TEN, TipoLancamento.RECEITA,
+		                                                        PENDENTE );
+		when( repository.obterMovimentoPorId( 1L, 2L ) ).thenReturn( Optional.of( anterior ) );
+		when( repository.atualizarStatusNaVersao( 1L, 2L, 3L, EFETIVADO, 8L ) ).thenReturn( 1 );
+		when( usuarioRepository.obterSequenciaAlteracao( 2L ) ).thenReturn( Optional.of( 8L ) );
+		
+		//AÇÃO
+		Long versao = service.atualizarStatusNaVersao( 1L, 2L, 3L, EFETIVADO );
+		
+		//VERIFICAÇÃO
+		assertThat( versao ).isEqualTo( 4L );
+		verify( usuarioRepository, times( 1 ) ).avancarSequenciaAlteracao( 2L );
+		verify( saldoUsuarioService, times( 1 ) ).registrarMovimento( anterior, anterior.comStatus( EFETIVADO ) );
+		verify( resumoMensalService, times( 1 ) ).registrarMovimento( anterior, anterior.comStatus( EFETIVADO ) );
+		verify( fechamentoMensalService, times( 1 ) ).registrarMovimento( anterior, anterior.comStatus( EFETIVADO ) );
+	}
+	
+	@Test
+	public void naoDeveAtualizarOStatusDeUmLancamentoEmOutraVersao() {
+		//CENÁRIO
+		MovimentoLancamento anterior = new MovimentoLancamento( 2L, 2022, 7, BigDecimal.TEN, TipoLancamento.RECEITA,
+		                                                        PENDENTE );
+		when( repository.obterMovimentoPorId( 1L, 2L ) ).thenReturn( Optional.of( anterior ) );
+		when( repository.atualizarStatusNaVersao( 1L, 2L, 3L, EFETIVADO, null ) ).thenReturn( 0 );
+		
+		//AÇÃO
+		Throwable exception = catchThrowableOfType( () -> service.atualizarStatusNaVersao( 1L, 2L, 3L, EFETIVADO ),
+		                                            OptimisticLockingFailureException.class );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).isNotNull();
+		verify( saldoUsuarioService, never() ).registrarMovimento( any(), any() );
+	}
+	
+	@Test
+	public void naoDeveAtualizarOStatusDeUmLancamentoDeOutroUsuario() {
+		//CENÁRIO
+		when( repository.obterMovimentoPorId( 1L, 5L ) ).thenReturn( Optional.empty() );
+		
+		//AÇÃO
+		Throwable exception = catchThrowableOfType( () -> service.atualizarStatusNaVersao( 1L, 5L, 3L, EFETIVADO ),
+		                                            LancamentoNaoEncontradoException.class );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).isNotNull();
+		verify( repository, never() ).atualizarStatusNaVersao( any(), any(), any(), any(), any() );
+	}
+	
+	@Test
+	public void deveDeletarUmLancamentoPeloIdSemCarregarAEntidade() {
+		//CENÁRIO
+		ItemLancamento item = new ItemLancamento( 1L, "Salário", 7, 2022, BigDecimal.TEN, 2L,
+		                                          TipoLancamento.RECEITA, EFETIVADO );
+		when( repository.obterItemPorId( 1L, 2L ) ).thenReturn( Optional.of( item ) );
+		
+		//AÇÃO
+		service.deletarPorId( 1L, 2L );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).excluirPorId( 1L, 2L );
+		verify( repository, never() ).findById( any() );
+		verify( saldoUsuarioService, times( 1 ) ).registrarMovimento( MovimentoLancamento.de( item ), null );
+		verify( sugestaoDescricaoService, times( 1 ) ).registrarExclusao( 2L, "Salário" );
+		verify( excluidoRepository, times( 1 ) ).save( any( LancamentoExcluido.class ) );
+	}
+	
+	@Test
+	public void deveDeletarEmLoteEAjustarAsProjecoes() {
+		//CENÁRIO
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( UsuarioServiceTest.criarUsuario() );
+		filtro.setAno( 2022 );
+		List< GrupoLancamentos > grupos = List.of(
+				new GrupoLancamentos( 1L, 2022, 7, TipoLancamento.DESPESA, EFETIVADO, BigDecimal.TEN, 3L ) );
+		when( repository.agruparParaExcluir( filtro, null ) ).thenReturn( grupos );
+		when( repository.excluir( filtro, null ) ).thenReturn( 3 );
+		
+		//AÇÃO
+		int excluidos = service.deletarEmLote( filtro, null );
+		
+		//VERIFICAÇÃO
+		assertThat( excluidos ).isEqualTo( 3 );
+		InOrder ordem = inOrder( usuarioRepository, repository );
+		ordem.verify( usuarioRepository ).avancarSequenciaAlteracao( filtro.getUsuario().getId() );
+		ordem.verify( repository ).agruparParaExcluir( filtro, null );
+		verify( saldoUsuarioService, times( 1 ) ).registrarExclusoes( grupos );
+		verify( resumoMensalService, times( 1 ) ).registrarExclusoes( grupos );
+		verify( fechamentoMensalService, times( 1 ) ).registrarExclusoes( grupos );
+		verify( sugestaoDescricaoService, times( 1 ) ).descartar( filtro.getUsuario().getId() );
+	}
+	
 	@Test
 	public void deveFiltrarUmLancamento() {
 		//CENÁRIO
@@ -133,6 +297,104 @@ public class LancamentoServiceTest {
 		assertThat( buscar ).isNotEmpty().hasSize( 1 ).contains( lancamento );
 	}
 	
+	@Test
+	public void deveBuscarUmaPaginaIndicandoQueExisteProxima() {
+		//CENÁRIO
+		Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+		ItemLancamento item = ItemLancamento.de( LancamentoRepositoryTest.criarLancamento() );
+		when( repository.buscarAposCursor( filtro, null, 3 ) ).thenReturn( List.of( item, item, item ) );
+		
+		//AÇÃO
+		Slice< ItemLancamento > pagina = service.buscarPagina( filtro, null, 2 );
+		
+		//VERIFICAÇÃO
+		assertThat( pagina.getContent() ).hasSize( 2 );
+		assertThat( pagina.hasNext() ).isTrue();
+	}
+	
+	@Test
+	public void naoDeveBuscarUmaPaginaComTamanhoInvalido() {
+		//CENÁRIO
+		Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+		
+		//AÇÃO
+		Throwable exception = catchThrowableOfType( () -> service.buscarPagina( filtro, null, 0 ),
+		                                            RegraNegocioException.class );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).isNotNull();
+		verify( repository, never() ).buscarAposCursor( any(), any(), anyInt() );
+	}
+	
+	@Test
+	public void naoDevePesquisarPorDescricaoComTermoCurto() {
+		//CENÁRIO
+		Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+		
+		//AÇÃO
+		Throwable exception = catchThrowableOfType( () -> service.pesquisarPorDescricao( filtro, " pa ", null ),
+		                                            RegraNegocioException.class );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).isNotNull();
+		verify( repository, never() ).pesquisarPorDescricao( any(), any(), anyInt() );
+	}
+	
+	@Test
+	public void deveAtualizarOStatusEmLoteEAjustarAsProjecoes() {
+		//CENÁRIO
+		Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+		List< GrupoLancamentos > grupos = List.of(
+				new GrupoLancamentos( 1L, 2022, 7, TipoLancamento.RECEITA, PENDENTE, BigDecimal.TEN, 2L ) );
+		when( repository.agruparParaAtualizarStatus( filtro, null, EFETIVADO ) ).thenReturn( grupos );
+		when( repository.atualizarStatus( filtro, null, EFETIVADO, null ) ).thenReturn( 2 );
+		
+		//AÇÃO
+		int atualizados = service.atualizarStatusEmLote( filtro, null, EFETIVADO );
+		
+		//VERIFICAÇÃO
+		assertThat( atualizados ).isEqualTo( 2 );
+		InOrder ordem = inOrder( usuarioRepository, repository );
+		ordem.verify( usuarioRepository ).avancarSequenciaAlteracao( filtro.getUsuario().getId() );
+		ordem.verify( repository ).agruparParaAtualizarStatus( filtro, null, EFETIVADO );
+		verify( saldoUsuarioService, times( 1 ) ).registrarMudancaDeStatus( grupos, EFETIVADO );
+		verify( resumoMensalService, times( 1 ) ).registrarMudancaDeStatus( grupos, EFETIVADO );
+		verify( fechamentoMensalService, times( 1 ) ).registrarMudancaDeStatus( grupos, EFETIVADO );
+	}
+	
+	@Test
+	public void naoDeveAtualizarOStatusEmLoteSemIdsNemFiltro() {
+		//CENÁRIO
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario( UsuarioServiceTest.criarUsuario() );
+		
+		//AÇÃO
+		Throwable exception = catchThrowableOfType( () -> service.atualizarStatusEmLote( filtro, List.of(),
+		                                                                                 EFETIVADO ),
+		                                            RegraNegocioException.class );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).isNotNull();
+		verify( repository, never() ).atualizarStatus( any(), any(), any(), any() );
+	}
+	
+	@Test
+	public void deveExportarOsLancamentosDoUsuarioEFecharOCursor() {
+		//CENÁRIO
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		List< Lancamento > exportados = new ArrayList<>();
+		AtomicBoolean fechado = new AtomicBoolean();
+		when( repository.percorrerPorUsuario( eq( 1L ), anyInt() ) ).thenReturn(
+				Stream.of( lancamento ).onClose( () -> fechado.set( true ) ) );
+		
+		//AÇÃO
+		service.exportarPorUsuario( 1L, exportados::add );
+		
+		//VERIFICAÇÃO
+		assertThat( exportados ).containsExactly( lancamento );
+		assertThat( fechado ).isTrue();
+	}
+	
 	@Test
 	public void deveAtualizarUmStatusDeLancamento() {
 		//CENÁRIO
@@ -154,10 +416,10 @@ public class LancamentoServiceTest {
 		//CENÁRIO
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
 		lancamento.setId( 1L );
-		when( repository.findById( anyLong() ) ).thenReturn( Optional.of( lancamento ) );
+		when( repository.buscarPorIdEUsuario( 1L, 1L ) ).thenReturn( Optional.of( lancamento ) );
 		
 		//AÇÃO
-		Optional< Lancamento > lancamentoObtido = service.obterPorId( 1L );
+		Optional< Lancamento > lancamentoObtido = service.obterPorId( 1L, 1L );
 		
 		//VERIFICAÇÃO
 		assertThat( lancamentoObtido ).isPresent();
@@ -246,29 +508,94 @@ public class LancamentoServiceTest {
 		
 		assertThat( regraNegocioException ).isInstanceOf( RegraNegocioException.class )
 		                                   .hasMessageContaining( "Informe um Tipo de Lançamento." );
-		
+	
 	}
 	
 	@Test
 	public void deveObterSaldoDoUsuario() {
 		//CENÁRIO
-		Lancamento lancamentoReceita = LancamentoRepositoryTest.criarLancamento();
-		Lancamento lancamentoDespesa = LancamentoRepositoryTest.criarLancamento();
-		lancamentoDespesa.setId( 2L );
-		lancamentoDespesa.setTipo( TipoLancamento.DESPESA );
-		lancamentoDespesa.setValor( BigDecimal.valueOf( 200 ) );
-		when( repository.obterSaldoPorTipoLancamentoEUsuarioEStatus( 1L, TipoLancamento.RECEITA ) ).thenReturn(
-				lancamentoReceita.getValor() );
-		when( repository.obterSaldoPorTipoLancamentoEUsuarioEStatus( 1L, TipoLancamento.DESPESA ) ).thenReturn(
-				lancamentoDespesa.getValor() );
+		when( saldoUsuarioService.obterSaldo( 1L ) ).thenReturn( BigDecimal.valueOf( 200 ) );
 		
 		//AÇÃO
-		BigDecimal saldoPorUsuario = service.obterSaldoPorUsuario( lancamentoDespesa.getUsuario().getId() );
+		BigDecimal saldoPorUsuario = service.obterSaldoPorUsuario( 1L );
 		
 		//VERIFICAÇÃO
-		verify( repository, times( 1 ) ).obterSaldoPorTipoLancamentoEUsuarioEStatus( 1L, TipoLancamento.RECEITA );
-		verify( repository, times( 1 ) ).obterSaldoPorTipoLancamentoEUsuarioEStatus( 1L, TipoLancamento.DESPESA );
+		verify( saldoUsuarioService, times( 1 ) ).obterSaldo( 1L );
 		assertThat( saldoPorUsuario ).isEqualTo( BigDecimal.valueOf( 200 ) );
 	}
 	
+	@Test
+	public void deveRegistrarADiferencaDeSaldoAoAtualizarUmLancamento() {
+		//CENÁRIO
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId( 1L );
+		lancamento.setStatus( EFETIVADO );
+		MovimentoLancamento anterior = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN,
+		                                                        TipoLancamento.RECEITA, PENDENTE );
+		doNothing().when( service ).validar( lancamento );
+		when( repository.obterMovimentoPorId( 1L, 1L ) ).thenReturn( Optional.of( anterior ) );
+		when( repository.save( lancamento ) ).thenReturn( lancamento );
+		
+		//AÇÃO
+		service.atualizar( lancamento );
+		
+		//VERIFICAÇÃO
+		verify( saldoUsuarioService, times( 1 ) ).registrarMovimento( anterior, MovimentoLancamento.de( lancamento ) );
+		verify( resumoMensalService, times( 1 ) ).registrarMovimento( anterior, MovimentoLancamento.de( lancamento ) );
+		verify( fechamentoMensalService, times( 1 ) ).registrarMovimento( anterior, MovimentoLancamento.de( lancamento ) );
+	}
+	
+	@Test
+	public void deveEstornarOSaldoAoDeletarUmLancamento() {
+		//CENÁRIO
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId( 1L );
+		MovimentoLancamento anterior = MovimentoLancamento.de( lancamento );
+		when( repository.obterMovimentoPorId( 1L, 1L ) ).thenReturn( Optional.of( anterior ) );
+		
+		//AÇÃO
+		service.deletar( lancamento );
+		
+		//VERIFICAÇÃO
+		verify( saldoUsuarioService, times( 1 ) ).registrarMovimento( anterior, null );
+		verify( resumoMensalService, times( 1 ) ).registrarMovimento( anterior, null );
+		verify( fechamentoMensalService, times( 1 ) ).registrarMovimento( anterior, null );
+	}
+	
+	@Test
+	public void deveBuscarAsAlteracoesDesdeAMarcaDoCliente() {
+		//CENÁRIO
+		ItemLancamento alterado = new ItemLancamento( 1L, "Salário", 7, 2022, BigDecimal.TEN, 2L,
+		                                              TipoLancamento.RECEITA, EFETIVADO );
+		when( usuarioRepository.obterSequenciaAlteracao( 2L ) ).thenReturn( Optional.of( 9L ) );
+		when( repository.buscarAlteradosEntre( 2L, 5L, 9L ) ).thenReturn( List.of( alterado ) );
+		when( excluidoRepository.buscarExcluidosEntre( 2L, 5L, 9L ) ).thenReturn( List.of( 1L, 3L ) );
+		
+		//AÇÃO
+		AlteracoesLancamentos alteracoes = service.buscarAlteracoes( 2L, 5L );
+		
+		//VERIFICAÇÃO
+		assertThat( alteracoes.isCompleta() ).isFalse();
+		assertThat( alteracoes.getAte() ).isEqualTo( 9L );
+		assertThat( alteracoes.getAlterados() ).containsExactly( alterado );
+		assertThat( alteracoes.getExcluidos() ).containsExactly( 3L );
+	}
+	
+	@Test
+	public void deveSincronizarTudoQuandoAMarcaNaoForInformadaOuEstiverAFrente() {
+		//CENÁRIO
+		when( usuarioRepository.obterSequenciaAlteracao( 2L ) ).thenReturn( Optional.of( 9L ) );
+		
+		//AÇÃO
+		AlteracoesLancamentos semMarca = service.buscarAlteracoes( 2L, 0L );
+		AlteracoesLancamentos aFrente = service.buscarAlteracoes( 2L, 12L );
+		
+		//VERIFICAÇÃO
+		assertThat( semMarca.isCompleta() ).isTrue();
+		assertThat( aFrente.isCompleta() ).isTrue();
+		assertThat( aFrente.getAte() ).isEqualTo( 9L );
+		verify( repository, times( 2 ) ).listarItens( any() );
+		verify( repository, never() ).buscarAlteradosEntre( any(), any(), any() );
+	}
+	
 }
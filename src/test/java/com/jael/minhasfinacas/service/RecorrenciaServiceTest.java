@@ -0,0 +1,180 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.entity.Recorrencia;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.repository.RecorrenciaRepository;
+import com.jael.minhasfinacas.model.repository.UsuarioRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@RunWith( SpringRunner.class )
+@SpringBootTest( properties = { "minhasfinancas.recorrencias.threads=3",
+                                "minhasfinancas.recorrencias.tamanho-bloco=2",
+                                "minhasfinancas.recorrencias.agendamento=false" } )
+@ActiveProfiles( "test" )
+public class RecorrenciaServiceTest {
+	
+	@Autowired
+	RecorrenciaService service;
+	
+	@Autowired
+	RecorrenciaRepository repository;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	
+	@Test
+	public void deveGerarAsParcelasAteOMesAlvoSemRepetirNaReexecucao() {
+		//CENÁRIO
+		Recorrencia compra = service.salvar( recorrencia( criarUsuario(), 2040, 11, 3 ) );
+		
+		//AÇÃO
+		service.gerarOcorrencias( YearMonth.of( 2040, 12 ) );
+		service.gerarOcorrencias( YearMonth.of( 2040, 12 ) );
+		service.gerarOcorrencias( YearMonth.of( 2041, 6 ) );
+		
+		//VERIFICAÇÃO
+		assertThat( jdbcTemplate.queryForList( "SELECT descricao FROM financas.lancamento WHERE id_recorrencia = ?"
+		                                       + " ORDER BY parcela", String.class, compra.getId() ) )
+				.containsExactly( "Compra (1/3)", "Compra (2/3)", "Compra (3/3)" );
+		assertThat( jdbcTemplate.queryForList( "SELECT ano * 100 + mes FROM financas.lancamento"
+		                                       + " WHERE id_recorrencia = ? ORDER BY parcela", Integer.class,
+		                                       compra.getId() ) ).containsExactly( 204011, 204012, 204101 );
+		assertThat( repository.findById( compra.getId() ).get().getParcelasGeradas() ).isEqualTo( 3 );
+	}
+	
+	@Test
+	public void deveGerarAsOcorrenciasDeTodosOsUsuariosEmFaixasEBlocos() {
+		//CENÁRIO
+		List< Recorrencia > recorrencias = new ArrayList<>();
+		for ( int i = 0; i < 7; i++ ) {
+			Usuario usuario = criarUsuario();
+			recorrencias.add( service.salvar( recorrencia( usuario, 2045, 1, null ) ) );
+			recorrencias.add( service.salvar( recorrencia( usuario, 2045, 2, null ) ) );
+		}
+		
+		//AÇÃO
+		int gerados = service.gerarOcorrencias( YearMonth.of( 2045, 3 ) );
+		
+		//VERIFICAÇÃO
+		assertThat( gerados ).isGreaterThanOrEqualTo( 7 * ( 3 + 2 ) );
+		for ( Recorrencia recorrencia : recorrencias ) {
+			int esperadas = recorrencia.getMes() == 1 ? 3 : 2;
+			assertThat( jdbcTemplate.queryForObject( "SELECT COUNT(*) FROM financas.lancamento WHERE id_recorrencia = ?",
+			                                         Integer.class, recorrencia.getId() ) ).isEqualTo( esperadas );
+			assertThat( repository.findById( recorrencia.getId() ).get().getParcelasGeradas() ).isEqualTo( esperadas );
+		}
+	}
+	
+	@Test
+	public void devePularOBlocoQueFalhaEContinuarComOsDemaisUsuariosDaFaixa() {
+		//CENÁRIO
+		Usuario usuario = criarUsuario();
+		service.salvar( recorrencia( usuario, 2030, 1, null ) );
+		Recorrencia invalida = service.salvar( recorrencia( usuario, 2030, 1, null ) );
+		service.salvar( recorrencia( usuario, 2030, 1, null ) );
+		// A descrição passa a não caber no lançamento, e o bloco dessa recorrência falha ao gravar.
+		jdbcTemplate.update( "UPDATE financas.recorrencia SET descricao = ? WHERE id = ?", "x".repeat( 101 ),
+		                     invalida.getId() );
+		List< Recorrencia > seguintes = new ArrayList<>();
+		for ( int i = 0; i < 5; i++ ) {
+			seguintes.add( service.salvar( recorrencia( criarUsuario(), 2030, 1, null ) ) );
+		}
+		
+		//AÇÃO
+		service.gerarOcorrencias( YearMonth.of( 2030, 2 ) );
+		jdbcTemplate.update( "UPDATE financas.recorrencia SET ativa = false WHERE id = ?", invalida.getId() );
+		
+		//VERIFICAÇÃO
+		assertThat( repository.findById( invalida.getId() ).get().getParcelasGeradas() ).isZero();
+		for ( Recorrencia recorrencia : seguintes ) {
+			assertThat( repository.findById( recorrencia.getId() ).get().getParcelasGeradas() ).isEqualTo( 2 );
+		}
+	}
+	
+	@Test
+	public void naoDeveGerarOcorrenciasDeUmaRecorrenciaEncerrada() {
+		//CENÁRIO
+		Usuario usuario = criarUsuario();
+		Recorrencia aluguel = service.salvar( recorrencia( usuario, 2050, 1, null ) );
+		service.gerarOcorrencias( YearMonth.of( 2050, 1 ) );
+		
+		//AÇÃO
+		service.encerrar( aluguel.getId(), usuario.getId() );
+		service.gerarOcorrencias( YearMonth.of( 2050, 6 ) );
+		
+		//VERIFICAÇÃO
+		assertThat( repository.findById( aluguel.getId() ).get().getParcelasGeradas() ).isEqualTo( 1 );
+	}
+	
+	@Test
+	public void naoDeveAceitarUmMesInicialDistanteNoPassado() {
+		//CENÁRIO
+		Usuario usuario = criarUsuario();
+		YearMonth limite = YearMonth.now().minusMonths( 12 );
+		
+		//AÇÃO
+		RegraNegocioException exception = catchThrowableOfType(
+				() -> service.salvar( recorrencia( usuario, 1000, 1, null ) ), RegraNegocioException.class );
+		Recorrencia recente = service.salvar( recorrencia( usuario, limite.getYear(), limite.getMonthValue(), null ) );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).hasMessage( "Informe um Mês inicial de no máximo 12 meses atrás." );
+		assertThat( service.buscarPorUsuario( usuario.getId() ) ).extracting( Recorrencia::getId )
+		                                                         .containsExactly( recente.getId() );
+	}
+	
+	@Test
+	public void naoDeveEncerrarARecorrenciaDeOutroUsuario() {
+		//CENÁRIO
+		Recorrencia aluguel = service.salvar( recorrencia( criarUsuario(), 2050, 1, null ) );
+		
+		//AÇÃO
+		RegraNegocioException exception = catchThrowableOfType(
+				() -> service.encerrar( aluguel.getId(), criarUsuario().getId() ), RegraNegocioException.class );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).hasMessage( "Recorrência não encontrada para o ID informado." );
+		assertThat( repository.findById( aluguel.getId() ).get().getAtiva() ).isTrue();
+	}
+	
+	private Usuario criarUsuario() {
+		
+		String nome = UUID.randomUUID().toString();
+		return usuarioRepository.save( Usuario.builder().nome( nome ).email( nome + "@email.com" ).senha( "senha" )
+		                                      .build() );
+	}
+	
+	private static Recorrencia recorrencia( Usuario usuario, int ano, int mes, Integer parcelas ) {
+		
+		return Recorrencia.builder()
+		                  .descricao( "Compra" )
+		                  .valor( BigDecimal.valueOf( 100 ) )
+		                  .tipo( TipoLancamento.DESPESA )
+		                  .ano( ano )
+		                  .mes( mes )
+		                  .parcelas( parcelas )
+		                  .usuario( usuario )
+		                  .build();
+	}
+	
+}
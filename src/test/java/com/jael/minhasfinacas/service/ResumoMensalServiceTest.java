@@ -0,0 +1,138 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.model.entity.ResumoMensal;
+import com.jael.minhasfinacas.model.entity.ResumoMensalId;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+import com.jael.minhasfinacas.model.projection.TotalLancamentos;
+import com.jael.minhasfinacas.model.repository.ResumoMensalRepository;
+import com.jael.minhasfinacas.service.impl.ResumoMensalServiceImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.jael.minhasfinacas.model.enums.StatusLancamento.EFETIVADO;
+import static com.jael.minhasfinacas.model.enums.StatusLancamento.PENDENTE;
+import static org.mockito.Mockito.*;
+
+@RunWith( SpringRunner.class )
+@ActiveProfiles( "test" )
+public class ResumoMensalServiceTest {
+	
+	@SpyBean
+	ResumoMensalServiceImpl service;
+	
+	@MockBean
+	ResumoMensalRepository repository;
+	
+	@Test
+	public void deveSomarUmNovoLancamentoAoResumo() {
+		//CENÁRIO
+		MovimentoLancamento atual = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN, TipoLancamento.RECEITA,
+		                                                     PENDENTE );
+		when( repository.somarAoResumo( any(), any(), any(), any(), any(), any(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarMovimento( null, atual );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoResumo( 1L, 2022, 7, TipoLancamento.RECEITA, PENDENTE,
+		                                                BigDecimal.TEN, 1L );
+	}
+	
+	@Test
+	public void deveMoverOLancamentoEntreCelulasQuandoOStatusMuda() {
+		//CENÁRIO
+		MovimentoLancamento anterior = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN, TipoLancamento.RECEITA,
+		                                                        PENDENTE );
+		MovimentoLancamento atual = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN, TipoLancamento.RECEITA,
+		                                                     EFETIVADO );
+		when( repository.somarAoResumo( any(), any(), any(), any(), any(), any(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarMovimento( anterior, atual );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoResumo( 1L, 2022, 7, TipoLancamento.RECEITA, PENDENTE,
+		                                                BigDecimal.TEN.negate(), -1L );
+		verify( repository, times( 1 ) ).somarAoResumo( 1L, 2022, 7, TipoLancamento.RECEITA, EFETIVADO,
+		                                                BigDecimal.TEN, 1L );
+	}
+	
+	@Test
+	public void deveSomarApenasADiferencaDeValorNaMesmaCelula() {
+		//CENÁRIO
+		MovimentoLancamento anterior = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN, TipoLancamento.DESPESA,
+		                                                        EFETIVADO );
+		MovimentoLancamento atual = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.valueOf( 15 ),
+		                                                     TipoLancamento.DESPESA, EFETIVADO );
+		when( repository.somarAoResumo( any(), any(), any(), any(), any(), any(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarMovimento( anterior, atual );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoResumo( 1L, 2022, 7, TipoLancamento.DESPESA, EFETIVADO,
+		                                                BigDecimal.valueOf( 5 ), 0L );
+	}
+	
+	@Test
+	public void deveAgregarAsInclusoesPorCelula() {
+		//CENÁRIO
+		List< MovimentoLancamento > movimentos = List.of(
+				new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN, TipoLancamento.RECEITA, PENDENTE ),
+				new MovimentoLancamento( 1L, 2022, 7, BigDecimal.ONE, TipoLancamento.RECEITA, PENDENTE ) );
+		when( repository.somarAoResumo( any(), any(), any(), any(), any(), any(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarInclusoes( movimentos );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoResumo( 1L, 2022, 7, TipoLancamento.RECEITA, PENDENTE,
+		                                                BigDecimal.valueOf( 11 ), 2L );
+	}
+	
+	@Test
+	public void deveMoverOsGruposParaACelulaDoNovoStatus() {
+		//CENÁRIO
+		List< GrupoLancamentos > grupos = List.of(
+				new GrupoLancamentos( 1L, 2022, 7, TipoLancamento.RECEITA, PENDENTE, BigDecimal.valueOf( 100 ), 4L ) );
+		when( repository.somarAoResumo( any(), any(), any(), any(), any(), any(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarMudancaDeStatus( grupos, EFETIVADO );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoResumo( 1L, 2022, 7, TipoLancamento.RECEITA, PENDENTE,
+		                                                BigDecimal.valueOf( -100 ), -4L );
+		verify( repository, times( 1 ) ).somarAoResumo( 1L, 2022, 7, TipoLancamento.RECEITA, EFETIVADO,
+		                                                BigDecimal.valueOf( 100 ), 4L );
+	}
+	
+	@Test
+	public void deveRecalcularACelulaQuandoNaoHouverResumo() {
+		//CENÁRIO
+		MovimentoLancamento atual = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN, TipoLancamento.RECEITA,
+		                                                     PENDENTE );
+		TotalLancamentos total = mock( TotalLancamentos.class );
+		when( total.getValor() ).thenReturn( BigDecimal.valueOf( 30 ) );
+		when( total.getQuantidade() ).thenReturn( 3L );
+		when( repository.somarAoResumo( any(), any(), any(), any(), any(), any(), any() ) ).thenReturn( 0 );
+		when( repository.totalizarLancamentos( 1L, 2022, 7, TipoLancamento.RECEITA, PENDENTE ) ).thenReturn( total );
+		
+		//AÇÃO
+		service.registrarMovimento( null, atual );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).save( new ResumoMensal(
+				new ResumoMensalId( 1L, 2022, 7, TipoLancamento.RECEITA, PENDENTE ), BigDecimal.valueOf( 30 ), 3L ) );
+	}
+	
+}
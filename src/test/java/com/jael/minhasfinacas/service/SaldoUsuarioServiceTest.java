@@ -0,0 +1,182 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.model.entity.SaldoUsuario;
+import com.jael.minhasfinacas.model.enums.TipoLancamento;
+import com.jael.minhasfinacas.model.projection.GrupoLancamentos;
+import com.jael.minhasfinacas.model.projection.MovimentoLancamento;
+import com.jael.minhasfinacas.model.repository.LancamentoRepository;
+import com.jael.minhasfinacas.model.repository.SaldoUsuarioRepository;
+import com.jael.minhasfinacas.service.impl.SaldoUsuarioServiceImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static com.jael.minhasfinacas.model.enums.StatusLancamento.EFETIVADO;
+import static com.jael.minhasfinacas.model.enums.StatusLancamento.PENDENTE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith( SpringRunner.class )
+@ActiveProfiles( "test" )
+public class SaldoUsuarioServiceTest {
+	
+	@SpyBean
+	SaldoUsuarioServiceImpl service;
+	
+	@MockBean
+	SaldoUsuarioRepository repository;
+	
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+	
+	@Test
+	public void deveObterSaldoDaProjecao() {
+		//CENÁRIO
+		when( repository.findById( 1L ) ).thenReturn( Optional.of( new SaldoUsuario( 1L, BigDecimal.TEN ) ) );
+		
+		//AÇÃO
+		BigDecimal saldo = service.obterSaldo( 1L );
+		
+		//VERIFICAÇÃO
+		assertThat( saldo ).isEqualTo( BigDecimal.TEN );
+		verify( lancamentoRepository, never() ).obterSaldoPorTipoLancamentoEUsuarioEStatus( anyLong(), any(), any() );
+	}
+	
+	@Test
+	public void deveCalcularOSaldoQuandoNaoHouverProjecao() {
+		//CENÁRIO
+		when( repository.findById( 1L ) ).thenReturn( Optional.empty() );
+		when( lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus( 1L, TipoLancamento.RECEITA,
+		                                                                       EFETIVADO ) ).thenReturn(
+				BigDecimal.valueOf( 400 ) );
+		when( lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus( 1L, TipoLancamento.DESPESA,
+		                                                                       EFETIVADO ) ).thenReturn(
+				BigDecimal.valueOf( 200 ) );
+		
+		//AÇÃO
+		BigDecimal saldo = service.obterSaldo( 1L );
+		
+		//VERIFICAÇÃO
+		assertThat( saldo ).isEqualTo( BigDecimal.valueOf( 200 ) );
+	}
+	
+	@Test
+	public void deveSomarApenasADiferencaQuandoOUsuarioNaoMuda() {
+		//CENÁRIO
+		MovimentoLancamento anterior = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.valueOf( 100 ),
+		                                                        TipoLancamento.RECEITA, EFETIVADO );
+		MovimentoLancamento atual = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.valueOf( 30 ),
+		                                                     TipoLancamento.DESPESA, EFETIVADO );
+		when( repository.somarAoSaldo( anyLong(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarMovimento( anterior, atual );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoSaldo( 1L, BigDecimal.valueOf( -130 ) );
+	}
+	
+	@Test
+	public void deveTransferirOSaldoQuandoOUsuarioMuda() {
+		//CENÁRIO
+		MovimentoLancamento anterior = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN,
+		                                                        TipoLancamento.RECEITA, EFETIVADO );
+		MovimentoLancamento atual = new MovimentoLancamento( 2L, 2022, 7, BigDecimal.TEN,
+		                                                     TipoLancamento.RECEITA, EFETIVADO );
+		when( repository.somarAoSaldo( anyLong(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarMovimento( anterior, atual );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoSaldo( 1L, BigDecimal.TEN.negate() );
+		verify( repository, times( 1 ) ).somarAoSaldo( 2L, BigDecimal.TEN );
+	}
+	
+	@Test
+	public void deveAgregarAsInclusoesPorUsuario() {
+		//CENÁRIO
+		List< MovimentoLancamento > movimentos = List.of(
+				new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN, TipoLancamento.RECEITA, EFETIVADO ),
+				new MovimentoLancamento( 1L, 2022, 8, BigDecimal.ONE, TipoLancamento.DESPESA, EFETIVADO ),
+				new MovimentoLancamento( 2L, 2022, 7, BigDecimal.TEN, TipoLancamento.RECEITA, PENDENTE ) );
+		when( repository.somarAoSaldo( anyLong(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarInclusoes( movimentos );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoSaldo( 1L, BigDecimal.valueOf( 9 ) );
+		verify( repository, never() ).somarAoSaldo( eq( 2L ), any() );
+	}
+	
+	@Test
+	public void deveAjustarOSaldoPelaMudancaDeStatusDosGrupos() {
+		//CENÁRIO
+		List< GrupoLancamentos > grupos = List.of(
+				new GrupoLancamentos( 1L, 2022, 7, TipoLancamento.RECEITA, PENDENTE, BigDecimal.valueOf( 100 ), 4L ),
+				new GrupoLancamentos( 1L, 2022, 7, TipoLancamento.DESPESA, PENDENTE, BigDecimal.valueOf( 30 ), 2L ),
+				new GrupoLancamentos( 1L, 2022, 8, TipoLancamento.RECEITA, EFETIVADO, BigDecimal.TEN, 1L ) );
+		when( repository.somarAoSaldo( anyLong(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarMudancaDeStatus( grupos, EFETIVADO );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoSaldo( 1L, BigDecimal.valueOf( 70 ) );
+	}
+	
+	@Test
+	public void deveEstornarOSaldoDosGruposExcluidos() {
+		//CENÁRIO
+		List< GrupoLancamentos > grupos = List.of(
+				new GrupoLancamentos( 1L, 2022, 7, TipoLancamento.RECEITA, EFETIVADO, BigDecimal.valueOf( 100 ), 4L ),
+				new GrupoLancamentos( 1L, 2022, 7, TipoLancamento.DESPESA, EFETIVADO, BigDecimal.valueOf( 30 ), 2L ),
+				new GrupoLancamentos( 1L, 2022, 8, TipoLancamento.RECEITA, PENDENTE, BigDecimal.TEN, 1L ) );
+		when( repository.somarAoSaldo( anyLong(), any() ) ).thenReturn( 1 );
+		
+		//AÇÃO
+		service.registrarExclusoes( grupos );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).somarAoSaldo( 1L, BigDecimal.valueOf( -70 ) );
+	}
+	
+	@Test
+	public void naoDeveAlterarOSaldoParaLancamentoNaoEfetivado() {
+		//CENÁRIO
+		MovimentoLancamento atual = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN,
+		                                                     TipoLancamento.RECEITA, PENDENTE );
+		
+		//AÇÃO
+		service.registrarMovimento( null, atual );
+		
+		//VERIFICAÇÃO
+		verify( repository, never() ).somarAoSaldo( anyLong(), any() );
+	}
+	
+	@Test
+	public void deveReconstruirOSaldoQuandoNaoHouverProjecao() {
+		//CENÁRIO
+		MovimentoLancamento atual = new MovimentoLancamento( 1L, 2022, 7, BigDecimal.TEN,
+		                                                     TipoLancamento.RECEITA, EFETIVADO );
+		when( repository.somarAoSaldo( anyLong(), any() ) ).thenReturn( 0 );
+		when( lancamentoRepository.obterSaldoPorTipoLancamentoEUsuarioEStatus( 1L, TipoLancamento.RECEITA,
+		                                                                       EFETIVADO ) ).thenReturn(
+				BigDecimal.valueOf( 50 ) );
+		
+		//AÇÃO
+		service.registrarMovimento( null, atual );
+		
+		//VERIFICAÇÃO
+		verify( repository, times( 1 ) ).save( new SaldoUsuario( 1L, BigDecimal.valueOf( 50 ) ) );
+	}
+	
+}
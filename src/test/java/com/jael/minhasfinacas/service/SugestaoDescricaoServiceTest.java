@@ -0,0 +1,124 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.exception.RegraNegocioException;
+import com.jael.minhasfinacas.model.projection.FrequenciaDescricao;
+import com.jael.minhasfinacas.model.repository.LancamentoRepository;
+import com.jael.minhasfinacas.service.impl.SugestaoDescricaoServiceImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.Mockito.*;
+
+@RunWith( SpringRunner.class )
+@ActiveProfiles( "test" )
+public class SugestaoDescricaoServiceTest {
+	
+	@SpyBean
+	SugestaoDescricaoServiceImpl service;
+	
+	@MockBean
+	LancamentoRepository repository;
+	
+	@MockBean
+	PlatformTransactionManager transactionManager;
+	
+	@Test
+	public void deveSugerirAsDescricoesMaisUsadasDoPrefixoIgnorandoAcentos() {
+		//CENÁRIO
+		when( repository.contarDescricoesPorUsuario( 1L ) ).thenReturn(
+				List.of( frequencia( "Padaria", 3 ), frequencia( "Pão de queijo", 5 ), frequencia( "Passagem", 1 ),
+				         frequencia( "Mercado", 9 ) ) );
+		
+		//AÇÃO
+		List< String > sugestoes = service.sugerir( 1L, "pa", 2 );
+		
+		//VERIFICAÇÃO
+		assertThat( sugestoes ).containsExactly( "Pão de queijo", "Padaria" );
+	}
+	
+	@Test
+	public void deveCarregarOIndiceUmaVezEAtualizarComInclusoesEExclusoes() {
+		//CENÁRIO
+		when( repository.contarDescricoesPorUsuario( 2L ) ).thenReturn( List.of( frequencia( "Aluguel", 1 ) ) );
+		service.sugerir( 2L, "a", null );
+		
+		//AÇÃO
+		service.registrarInclusao( 2L, "Academia" );
+		service.registrarInclusao( 2L, "academia" );
+		service.registrarExclusao( 2L, "Aluguel" );
+		List< String > sugestoes = service.sugerir( 2L, "a", null );
+		
+		//VERIFICAÇÃO
+		assertThat( sugestoes ).containsExactly( "Academia" );
+		verify( repository, times( 1 ) ).contarDescricoesPorUsuario( 2L );
+	}
+	
+	@Test
+	public void naoDeveGuardarOIndiceCarregadoAntesDeUmaInclusaoConcorrente() {
+		//CENÁRIO
+		when( repository.contarDescricoesPorUsuario( 4L ) ).thenAnswer( invocacao -> {
+			// A inclusão é confirmada depois da leitura, enquanto o índice ainda não foi guardado.
+			service.registrarInclusao( 4L, "Academia" );
+			return List.of( frequencia( "Aluguel", 1 ) );
+		} ).thenReturn( List.of( frequencia( "Aluguel", 1 ), frequencia( "Academia", 1 ) ) );
+		
+		//AÇÃO
+		List< String > primeira = service.sugerir( 4L, "a", null );
+		List< String > segunda = service.sugerir( 4L, "a", null );
+		
+		//VERIFICAÇÃO
+		assertThat( primeira ).containsExactly( "Aluguel" );
+		assertThat( segunda ).containsExactlyInAnyOrder( "Aluguel", "Academia" );
+		verify( repository, times( 2 ) ).contarDescricoesPorUsuario( 4L );
+	}
+	
+	@Test
+	public void deveCarregarOIndiceEmTransacaoDeEscritaParaLerDaPrimaria() {
+		//CENÁRIO
+		when( repository.contarDescricoesPorUsuario( 5L ) ).thenReturn( List.of( frequencia( "Aluguel", 1 ) ) );
+		
+		//AÇÃO
+		service.sugerir( 5L, "a", null );
+		
+		//VERIFICAÇÃO
+		verify( transactionManager ).getTransaction( argThat( definicao -> !definicao.isReadOnly() ) );
+	}
+	
+	@Test
+	public void naoDeveSugerirComLimiteInvalido() {
+		//AÇÃO
+		Throwable exception = catchThrowableOfType( () -> service.sugerir( 3L, "a", 0 ), RegraNegocioException.class );
+		
+		//VERIFICAÇÃO
+		assertThat( exception ).isNotNull();
+		verify( repository, never() ).contarDescricoesPorUsuario( any() );
+	}
+	
+	private static FrequenciaDescricao frequencia( String descricao, long quantidade ) {
+		
+		return new FrequenciaDescricao() {
+			
+			@Override
+			public String getDescricao() {
+				
+				return descricao;
+			}
+			
+			@Override
+			public Long getQuantidade() {
+				
+				return quantidade;
+			}
+		};
+	}
+	
+}
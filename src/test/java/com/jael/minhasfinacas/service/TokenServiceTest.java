@@ -0,0 +1,59 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.exception.ErroAutenticacao;
+import com.jael.minhasfinacas.service.impl.TokenServiceImpl;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class TokenServiceTest {
+	
+	TokenService service = new TokenServiceImpl( "segredo", Duration.ofHours( 1 ) );
+	
+	@Test
+	public void deveObterOUsuarioDeUmTokenValido() {
+		//CENÁRIO
+		String token = service.gerar( 42L );
+		
+		//AÇÃO
+		Long idUsuario = service.validar( token );
+		
+		//VERIFICAÇÃO
+		assertThat( idUsuario ).isEqualTo( 42L );
+	}
+	
+	@Test
+	public void deveRecusarUmTokenAlteradoOuAssinadoComOutroSegredo() {
+		//CENÁRIO
+		String token = service.gerar( 42L );
+		String alterado = "43" + token.substring( 2 );
+		String deOutroSegredo = new TokenServiceImpl( "outro", Duration.ofHours( 1 ) ).gerar( 42L );
+		
+		//AÇÃO
+		Throwable erroAlterado = catchThrowable( () -> service.validar( alterado ) );
+		Throwable erroOutroSegredo = catchThrowable( () -> service.validar( deOutroSegredo ) );
+		Throwable erroMalFormado = catchThrowable( () -> service.validar( "abc" ) );
+		
+		//VERIFICAÇÃO
+		assertThat( erroAlterado ).isInstanceOf( ErroAutenticacao.class ).hasMessage( "Token de acesso inválido." );
+		assertThat( erroOutroSegredo ).isInstanceOf( ErroAutenticacao.class ).hasMessage( "Token de acesso inválido." );
+		assertThat( erroMalFormado ).isInstanceOf( ErroAutenticacao.class ).hasMessage( "Token de acesso inválido." );
+	}
+	
+	@Test
+	public void deveRecusarUmTokenExpirado() {
+		//CENÁRIO
+		TokenService expirado = new TokenServiceImpl( "segredo", Duration.ofSeconds( -1 ) );
+		String token = expirado.gerar( 42L );
+		
+		//AÇÃO
+		Throwable erro = catchThrowable( () -> service.validar( token ) );
+		
+		//VERIFICAÇÃO
+		assertThat( erro ).isInstanceOf( ErroAutenticacao.class ).hasMessage( "Token de acesso expirado." );
+	}
+	
+}
@@ -0,0 +1,66 @@
+package com.jael.minhasfinacas.service;
+
+import com.jael.minhasfinacas.config.CacheConfig;
+import com.jael.minhasfinacas.config.SenhaConfig;
+import com.jael.minhasfinacas.model.entity.Usuario;
+import com.jael.minhasfinacas.model.repository.UsuarioRepository;
+import com.jael.minhasfinacas.service.impl.UsuarioServiceImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith( SpringRunner.class )
+@SpringBootTest( classes = { CacheConfig.class, SenhaConfig.class, UsuarioServiceImpl.class } )
+@ImportAutoConfiguration( CacheAutoConfiguration.class )
+@DirtiesContext( classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD )
+@ActiveProfiles( "test" )
+public class UsuarioServiceCacheTest {
+	
+	@Autowired
+	UsuarioService service;
+	
+	@MockBean
+	UsuarioRepository repository;
+	
+	@Test
+	public void deveConsultarOBancoUmaUnicaVezParaOMesmoUsuario() {
+		//CENÁRIO
+		when( repository.findById( 1L ) ).thenReturn( Optional.of( UsuarioServiceTest.criarUsuario() ) );
+		
+		//AÇÃO
+		service.obterPorId( 1L );
+		Optional< Usuario > usuario = service.obterPorId( 1L );
+		
+		//VERIFICAÇÃO
+		assertThat( usuario ).isPresent();
+		verify( repository, times( 1 ) ).findById( 1L );
+	}
+	
+	@Test
+	public void deveAtualizarOCacheAoSalvarUmUsuario() {
+		//CENÁRIO
+		Usuario usuario = UsuarioServiceTest.criarUsuario();
+		when( repository.save( usuario ) ).thenReturn( usuario );
+		
+		//AÇÃO
+		service.salvarUsuario( usuario );
+		Optional< Usuario > usuarioEmCache = service.obterPorId( usuario.getId() );
+		
+		//VERIFICAÇÃO
+		assertThat( usuarioEmCache ).contains( usuario );
+		verify( repository, never() ).findById( any() );
+	}
+	
+}
@@ -1,5 +1,6 @@
 package com.jael.minhasfinacas.service;
 
+import com.jael.minhasfinacas.config.SenhaConfig;
 import com.jael.minhasfinacas.exception.ErroAutenticacao;
 import com.jael.minhasfinacas.exception.RegraNegocioException;
 import com.jael.minhasfinacas.model.entity.Usuario;
@@ -7,8 +8,11 @@ import com.jael.minhasfinacas.model.repository.UsuarioRepository;
 import com.jael.minhasfinacas.service.impl.UsuarioServiceImpl;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
@@ -20,6 +24,7 @@ import static org.mockito.Mockito.*;
 
 @RunWith( SpringRunner.class )
 @ActiveProfiles( "test" )
+@Import( SenhaConfig.class )
 public class UsuarioServiceTest {
 	
 	@SpyBean
@@ -28,6 +33,9 @@ public class UsuarioServiceTest {
 	@MockBean
 	UsuarioRepository repository;
 	
+	@Autowired
+	PasswordEncoder passwordEncoder;
+	
 	@Test( expected = Test.None.class )
 	public void deveSalvarUmUsuario() {
 		//CENÁRIO
@@ -46,6 +54,22 @@ public class UsuarioServiceTest {
 		assertThat( usuarioSalvo.getSenha() ).isEqualTo( "senha" );
 	}
 	
+	@Test
+	public void deveGravarASenhaComHashESal() {
+		//CENÁRIO
+		doNothing().when( service ).validarEmail( anyString() );
+		when( repository.save( any( Usuario.class ) ) ).then( invocacao -> invocacao.getArgument( 0 ) );
+		
+		//AÇÃO
+		Usuario primeiro = service.salvarUsuario( criarUsuario() );
+		Usuario segundo = service.salvarUsuario( criarUsuario() );
+		
+		//VERIFICAÇÃO
+		assertThat( primeiro.getSenha() ).startsWith( "$2a$" ).isNotEqualTo( segundo.getSenha() );
+		assertThat( passwordEncoder.matches( "senha", primeiro.getSenha() ) ).isTrue();
+		assertThat( passwordEncoder.matches( "senha", segundo.getSenha() ) ).isTrue();
+	}
+	
 	@Test( expected = RegraNegocioException.class )
 	public void napDeveSalvarUmUsuarioComEmailJaCadastrado() {
 		//CENÁRIO
@@ -63,10 +87,11 @@ public class UsuarioServiceTest {
 	public void deveAutenticarUmUsuarioComSucesso() {
 		//CENÁRIO
 		Usuario usuario = criarUsuario();
+		usuario.setSenha( passwordEncoder.encode( "senha" ) );
 		when( repository.findByEmail( usuario.getEmail() ) ).thenReturn( Optional.of( usuario ) );
 		
 		//AÇÃO
-		Usuario result = service.autenticar( usuario.getEmail(), usuario.getSenha() );
+		Usuario result = service.autenticar( usuario.getEmail(), "senha" );
 		
 		//VERIFICAÇÃO
 		assertThat( result ).isNotNull();